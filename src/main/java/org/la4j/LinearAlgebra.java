@@ -28,17 +28,31 @@ import org.la4j.decomposition.QRDecompositor;
 import org.la4j.decomposition.RawLUDecompositor;
 import org.la4j.decomposition.RawQRDecompositor;
 import org.la4j.decomposition.SingularValueDecompositor;
+import org.la4j.decomposition.SparseCholeskyDecompositor;
+import org.la4j.decomposition.SparseLUDecompositor;
+import org.la4j.inversion.CholeskyInverter;
 import org.la4j.inversion.NoPivotGaussInverter;
 import org.la4j.inversion.GaussJordanInverter;
 import org.la4j.inversion.MatrixInverter;
+import org.la4j.linear.AMGSolver;
+import org.la4j.linear.BiCGSTABSolver;
+import org.la4j.linear.CholeskySolver;
+import org.la4j.linear.ConjugateGradientSolver;
 import org.la4j.linear.ForwardBackSubstitutionSolver;
+import org.la4j.linear.GMRESSolver;
 import org.la4j.linear.GaussianSolver;
 import org.la4j.linear.JacobiSolver;
 import org.la4j.linear.LeastSquaresSolver;
 import org.la4j.linear.LinearSystemSolver;
+import org.la4j.linear.MatrixStructure;
+import org.la4j.linear.MixedPrecisionSolver;
+import org.la4j.linear.MulticolorSeidelSolver;
 import org.la4j.linear.SeidelSolver;
+import org.la4j.linear.SparseCholeskySolver;
+import org.la4j.linear.SparseLUSolver;
 import org.la4j.linear.SquareRootSolver;
 import org.la4j.linear.SweepSolver;
+import org.la4j.linear.TriangularSolver;
 import org.la4j.operation.MatrixMatrixOperation;
 import org.la4j.operation.MatrixOperation;
 import org.la4j.operation.MatrixVectorOperation;
@@ -109,6 +123,11 @@ public final class LinearAlgebra {
      */
     public static final SolverFactory SEIDEL = SolverFactory.SEIDEL;
 
+    /**
+     * References to the Multicolor Seidel solver factory.
+     */
+    public static final SolverFactory MULTICOLOR_SEIDEL = SolverFactory.MULTICOLOR_SEIDEL;
+
     /**
      * References to the Least Squares solver factory.
      */
@@ -134,6 +153,51 @@ public final class LinearAlgebra {
      */
     public static final SolverFactory SWEEP = SolverFactory.SWEEP;
 
+    /**
+     * References to the Triangular solver factory.
+     */
+    public static final SolverFactory TRIANGULAR = SolverFactory.TRIANGULAR;
+
+    /**
+     * References to the Conjugate Gradient solver factory.
+     */
+    public static final SolverFactory CONJUGATE_GRADIENT = SolverFactory.CONJUGATE_GRADIENT;
+
+    /**
+     * References to the GMRES solver factory.
+     */
+    public static final SolverFactory GMRES = SolverFactory.GMRES;
+
+    /**
+     * References to the BiCGSTAB solver factory.
+     */
+    public static final SolverFactory BICGSTAB = SolverFactory.BICGSTAB;
+
+    /**
+     * References to the AMG solver factory.
+     */
+    public static final SolverFactory AMG = SolverFactory.AMG;
+
+    /**
+     * References to the Mixed Precision solver factory.
+     */
+    public static final SolverFactory MIXED_PRECISION = SolverFactory.MIXED_PRECISION;
+
+    /**
+     * References to the Sparse LU solver factory.
+     */
+    public static final SolverFactory SPARSE_LU_SOLVER = SolverFactory.SPARSE_LU;
+
+    /**
+     * References to the Sparse Cholesky solver factory.
+     */
+    public static final SolverFactory SPARSE_CHOLESKY_SOLVER = SolverFactory.SPARSE_CHOLESKY;
+
+    /**
+     * References to the dense Cholesky solver factory.
+     */
+    public static final SolverFactory CHOLESKY_SOLVER = SolverFactory.CHOLESKY;
+
     /**
      * Reference to an inverter factory solving n linear systems.
      */
@@ -148,6 +212,12 @@ public final class LinearAlgebra {
      */
     public static final InverterFactory NO_PIVOT_GAUSS = InverterFactory.NO_PIVOT_GAUSS;
 
+    /**
+     * Reference to the Cholesky decomposition-based inverter factory for
+     * symmetric positive definite matrices.
+     */
+    public static final InverterFactory CHOLESKY_INVERTER = InverterFactory.CHOLESKY;
+
     /**
      * Reference to the Smart inverter factory.
      */
@@ -188,6 +258,16 @@ public final class LinearAlgebra {
      */
     public static final DecompositorFactory SVD = DecompositorFactory.SVD;
 
+    /**
+     * Reference to Sparse LU decompositor factory.
+     */
+    public static final DecompositorFactory SPARSE_LU = DecompositorFactory.SPARSE_LU;
+
+    /**
+     * Reference to Sparse Cholesky decompositor factory.
+     */
+    public static final DecompositorFactory SPARSE_CHOLESKY = DecompositorFactory.SPARSE_CHOLESKY;
+
     public final static VectorVectorOperation<Double> OO_PLACE_INNER_PRODUCT =
         new OoPlaceInnerProduct();
 
@@ -264,6 +344,12 @@ public final class LinearAlgebra {
                 return new SeidelSolver(matrix);
             }
         },
+        MULTICOLOR_SEIDEL {
+            @Override
+            public LinearSystemSolver create(Matrix matrix) {
+                return new MulticolorSeidelSolver(matrix);
+            }
+        },
         FORWARD_BACK_SUBSTITUTION {
             @Override
             public LinearSystemSolver create(Matrix matrix) {
@@ -288,20 +374,102 @@ public final class LinearAlgebra {
                 return new SweepSolver(matrix);
             }
         },
+        TRIANGULAR {
+            @Override
+            public LinearSystemSolver create(Matrix matrix) {
+                return new TriangularSolver(matrix);
+            }
+        },
+        CONJUGATE_GRADIENT {
+            @Override
+            public LinearSystemSolver create(Matrix matrix) {
+                return new ConjugateGradientSolver(matrix);
+            }
+        },
+        GMRES {
+            @Override
+            public LinearSystemSolver create(Matrix matrix) {
+                return new GMRESSolver(matrix);
+            }
+        },
+        BICGSTAB {
+            @Override
+            public LinearSystemSolver create(Matrix matrix) {
+                return new BiCGSTABSolver(matrix);
+            }
+        },
+        AMG {
+            @Override
+            public LinearSystemSolver create(Matrix matrix) {
+                return new AMGSolver(matrix);
+            }
+        },
+        MIXED_PRECISION {
+            @Override
+            public LinearSystemSolver create(Matrix matrix) {
+                return new MixedPrecisionSolver(matrix);
+            }
+        },
+        SPARSE_LU {
+            @Override
+            public LinearSystemSolver create(Matrix matrix) {
+                return new SparseLUSolver(matrix);
+            }
+        },
+        SPARSE_CHOLESKY {
+            @Override
+            public LinearSystemSolver create(Matrix matrix) {
+                return new SparseCholeskySolver(matrix);
+            }
+        },
+        CHOLESKY {
+            @Override
+            public LinearSystemSolver create(Matrix matrix) {
+                return new CholeskySolver(matrix);
+            }
+        },
         SMART {
             @Override
             public LinearSystemSolver create(Matrix matrix) {
-                // TODO: We can do it smarter in future
-                if (matrix.rows() == matrix.columns()) {
-                    return new ForwardBackSubstitutionSolver(matrix);
+                if (matrix.rows() < matrix.columns()) {
+                    throw new IllegalArgumentException("Underdetermined system of linear equations can not be solved.");
                 } else if (matrix.rows() > matrix.columns()) {
                     return new LeastSquaresSolver(matrix);
                 }
 
-                throw new IllegalArgumentException("Underdetermined system of linear equations can not be solved.");
+                MatrixStructure structure = MatrixStructure.of(matrix);
+                boolean sparse = structure.density() <= SPARSE_DENSITY;
+
+                if (structure.isLowerTriangular() || structure.isUpperTriangular()) {
+                    return new TriangularSolver(matrix);
+                } else if (structure.isTridiagonal()) {
+                    return new SweepSolver(matrix);
+                } else if (structure.isSymmetric() && structure.hasPositiveDiagonal()) {
+                    // the positive diagonal is only necessary for the positive
+                    // definiteness, which the factorization itself checks
+                    try {
+                        return sparse ? new SparseCholeskySolver(matrix) : new CholeskySolver(matrix);
+                    } catch (IllegalArgumentException ignored) {
+                        // not positive definite
+                        return sparse ? new SparseLUSolver(matrix) : new ForwardBackSubstitutionSolver(matrix);
+                    }
+                } else if (sparse && structure.dominance() >= ITERATIVE_DOMINANCE) {
+                    return new MulticolorSeidelSolver(matrix);
+                } else if (sparse) {
+                    return new SparseLUSolver(matrix);
+                }
+
+                return new ForwardBackSubstitutionSolver(matrix);
             }
         };
 
+        // the matrices with a smaller share of non-zero elements get the sparse solvers
+        private static final double SPARSE_DENSITY = 0.1;
+
+        // the diagonal dominance margin, that makes the Seidel method converge
+        // in a few dozens of sweeps
+        private static final double ITERATIVE_DOMINANCE = 0.25;
+
         public abstract LinearSystemSolver create(Matrix matrix);
     }
 
@@ -318,9 +486,37 @@ public final class LinearAlgebra {
                 return new NoPivotGaussInverter(matrix);
             }
         },
-        SMART {
+        CHOLESKY {
             @Override
             public MatrixInverter create(Matrix matrix) {
+                return new CholeskyInverter(matrix);
+            }
+        },
+        SMART {
+            @Override
+            public MatrixInverter create(final Matrix matrix) {
+                if (matrix.rows() == matrix.columns()) {
+                    MatrixStructure structure = MatrixStructure.of(matrix);
+                    if (structure.isSymmetric() && structure.hasPositiveDiagonal()) {
+                        // might be positive definite
+                        return new MatrixInverter() {
+                            @Override
+                            public Matrix inverse() {
+                                try {
+                                    return new CholeskyInverter(matrix).inverse();
+                                } catch (IllegalArgumentException ignored) {
+                                    return new GaussJordanInverter(matrix).inverse();
+                                }
+                            }
+
+                            @Override
+                            public Matrix self() {
+                                return matrix;
+                            }
+                        };
+                    }
+                }
+
                 return new GaussJordanInverter(matrix);
             }
         };
@@ -370,6 +566,18 @@ public final class LinearAlgebra {
             public MatrixDecompositor create(Matrix matrix) {
                 return new SingularValueDecompositor(matrix);
             }
+        },
+        SPARSE_LU {
+            @Override
+            public MatrixDecompositor create(Matrix matrix) {
+                return new SparseLUDecompositor(matrix);
+            }
+        },
+        SPARSE_CHOLESKY {
+            @Override
+            public MatrixDecompositor create(Matrix matrix) {
+                return new SparseCholeskyDecompositor(matrix);
+            }
         };
 
         public abstract MatrixDecompositor create(Matrix matrix);
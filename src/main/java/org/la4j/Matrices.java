@@ -28,7 +28,9 @@ package org.la4j;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 
+import org.la4j.iterator.MatrixIterator;
 import org.la4j.matrix.MatrixFactory;
+import org.la4j.matrix.SparseMatrix;
 import org.la4j.matrix.dense.Basic1DMatrix;
 import org.la4j.matrix.dense.Basic2DMatrix;
 import org.la4j.matrix.functor.AdvancedMatrixPredicate;
@@ -372,6 +374,10 @@ public final class Matrices {
                 return false;
             }
 
+            if (matrix instanceof SparseMatrix) {
+                return testSparse((SparseMatrix) matrix);
+            }
+
             for (int i = 0; i < matrix.rows(); i++) {
                 double sum = 0;
                 for (int j = 0; j < matrix.columns(); j++) {
@@ -386,6 +392,34 @@ public final class Matrices {
 
             return true;
         }
+
+        /**
+         * Visits only the non-zero elements, so that both row-major and
+         * column-major sparse matrices are checked in O(n + nnz).
+         */
+        private boolean testSparse(SparseMatrix matrix) {
+            double[] diagonal = new double[matrix.rows()];
+            double[] sums = new double[matrix.rows()];
+
+            MatrixIterator it = matrix.nonZeroIterator();
+            while (it.hasNext()) {
+                double value = Math.abs(it.next());
+                int i = it.rowIndex();
+                if (i == it.columnIndex()) {
+                    diagonal[i] = value;
+                } else {
+                    sums[i] += value;
+                }
+            }
+
+            for (int i = 0; i < sums.length; i++) {
+                if (sums[i] > diagonal[i] - EPS) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
     }
 
     private static class PositiveDefiniteMatrixPredicate implements AdvancedMatrixPredicate {
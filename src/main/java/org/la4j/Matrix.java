@@ -28,7 +28,10 @@
 
 package org.la4j;
 
+import org.la4j.decomposition.EigenDecompositor;
 import org.la4j.decomposition.MatrixDecompositor;
+import org.la4j.decomposition.RawLUDecompositor;
+import org.la4j.decomposition.SingularValueDecompositor;
 import org.la4j.inversion.MatrixInverter;
 import org.la4j.iterator.ColumnMajorMatrixIterator;
 import org.la4j.iterator.MatrixIterator;
@@ -50,17 +53,19 @@ import org.la4j.vector.functor.VectorAccumulator;
 import org.la4j.vector.functor.VectorFunction;
 import org.la4j.vector.functor.VectorProcedure;
 
-import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.NoSuchElementException;
 import java.util.Random;
-import java.util.StringTokenizer;
 
 /**
  * A real matrix.
@@ -192,32 +197,7 @@ public abstract class Matrix implements Iterable<Double> {
      * @return a parsed matrix
      */
     public static Matrix fromCSV(String csv) {
-        StringTokenizer lines = new StringTokenizer(csv, "\n");
-        Matrix result = DenseMatrix.zero(10, 10);
-        int rows = 0;
-        int columns = 0;
-
-        while (lines.hasMoreTokens()) {
-            if (result.rows() == rows) {
-                result = result.copyOfRows((rows * 3) / 2 + 1);
-            }
-
-            StringTokenizer elements = new StringTokenizer(lines.nextToken(), ", ");
-            int j = 0;
-            while (elements.hasMoreElements()) {
-                if (j == result.columns()) {
-                    result = result.copyOfColumns((j * 3) / 2 + 1);
-                }
-
-                double x = Double.parseDouble(elements.nextToken());
-                result.set(rows, j++, x);
-            }
-
-            rows++;
-            columns = j > columns ? j : columns;
-        }
-
-        return result.copyOfShape(rows, columns);
+        return MatrixTextReader.readCSV(csv, Parallel.THREADS);
     }
 
     /**
@@ -229,78 +209,90 @@ public abstract class Matrix implements Iterable<Double> {
      * @exception  IOException  if an I/O error occurs.
      */
     public static Matrix fromMatrixMarket(InputStream is) throws IOException {
-        BufferedReader body = new BufferedReader(new InputStreamReader(is));
-
-        String headerString = body.readLine();
-        StringTokenizer header = new StringTokenizer(headerString);
-
-        if (!"%%MatrixMarket".equals(header.nextToken())) {
-            throw new IllegalArgumentException("Wrong input file format: can not read header '%%MatrixMarket'.");
-        }
-
-        String object = header.nextToken();
-        if (!"matrix".equals(object)) {
-            throw new IllegalArgumentException("Unexpected object: " + object + ".");
-        }
-
-        String format = header.nextToken();
-        if (!"coordinate".equals(format) && !"array".equals(format)) {
-            throw new IllegalArgumentException("Unknown format: " + format + ".");
-        }
-
-        String field = header.nextToken();
-        if (!"real".equals(field)) {
-            throw new IllegalArgumentException("Unknown field type: " + field + ".");
-        }
-
-        String symmetry = header.nextToken();
-        if (!symmetry.equals("general")) {
-            throw new IllegalArgumentException("Unknown symmetry type: " + symmetry + ".");
-        }
-
-        String majority = (header.hasMoreTokens()) ? header.nextToken() : "row-major";
-
-        String nextToken = body.readLine();
-        while (nextToken.startsWith("%")) {
-            nextToken = body.readLine();
-        }
-
-        if ("coordinate".equals(format)) {
-            StringTokenizer lines = new StringTokenizer(nextToken);
-
-            int rows = Integer.parseInt(lines.nextToken());
-            int columns = Integer.parseInt(lines.nextToken());
-            int cardinality = Integer.parseInt(lines.nextToken());
-
-            Matrix result = "row-major".equals(majority) ?
-                    RowMajorSparseMatrix.zero(rows, columns, cardinality) :
-                    ColumnMajorSparseMatrix.zero(rows, columns, cardinality);
+        return MatrixTextReader.readMatrixMarket(is);
+    }
 
-            for (int k = 0; k < cardinality; k++) {
-                lines = new StringTokenizer(body.readLine());
+    /**
+     * Parses {@link Matrix} from the given Matrix Market file using all
+     * available cores.
+     *
+     * @param file the file in Matrix Market format
+     *
+     * @return a parsed matrix
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public static Matrix fromMatrixMarket(File file) throws IOException {
+        return fromMatrixMarket(file, Parallel.THREADS);
+    }
 
-                int i = Integer.valueOf(lines.nextToken());
-                int j = Integer.valueOf(lines.nextToken());
-                double x = Double.valueOf(lines.nextToken());
-                result.set(i - 1, j - 1, x);
-            }
+    /**
+     * Parses {@link Matrix} from the given Matrix Market file. The coordinate
+     * entries are split into chunks aligned on line boundaries, which are parsed
+     * by at most {@code threads} threads concurrently.
+     *
+     * @param file the file in Matrix Market format
+     * @param threads the number of threads
+     *
+     * @return a parsed matrix
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public static Matrix fromMatrixMarket(File file, int threads) throws IOException {
+        return MatrixTextReader.readMatrixMarket(file, threads);
+    }
 
-            return result;
-        } else {
-            StringTokenizer lines = new StringTokenizer(nextToken);
+    /**
+     * Reads {@link Matrix} from the given NumPy {@code .npy} stream. Both C and
+     * Fortran ordered arrays of floats (and integers) are supported, 1D arrays are
+     * read as row vectors.
+     *
+     * @param is the input stream in NumPy format
+     *
+     * @return a dense matrix
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public static Matrix fromNpy(InputStream is) throws IOException {
+        return NumPy.readNpy(is);
+    }
 
-            int rows = Integer.valueOf(lines.nextToken());
-            int columns = Integer.valueOf(lines.nextToken());
-            Matrix result = DenseMatrix.zero(rows, columns);
+    /**
+     * Reads {@link Matrix} from the given NumPy {@code .npy} file. The file is
+     * memory-mapped and its data is copied straight into the dense matrix.
+     *
+     * @param file the file in NumPy format
+     *
+     * @return a dense matrix
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public static Matrix fromNpy(File file) throws IOException {
+        return NumPy.readNpy(file);
+    }
 
-            for (int i = 0; i < rows; i++) {
-                for (int j = 0; j < columns; j++) {
-                    result.set(i, j, Double.valueOf(body.readLine()));
-                }
-            }
+    /**
+     * Reads {@link Matrix} from the given {@code .npz} stream written by SciPy's
+     * {@code save_npz} function. Both CSR and CSC bundles are supported.
+     *
+     * @param is the input stream in NPZ format
+     *
+     * @return a {@link org.la4j.matrix.sparse.CRSMatrix} or a
+     *         {@link org.la4j.matrix.sparse.CCSMatrix}
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public static Matrix fromNpz(InputStream is) throws IOException {
+        return NumPy.readNpz(is);
+    }
 
-            return result;
-        }
+    /**
+     * Reads {@link Matrix} from the given {@code .npz} file written by SciPy's
+     * {@code save_npz} function.
+     *
+     * @param file the file in NPZ format
+     *
+     * @return a {@link org.la4j.matrix.sparse.CRSMatrix} or a
+     *         {@link org.la4j.matrix.sparse.CCSMatrix}
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public static Matrix fromNpz(File file) throws IOException {
+        return NumPy.readNpz(file);
     }
 
     //
@@ -412,6 +404,28 @@ public abstract class Matrix implements Iterable<Double> {
      */
     public abstract String toMatrixMarket(NumberFormat formatter);
 
+    /**
+     * Writes this matrix into the given {@code writer} in Matrix Market format.
+     * Each element is written in the shortest decimal form that parses back into
+     * exactly the same double.
+     *
+     * @param writer the writer
+     *
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public abstract void toMatrixMarket(Writer writer) throws IOException;
+
+    /**
+     * Writes this matrix into the given {@code writer} in Matrix Market format.
+     * Each element is rounded to {@code precision} fractional digits.
+     *
+     * @param writer the writer
+     * @param precision the number of fractional digits
+     *
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public abstract void toMatrixMarket(Writer writer, int precision) throws IOException;
+
     //
     // ============ CONCRETE METHODS ============
     //
@@ -938,36 +952,8 @@ public abstract class Matrix implements Iterable<Double> {
                     get(0, 0) * get(1, 2) * get(2, 1);
         }
 
-        MatrixDecompositor decompositor = withDecompositor(LinearAlgebra.LU);
-        Matrix[] lup = decompositor.decompose();
-        // TODO: Why Java doesn't support pattern matching?
-        Matrix u = lup[1];
-        Matrix p = lup[2];
-
-        double result = u.diagonalProduct();
-
-        // TODO: we can do that in O(n log n)
-        //       just google: "counting inversions divide and conqueror"
-        int[] permutations = new int[p.rows()];
-        for (int i = 0; i < p.rows(); i++) {
-            for (int j = 0; j < p.columns(); j++) {
-                if (p.get(i, j) > 0.0) {
-                    permutations[i] = j;
-                    break;
-                }
-            }
-        }
-
-        int sign = 1;
-        for (int i = 0; i < permutations.length; i++) {
-            for (int j = i + 1; j < permutations.length; j++) {
-                if (permutations[j] < permutations[i]) {
-                    sign *= -1;
-                }
-            }
-        }
-
-        return sign * result;
+        // the sign of the permutation is counted by the row swaps
+        return new RawLUDecompositor(this).factorize().determinant();
     }
 
     /**
@@ -989,15 +975,12 @@ public abstract class Matrix implements Iterable<Double> {
         // handle small (1x1, 1xn, nx1, 2x2, 2xn, nx2, 3x3, 3xn, nx3)
         // matrices without SVD
 
-        MatrixDecompositor decompositor = withDecompositor(LinearAlgebra.SVD);
-        Matrix[] usv = decompositor.decompose();
-        // TODO: Where is my pattern matching?
-        Matrix s = usv[1];
-        double tolerance = Math.max(rows, columns) * s.get(0, 0) * Matrices.EPS;
+        Vector s = singularValues();
+        double tolerance = Math.max(rows, columns) * s.get(0) * Matrices.EPS;
 
         int result = 0;
-        for (int i = 0; i < s.rows(); i++) {
-            if (s.get(i, i) > tolerance) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.get(i) > tolerance) {
                 result++;
             }
         }
@@ -1005,6 +988,27 @@ public abstract class Matrix implements Iterable<Double> {
         return result;
     }
 
+    /**
+     * Calculates the singular values of this matrix (in the descending order)
+     * without computing the singular vectors.
+     *
+     * @return the singular values of this matrix
+     */
+    public Vector singularValues() {
+        return new SingularValueDecompositor(this, false).singularValues();
+    }
+
+    /**
+     * Calculates the real eigenvalues of this square matrix (in the ascending
+     * order) without computing the eigenvectors.
+     *
+     * @return the eigenvalues of this matrix
+     * @exception IllegalArgumentException if the eigenvalues are complex
+     */
+    public Vector eigenvalues() {
+        return new EigenDecompositor(this, false).eigenvalues();
+    }
+
     /**
      * Copies given {@code row} into the specified row of this matrix.
      *
@@ -2168,6 +2172,46 @@ public abstract class Matrix implements Iterable<Double> {
         return mkString(formatter, "\n", ", ");
     }
 
+    /**
+     * Writes this matrix into the given stream as a NumPy {@code .npy} array of
+     * doubles. Column-major sparse matrices are written in Fortran order.
+     *
+     * @param os the output stream
+     *
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public void toNpy(OutputStream os) throws IOException {
+        NumPy.writeNpy(this, os);
+    }
+
+    /**
+     * Writes this matrix into the given stream in the {@code .npz} format of
+     * SciPy's {@code save_npz} function: column-major sparse matrices are written
+     * as CSC bundles, all other matrices as CSR bundles.
+     *
+     * @param os the output stream
+     *
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public void toNpz(OutputStream os) throws IOException {
+        NumPy.writeNpz(this, os);
+    }
+
+    /**
+     * Writes this matrix into the given {@code channel} using the same binary
+     * format as {@link #toBinary()}.
+     *
+     * @param channel the channel to write to
+     *
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(toBinary());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
     protected void ensureDimensionsAreCorrect(int rows, int columns) {
         if (rows < 0 || columns < 0) {
             fail("Wrong matrix dimensions: " + rows + "x" + columns);
@@ -0,0 +1,772 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j;
+
+import org.la4j.matrix.SparseMatrix;
+import org.la4j.matrix.dense.Basic2DMatrix;
+import org.la4j.matrix.sparse.CCSMatrix;
+import org.la4j.matrix.sparse.CRSMatrix;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringTokenizer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Parses matrices from text formats (Matrix Market and CSV).
+ *
+ * Coordinate entries are collected into triplet buffers and compressed into
+ * CRS/CCS arrays with a counting sort, so that parsing costs O(nnz) rather than
+ * O(nnz) sparse inserts. Files and large strings are split into chunks aligned on
+ * line boundaries and parsed concurrently.
+ */
+final class MatrixTextReader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // we don't split inputs into chunks smaller than 1 MB
+    private static final long MINIMUM_CHUNK = 1 << 20;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private MatrixTextReader() {}
+
+    static Matrix readMatrixMarket(InputStream is) throws IOException {
+        ByteSource source = new ByteSource(Channels.newChannel(is), 0);
+        Header header = readHeader(source);
+
+        if (header.coordinate) {
+            Triplets triplets = new Triplets(header.cardinality);
+            long parsed = parseEntries(source, Long.MAX_VALUE, header.cardinality, triplets);
+
+            if (parsed != header.cardinality) {
+                throw new IllegalArgumentException("Wrong input file format: expected " + header.cardinality
+                        + " entries, but found " + parsed + ".");
+            }
+
+            return compress(header, header.rowMajor, toList(triplets), 1);
+        } else {
+            double[][] array = new double[header.rows][header.columns];
+
+            for (int i = 0; i < header.rows; i++) {
+                for (int j = 0; j < header.columns; j++) {
+                    int length = source.readToken();
+                    while (length < 0) {
+                        if (source.read() == -1) {
+                            throw new IllegalArgumentException("Wrong input file format: unexpected end of data.");
+                        }
+                        length = source.readToken();
+                    }
+                    array[i][j] = parseDouble(source.token(), 0, length);
+                }
+            }
+
+            return new Basic2DMatrix(array);
+        }
+    }
+
+    static Matrix readMatrixMarket(final File file, int threads) throws IOException {
+        final Header header;
+        FileInputStream stream = new FileInputStream(file);
+
+        try {
+            header = readHeader(new ByteSource(stream.getChannel(), 0));
+        } finally {
+            stream.close();
+        }
+
+        if (!header.coordinate) {
+            stream = new FileInputStream(file);
+            try {
+                return readMatrixMarket(stream);
+            } finally {
+                stream.close();
+            }
+        }
+
+        long size = file.length();
+        long data = size - header.dataStart;
+        int chunks = (int) Math.max(1, Math.min(threads, data / MINIMUM_CHUNK));
+        long step = data / chunks;
+
+        List<Callable<Triplets>> tasks = new ArrayList<Callable<Triplets>>(chunks);
+
+        for (int k = 0; k < chunks; k++) {
+            final long from = header.dataStart + k * step;
+            final long until = k == chunks - 1 ? size : from + step;
+            final int capacity = (int) Math.min(Integer.MAX_VALUE - 8,
+                    ((long) header.cardinality * (until - from)) / Math.max(data, 1) + 16);
+
+            tasks.add(new Callable<Triplets>() {
+                @Override
+                public Triplets call() throws IOException {
+                    FileInputStream chunk = new FileInputStream(file);
+                    try {
+                        FileChannel channel = chunk.getChannel();
+                        long start = from;
+
+                        if (from > header.dataStart) {
+                            // skip the line that belongs to the previous chunk
+                            ByteSource source = new ByteSource(channel.position(from - 1), from - 1);
+                            int b = source.read();
+                            while (b != -1 && b != '\n') {
+                                b = source.read();
+                            }
+                            start = source.position();
+                        }
+
+                        Triplets triplets = new Triplets(capacity);
+                        parseEntries(new ByteSource(channel.position(start), start), until, Long.MAX_VALUE, triplets);
+
+                        return triplets;
+                    } finally {
+                        chunk.close();
+                    }
+                }
+            });
+        }
+
+        List<Triplets> parts;
+
+        try {
+            parts = Parallel.invokeAll(tasks);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException) {
+                throw (IOException) ex.getCause();
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+
+        long parsed = 0;
+        for (Triplets part: parts) {
+            parsed += part.size;
+        }
+
+        if (parsed != header.cardinality) {
+            throw new IllegalArgumentException("Wrong input file format: expected " + header.cardinality
+                    + " entries, but found " + parsed + ".");
+        }
+
+        return compress(header, header.rowMajor, parts, threads);
+    }
+
+    static Matrix readCSV(final String csv, int threads) {
+        // collect the boundaries of non-empty lines
+        int[] starts = new int[16];
+        int[] ends = new int[16];
+        int lines = 0;
+
+        int left = 0;
+        while (left < csv.length()) {
+            int right = csv.indexOf('\n', left);
+            if (right < 0) {
+                right = csv.length();
+            }
+
+            if (right > left) {
+                if (lines == starts.length) {
+                    starts = Arrays.copyOf(starts, (lines * 3) / 2 + 1);
+                    ends = Arrays.copyOf(ends, (lines * 3) / 2 + 1);
+                }
+                starts[lines] = left;
+                ends[lines] = right;
+                lines++;
+            }
+
+            left = right + 1;
+        }
+
+        final double[][] array = new double[lines][];
+        final int[] lineStarts = starts;
+        final int[] lineEnds = ends;
+
+        Parallel.RangeProcedure parser = new Parallel.RangeProcedure() {
+            @Override
+            public void apply(int from, int until) {
+                char[] token = new char[32];
+                double[] row = new double[16];
+
+                for (int i = from; i < until; i++) {
+                    int j = 0;
+                    int k = lineStarts[i];
+
+                    while (k < lineEnds[i]) {
+                        char c = csv.charAt(k);
+                        if (c == ',' || c == ' ') {
+                            k++;
+                            continue;
+                        }
+
+                        int start = k;
+                        while (k < lineEnds[i] && csv.charAt(k) != ',' && csv.charAt(k) != ' ') {
+                            k++;
+                        }
+
+                        if (k - start > token.length) {
+                            token = new char[k - start];
+                        }
+                        csv.getChars(start, k, token, 0);
+
+                        if (j == row.length) {
+                            row = Arrays.copyOf(row, (j * 3) / 2 + 1);
+                        }
+                        row[j++] = parseDouble(token, 0, k - start);
+                    }
+
+                    array[i] = Arrays.copyOf(row, j);
+                }
+            }
+        };
+
+        int chunks = (int) Math.max(1, Math.min(threads, csv.length() / MINIMUM_CHUNK));
+        Parallel.forRange(0, lines, chunks, parser);
+
+        int columns = 0;
+        for (double[] row: array) {
+            columns = Math.max(columns, row.length);
+        }
+
+        for (int i = 0; i < lines; i++) {
+            if (array[i].length < columns) {
+                array[i] = Arrays.copyOf(array[i], columns);
+            }
+        }
+
+        return new Basic2DMatrix(array);
+    }
+
+    private static Header readHeader(ByteSource source) throws IOException {
+        String headerString = source.readLine();
+        StringTokenizer header = new StringTokenizer(headerString);
+
+        if (!"%%MatrixMarket".equals(header.nextToken())) {
+            throw new IllegalArgumentException("Wrong input file format: can not read header '%%MatrixMarket'.");
+        }
+
+        String object = header.nextToken();
+        if (!"matrix".equals(object)) {
+            throw new IllegalArgumentException("Unexpected object: " + object + ".");
+        }
+
+        String format = header.nextToken();
+        if (!"coordinate".equals(format) && !"array".equals(format)) {
+            throw new IllegalArgumentException("Unknown format: " + format + ".");
+        }
+
+        String field = header.nextToken();
+        if (!"real".equals(field)) {
+            throw new IllegalArgumentException("Unknown field type: " + field + ".");
+        }
+
+        String symmetry = header.nextToken();
+        if (!symmetry.equals("general")) {
+            throw new IllegalArgumentException("Unknown symmetry type: " + symmetry + ".");
+        }
+
+        String majority = (header.hasMoreTokens()) ? header.nextToken() : "row-major";
+
+        String nextToken = source.readLine();
+        while (nextToken.startsWith("%")) {
+            nextToken = source.readLine();
+        }
+
+        StringTokenizer lines = new StringTokenizer(nextToken);
+
+        Header result = new Header();
+        result.coordinate = "coordinate".equals(format);
+        result.rowMajor = "row-major".equals(majority);
+        result.rows = Integer.parseInt(lines.nextToken());
+        result.columns = Integer.parseInt(lines.nextToken());
+        result.cardinality = result.coordinate ? Integer.parseInt(lines.nextToken()) : 0;
+        result.dataStart = source.position();
+
+        return result;
+    }
+
+    /**
+     * Parses the coordinate entries {@code i j x} from the given {@code source} until either
+     * a line starting at or after the {@code until} position is reached or {@code limit}
+     * entries are parsed. Returns the number of parsed entries.
+     */
+    private static long parseEntries(ByteSource source, long until, long limit, Triplets triplets)
+            throws IOException {
+
+        long parsed = 0;
+
+        while (parsed < limit && source.position() < until) {
+            int b = source.read();
+
+            while (b == ' ' || b == '\t' || b == '\r') {
+                b = source.read();
+            }
+
+            if (b == -1) {
+                break;
+            }
+
+            if (b == '\n') {
+                continue;
+            }
+
+            if (b != '%') {
+                source.unread();
+
+                int i = parseInt(source.token(), source.readToken());
+                int j = parseInt(source.token(), source.readToken());
+                int length = source.readToken();
+
+                if (length < 0) {
+                    throw new IllegalArgumentException("Wrong input file format: unexpected end of line.");
+                }
+
+                triplets.add(i - 1, j - 1, parseDouble(source.token(), 0, length));
+                parsed++;
+
+                b = source.read();
+            }
+
+            // skip the rest of the line
+            while (b != -1 && b != '\n') {
+                b = source.read();
+            }
+        }
+
+        return parsed;
+    }
+
+    private static Matrix compress(Header header, boolean rowMajor, final List<Triplets> parts, int threads) {
+        final int rows = header.rows;
+        final int columns = header.columns;
+        final int majors = rowMajor ? rows : columns;
+        final boolean byRows = rowMajor;
+
+        for (Triplets part: parts) {
+            for (int k = 0; k < part.size; k++) {
+                if (part.rows[k] < 0 || part.rows[k] >= rows) {
+                    throw new IndexOutOfBoundsException("Row '" + part.rows[k] + "' is invalid.");
+                }
+                if (part.columns[k] < 0 || part.columns[k] >= columns) {
+                    throw new IndexOutOfBoundsException("Column '" + part.columns[k] + "' is invalid.");
+                }
+            }
+        }
+
+        // the 1st phase: count entries per (part, major index)
+        final int[][] offsets = new int[parts.size()][];
+        Parallel.forRange(0, parts.size(), threads, new Parallel.RangeProcedure() {
+            @Override
+            public void apply(int from, int until) {
+                for (int t = from; t < until; t++) {
+                    Triplets part = parts.get(t);
+                    int[] majorIndices = byRows ? part.rows : part.columns;
+                    int[] counts = new int[majors];
+                    for (int k = 0; k < part.size; k++) {
+                        counts[majorIndices[k]]++;
+                    }
+                    offsets[t] = counts;
+                }
+            }
+        });
+
+        // the 2nd phase: prefix sums, so each part scatters into its own slots
+        final int[] pointers = new int[majors + 1];
+        int total = 0;
+        for (int r = 0; r < majors; r++) {
+            pointers[r] = total;
+            for (int[] counts: offsets) {
+                int count = counts[r];
+                counts[r] = total;
+                total += count;
+            }
+        }
+        pointers[majors] = total;
+
+        // the 3rd phase: scatter, which keeps the input order within each major index
+        final int[] minorIndices = new int[total];
+        final double[] values = new double[total];
+
+        Parallel.forRange(0, parts.size(), threads, new Parallel.RangeProcedure() {
+            @Override
+            public void apply(int from, int until) {
+                for (int t = from; t < until; t++) {
+                    Triplets part = parts.get(t);
+                    int[] majorIndices = byRows ? part.rows : part.columns;
+                    int[] others = byRows ? part.columns : part.rows;
+                    int[] counts = offsets[t];
+                    for (int k = 0; k < part.size; k++) {
+                        int position = counts[majorIndices[k]]++;
+                        minorIndices[position] = others[k];
+                        values[position] = part.values[k];
+                    }
+                }
+            }
+        });
+
+        // the 4th phase: sort each major slice by minor index, drop duplicates and zeros
+        final int[] sizes = new int[majors];
+        Parallel.forRange(0, majors, threads, new Parallel.RangeProcedure() {
+            @Override
+            public void apply(int from, int until) {
+                long[] keys = new long[0];
+                int[] indices = new int[0];
+                double[] buffer = new double[0];
+
+                for (int r = from; r < until; r++) {
+                    int left = pointers[r];
+                    int right = pointers[r + 1];
+                    int length = right - left;
+
+                    boolean sorted = true;
+                    for (int k = left + 1; sorted && k < right; k++) {
+                        sorted = minorIndices[k - 1] < minorIndices[k];
+                    }
+
+                    if (!sorted) {
+                        if (keys.length < length) {
+                            keys = new long[length];
+                            indices = new int[length];
+                            buffer = new double[length];
+                        }
+
+                        // the position is a secondary key, so the sort is stable
+                        for (int k = 0; k < length; k++) {
+                            keys[k] = ((long) minorIndices[left + k] << 32) | k;
+                        }
+                        Arrays.sort(keys, 0, length);
+
+                        int size = 0;
+                        for (int k = 0; k < length; k++) {
+                            int index = (int) (keys[k] >>> 32);
+                            int position = (int) keys[k];
+                            if (size > 0 && indices[size - 1] == index) {
+                                // the last occurrence wins
+                                buffer[size - 1] = values[left + position];
+                            } else {
+                                indices[size] = index;
+                                buffer[size++] = values[left + position];
+                            }
+                        }
+
+                        System.arraycopy(indices, 0, minorIndices, left, size);
+                        System.arraycopy(buffer, 0, values, left, size);
+                        right = left + size;
+                    }
+
+                    int size = 0;
+                    for (int k = left; k < right; k++) {
+                        if (values[k] != 0.0) {
+                            minorIndices[left + size] = minorIndices[k];
+                            values[left + size] = values[k];
+                            size++;
+                        }
+                    }
+
+                    sizes[r] = size;
+                }
+            }
+        });
+
+        // the 5th phase: compact the slices
+        int cardinality = 0;
+        for (int r = 0; r < majors; r++) {
+            int left = pointers[r];
+            if (left != cardinality) {
+                System.arraycopy(minorIndices, left, minorIndices, cardinality, sizes[r]);
+                System.arraycopy(values, left, values, cardinality, sizes[r]);
+            }
+            pointers[r] = cardinality;
+            cardinality += sizes[r];
+        }
+        pointers[majors] = cardinality;
+
+        SparseMatrix result = rowMajor ?
+                new CRSMatrix(rows, columns, cardinality, values, minorIndices, pointers) :
+                new CCSMatrix(rows, columns, cardinality, values, minorIndices, pointers);
+
+        return result;
+    }
+
+    private static List<Triplets> toList(Triplets triplets) {
+        List<Triplets> result = new ArrayList<Triplets>(1);
+        result.add(triplets);
+        return result;
+    }
+
+    private static int parseInt(char[] token, int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Wrong input file format: unexpected end of line.");
+        }
+
+        int result = 0;
+        for (int k = 0; k < length; k++) {
+            int digit = token[k] - '0';
+            if (digit < 0 || digit > 9 || result > (Integer.MAX_VALUE - digit) / 10) {
+                throw new NumberFormatException("For input string: \"" + new String(token, 0, length) + "\"");
+            }
+            result = result * 10 + digit;
+        }
+
+        return result;
+    }
+
+    /**
+     * Parses a decimal number. Numbers with at most 15 significant digits and a small
+     * exponent are converted exactly with a single multiplication or division, the
+     * rest is delegated to {@link Double#parseDouble(String)}.
+     */
+    static double parseDouble(char[] s, int offset, int length) {
+        int k = offset;
+        int end = offset + length;
+        boolean negative = false;
+
+        if (k < end && (s[k] == '-' || s[k] == '+')) {
+            negative = s[k] == '-';
+            k++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean any = false;
+
+        while (k < end && s[k] >= '0' && s[k] <= '9') {
+            if (mantissa != 0 || s[k] != '0') {
+                mantissa = mantissa * 10 + (s[k] - '0');
+                digits++;
+            }
+            any = true;
+            k++;
+            if (digits > 15) {
+                return Double.parseDouble(new String(s, offset, length));
+            }
+        }
+
+        if (k < end && s[k] == '.') {
+            k++;
+            while (k < end && s[k] >= '0' && s[k] <= '9') {
+                if (mantissa != 0 || s[k] != '0') {
+                    mantissa = mantissa * 10 + (s[k] - '0');
+                    digits++;
+                }
+                exponent--;
+                any = true;
+                k++;
+                if (digits > 15) {
+                    return Double.parseDouble(new String(s, offset, length));
+                }
+            }
+        }
+
+        if (any && k < end && (s[k] == 'e' || s[k] == 'E')) {
+            k++;
+            boolean negativeExponent = false;
+            if (k < end && (s[k] == '-' || s[k] == '+')) {
+                negativeExponent = s[k] == '-';
+                k++;
+            }
+
+            int value = 0;
+            boolean anyExponent = false;
+            while (k < end && s[k] >= '0' && s[k] <= '9' && value < 10000) {
+                value = value * 10 + (s[k] - '0');
+                anyExponent = true;
+                k++;
+            }
+
+            if (!anyExponent) {
+                return Double.parseDouble(new String(s, offset, length));
+            }
+
+            exponent += negativeExponent ? -value : value;
+        }
+
+        if (!any || k != end || exponent < -22 || exponent > 22) {
+            return Double.parseDouble(new String(s, offset, length));
+        }
+
+        double result = mantissa;
+        if (exponent < 0) {
+            result /= POWERS_OF_TEN[-exponent];
+        } else {
+            result *= POWERS_OF_TEN[exponent];
+        }
+
+        return negative ? -result : result;
+    }
+
+    private static final class Header {
+        boolean coordinate;
+        boolean rowMajor;
+        int rows;
+        int columns;
+        int cardinality;
+        long dataStart;
+    }
+
+    private static final class Triplets {
+        int[] rows;
+        int[] columns;
+        double[] values;
+        int size;
+
+        Triplets(int capacity) {
+            capacity = Math.max(capacity, 16);
+            this.rows = new int[capacity];
+            this.columns = new int[capacity];
+            this.values = new double[capacity];
+        }
+
+        void add(int i, int j, double value) {
+            if (size == values.length) {
+                int capacity = (int) Math.min(Integer.MAX_VALUE - 8, (size * 3L) / 2 + 1);
+                rows = Arrays.copyOf(rows, capacity);
+                columns = Arrays.copyOf(columns, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+
+            rows[size] = i;
+            columns[size] = j;
+            values[size] = value;
+            size++;
+        }
+    }
+
+    /**
+     * A buffered byte reader over a channel, which keeps track of its absolute position.
+     */
+    private static final class ByteSource {
+        private final ReadableByteChannel channel;
+        private final ByteBuffer buffer;
+        private long position;
+        private char[] token;
+
+        ByteSource(ReadableByteChannel channel, long position) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            this.buffer.flip();
+            this.position = position;
+            this.token = new char[32];
+        }
+
+        long position() {
+            return position;
+        }
+
+        int read() throws IOException {
+            if (!buffer.hasRemaining() && !fill()) {
+                return -1;
+            }
+
+            position++;
+            return buffer.get() & 0xFF;
+        }
+
+        /**
+         * Steps back over the last byte returned by {@link #read()}.
+         */
+        void unread() {
+            buffer.position(buffer.position() - 1);
+            position--;
+        }
+
+        /**
+         * Skips whitespaces and reads the next token of the current line. Returns
+         * the token length or -1 if the end of the line or data is reached.
+         */
+        int readToken() throws IOException {
+            int b = read();
+            while (b == ' ' || b == '\t' || b == '\r') {
+                b = read();
+            }
+
+            if (b == -1 || b == '\n') {
+                if (b == '\n') {
+                    unread();
+                }
+                return -1;
+            }
+
+            int length = 0;
+            while (b != -1 && b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+                if (length == token.length) {
+                    token = Arrays.copyOf(token, length * 2);
+                }
+                token[length++] = (char) b;
+                b = read();
+            }
+
+            if (b != -1) {
+                unread();
+            }
+
+            return length;
+        }
+
+        char[] token() {
+            return token;
+        }
+
+        String readLine() throws IOException {
+            StringBuilder sb = new StringBuilder();
+            int b = read();
+
+            if (b == -1) {
+                return null;
+            }
+
+            while (b != -1 && b != '\n') {
+                if (b != '\r') {
+                    sb.append((char) b);
+                }
+                b = read();
+            }
+
+            return sb.toString();
+        }
+
+        private boolean fill() throws IOException {
+            buffer.clear();
+
+            int read = 0;
+            while (read == 0) {
+                read = channel.read(buffer);
+            }
+
+            buffer.flip();
+
+            return read > 0;
+        }
+    }
+}
@@ -0,0 +1,717 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j;
+
+import org.la4j.iterator.MatrixIterator;
+import org.la4j.matrix.ColumnMajorSparseMatrix;
+import org.la4j.matrix.SparseMatrix;
+import org.la4j.matrix.dense.Basic1DMatrix;
+import org.la4j.matrix.sparse.CCSMatrix;
+import org.la4j.matrix.sparse.CRSMatrix;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Reads and writes NumPy's {@code .npy} arrays and SciPy's {@code .npz} sparse
+ * bundles (as written by {@code scipy.sparse.save_npz}).
+ *
+ * Dense arrays are decoded straight into the backing array of a
+ * {@link Basic1DMatrix}; files are memory-mapped rather than read through a
+ * stream. Sparse bundles are turned into {@link CRSMatrix}/{@link CCSMatrix}
+ * arrays without any per-element inserts.
+ */
+final class NumPy {
+
+    private static final byte[] MAGIC = { (byte) 0x93, 'N', 'U', 'M', 'P', 'Y' };
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // a single mapping can't exceed 2 GB, so large files are mapped piece by piece
+    private static final long MAPPING_SIZE = 1L << 30;
+
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+
+    private NumPy() {}
+
+    static Matrix readNpy(InputStream is) throws IOException {
+        Header header = readHeader(is);
+        ByteBuffer data = readData(is, header);
+        double[] array = new double[header.size()];
+        decode(data, header, array, 0, array.length);
+
+        return toMatrix(header, array);
+    }
+
+    static Matrix readNpy(File file) throws IOException {
+        FileInputStream is = new FileInputStream(file);
+
+        try {
+            Header header = readHeader(is);
+            FileChannel channel = is.getChannel();
+
+            int size = header.size();
+            long position = header.dataOffset;
+            long length = (long) size * header.itemSize;
+
+            if (channel.size() - position < length) {
+                throw new EOFException("Unexpected end of the array data.");
+            }
+
+            double[] array = new double[size];
+            int offset = 0;
+
+            while (offset < size) {
+                long bytes = Math.min(MAPPING_SIZE, length - (long) offset * header.itemSize);
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, bytes);
+                buffer.order(header.order);
+
+                int count = (int) (bytes / header.itemSize);
+                decode(buffer, header, array, offset, count);
+
+                position += bytes;
+                offset += count;
+            }
+
+            return toMatrix(header, array);
+        } finally {
+            is.close();
+        }
+    }
+
+    static Matrix readNpz(InputStream is) throws IOException {
+        ZipInputStream zip = new ZipInputStream(is);
+        Map<String, Header> headers = new HashMap<String, Header>();
+        Map<String, ByteBuffer> arrays = new HashMap<String, ByteBuffer>();
+
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            String name = entry.getName();
+            if (name.endsWith(".npy")) {
+                name = name.substring(0, name.length() - 4);
+            }
+
+            Header header = readHeader(zip);
+            headers.put(name, header);
+            arrays.put(name, readData(zip, header));
+        }
+
+        for (String name: new String[] { "format", "shape", "data", "indices", "indptr" }) {
+            if (!headers.containsKey(name)) {
+                throw new IllegalArgumentException("Wrong input file format: array '" + name + "' is missing.");
+            }
+        }
+
+        String format = decodeString(headers.get("format"), arrays.get("format"));
+        boolean rowMajor;
+
+        if ("csr".equals(format)) {
+            rowMajor = true;
+        } else if ("csc".equals(format)) {
+            rowMajor = false;
+        } else {
+            throw new IllegalArgumentException("Unsupported sparse format: '" + format + "'.");
+        }
+
+        int[] shape = decodeInts(headers.get("shape"), arrays.get("shape"));
+        if (shape.length != 2) {
+            throw new IllegalArgumentException("Wrong input file format: can not read shape.");
+        }
+
+        int[] pointers = decodeInts(headers.get("indptr"), arrays.get("indptr"));
+        int[] indices = decodeInts(headers.get("indices"), arrays.get("indices"));
+
+        Header dataHeader = headers.get("data");
+        double[] values = new double[dataHeader.size()];
+        decode(arrays.get("data"), dataHeader, values, 0, values.length);
+
+        return compress(shape[0], shape[1], rowMajor, values, indices, pointers);
+    }
+
+    static Matrix readNpz(File file) throws IOException {
+        InputStream is = new FileInputStream(file);
+
+        try {
+            return readNpz(is);
+        } finally {
+            is.close();
+        }
+    }
+
+    static void writeNpy(Matrix a, OutputStream os) throws IOException {
+        // column-major sparse matrices are cheaper to traverse by columns
+        boolean fortran = a instanceof ColumnMajorSparseMatrix;
+        WritableByteChannel channel = Channels.newChannel(os);
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        writeHeader(buffer, "<f8", fortran, a.rows(), a.columns());
+
+        int majors = fortran ? a.columns() : a.rows();
+        int minors = fortran ? a.rows() : a.columns();
+        double[] line = new double[minors];
+
+        if (a instanceof SparseMatrix) {
+            SparseMatrix sparse = (SparseMatrix) a;
+            MatrixIterator it = fortran ? sparse.nonZeroColumnMajorIterator() : sparse.nonZeroRowMajorIterator();
+            boolean pending = it.hasNext();
+            double value = pending ? it.next() : 0.0;
+
+            for (int k = 0; k < majors; k++) {
+                Arrays.fill(line, 0.0);
+
+                while (pending && (fortran ? it.columnIndex() : it.rowIndex()) == k) {
+                    line[fortran ? it.rowIndex() : it.columnIndex()] = value;
+                    pending = it.hasNext();
+                    value = pending ? it.next() : 0.0;
+                }
+
+                writeDoubles(buffer, channel, line, minors);
+            }
+        } else {
+            for (int i = 0; i < majors; i++) {
+                for (int j = 0; j < minors; j++) {
+                    line[j] = a.get(i, j);
+                }
+
+                writeDoubles(buffer, channel, line, minors);
+            }
+        }
+
+        flush(buffer, channel);
+        os.flush();
+    }
+
+    static void writeNpz(Matrix a, OutputStream os) throws IOException {
+        SparseMatrix sparse = a instanceof SparseMatrix ? (SparseMatrix) a : a.toRowMajorSparseMatrix();
+        boolean rowMajor = sparse.isRowMajor();
+
+        int majors = rowMajor ? a.rows() : a.columns();
+        int cardinality = sparse.cardinality();
+
+        double[] values = new double[cardinality];
+        int[] indices = new int[cardinality];
+        int[] pointers = new int[majors + 1];
+
+        MatrixIterator it = rowMajor ? sparse.nonZeroRowMajorIterator() : sparse.nonZeroColumnMajorIterator();
+        int k = 0;
+        while (it.hasNext()) {
+            values[k] = it.next();
+            indices[k] = rowMajor ? it.columnIndex() : it.rowIndex();
+            pointers[(rowMajor ? it.rowIndex() : it.columnIndex()) + 1]++;
+            k++;
+        }
+
+        for (int r = 0; r < majors; r++) {
+            pointers[r + 1] += pointers[r];
+        }
+
+        ZipOutputStream zip = new ZipOutputStream(os);
+
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        WritableByteChannel channel = Channels.newChannel(zip);
+
+        zip.putNextEntry(new ZipEntry("indices.npy"));
+        writeHeader(buffer, "<i4", false, cardinality);
+        writeInts(buffer, channel, indices, cardinality);
+        flush(buffer, channel);
+        zip.closeEntry();
+
+        zip.putNextEntry(new ZipEntry("indptr.npy"));
+        writeHeader(buffer, "<i4", false, majors + 1);
+        writeInts(buffer, channel, pointers, majors + 1);
+        flush(buffer, channel);
+        zip.closeEntry();
+
+        zip.putNextEntry(new ZipEntry("format.npy"));
+        writeHeader(buffer, "<U3", false);
+        for (char c: (rowMajor ? "csr" : "csc").toCharArray()) {
+            buffer.putInt(c);
+        }
+        flush(buffer, channel);
+        zip.closeEntry();
+
+        zip.putNextEntry(new ZipEntry("shape.npy"));
+        writeHeader(buffer, "<i8", false, 2);
+        buffer.putLong(a.rows());
+        buffer.putLong(a.columns());
+        flush(buffer, channel);
+        zip.closeEntry();
+
+        zip.putNextEntry(new ZipEntry("data.npy"));
+        writeHeader(buffer, "<f8", false, cardinality);
+        writeDoubles(buffer, channel, values, cardinality);
+        flush(buffer, channel);
+        zip.closeEntry();
+
+        zip.finish();
+        os.flush();
+    }
+
+    private static Matrix toMatrix(Header header, double[] array) {
+        int rows = header.shape.length == 2 ? header.shape[0] : 1;
+        int columns = header.shape.length == 0 ? 1 : header.shape[header.shape.length - 1];
+
+        if (header.fortran && rows > 1 && columns > 1) {
+            array = transpose(array, columns, rows);
+        }
+
+        return Basic1DMatrix.from1DArray(rows, columns, array);
+    }
+
+    private static double[] transpose(double[] array, int rows, int columns) {
+        final int block = 64;
+        double[] result = new double[array.length];
+
+        for (int ii = 0; ii < rows; ii += block) {
+            int iUntil = Math.min(ii + block, rows);
+            for (int jj = 0; jj < columns; jj += block) {
+                int jUntil = Math.min(jj + block, columns);
+                for (int i = ii; i < iUntil; i++) {
+                    for (int j = jj; j < jUntil; j++) {
+                        result[j * rows + i] = array[i * columns + j];
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static Matrix compress(int rows, int columns, boolean rowMajor,
+                                   double[] values, int[] indices, int[] pointers) {
+
+        int majors = rowMajor ? rows : columns;
+        int minors = rowMajor ? columns : rows;
+
+        if (pointers.length != majors + 1 || pointers[0] != 0) {
+            throw new IllegalArgumentException("Wrong input file format: invalid index pointers.");
+        }
+
+        for (int r = 0; r < majors; r++) {
+            if (pointers[r] > pointers[r + 1]) {
+                throw new IllegalArgumentException("Wrong input file format: invalid index pointers.");
+            }
+        }
+
+        int length = pointers[majors];
+        if (length > indices.length || length > values.length) {
+            throw new IllegalArgumentException("Wrong input file format: expected " + length
+                    + " entries, but found " + Math.min(indices.length, values.length) + ".");
+        }
+
+        for (int k = 0; k < length; k++) {
+            if (indices[k] < 0 || indices[k] >= minors) {
+                throw new IndexOutOfBoundsException((rowMajor ? "Column '" : "Row '") + indices[k] + "' is invalid.");
+            }
+        }
+
+        long[] keys = new long[0];
+        double[] buffer = new double[0];
+        int cardinality = 0;
+
+        for (int r = 0; r < majors; r++) {
+            int left = pointers[r];
+            int right = pointers[r + 1];
+            pointers[r] = cardinality;
+
+            boolean sorted = true;
+            for (int k = left + 1; sorted && k < right; k++) {
+                sorted = indices[k - 1] < indices[k];
+            }
+
+            if (!sorted) {
+                int size = right - left;
+                if (keys.length < size) {
+                    keys = new long[size];
+                    buffer = new double[size];
+                }
+
+                for (int k = 0; k < size; k++) {
+                    keys[k] = ((long) indices[left + k] << 32) | k;
+                }
+                Arrays.sort(keys, 0, size);
+
+                for (int k = 0; k < size; k++) {
+                    buffer[k] = values[left + (int) keys[k]];
+                }
+
+                for (int k = 0; k < size; k++) {
+                    indices[left + k] = (int) (keys[k] >>> 32);
+                    values[left + k] = buffer[k];
+                }
+            }
+
+            // duplicates are summed up, just like SciPy does
+            for (int k = left; k < right; k++) {
+                double value = values[k];
+                while (k + 1 < right && indices[k + 1] == indices[k]) {
+                    value += values[++k];
+                }
+
+                if (value != 0.0) {
+                    indices[cardinality] = indices[k];
+                    values[cardinality] = value;
+                    cardinality++;
+                }
+            }
+        }
+
+        pointers[majors] = cardinality;
+
+        return rowMajor ?
+                new CRSMatrix(rows, columns, cardinality, values, indices, pointers) :
+                new CCSMatrix(rows, columns, cardinality, values, indices, pointers);
+    }
+
+    private static Header readHeader(InputStream is) throws IOException {
+        byte[] preamble = new byte[8];
+        readFully(is, preamble, preamble.length);
+
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (preamble[i] != MAGIC[i]) {
+                throw new IllegalArgumentException("Wrong input file format: can not read header.");
+            }
+        }
+
+        int major = preamble[6];
+        int length;
+        int offset;
+
+        if (major == 1) {
+            byte[] bytes = new byte[2];
+            readFully(is, bytes, 2);
+            length = (bytes[0] & 0xFF) | (bytes[1] & 0xFF) << 8;
+            offset = 10;
+        } else if (major == 2 || major == 3) {
+            byte[] bytes = new byte[4];
+            readFully(is, bytes, 4);
+            length = (bytes[0] & 0xFF) | (bytes[1] & 0xFF) << 8 | (bytes[2] & 0xFF) << 16 | (bytes[3] & 0xFF) << 24;
+            offset = 12;
+        } else {
+            throw new IllegalArgumentException("Unsupported format version: " + major + ".");
+        }
+
+        if (length < 0) {
+            throw new IllegalArgumentException("Wrong input file format: can not read header.");
+        }
+
+        byte[] bytes = new byte[length];
+        readFully(is, bytes, length);
+
+        return parseHeader(new String(bytes, ASCII), offset + length);
+    }
+
+    private static Header parseHeader(String dictionary, long dataOffset) {
+        String descr = valueOf(dictionary, "descr");
+        String fortran = valueOf(dictionary, "fortran_order");
+        String shape = valueOf(dictionary, "shape");
+
+        if (descr.length() < 3 || descr.charAt(0) != '\'' || descr.charAt(descr.length() - 1) != '\'') {
+            throw new IllegalArgumentException("Unsupported data type: " + descr + ".");
+        }
+
+        descr = descr.substring(1, descr.length() - 1);
+
+        Header header = new Header();
+        header.dataOffset = dataOffset;
+        header.fortran = "True".equals(fortran);
+
+        char order = descr.charAt(0);
+        header.order = order == '>' ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+        header.kind = descr.charAt(1);
+
+        try {
+            header.itemSize = Integer.parseInt(descr.substring(2));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Unsupported data type: '" + descr + "'.");
+        }
+
+        if (header.kind == 'U') {
+            header.itemSize *= 4;
+        }
+
+        if ("<>|=".indexOf(order) < 0 || !isSupported(header.kind, header.itemSize)) {
+            throw new IllegalArgumentException("Unsupported data type: '" + descr + "'.");
+        }
+
+        if (!shape.startsWith("(") || !shape.endsWith(")")) {
+            throw new IllegalArgumentException("Wrong input file format: can not read shape.");
+        }
+
+        String[] dimensions = shape.substring(1, shape.length() - 1).split(",");
+        int[] result = new int[dimensions.length];
+        int length = 0;
+
+        for (String dimension: dimensions) {
+            dimension = dimension.trim();
+            if (dimension.endsWith("L")) {
+                dimension = dimension.substring(0, dimension.length() - 1);
+            }
+
+            if (!dimension.isEmpty()) {
+                try {
+                    result[length++] = Integer.parseInt(dimension);
+                } catch (NumberFormatException ex) {
+                    throw new IllegalArgumentException("Wrong input file format: can not read shape.");
+                }
+            }
+        }
+
+        if (length > 2) {
+            throw new IllegalArgumentException("Only 1D and 2D arrays are supported, but the shape is " + shape + ".");
+        }
+
+        header.shape = Arrays.copyOf(result, length);
+
+        long size = 1;
+        for (int dimension: header.shape) {
+            if (dimension < 0) {
+                throw new IllegalArgumentException("Wrong input file format: can not read shape.");
+            }
+            size *= dimension;
+        }
+
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The array is too large: " + shape + ".");
+        }
+
+        return header;
+    }
+
+    private static boolean isSupported(char kind, int size) {
+        switch (kind) {
+            case 'f': return size == 4 || size == 8;
+            case 'i': case 'u': return size == 1 || size == 2 || size == 4 || size == 8;
+            case 'b': return size == 1;
+            case 'U': case 'S': return size > 0;
+            default: return false;
+        }
+    }
+
+    private static String valueOf(String dictionary, String key) {
+        int start = dictionary.indexOf("'" + key + "'");
+        if (start < 0) {
+            throw new IllegalArgumentException("Wrong input file format: key '" + key + "' is missing.");
+        }
+
+        start = dictionary.indexOf(':', start) + 1;
+        while (start < dictionary.length() && dictionary.charAt(start) == ' ') {
+            start++;
+        }
+
+        int end = start;
+        if (end < dictionary.length()) {
+            char c = dictionary.charAt(end);
+            char closing = c == '\'' ? '\'' : c == '(' ? ')' : ',';
+            end = dictionary.indexOf(closing, end + 1);
+            end = end < 0 ? dictionary.length() : (closing == ',' ? end : end + 1);
+        }
+
+        return dictionary.substring(start, end).trim();
+    }
+
+    private static ByteBuffer readData(InputStream is, Header header) throws IOException {
+        long length = (long) header.size() * header.itemSize;
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The array is too large to be read from a stream.");
+        }
+
+        byte[] bytes = new byte[(int) length];
+        readFully(is, bytes, bytes.length);
+
+        return ByteBuffer.wrap(bytes).order(header.order);
+    }
+
+    private static void decode(ByteBuffer buffer, Header header, double[] array, int offset, int count) {
+        switch (header.kind) {
+            case 'f':
+                if (header.itemSize == 8) {
+                    buffer.asDoubleBuffer().get(array, offset, count);
+                } else {
+                    for (int k = 0; k < count; k++) {
+                        array[offset + k] = buffer.getFloat(k << 2);
+                    }
+                }
+                break;
+            case 'i': case 'u': case 'b':
+                for (int k = 0; k < count; k++) {
+                    array[offset + k] = integerAt(buffer, header, k);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Can not convert '" + header.kind + "' data to numbers.");
+        }
+    }
+
+    private static int[] decodeInts(Header header, ByteBuffer buffer) {
+        if (header.kind != 'i' && header.kind != 'u') {
+            throw new IllegalArgumentException("Wrong input file format: integer array expected.");
+        }
+
+        int[] result = new int[header.size()];
+        for (int k = 0; k < result.length; k++) {
+            long value = integerAt(buffer, header, k);
+            if (value < 0 || value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Wrong input file format: index " + value + " is out of range.");
+            }
+            result[k] = (int) value;
+        }
+
+        return result;
+    }
+
+    private static String decodeString(Header header, ByteBuffer buffer) {
+        StringBuilder result = new StringBuilder();
+
+        if (header.kind == 'U') {
+            for (int k = 0; k < header.itemSize; k += 4) {
+                int c = buffer.getInt(k);
+                if (c != 0) {
+                    result.appendCodePoint(c);
+                }
+            }
+        } else if (header.kind == 'S') {
+            for (int k = 0; k < header.itemSize; k++) {
+                byte c = buffer.get(k);
+                if (c != 0) {
+                    result.append((char) c);
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("Wrong input file format: string array expected.");
+        }
+
+        return result.toString();
+    }
+
+    private static long integerAt(ByteBuffer buffer, Header header, int k) {
+        boolean signed = header.kind == 'i';
+
+        switch (header.itemSize) {
+            case 1: return signed ? buffer.get(k) : buffer.get(k) & 0xFFL;
+            case 2: return signed ? buffer.getShort(k << 1) : buffer.getShort(k << 1) & 0xFFFFL;
+            case 4: return signed ? buffer.getInt(k << 2) : buffer.getInt(k << 2) & 0xFFFFFFFFL;
+            default: return buffer.getLong(k << 3);
+        }
+    }
+
+    private static void writeHeader(ByteBuffer buffer, String descr, boolean fortran, int... shape) {
+
+        StringBuilder dictionary = new StringBuilder();
+        dictionary.append("{'descr': '").append(descr).append("', 'fortran_order': ")
+                .append(fortran ? "True" : "False").append(", 'shape': (");
+
+        for (int k = 0; k < shape.length; k++) {
+            dictionary.append(k > 0 ? ", " : "").append(shape[k]);
+        }
+
+        dictionary.append(shape.length == 1 ? ",), }" : "), }");
+
+        // the data is aligned to 64 bytes, the header is terminated with '\n'
+        int length = dictionary.length() + 1;
+        int padding = (64 - (10 + length) % 64) % 64;
+        for (int k = 0; k < padding; k++) {
+            dictionary.append(' ');
+        }
+        dictionary.append('\n');
+
+        buffer.put(MAGIC);
+        buffer.put((byte) 1);
+        buffer.put((byte) 0);
+        buffer.putShort((short) dictionary.length());
+        buffer.put(dictionary.toString().getBytes(ASCII));
+    }
+
+    private static void writeDoubles(ByteBuffer buffer, WritableByteChannel channel,
+                                     double[] array, int length) throws IOException {
+
+        for (int k = 0; k < length; k++) {
+            if (buffer.remaining() < 8) {
+                flush(buffer, channel);
+            }
+            buffer.putDouble(array[k]);
+        }
+    }
+
+    private static void writeInts(ByteBuffer buffer, WritableByteChannel channel,
+                                  int[] array, int length) throws IOException {
+
+        for (int k = 0; k < length; k++) {
+            if (buffer.remaining() < 4) {
+                flush(buffer, channel);
+            }
+            buffer.putInt(array[k]);
+        }
+    }
+
+    private static void flush(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void readFully(InputStream is, byte[] bytes, int length) throws IOException {
+        int offset = 0;
+        while (offset < length) {
+            int read = is.read(bytes, offset, length - offset);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of the array data.");
+            }
+            offset += read;
+        }
+    }
+
+    private static final class Header {
+        private char kind;
+        private int itemSize;
+        private ByteOrder order;
+        private boolean fortran;
+        private int[] shape;
+        private long dataOffset;
+
+        private int size() {
+            int size = 1;
+            for (int dimension: shape) {
+                size *= dimension;
+            }
+            return size;
+        }
+    }
+}
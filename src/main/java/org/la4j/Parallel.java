@@ -0,0 +1,188 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tiny helpers for running data-parallel loops on a shared pool of daemon threads.
+ */
+public final class Parallel {
+
+    /**
+     * The default number of threads used by parallel algorithms.
+     */
+    public static final int THREADS = Runtime.getRuntime().availableProcessors();
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "la4j-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    /**
+     * A procedure that processes a half-open range of indices {@code [from, until)}.
+     */
+    public interface RangeProcedure {
+        void apply(int from, int until);
+    }
+
+    private Parallel() {}
+
+    /**
+     * Splits the range {@code [from, until)} into {@link #THREADS} chunks and
+     * applies the given {@code procedure} to them concurrently.
+     *
+     * @param from the first index (inclusive)
+     * @param until the last index (exclusive)
+     * @param procedure the range procedure
+     */
+    public static void forRange(int from, int until, RangeProcedure procedure) {
+        forRange(from, until, THREADS, procedure);
+    }
+
+    /**
+     * Splits the range {@code [from, until)} into at most {@code threads} chunks
+     * and applies the given {@code procedure} to them concurrently. The calling
+     * thread processes the last chunk itself and returns once all the chunks are done.
+     *
+     * @param from the first index (inclusive)
+     * @param until the last index (exclusive)
+     * @param threads the number of chunks
+     * @param procedure the range procedure
+     */
+    public static void forRange(int from, int until, int threads, final RangeProcedure procedure) {
+        int length = until - from;
+        int chunks = Math.max(1, Math.min(threads, length));
+
+        if (chunks == 1) {
+            if (length > 0) {
+                procedure.apply(from, until);
+            }
+            return;
+        }
+
+        List<Future<?>> futures = new ArrayList<Future<?>>(chunks - 1);
+        int step = length / chunks;
+        int rest = length % chunks;
+        int start = from;
+
+        for (int k = 0; k < chunks - 1; k++) {
+            final int left = start;
+            final int right = left + step + (k < rest ? 1 : 0);
+
+            futures.add(EXECUTOR.submit(new Runnable() {
+                @Override
+                public void run() {
+                    procedure.apply(left, right);
+                }
+            }));
+
+            start = right;
+        }
+
+        procedure.apply(start, until);
+
+        for (Future<?> future: futures) {
+            try {
+                await(future);
+            } catch (ExecutionException ex) {
+                // runnables can't throw checked exceptions
+                throw new IllegalStateException(ex.getCause());
+            }
+        }
+    }
+
+    /**
+     * Runs the given {@code tasks} concurrently and returns their results in the
+     * same order.
+     *
+     * @param tasks the tasks to run
+     * @param <T> the result type
+     *
+     * @return the list of results
+     * @exception ExecutionException if any of the tasks threw a checked exception
+     */
+    public static <T> List<T> invokeAll(List<? extends Callable<T>> tasks) throws ExecutionException {
+        List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
+        for (Callable<T> task: tasks) {
+            futures.add(EXECUTOR.submit(task));
+        }
+
+        List<T> result = new ArrayList<T>(tasks.size());
+        ExecutionException failure = null;
+
+        for (Future<T> future: futures) {
+            try {
+                result.add(await(future));
+            } catch (ExecutionException ex) {
+                failure = failure == null ? ex : failure;
+                result.add(null);
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+
+        return result;
+    }
+
+    private static <T> T await(Future<T> future) throws ExecutionException {
+        boolean interrupted = false;
+
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw ex;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
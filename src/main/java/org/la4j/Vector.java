@@ -26,6 +26,8 @@
 package org.la4j;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.*;
@@ -993,6 +995,21 @@ public abstract class Vector implements Iterable<Double> {
         return mkString(formatter, ", ");
     }
 
+    /**
+     * Writes this vector into the given {@code channel} using the same binary
+     * format as {@link #toBinary()}.
+     *
+     * @param channel the channel to write to
+     *
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(toBinary());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
     /**
      * Converts this vector into the string in Matrix Market format.
      *
@@ -23,17 +23,38 @@ package org.la4j.decomposition;
 
 import org.la4j.Matrices;
 import org.la4j.Matrix;
+import org.la4j.Parallel;
+import org.la4j.matrix.SparseMatrix;
 
 /**
  * This class represents Cholesky decomposition of matrices. More details
  * <p>
  * <a href="http://mathworld.wolfram.com/CholeskyDecomposition.html"> here</a>
  * </p>
+ * <p>
+ * Dense matrices are factorized by the blocked right-looking algorithm on the
+ * rows of the lower triangle: a diagonal block, the block column below it and
+ * then the trailing lower triangle, which is updated in parallel. The matrix is
+ * positive definite if and only if all the pivots are positive, so there is no
+ * separate check.
+ * </p>
  */
 public class CholeskyDecompositor extends AbstractDecompositor implements MatrixDecompositor {
 
+    private static final int BLOCK_SIZE = 64;
+
+    // the number of multiply-adds, that is worth a thread
+    private static final long GRAIN = 1L << 20;
+
+    private final int threads;
+
     public CholeskyDecompositor(Matrix matrix) {
+        this(matrix, Parallel.THREADS);
+    }
+
+    public CholeskyDecompositor(Matrix matrix, int threads) {
         super(matrix);
+        this.threads = threads;
     }
 
     /**
@@ -49,42 +70,152 @@ public class CholeskyDecompositor extends AbstractDecompositor implements Matrix
     @Override
     public Matrix[] decompose() {
 
-        Matrix l = matrix.blankOfShape(matrix.rows(), matrix.rows());
+        if (matrix instanceof SparseMatrix) {
+            // the natural ordering keeps A = L * L^T, but only the non-zeros
+            // of L are computed
+            return new Matrix[] { new SparseCholeskyDecompositor(matrix, null, false).decompose()[0] };
+        }
+
+        int n = matrix.rows();
+        double[][] a = factorizeRows();
+
+        Matrix l = matrix.blankOfShape(n, n);
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                if (a[i][j] != 0.0) {
+                    l.set(i, j, a[i][j]);
+                }
+            }
+        }
+
+        return new Matrix[] { l };
+    }
+
+    /**
+     * Factorizes the matrix into the {@link CholeskyResult}, that supports the
+     * rank-one updates and downdates.
+     *
+     * @return the Cholesky factor
+     */
+    public CholeskyResult factorize() {
+        double[][] a = matrix instanceof SparseMatrix
+                ? decompose()[0].toDenseMatrix().toArray() : factorizeRows();
+
+        int n = a.length;
+        double[][] r = new double[n][n];
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                r[j][i] = a[i][j];
+            }
+        }
 
-        for (int j = 0; j < l.rows(); j++) {
+        return new CholeskyResult(matrix, r);
+    }
 
-            double d = 0.0;
+    /**
+     * Returns the rows of L of a dense matrix.
+     */
+    private double[][] factorizeRows() {
+        int n = matrix.rows();
+        double[][] a = matrix.toDenseMatrix().toArray();
 
-            for (int k = 0; k < j; k++) {
+        for (int k0 = 0; k0 < n; k0 += BLOCK_SIZE) {
+            int k1 = Math.min(k0 + BLOCK_SIZE, n);
 
-                double s = 0.0;
+            for (int j = k0; j < k1; j++) {
+                double[] lj = a[j];
+                double d = lj[j] - dot(lj, lj, k0, j);
 
-                for (int i = 0; i < k; i++) {
-                    s += l.get(k, i) * l.get(j, i);
+                if (!(d > 0.0)) {
+                    fail("This matrix is not positive definite.");
                 }
 
-                s = (matrix.get(j, k) - s) / l.get(k, k);
+                lj[j] = Math.sqrt(d);
 
-                l.set(j, k, s);
+                for (int i = j + 1; i < k1; i++) {
+                    a[i][j] = (a[i][j] - dot(a[i], lj, k0, j)) / lj[j];
+                }
+            }
 
-                d = d + s * s;
+            if (k1 < n) {
+                solve(a, k0, k1);
+                update(a, k0, k1);
             }
+        }
 
-            d = matrix.get(j, j) - d;
+        return a;
+    }
 
-            l.set(j, j, Math.sqrt(Math.max(d, 0.0)));
+    /**
+     * Computes the block column {@code L21 = A21 * L11^-T}, row by row.
+     */
+    private void solve(final double[][] a, final int k0, final int k1) {
+        final int n = a.length;
+
+        Parallel.RangeProcedure procedure = new Parallel.RangeProcedure() {
+            @Override
+            public void apply(int from, int until) {
+                for (int i = from; i < until; i++) {
+                    double[] li = a[i];
+                    for (int j = k0; j < k1; j++) {
+                        li[j] = (li[j] - dot(li, a[j], k0, j)) / a[j][j];
+                    }
+                }
+            }
+        };
+
+        long work = (long) (n - k1) * (k1 - k0) * (k1 - k0) / 2;
+        int chunks = (int) Math.min(threads, work / GRAIN);
+
+        if (chunks > 1) {
+            Parallel.forRange(k1, n, chunks, procedure);
+        } else {
+            procedure.apply(k1, n);
+        }
+    }
 
-            for (int k = j + 1; k < l.rows(); k++) {
-                l.set(j, k, 0.0);
+    /**
+     * Updates the trailing lower triangle {@code A22 -= L21 * L21^T}. The rows
+     * are split between the threads by equal areas of the triangle.
+     */
+    private void update(final double[][] a, final int k0, final int k1) {
+        final int n = a.length;
+        final int rows = n - k1;
+
+        long work = (long) rows * rows * (k1 - k0) / 2;
+        final int chunks = (int) Math.max(1, Math.min(threads, work / GRAIN));
+
+        Parallel.forRange(0, chunks, chunks, new Parallel.RangeProcedure() {
+            @Override
+            public void apply(int first, int last) {
+                for (int chunk = first; chunk < last; chunk++) {
+                    int from = k1 + (int) (rows * Math.sqrt((double) chunk / chunks));
+                    int until = k1 + (int) (rows * Math.sqrt((double) (chunk + 1) / chunks));
+
+                    for (int i = from; i < until; i++) {
+                        double[] li = a[i];
+                        for (int j = k1; j <= i; j++) {
+                            li[j] -= dot(li, a[j], k0, k1);
+                        }
+                    }
+                }
             }
+        });
+    }
+
+    private static double dot(double[] x, double[] y, int from, int until) {
+        double acc = 0.0;
+        for (int p = from; p < until; p++) {
+            acc += x[p] * y[p];
         }
 
-        return new Matrix[] { l };
+        return acc;
     }
 
     @Override
     public boolean applicableTo(Matrix matrix) {
-        return matrix.rows() == matrix.columns() &&
-                matrix.is(Matrices.SYMMETRIC_MATRIX) && matrix.is(Matrices.POSITIVE_DEFINITE_MATRIX);
+        return matrix.rows() == matrix.columns() && matrix.is(Matrices.SYMMETRIC_MATRIX);
     }
 }
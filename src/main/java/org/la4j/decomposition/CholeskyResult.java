@@ -0,0 +1,238 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.decomposition;
+
+import org.la4j.Matrix;
+import org.la4j.Vector;
+
+/**
+ * The result of the Cholesky decomposition {@code A = L * L^T}, that is kept
+ * up to date by the rank-one updates {@code A + x * x^T} and downdates
+ * {@code A - x * x^T} in {@code O(n^2)}, so the factor is never recomputed.
+ * The factor is kept transposed (as the rows of {@code L^T}), so that both
+ * the rotations and the triangular solves stream along the rows.
+ */
+public final class CholeskyResult {
+
+    private final Matrix matrix;
+    private final double[][] r;
+
+    CholeskyResult(Matrix matrix, double[][] r) {
+        this.matrix = matrix;
+        this.r = r;
+    }
+
+    /**
+     * Updates the factor to the one of {@code A + x * x^T}.
+     *
+     * @param x the vector of length {@code n}
+     */
+    public void update(Vector x) {
+        double[] w = toArray(x);
+        int n = r.length;
+
+        for (int k = 0; k < n; k++) {
+            double[] rk = r[k];
+            double h = Math.hypot(rk[k], w[k]);
+            double c = h / rk[k];
+            double s = w[k] / rk[k];
+
+            rk[k] = h;
+            for (int i = k + 1; i < n; i++) {
+                rk[i] = (rk[i] + s * w[i]) / c;
+                w[i] = c * w[i] - s * rk[i];
+            }
+        }
+    }
+
+    /**
+     * Downdates the factor to the one of {@code A - x * x^T}. The factor is
+     * left unchanged, if the result is not positive definite.
+     *
+     * @param x the vector of length {@code n}
+     */
+    public void downdate(Vector x) {
+        int n = r.length;
+        double[] cs = new double[n];
+        double[] ss = new double[n];
+        double[] hs = new double[n];
+
+        // the first pass only computes the rotations, so that the factor is
+        // not touched until all the pivots are known to be positive
+        double[] w = toArray(x);
+        for (int k = 0; k < n; k++) {
+            double[] rk = r[k];
+            double h = Math.sqrt((rk[k] - w[k]) * (rk[k] + w[k]));
+
+            if (!(h > 0.0)) {
+                throw new IllegalArgumentException("The downdated matrix is not positive definite.");
+            }
+
+            double c = h / rk[k];
+            double s = w[k] / rk[k];
+
+            for (int i = k + 1; i < n; i++) {
+                double value = (rk[i] - s * w[i]) / c;
+                w[i] = c * w[i] - s * value;
+            }
+
+            cs[k] = c;
+            ss[k] = s;
+            hs[k] = h;
+        }
+
+        w = toArray(x);
+        for (int k = 0; k < n; k++) {
+            double[] rk = r[k];
+            double c = cs[k];
+            double s = ss[k];
+
+            rk[k] = hs[k];
+            for (int i = k + 1; i < n; i++) {
+                rk[i] = (rk[i] - s * w[i]) / c;
+                w[i] = c * w[i] - s * rk[i];
+            }
+        }
+    }
+
+    /**
+     * Solves {@code A * x = b} by the two triangular solves with the factor.
+     *
+     * @param b the right hand side vector
+     *
+     * @return the solution x
+     */
+    public Vector solve(Vector b) {
+        double[] x = toArray(b);
+
+        forward(x);
+        backward(x);
+
+        Vector result = b.blankOfLength(x.length);
+        for (int i = 0; i < x.length; i++) {
+            result.set(i, x[i]);
+        }
+
+        return result;
+    }
+
+    /**
+     * Solves {@code A * X = B} by the two triangular solves with the factor.
+     *
+     * @param b the right hand side matrix
+     *
+     * @return the solution X
+     */
+    public Matrix solve(Matrix b) {
+        if (b.rows() != r.length) {
+            throw new IllegalArgumentException("Wrong number of rows: " + b.rows() + ". Should be: "
+                    + r.length + ".");
+        }
+
+        Matrix result = b.blankOfShape(b.rows(), b.columns());
+
+        for (int j = 0; j < b.columns(); j++) {
+            result.setColumn(j, solve(b.getColumn(j)));
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the determinant of the decomposed matrix: the squared product of
+     * the diagonal of L.
+     *
+     * @return the determinant
+     */
+    public double determinant() {
+        double result = 1.0;
+        for (int i = 0; i < r.length; i++) {
+            result *= r[i][i] * r[i][i];
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the lower triangular factor L.
+     *
+     * @return the L factor
+     */
+    public Matrix l() {
+        Matrix result = matrix.blankOfShape(r.length, r.length);
+
+        for (int j = 0; j < r.length; j++) {
+            for (int i = j; i < r.length; i++) {
+                if (r[j][i] != 0.0) {
+                    result.set(i, j, r[j][i]);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Solves {@code L * y = b} in place.
+     */
+    private void forward(double[] x) {
+        for (int k = 0; k < r.length; k++) {
+            double[] rk = r[k];
+            double value = x[k] / rk[k];
+            x[k] = value;
+
+            for (int i = k + 1; i < r.length; i++) {
+                x[i] -= rk[i] * value;
+            }
+        }
+    }
+
+    /**
+     * Solves {@code L^T * x = y} in place.
+     */
+    private void backward(double[] x) {
+        for (int k = r.length - 1; k >= 0; k--) {
+            double[] rk = r[k];
+            double acc = x[k];
+
+            for (int i = k + 1; i < r.length; i++) {
+                acc -= rk[i] * x[i];
+            }
+
+            x[k] = acc / rk[k];
+        }
+    }
+
+    private double[] toArray(Vector x) {
+        if (x.length() != r.length) {
+            throw new IllegalArgumentException("Wrong vector length: " + x.length() + ". Should be: "
+                    + r.length + ".");
+        }
+
+        double[] result = new double[r.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = x.get(i);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.decomposition;
+
+import org.la4j.Parallel;
+
+/**
+ * The dense kernels of the blocked decompositions, working on the rows of
+ * {@code double[][]} arrays.
+ */
+final class DenseKernels {
+
+    // the width of the column tiles, that keeps the rows of B in the cache
+    private static final int TILE = 256;
+
+    // the number of multiply-adds, that is worth a thread
+    private static final long GRAIN = 1L << 20;
+
+    private DenseKernels() {}
+
+    /**
+     * Computes {@code C[i][j] -= sum_p A[i][p] * B[p][j]} for {@code i} in
+     * {@code [rowFrom, rowUntil)}, {@code j} in {@code [columnFrom, columnUntil)}
+     * and {@code p} in {@code [innerFrom, innerUntil)}. The rows of C are split
+     * between at most {@code threads} threads.
+     */
+    static void gemm(final double[][] c, final double[][] a, final double[][] b,
+                     int rowFrom, int rowUntil, final int columnFrom, final int columnUntil,
+                     final int innerFrom, final int innerUntil, int threads) {
+
+        Parallel.RangeProcedure procedure = new Parallel.RangeProcedure() {
+            @Override
+            public void apply(int from, int until) {
+                for (int j0 = columnFrom; j0 < columnUntil; j0 += TILE) {
+                    int j1 = Math.min(j0 + TILE, columnUntil);
+
+                    for (int i = from; i < until; i++) {
+                        double[] ci = c[i];
+                        double[] ai = a[i];
+
+                        for (int p = innerFrom; p < innerUntil; p++) {
+                            double factor = ai[p];
+                            if (factor == 0.0) {
+                                continue;
+                            }
+
+                            double[] bp = b[p];
+                            for (int j = j0; j < j1; j++) {
+                                ci[j] -= factor * bp[j];
+                            }
+                        }
+                    }
+                }
+            }
+        };
+
+        long work = (long) (rowUntil - rowFrom) * (columnUntil - columnFrom) * (innerUntil - innerFrom);
+        int chunks = (int) Math.min(threads, work / GRAIN);
+
+        if (chunks > 1) {
+            Parallel.forRange(rowFrom, rowUntil, chunks, procedure);
+        } else {
+            procedure.apply(rowFrom, rowUntil);
+        }
+    }
+
+    /**
+     * Applies the block reflector {@code I - V * T * V^T} (or its transpose) to
+     * the columns {@code [columnFrom, columnUntil)} of {@code C}. The Householder
+     * vectors are the columns {@code [from, until)} of {@code v} on and below the
+     * diagonal, the rows of C match the rows of v. Both steps stream the rows:
+     * {@code W = V^T * C} is accumulated per chunk of rows and then
+     * {@code C -= V * (T^T * W)}.
+     */
+    static void applyReflectors(final double[][] v, final int from, final int until, double[][] t,
+                                final double[][] c, final int columnFrom, final int columnUntil,
+                                boolean transpose, int threads) {
+
+        final int m = v.length;
+        final int width = until - from;
+        final int columns = columnUntil - columnFrom;
+
+        long work = (long) (m - from) * width * columns;
+        int chunks = (int) Math.max(1, Math.min(threads, work / GRAIN));
+
+        final double[][][] partials = new double[chunks][width][columns];
+        final int step = (m - from + chunks - 1) / chunks;
+
+        Parallel.forRange(0, chunks, chunks, new Parallel.RangeProcedure() {
+            @Override
+            public void apply(int first, int last) {
+                for (int chunk = first; chunk < last; chunk++) {
+                    double[][] w = partials[chunk];
+                    int rowUntil = Math.min(m, from + (chunk + 1) * step);
+
+                    for (int i = from + chunk * step; i < rowUntil; i++) {
+                        double[] vi = v[i];
+                        double[] ci = c[i];
+                        int jUntil = Math.min(i + 1, until);
+
+                        for (int j = from; j < jUntil; j++) {
+                            double factor = vi[j];
+                            if (factor == 0.0) {
+                                continue;
+                            }
+
+                            double[] wj = w[j - from];
+                            for (int q = 0; q < columns; q++) {
+                                wj[q] += factor * ci[columnFrom + q];
+                            }
+                        }
+                    }
+                }
+            }
+        });
+
+        double[][] w = partials[0];
+        for (int chunk = 1; chunk < chunks; chunk++) {
+            for (int j = 0; j < width; j++) {
+                for (int q = 0; q < columns; q++) {
+                    w[j][q] += partials[chunk][j][q];
+                }
+            }
+        }
+
+        final double[][] tw = new double[width][columns];
+        for (int p = 0; p < width; p++) {
+            for (int r = 0; r < width; r++) {
+                // T is upper triangular
+                double factor = transpose ? (r <= p ? t[r][p] : 0.0) : (r >= p ? t[p][r] : 0.0);
+                if (factor != 0.0) {
+                    for (int q = 0; q < columns; q++) {
+                        tw[p][q] += factor * w[r][q];
+                    }
+                }
+            }
+        }
+
+        Parallel.forRange(from, m, chunks, new Parallel.RangeProcedure() {
+            @Override
+            public void apply(int first, int last) {
+                for (int i = first; i < last; i++) {
+                    double[] vi = v[i];
+                    double[] ci = c[i];
+                    int jUntil = Math.min(i + 1, until);
+
+                    for (int j = from; j < jUntil; j++) {
+                        double factor = vi[j];
+                        if (factor == 0.0) {
+                            continue;
+                        }
+
+                        double[] twj = tw[j - from];
+                        for (int q = 0; q < columns; q++) {
+                            ci[columnFrom + q] -= factor * twj[q];
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Applies the block reflector {@code I - V * T * V^T} (or its transpose) to
+     * the vector {@code x}.
+     */
+    static void applyReflectors(double[][] v, int from, int until, double[][] t, double[] x, boolean transpose) {
+        int m = v.length;
+        int width = until - from;
+        double[] w = new double[width];
+
+        for (int i = from; i < m; i++) {
+            double[] vi = v[i];
+            int jUntil = Math.min(i + 1, until);
+            for (int j = from; j < jUntil; j++) {
+                w[j - from] += vi[j] * x[i];
+            }
+        }
+
+        double[] tw = new double[width];
+        for (int p = 0; p < width; p++) {
+            double acc = 0.0;
+            if (transpose) {
+                for (int r = 0; r <= p; r++) {
+                    acc += t[r][p] * w[r];
+                }
+            } else {
+                for (int r = p; r < width; r++) {
+                    acc += t[p][r] * w[r];
+                }
+            }
+            tw[p] = acc;
+        }
+
+        for (int i = from; i < m; i++) {
+            double[] vi = v[i];
+            int jUntil = Math.min(i + 1, until);
+            double acc = 0.0;
+            for (int j = from; j < jUntil; j++) {
+                acc += vi[j] * tw[j - from];
+            }
+            x[i] -= acc;
+        }
+    }
+}
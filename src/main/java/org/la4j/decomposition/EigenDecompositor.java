@@ -21,6 +21,8 @@
 
 package org.la4j.decomposition;
 
+import java.util.Arrays;
+
 import org.la4j.Matrices;
 import org.la4j.Matrix;
 import org.la4j.matrix.SparseMatrix;
@@ -37,8 +39,23 @@ import org.la4j.vector.functor.VectorAccumulator;
  */
 public class EigenDecompositor extends AbstractDecompositor implements MatrixDecompositor {
 
+    private final boolean vectors;
+
     public EigenDecompositor(Matrix matrix) {
+        this(matrix, true);
+    }
+
+    /**
+     * Creates an eigen decompositor, that computes the eigenvectors only if
+     * {@code vectors} is set. Skipping the vectors makes the decomposition
+     * several times faster.
+     *
+     * @param matrix the matrix
+     * @param vectors whether to compute V
+     */
+    public EigenDecompositor(Matrix matrix, boolean vectors) {
         super(matrix);
+        this.vectors = vectors;
     }
 
     /**
@@ -49,15 +66,48 @@ public class EigenDecompositor extends AbstractDecompositor implements MatrixDec
      * details.
      * </p>
      *
-     * @return { V, D }
+     * @return { V, D } (V is {@code null} if the vectors are skipped)
      */
     @Override
     public Matrix[] decompose() {
+        EigenResult result = factorize(vectors);
+        return new Matrix[] { vectors ? result.v() : null, result.d() };
+    }
+
+    /**
+     * Factorizes the matrix into the compact {@link EigenResult}.
+     *
+     * @return the eigenvalues and (if not skipped) the eigenvectors
+     */
+    public EigenResult factorize() {
+        return factorize(vectors);
+    }
+
+    /**
+     * Returns the eigenvalues of given matrix in the ascending order, without
+     * computing the eigenvectors.
+     *
+     * @return the eigenvalues
+     */
+    public Vector eigenvalues() {
+        EigenResult result = factorize(false);
+
+        if (!result.isReal()) {
+            fail("This matrix has complex eigenvalues.");
+        }
+
+        double[] values = result.realParts();
+        Arrays.sort(values);
+
+        return DenseVector.fromArray(values);
+    }
+
+    private EigenResult factorize(boolean vectors) {
 
         if (matrix.is(Matrices.SYMMETRIC_MATRIX)) {
-            return decomposeSymmetricMatrix(matrix);
+            return vectors ? decomposeSymmetricMatrix(matrix) : symmetricEigenvalues(matrix);
         } else if (matrix.rows() == matrix.columns()) {
-            return decomposeNonSymmetricMatrix(matrix);
+            return decomposeNonSymmetricMatrix(matrix, vectors);
         } else {
             throw new IllegalArgumentException("Can't decompose rectangle matrix");
         }
@@ -79,9 +129,9 @@ public class EigenDecompositor extends AbstractDecompositor implements MatrixDec
      * </p>
      * 
      * @param matrix
-     * @return { V, D }
+     * @return V and D
      */
-    private Matrix[] decomposeSymmetricMatrix(Matrix matrix) {
+    private EigenResult decomposeSymmetricMatrix(Matrix matrix) {
 
         Matrix d = matrix.copy();
         Matrix v = SparseMatrix.identity(matrix.rows());
@@ -117,7 +167,24 @@ public class EigenDecompositor extends AbstractDecompositor implements MatrixDec
             nn = r.fold(normAccumulator);
         }
 
-        return new Matrix[] { v, d };
+        double[] values = new double[d.rows()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = d.get(i, i);
+        }
+
+        return new EigenResult(matrix, v, values, new double[values.length]);
+    }
+
+    /**
+     * Returns the eigenvalues of a symmetric matrix by the tridiagonal QL
+     * iterations, that skip the accumulation of the transformations.
+     *
+     * @param matrix
+     * @return D
+     */
+    private EigenResult symmetricEigenvalues(Matrix matrix) {
+        double[] values = SymmetricEigen.eigenvalues(matrix.toDenseMatrix().toArray());
+        return new EigenResult(matrix, null, values, new double[values.length]);
     }
 
     private int findMax(Vector vector) {
@@ -213,14 +280,14 @@ public class EigenDecompositor extends AbstractDecompositor implements MatrixDec
      * </p>
      * 
      * @param matrix
-     * @return { P, D }
+     * @return V and D
      */
-    private Matrix[] decomposeNonSymmetricMatrix(Matrix matrix) {
+    private EigenResult decomposeNonSymmetricMatrix(Matrix matrix, boolean vectors) {
 
         Matrix A = matrix.copy();
         int n = matrix.columns();
 
-        Matrix v = SparseMatrix.identity(n);
+        Matrix v = vectors ? SparseMatrix.identity(n) : null;
         Vector d = DenseVector.zero(n);
         Vector e = DenseVector.zero(n);
 
@@ -233,18 +300,15 @@ public class EigenDecompositor extends AbstractDecompositor implements MatrixDec
         // Reduce Hessenberg to real Schur form.
         hqr2(h, v, d, e);
 
-        Matrix dd = matrix.blankOfShape(n, n);
-        for (int i = 0; i < n; i++) {
-            dd.set(i, i, d.get(i));
+        double[] real = new double[n];
+        double[] imaginary = new double[n];
 
-            if (e.get(i) > 0) {
-                dd.set(i, i + 1, e.get(i));
-            } else if (e.get(i) < 0) {
-                dd.set(i, i - 1, e.get(i));
-            }
+        for (int i = 0; i < n; i++) {
+            real[i] = d.get(i);
+            imaginary[i] = e.get(i);
         }
 
-        return new Matrix[] { v, dd };
+        return new EigenResult(matrix, v, real, imaginary);
     }
 
     // Nonsymmetric reduction to Hessenberg form.
@@ -318,7 +382,7 @@ public class EigenDecompositor extends AbstractDecompositor implements MatrixDec
 
         // Accumulate transformations (Algol's ortran).
 
-        for (int m = high - 1; m >= low + 1; m--) {
+        for (int m = high - 1; v != null && m >= low + 1; m--) {
             if (Math.abs(h.get(m, m - 1)) > Matrices.EPS) {
                 for (int i = m + 1; i <= high; i++) {
                     ort.set(i, h.get(i, m - 1));
@@ -461,7 +525,7 @@ public class EigenDecompositor extends AbstractDecompositor implements MatrixDec
 
                     // Accumulate transformations
 
-                    for (int i = low; i <= high; i++) {
+                    for (int i = low; V != null && i <= high; i++) {
                         z = V.get(i, n - 1);
                         V.set(i, n - 1, q * z + p * V.get(i, n));
                         V.set(i, n, q * V.get(i, n) - p * z);
@@ -622,7 +686,7 @@ public class EigenDecompositor extends AbstractDecompositor implements MatrixDec
 
                         // Accumulate transformations
 
-                        for (int i = low; i <= high; i++) {
+                        for (int i = low; V != null && i <= high; i++) {
                             p = x * V.get(i, k) + y 
                                 * V.get(i, k + 1);
                             if (notlast) {
@@ -640,7 +704,7 @@ public class EigenDecompositor extends AbstractDecompositor implements MatrixDec
 
         // Backsubstitute to find vectors of upper triangular form
 
-        if (norm == 0.0) {
+        if (norm == 0.0 || V == null) {
             return;
         }
 
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.decomposition;
+
+import org.la4j.Matrix;
+import org.la4j.Vector;
+import org.la4j.vector.DenseVector;
+
+/**
+ * The result of the eigen decomposition {@code A * V = V * D}. The eigenvalues
+ * are kept as their real and imaginary parts, so that the block diagonal D is
+ * built only on demand, and the eigenvectors V are kept only if they were
+ * computed.
+ */
+public final class EigenResult {
+
+    private final Matrix matrix;
+    private final Matrix v;
+    private final double[] real;
+    private final double[] imaginary;
+
+    EigenResult(Matrix matrix, Matrix v, double[] real, double[] imaginary) {
+        this.matrix = matrix;
+        this.v = v;
+        this.real = real;
+        this.imaginary = imaginary;
+    }
+
+    /**
+     * Whether all the eigenvalues are real.
+     *
+     * @return {@code true} if there are no complex eigenvalues
+     */
+    public boolean isReal() {
+        for (double value: imaginary) {
+            if (value != 0.0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the real parts of the eigenvalues.
+     *
+     * @return the real parts
+     */
+    public Vector realEigenvalues() {
+        return DenseVector.fromArray(real.clone());
+    }
+
+    /**
+     * Returns the imaginary parts of the eigenvalues: the complex conjugate
+     * pairs come one after another, with the positive part first.
+     *
+     * @return the imaginary parts
+     */
+    public Vector imaginaryEigenvalues() {
+        return DenseVector.fromArray(imaginary.clone());
+    }
+
+    /**
+     * Returns the determinant of the decomposed matrix: the product of the
+     * eigenvalues.
+     *
+     * @return the determinant
+     */
+    public double determinant() {
+        double result = 1.0;
+
+        for (int i = 0; i < real.length; i++) {
+            if (imaginary[i] != 0.0 && i + 1 < real.length) {
+                // a complex conjugate pair
+                result *= real[i] * real[i] + imaginary[i] * imaginary[i];
+                i++;
+            } else {
+                result *= real[i];
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the eigenvectors (as columns) or, for the complex eigenvalues,
+     * their real and imaginary parts.
+     *
+     * @return the V matrix
+     */
+    public Matrix v() {
+        if (v == null) {
+            throw new IllegalArgumentException("The eigenvectors were not computed.");
+        }
+
+        return v;
+    }
+
+    /**
+     * Returns the block diagonal D: the real eigenvalues on the diagonal and
+     * the 2x2 blocks {@code [a, b; -b, a]} for the complex pairs {@code a +- bi}.
+     *
+     * @return the D matrix
+     */
+    public Matrix d() {
+        int n = real.length;
+        Matrix result = matrix.blankOfShape(n, n);
+
+        for (int i = 0; i < n; i++) {
+            result.set(i, i, real[i]);
+
+            if (imaginary[i] > 0) {
+                result.set(i, i + 1, imaginary[i]);
+            } else if (imaginary[i] < 0) {
+                result.set(i, i - 1, imaginary[i]);
+            }
+        }
+
+        return result;
+    }
+
+    double[] realParts() {
+        return real.clone();
+    }
+}
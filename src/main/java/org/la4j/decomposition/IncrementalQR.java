@@ -0,0 +1,463 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.decomposition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.la4j.Matrices;
+import org.la4j.Matrix;
+import org.la4j.Vector;
+import org.la4j.matrix.dense.Basic2DMatrix;
+import org.la4j.vector.DenseVector;
+
+/**
+ * A QR factorization of a least squares problem {@code min ||A * x - b||}, that
+ * is updated in place as the rows and the columns of A come and go. Q is never
+ * kept: the factorization is the triangular R, the vector {@code z} (the first
+ * entries of {@code Q^T * b}) and the residual norm.
+ * <p>
+ * Appending a row is a sweep of Givens rotations and removing a row is the
+ * LINPACK's downdate (a sweep of rotations found from {@code R^T * a = row}),
+ * both in {@code O(n^2)}. Removing a column restores the triangular form by
+ * {@code O(n^2)} rotations. Appending a column has to read the column, so it
+ * costs {@code O(m * n)}: its part in R is found by the semi-normal equations
+ * over the kept rows.
+ * </p>
+ */
+public final class IncrementalQR {
+
+    private int n;
+    private double[][] r;
+    private double[] z;
+    private double rho;
+
+    // the rows of A, whose columns are mapped through the "columns" indices
+    private final List<Row> rows;
+    private int[] columns;
+    private int width;
+    private int capacity;
+
+    /**
+     * Creates an empty factorization of a problem with {@code columns} unknowns.
+     *
+     * @param columns the number of columns of A
+     */
+    public IncrementalQR(int columns) {
+        if (columns < 0) {
+            throw new IllegalArgumentException("Wrong number of columns: " + columns + ".");
+        }
+
+        this.n = columns;
+        this.r = new double[columns][columns];
+        this.z = new double[columns];
+        this.rows = new ArrayList<Row>();
+        this.capacity = Math.max(4, columns);
+        this.columns = new int[columns];
+        this.width = columns;
+
+        for (int j = 0; j < columns; j++) {
+            this.columns[j] = j;
+        }
+    }
+
+    /**
+     * Factorizes the least squares problem {@code min ||A * x - b||}.
+     *
+     * @param a the matrix A
+     * @param b the right hand side vector
+     *
+     * @return the factorization
+     */
+    public static IncrementalQR of(Matrix a, Vector b) {
+        if (a.rows() != b.length()) {
+            throw new IllegalArgumentException("Wrong vector length: " + b.length() + ". Should be: "
+                    + a.rows() + ".");
+        }
+
+        IncrementalQR result = new IncrementalQR(a.columns());
+        for (int i = 0; i < a.rows(); i++) {
+            result.addRow(a.getRow(i), b.get(i));
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the number of rows of A.
+     *
+     * @return the number of rows
+     */
+    public int rows() {
+        return rows.size();
+    }
+
+    /**
+     * Returns the number of columns of A.
+     *
+     * @return the number of columns
+     */
+    public int columns() {
+        return n;
+    }
+
+    /**
+     * Appends the equation {@code row * x = rhs} to the bottom of the problem.
+     *
+     * @param row the new row of A
+     * @param rhs the new element of b
+     */
+    public void addRow(Vector row, double rhs) {
+        if (row.length() != n) {
+            throw new IllegalArgumentException("Wrong vector length: " + row.length() + ". Should be: " + n + ".");
+        }
+
+        double[] x = new double[n];
+        double[] values = new double[capacity];
+
+        for (int j = 0; j < n; j++) {
+            x[j] = row.get(j);
+            values[columns[j]] = x[j];
+        }
+
+        rows.add(new Row(values, rhs));
+
+        // rotate the row into R, one column at a time
+        double zeta = rhs;
+
+        for (int j = 0; j < n; j++) {
+            double xj = x[j];
+            if (xj == 0.0) {
+                continue;
+            }
+
+            double h = Math.hypot(r[j][j], xj);
+            double c = r[j][j] / h;
+            double s = xj / h;
+
+            r[j][j] = h;
+            for (int k = j + 1; k < n; k++) {
+                double t = c * r[j][k] + s * x[k];
+                x[k] = c * x[k] - s * r[j][k];
+                r[j][k] = t;
+            }
+
+            double t = c * z[j] + s * zeta;
+            zeta = c * zeta - s * z[j];
+            z[j] = t;
+        }
+
+        rho = Math.hypot(rho, zeta);
+    }
+
+    /**
+     * Removes the {@code i}-th equation of the problem. The remaining rows
+     * should keep the full column rank.
+     *
+     * @param i the row index
+     */
+    public void removeRow(int i) {
+        if (i < 0 || i >= rows.size()) {
+            throw new IllegalArgumentException("Wrong row index: " + i + ".");
+        }
+
+        Row row = rows.get(i);
+
+        // a = R^-T * row
+        double[] a = new double[n];
+        double norm = 0.0;
+
+        for (int j = 0; j < n; j++) {
+            if (r[j][j] == 0.0) {
+                throw new IllegalArgumentException("Can not remove a row of a rank deficient problem.");
+            }
+
+            double acc = row.values[columns[j]];
+            for (int k = 0; k < j; k++) {
+                acc -= r[k][j] * a[k];
+            }
+
+            a[j] = acc / r[j][j];
+            norm += a[j] * a[j];
+        }
+
+        if (norm >= 1.0 - Matrices.EPS) {
+            throw new IllegalArgumentException("The remaining rows are rank deficient.");
+        }
+
+        rows.remove(i);
+
+        // the rotations, that turn (alpha, a) into (1, 0)
+        double[] c = new double[n];
+        double[] s = a;
+        double alpha = Math.sqrt(1.0 - norm);
+
+        for (int j = n - 1; j >= 0; j--) {
+            double scale = alpha + Math.abs(s[j]);
+            double p = alpha / scale;
+            double q = s[j] / scale;
+            double h = Math.sqrt(p * p + q * q);
+
+            c[j] = p / h;
+            s[j] = q / h;
+            alpha = scale * h;
+        }
+
+        for (int k = 0; k < n; k++) {
+            double xx = 0.0;
+            for (int j = k; j >= 0; j--) {
+                double t = c[j] * xx + s[j] * r[j][k];
+                r[j][k] = c[j] * r[j][k] - s[j] * xx;
+                xx = t;
+            }
+        }
+
+        double zeta = row.rhs;
+        for (int j = 0; j < n; j++) {
+            z[j] = (z[j] - s[j] * zeta) / c[j];
+            zeta = c[j] * zeta - s[j] * z[j];
+        }
+
+        double ratio = rho == 0.0 ? 1.0 : Math.min(1.0, Math.abs(zeta) / rho);
+        rho = rho * Math.sqrt(1.0 - ratio * ratio);
+    }
+
+    /**
+     * Appends a new unknown, whose coefficients are the {@code column}.
+     *
+     * @param column the new column of A
+     */
+    public void addColumn(Vector column) {
+        int m = rows.size();
+
+        if (column.length() != m) {
+            throw new IllegalArgumentException("Wrong vector length: " + column.length() + ". Should be: "
+                    + m + ".");
+        }
+
+        // A^T * a, b^T * a and a^T * a
+        double[] u = new double[n];
+        double ab = 0.0;
+        double aa = 0.0;
+
+        for (int i = 0; i < m; i++) {
+            double value = column.get(i);
+            if (value == 0.0) {
+                continue;
+            }
+
+            Row row = rows.get(i);
+            for (int j = 0; j < n; j++) {
+                u[j] += row.values[columns[j]] * value;
+            }
+
+            ab += row.rhs * value;
+            aa += value * value;
+        }
+
+        // the new column of R is (R^-T * A^T * a, gamma)
+        double uu = 0.0;
+        double uz = 0.0;
+
+        for (int j = 0; j < n; j++) {
+            if (r[j][j] == 0.0) {
+                throw new IllegalArgumentException("Can not add a column to a rank deficient problem.");
+            }
+
+            double acc = u[j];
+            for (int k = 0; k < j; k++) {
+                acc -= r[k][j] * u[k];
+            }
+
+            u[j] = acc / r[j][j];
+            uu += u[j] * u[j];
+            uz += u[j] * z[j];
+        }
+
+        double gamma = aa - uu > aa * Matrices.EPS ? Math.sqrt(aa - uu) : 0.0;
+        double zeta = gamma == 0.0 ? 0.0 : (ab - uz) / gamma;
+
+        double[][] grown = new double[n + 1][n + 1];
+        for (int j = 0; j < n; j++) {
+            System.arraycopy(r[j], 0, grown[j], 0, n);
+            grown[j][n] = u[j];
+        }
+        grown[n][n] = gamma;
+
+        r = grown;
+        z = Arrays.copyOf(z, n + 1);
+        z[n] = zeta;
+        rho = Math.sqrt(Math.max(0.0, rho * rho - zeta * zeta));
+
+        if (width == capacity) {
+            compact();
+        }
+
+        for (int i = 0; i < m; i++) {
+            rows.get(i).values[width] = column.get(i);
+        }
+
+        columns = Arrays.copyOf(columns, n + 1);
+        columns[n] = width++;
+        n++;
+    }
+
+    /**
+     * Removes the {@code j}-th unknown from the problem.
+     *
+     * @param j the column index
+     */
+    public void removeColumn(int j) {
+        if (j < 0 || j >= n) {
+            throw new IllegalArgumentException("Wrong column index: " + j + ".");
+        }
+
+        // R without the column j is the upper Hessenberg from the column j on
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(r[i], j + 1, r[i], j, n - j - 1);
+            r[i][n - 1] = 0.0;
+        }
+
+        for (int k = j; k < n - 1; k++) {
+            double a = r[k][k];
+            double b = r[k + 1][k];
+            if (b == 0.0) {
+                continue;
+            }
+
+            double h = Math.hypot(a, b);
+            double c = a / h;
+            double s = b / h;
+
+            for (int p = k; p < n - 1; p++) {
+                double t = c * r[k][p] + s * r[k + 1][p];
+                r[k + 1][p] = c * r[k + 1][p] - s * r[k][p];
+                r[k][p] = t;
+            }
+
+            double t = c * z[k] + s * z[k + 1];
+            z[k + 1] = c * z[k + 1] - s * z[k];
+            z[k] = t;
+        }
+
+        // the last row of R is zero now, and its part of Q^T * b is a residual
+        rho = Math.hypot(rho, z[n - 1]);
+
+        double[][] shrunk = new double[n - 1][];
+        for (int i = 0; i < n - 1; i++) {
+            shrunk[i] = Arrays.copyOf(r[i], n - 1);
+        }
+
+        r = shrunk;
+        z = Arrays.copyOf(z, n - 1);
+
+        System.arraycopy(columns, j + 1, columns, j, n - j - 1);
+        columns = Arrays.copyOf(columns, n - 1);
+        n--;
+    }
+
+    /**
+     * Solves the current least squares problem {@code min ||A * x - b||}.
+     *
+     * @return the solution x
+     */
+    public Vector solve() {
+        double scale = 0.0;
+        for (int j = 0; j < n; j++) {
+            scale = Math.max(scale, Math.abs(r[j][j]));
+        }
+
+        double[] x = new double[n];
+
+        for (int j = n - 1; j >= 0; j--) {
+            if (Math.abs(r[j][j]) <= scale * Matrices.EPS) {
+                throw new IllegalArgumentException("This system can't be solved.");
+            }
+
+            double acc = z[j];
+            for (int k = j + 1; k < n; k++) {
+                acc -= r[j][k] * x[k];
+            }
+
+            x[j] = acc / r[j][j];
+        }
+
+        return DenseVector.fromArray(x);
+    }
+
+    /**
+     * Returns the norm of the residual {@code ||A * x - b||} of the solution.
+     *
+     * @return the residual norm
+     */
+    public double residualNorm() {
+        return rho;
+    }
+
+    /**
+     * Returns the upper triangular factor R.
+     *
+     * @return the R factor
+     */
+    public Matrix r() {
+        double[][] result = new double[n][];
+        for (int i = 0; i < n; i++) {
+            result[i] = r[i].clone();
+        }
+
+        return new Basic2DMatrix(result);
+    }
+
+    /**
+     * Drops the storage of the removed columns and doubles the room for the
+     * new ones.
+     */
+    private void compact() {
+        capacity = Math.max(4, 2 * (n + 1));
+
+        for (Row row: rows) {
+            double[] values = new double[capacity];
+            for (int j = 0; j < n; j++) {
+                values[j] = row.values[columns[j]];
+            }
+            row.values = values;
+        }
+
+        for (int j = 0; j < n; j++) {
+            columns[j] = j;
+        }
+
+        width = n;
+    }
+
+    private static final class Row {
+
+        private double[] values;
+        private final double rhs;
+
+        private Row(double[] values, double rhs) {
+            this.values = values;
+            this.rhs = rhs;
+        }
+    }
+}
@@ -46,31 +46,7 @@ public class LUDecompositor extends RawLUDecompositor implements MatrixDecomposi
      */
     @Override
     public Matrix[] decompose() {
-
-        Matrix[] lup = super.decompose();
-        Matrix lu = lup[0];
-        Matrix p = lup[1];
-
-        Matrix l = matrix.blankOfShape(lu.rows(), lu.columns());
-
-        for (int i = 0; i < l.rows(); i++) {
-            for (int j = 0; j <= i; j++) {
-                if (i > j) {
-                    l.set(i, j, lu.get(i, j));
-                } else {
-                    l.set(i, j, 1.0);
-                }
-            }
-        }
-
-        Matrix u = matrix.blankOfShape(lu.columns(), lu.columns());
-
-        for (int i = 0; i < u.rows(); i++) {
-            for (int j = i; j < u.columns(); j++) {
-                u.set(i, j, lu.get(i, j));
-            }
-        }
-
-        return new Matrix[] { l, u, p };
+        LUResult result = factorize();
+        return new Matrix[] { result.l(), result.u(), result.p() };
     }
 }
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.decomposition;
+
+import org.la4j.Matrix;
+import org.la4j.Vector;
+import org.la4j.matrix.sparse.CRSMatrix;
+
+/**
+ * The result of the LU decomposition with partial pivoting: {@code P * A = L * U}.
+ * The factors are kept packed in a single array (with the unit diagonal of L
+ * implied) and the permutation is kept as the row indices, so that the
+ * explicit matrices are built only on demand.
+ */
+public final class LUResult {
+
+    private final Matrix matrix;
+    private final double[][] lu;
+    private final int[] pivots;
+    private final int sign;
+
+    LUResult(Matrix matrix, double[][] lu, int[] pivots, int sign) {
+        this.matrix = matrix;
+        this.lu = lu;
+        this.pivots = pivots;
+        this.sign = sign;
+    }
+
+    /**
+     * Returns the row permutation: the row {@code i} of {@code P * A} is the
+     * row {@code pivots()[i]} of {@code A}.
+     *
+     * @return the row indices
+     */
+    public int[] pivots() {
+        return pivots.clone();
+    }
+
+    /**
+     * Returns the sign of the permutation: {@code 1} for even numbers of row
+     * swaps and {@code -1} for odd ones.
+     *
+     * @return the sign of the permutation
+     */
+    public int sign() {
+        return sign;
+    }
+
+    /**
+     * Returns the determinant of the decomposed matrix: the product of the
+     * diagonal of U times the sign of the permutation.
+     *
+     * @return the determinant
+     */
+    public double determinant() {
+        double result = sign;
+        for (int i = 0; i < lu.length; i++) {
+            result *= lu[i][i];
+        }
+
+        return result;
+    }
+
+    /**
+     * Whether the U factor has a zero on its diagonal.
+     *
+     * @return {@code true} if the decomposed matrix is singular
+     */
+    public boolean isSingular() {
+        for (int i = 0; i < lu.length; i++) {
+            if (lu[i][i] == 0.0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Solves {@code A * x = b} by the forward and back substitutions with the
+     * packed factors.
+     *
+     * @param b the right hand side vector
+     *
+     * @return the solution x
+     */
+    public Vector solve(Vector b) {
+        int n = lu.length;
+        ensureLength(b.length());
+        ensureNonSingular();
+
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = b.get(pivots[i]);
+        }
+
+        for (int i = 0; i < n; i++) {
+            double[] row = lu[i];
+            double acc = x[i];
+            for (int k = 0; k < i; k++) {
+                acc -= row[k] * x[k];
+            }
+            x[i] = acc;
+        }
+
+        for (int i = n - 1; i >= 0; i--) {
+            double[] row = lu[i];
+            double acc = x[i];
+            for (int k = i + 1; k < n; k++) {
+                acc -= row[k] * x[k];
+            }
+            x[i] = acc / row[i];
+        }
+
+        Vector result = b.blankOfLength(n);
+        for (int i = 0; i < n; i++) {
+            if (x[i] != 0.0) {
+                result.set(i, x[i]);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Solves {@code A * X = B} by the forward and back substitutions with the
+     * packed factors, all the columns of B at once.
+     *
+     * @param b the right hand side matrix
+     *
+     * @return the solution X
+     */
+    public Matrix solve(Matrix b) {
+        ensureLength(b.rows());
+        ensureNonSingular();
+
+        return fill(b.blankOfShape(b.rows(), b.columns()), substitute(rows(b)));
+    }
+
+    /**
+     * Computes the inverse of the decomposed matrix from the packed factors.
+     *
+     * @return the inverse matrix
+     */
+    public Matrix inverse() {
+        int n = lu.length;
+        ensureNonSingular();
+
+        double[][] x = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            x[i][pivots[i]] = 1.0;
+        }
+
+        return fill(matrix.blankOfShape(n, n), substitute(x));
+    }
+
+    /**
+     * Returns the L and U factors packed into a single matrix, without the unit
+     * diagonal of L.
+     *
+     * @return the packed factors
+     */
+    public Matrix lu() {
+        Matrix result = matrix.blankOfShape(lu.length, lu.length);
+
+        for (int i = 0; i < lu.length; i++) {
+            for (int j = 0; j < lu.length; j++) {
+                if (lu[i][j] != 0.0) {
+                    result.set(i, j, lu[i][j]);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the unit lower triangular factor L.
+     *
+     * @return the L factor
+     */
+    public Matrix l() {
+        Matrix result = matrix.blankOfShape(lu.length, lu.length);
+
+        for (int i = 0; i < lu.length; i++) {
+            for (int j = 0; j < i; j++) {
+                if (lu[i][j] != 0.0) {
+                    result.set(i, j, lu[i][j]);
+                }
+            }
+            result.set(i, i, 1.0);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the upper triangular factor U.
+     *
+     * @return the U factor
+     */
+    public Matrix u() {
+        Matrix result = matrix.blankOfShape(lu.length, lu.length);
+
+        for (int i = 0; i < lu.length; i++) {
+            for (int j = i; j < lu.length; j++) {
+                if (lu[i][j] != 0.0) {
+                    result.set(i, j, lu[i][j]);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the permutation matrix P.
+     *
+     * @return the P matrix
+     */
+    public Matrix p() {
+        CRSMatrix result = CRSMatrix.zero(pivots.length, pivots.length, pivots.length);
+
+        for (int i = 0; i < pivots.length; i++) {
+            result.set(i, pivots[i], 1.0);
+        }
+
+        return result;
+    }
+
+    /**
+     * Solves {@code L * U * X = B} in place for the (permuted) rows of B.
+     */
+    private double[][] substitute(double[][] x) {
+        int n = lu.length;
+
+        for (int i = 0; i < n; i++) {
+            double[] xi = x[i];
+            for (int k = 0; k < i; k++) {
+                double factor = lu[i][k];
+                if (factor != 0.0) {
+                    axpy(-factor, x[k], xi);
+                }
+            }
+        }
+
+        for (int i = n - 1; i >= 0; i--) {
+            double[] xi = x[i];
+            for (int k = i + 1; k < n; k++) {
+                double factor = lu[i][k];
+                if (factor != 0.0) {
+                    axpy(-factor, x[k], xi);
+                }
+            }
+
+            double inverse = 1.0 / lu[i][i];
+            for (int j = 0; j < xi.length; j++) {
+                xi[j] *= inverse;
+            }
+        }
+
+        return x;
+    }
+
+    /**
+     * Returns the rows of {@code P * B}.
+     */
+    private double[][] rows(Matrix b) {
+        double[][] result = new double[b.rows()][b.columns()];
+        for (int i = 0; i < result.length; i++) {
+            for (int j = 0; j < b.columns(); j++) {
+                result[i][j] = b.get(pivots[i], j);
+            }
+        }
+
+        return result;
+    }
+
+    private void ensureLength(int length) {
+        if (length != lu.length) {
+            throw new IllegalArgumentException("Wrong number of rows: " + length + ". Should be: "
+                    + lu.length + ".");
+        }
+    }
+
+    private void ensureNonSingular() {
+        if (isSingular()) {
+            throw new IllegalArgumentException("This matrix is singular.");
+        }
+    }
+
+    private static void axpy(double alpha, double[] x, double[] y) {
+        for (int j = 0; j < y.length; j++) {
+            y[j] += alpha * x[j];
+        }
+    }
+
+    private static Matrix fill(Matrix result, double[][] x) {
+        for (int i = 0; i < x.length; i++) {
+            for (int j = 0; j < x[i].length; j++) {
+                if (x[i][j] != 0.0) {
+                    result.set(i, j, x[i][j]);
+                }
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,529 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.decomposition;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.la4j.LinearAlgebra;
+import org.la4j.Matrix;
+import org.la4j.Vector;
+import org.la4j.linear.LinearSystemSolver;
+import org.la4j.linear.MatrixStructure;
+import org.la4j.matrix.DenseMatrix;
+import org.la4j.matrix.SparseMatrix;
+import org.la4j.vector.DenseVector;
+
+/**
+ * This class represents the restarted Lanczos method, that finds a few
+ * eigenpairs at an end of the spectrum of a large symmetric matrix, touching
+ * the matrix only by the matrix-vector products over its compressed rows.
+ * <p>
+ * The Krylov basis is restarted with the wanted Ritz vectors (the thick
+ * restart, which is equivalent to the implicit restart for symmetric
+ * matrices). The orthogonality of the basis is monitored by the Simon's
+ * recurrence, and the basis is reorthogonalized only when it drops below
+ * the square root of the machine precision. The kept Ritz vectors are
+ * orthonormalized at every restart, and a Ritz pair is accepted by its actual
+ * residual {@code ||A * x - theta * x||}, which is relative to {@code |theta|}
+ * but not below the rounding errors of the products with A. In the
+ * shift-invert mode the method runs on {@code (A - shift * I)^-1}, which
+ * makes the eigenvalues closest to the shift converge first.
+ * </p>
+ */
+public class LanczosDecompositor extends AbstractDecompositor implements MatrixDecompositor {
+
+    /**
+     * The end of the spectrum to find.
+     */
+    public static enum Spectrum {
+        LARGEST,
+        SMALLEST
+    }
+
+    public static final double DEFAULT_TOLERANCE = 1e-10;
+
+    private static final int MAX_RESTARTS = 1000;
+
+    private static final double EPS = Math.ulp(1.0);
+
+    private final int count;
+    private final Spectrum spectrum;
+    private final double tolerance;
+    private final double shift;
+    private final boolean inverted;
+
+    /**
+     * Creates a Lanczos decompositor for the {@code count} largest eigenvalues.
+     *
+     * @param matrix the symmetric matrix
+     * @param count the number of eigenpairs
+     */
+    public LanczosDecompositor(Matrix matrix, int count) {
+        this(matrix, count, Spectrum.LARGEST, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Creates a Lanczos decompositor for the {@code count} largest or smallest
+     * eigenvalues.
+     *
+     * @param matrix the symmetric matrix
+     * @param count the number of eigenpairs
+     * @param spectrum the end of the spectrum
+     * @param tolerance the relative residual of the converged Ritz pairs
+     */
+    public LanczosDecompositor(Matrix matrix, int count, Spectrum spectrum, double tolerance) {
+        this(matrix, count, spectrum, tolerance, 0.0, false);
+    }
+
+    /**
+     * Creates a shift-invert Lanczos decompositor for the {@code count}
+     * eigenvalues closest to the {@code shift}.
+     *
+     * @param matrix the symmetric matrix
+     * @param count the number of eigenpairs
+     * @param shift the shift
+     * @param tolerance the relative residual of the converged Ritz pairs
+     */
+    public LanczosDecompositor(Matrix matrix, int count, double shift, double tolerance) {
+        this(matrix, count, Spectrum.LARGEST, tolerance, shift, true);
+    }
+
+    private LanczosDecompositor(Matrix matrix, int count, Spectrum spectrum, double tolerance,
+                                double shift, boolean inverted) {
+        super(matrix);
+
+        if (count < 1 || count > matrix.rows()) {
+            fail("Wrong number of eigenvalues: " + count + ".");
+        }
+
+        this.count = count;
+        this.spectrum = spectrum;
+        this.tolerance = tolerance;
+        this.shift = shift;
+        this.inverted = inverted;
+    }
+
+    /**
+     * Returns the wanted eigenpairs: the eigenvectors as the columns of V and
+     * the eigenvalues on the diagonal of D, the closest to the wanted end (or
+     * to the shift) first.
+     *
+     * @return { V, D }
+     */
+    @Override
+    public Matrix[] decompose() {
+        int n = matrix.rows();
+        int m = Math.min(n, Math.max(2 * count + 1, count + 20));
+
+        Operator operator = inverted ? new InvertedOperator(matrix, shift) : new MatrixOperator(matrix);
+
+        double[][] v = new double[m + 1][];
+        double[][] h = new double[m][m];
+        double[][] omega = new double[m + 1][m + 1];
+        Random random = new Random(n);
+
+        v[0] = randomVector(n, random);
+        scale(1.0 / norm(v[0]), v[0]);
+        measureOmega(omega, v, 1);
+
+        double anorm = 0.0;
+        double beta = 0.0;
+        boolean force = false;
+        int start = 0;
+
+        for (int restart = 0; restart <= MAX_RESTARTS; restart++) {
+
+            for (int j = start; j < m; j++) {
+                double[] w = new double[n];
+                operator.apply(v[j], w);
+
+                for (int r = 0; r < j; r++) {
+                    if (h[r][j] != 0.0) {
+                        axpy(-h[r][j], v[r], w);
+                    }
+                }
+
+                double alpha = dot(v[j], w);
+                axpy(-alpha, v[j], w);
+                h[j][j] = alpha;
+
+                double b = norm(w);
+                anorm = Math.max(anorm, Math.abs(alpha) + b + (j > 0 ? Math.abs(h[j - 1][j]) : 0.0));
+
+                boolean reorthogonalize = force || j == start;
+                force = false;
+
+                if (!reorthogonalize && b > 0.0) {
+                    // the estimates of v_j+1^T * v_l by the Simon's recurrence
+                    double worst = 0.0;
+                    for (int l = 0; l < j; l++) {
+                        double acc = 0.0;
+                        for (int r = 0; r <= j; r++) {
+                            acc += h[r][l] * omega[j][r] - h[r][j] * omega[r][l];
+                        }
+                        acc = (acc + Math.signum(acc) * 2 * EPS * anorm) / b;
+                        omega[j + 1][l] = acc;
+                        omega[l][j + 1] = acc;
+                        worst = Math.max(worst, Math.abs(acc));
+                    }
+
+                    if (worst > Math.sqrt(EPS)) {
+                        reorthogonalize = true;
+                        // the next vector loses the orthogonality as well
+                        force = true;
+                    }
+                }
+
+                if (reorthogonalize) {
+                    orthogonalize(v, j + 1, w);
+                    b = norm(w);
+                    for (int l = 0; l <= j; l++) {
+                        omega[j + 1][l] = EPS;
+                        omega[l][j + 1] = EPS;
+                    }
+                }
+
+                omega[j + 1][j] = EPS;
+                omega[j][j + 1] = EPS;
+                omega[j + 1][j + 1] = 1.0;
+
+                if (b <= EPS * anorm) {
+                    // an invariant subspace: continue with a new direction
+                    b = 0.0;
+                    w = randomVector(n, random);
+                    orthogonalize(v, j + 1, w);
+                    double length = norm(w);
+                    scale(length > EPS ? 1.0 / length : 0.0, w);
+                } else {
+                    scale(1.0 / b, w);
+                }
+
+                v[j + 1] = w;
+
+                if (j + 1 < m) {
+                    h[j][j + 1] = b;
+                    h[j + 1][j] = b;
+                } else {
+                    beta = b;
+                }
+            }
+
+            double[][] s = new double[m][];
+            for (int i = 0; i < m; i++) {
+                s[i] = h[i].clone();
+            }
+
+            double[] theta = SymmetricEigen.decompose(s);
+            Integer[] wanted = order(theta);
+
+            // beta * s is the residual of a Ritz pair only in an orthonormal
+            // basis, so it just tells when to check the actual residuals
+            int converged = 0;
+            for (int i = 0; i < count; i++) {
+                int index = wanted[i];
+                double residual = Math.abs(beta * s[m - 1][index]);
+                double bound = tolerance * Math.max(Math.pow(EPS, 2.0 / 3.0) * anorm, Math.abs(theta[index]));
+                if (residual <= bound) {
+                    converged++;
+                }
+            }
+
+            int kept = Math.min(m - 2, count + (m - count) / 2);
+            kept = Math.max(kept, Math.min(count, m - 1));
+
+            int[] columns = new int[Math.max(kept, count)];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = wanted[i];
+            }
+
+            double[] residual = v[m];
+            combine(v, s, columns, m, n);
+
+            // the Ritz vectors of a semi-orthogonal basis are only semi-orthogonal,
+            // and the loss compounds over the restarts unless they are
+            // orthonormalized again
+            for (int i = 0; i < columns.length; i++) {
+                orthogonalize(v, i, v[i]);
+                scale(1.0 / norm(v[i]), v[i]);
+            }
+
+            if (converged == count) {
+                Matrix[] result = result(operator, v, anorm, n);
+                if (result != null) {
+                    return result;
+                }
+            }
+
+            orthogonalize(v, kept, residual);
+            double length = norm(residual);
+            scale(length > EPS ? 1.0 / length : 0.0, residual);
+
+            v[kept] = residual;
+            for (int i = kept + 1; i <= m; i++) {
+                v[i] = null;
+            }
+
+            for (double[] row: h) {
+                Arrays.fill(row, 0.0);
+            }
+
+            for (int i = 0; i < kept; i++) {
+                h[i][i] = theta[columns[i]];
+                h[i][kept] = beta * s[m - 1][columns[i]];
+                h[kept][i] = h[i][kept];
+            }
+
+            measureOmega(omega, v, kept + 1);
+            start = kept;
+        }
+
+        fail("The Lanczos iterations did not converge.");
+        return null;
+    }
+
+    /**
+     * Returns the indices of the Ritz values, the wanted ones first.
+     */
+    private Integer[] order(final double[] theta) {
+        Integer[] result = new Integer[theta.length];
+        for (int i = 0; i < theta.length; i++) {
+            // the eigenvalues are sorted in the ascending order
+            result[i] = spectrum == Spectrum.SMALLEST ? i : theta.length - 1 - i;
+        }
+
+        if (inverted) {
+            // the eigenvalues closest to the shift are the largest by magnitude
+            Arrays.sort(result, new Comparator<Integer>() {
+                @Override
+                public int compare(Integer a, Integer b) {
+                    return Double.compare(Math.abs(theta[b]), Math.abs(theta[a]));
+                }
+            });
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the first {@code count} Ritz vectors {@code v} with their Rayleigh
+     * quotients, if all their residuals {@code ||A * x - theta * x||} are within
+     * the tolerance, or {@code null} otherwise. The residuals are not checked
+     * below the rounding errors of the products with A.
+     */
+    private Matrix[] result(Operator operator, double[][] v, double anorm, int n) {
+        double[] theta = new double[count];
+        double[] w = new double[n];
+
+        for (int i = 0; i < count; i++) {
+            operator.apply(v[i], w);
+            theta[i] = dot(v[i], w);
+            axpy(-theta[i], v[i], w);
+
+            double floor = Math.sqrt(n) * EPS * anorm;
+            if (norm(w) > Math.max(tolerance * Math.abs(theta[i]), floor)) {
+                return null;
+            }
+        }
+
+        DenseMatrix vectors = DenseMatrix.zero(n, count);
+        DenseMatrix values = DenseMatrix.zero(count, count);
+
+        for (int i = 0; i < count; i++) {
+            values.set(i, i, inverted ? shift + 1.0 / theta[i] : theta[i]);
+
+            for (int r = 0; r < n; r++) {
+                vectors.set(r, i, v[i][r]);
+            }
+        }
+
+        return new Matrix[] { vectors, values };
+    }
+
+    /**
+     * Replaces the first {@code columns.length} basis vectors with the Ritz
+     * vectors {@code V * S[:, columns]}, a block of coordinates at a time.
+     */
+    private static void combine(double[][] v, double[][] s, int[] columns, int m, int n) {
+        int block = 1024;
+        double[][] buffer = new double[columns.length][block];
+
+        for (int from = 0; from < n; from += block) {
+            int until = Math.min(from + block, n);
+
+            for (int i = 0; i < columns.length; i++) {
+                double[] target = buffer[i];
+                Arrays.fill(target, 0.0);
+
+                for (int r = 0; r < m; r++) {
+                    double factor = s[r][columns[i]];
+                    if (factor == 0.0) {
+                        continue;
+                    }
+
+                    double[] vr = v[r];
+                    for (int p = from; p < until; p++) {
+                        target[p - from] += factor * vr[p];
+                    }
+                }
+            }
+
+            for (int i = 0; i < columns.length; i++) {
+                System.arraycopy(buffer[i], 0, v[i], from, until - from);
+            }
+        }
+    }
+
+    /**
+     * Orthogonalizes {@code w} against the first {@code size} basis vectors by
+     * the classical Gram-Schmidt, twice.
+     */
+    private static void orthogonalize(double[][] v, int size, double[] w) {
+        for (int pass = 0; pass < 2; pass++) {
+            double[] projections = new double[size];
+            for (int r = 0; r < size; r++) {
+                projections[r] = dot(v[r], w);
+            }
+            for (int r = 0; r < size; r++) {
+                axpy(-projections[r], v[r], w);
+            }
+        }
+    }
+
+    private static void measureOmega(double[][] omega, double[][] v, int size) {
+        for (double[] row: omega) {
+            Arrays.fill(row, 0.0);
+        }
+
+        for (int i = 0; i < size; i++) {
+            omega[i][i] = 1.0;
+            for (int l = 0; l < i; l++) {
+                double value = Math.max(Math.abs(dot(v[i], v[l])), EPS);
+                omega[i][l] = value;
+                omega[l][i] = value;
+            }
+        }
+    }
+
+    private static double[] randomVector(int n, Random random) {
+        double[] result = new double[n];
+        for (int i = 0; i < n; i++) {
+            result[i] = random.nextDouble() - 0.5;
+        }
+
+        return result;
+    }
+
+    private static double dot(double[] x, double[] y) {
+        double acc = 0.0;
+        for (int i = 0; i < x.length; i++) {
+            acc += x[i] * y[i];
+        }
+
+        return acc;
+    }
+
+    private static double norm(double[] x) {
+        return Math.sqrt(dot(x, x));
+    }
+
+    private static void axpy(double alpha, double[] x, double[] y) {
+        for (int i = 0; i < x.length; i++) {
+            y[i] += alpha * x[i];
+        }
+    }
+
+    private static void scale(double alpha, double[] x) {
+        for (int i = 0; i < x.length; i++) {
+            x[i] *= alpha;
+        }
+    }
+
+    @Override
+    public boolean applicableTo(Matrix matrix) {
+        return matrix.rows() == matrix.columns() && MatrixStructure.of(matrix).isSymmetric();
+    }
+
+    private interface Operator {
+        void apply(double[] x, double[] y);
+    }
+
+    /**
+     * {@code y = A * x} over the compressed columns, which are the rows of a
+     * symmetric matrix.
+     */
+    private static final class MatrixOperator implements Operator {
+
+        private final int[] pointers;
+        private final int[] indices;
+        private final double[] values;
+
+        private MatrixOperator(Matrix a) {
+            int n = a.rows();
+            int capacity = a instanceof SparseMatrix ? ((SparseMatrix) a).cardinality() : n * n;
+
+            this.pointers = new int[n + 1];
+            this.indices = new int[capacity];
+            this.values = new double[capacity];
+
+            SparseLUDecompositor.compress(a, pointers, indices, values);
+        }
+
+        @Override
+        public void apply(double[] x, double[] y) {
+            for (int i = 0; i < y.length; i++) {
+                double acc = 0.0;
+                for (int k = pointers[i]; k < pointers[i + 1]; k++) {
+                    acc += values[k] * x[indices[k]];
+                }
+                y[i] = acc;
+            }
+        }
+    }
+
+    /**
+     * {@code y = (A - shift * I)^-1 * x} by a factorization of the shifted matrix.
+     */
+    private static final class InvertedOperator implements Operator {
+
+        private final LinearSystemSolver solver;
+
+        private InvertedOperator(Matrix a, double shift) {
+            Matrix shifted = a.copy();
+            for (int i = 0; i < a.rows(); i++) {
+                shifted.set(i, i, shifted.get(i, i) - shift);
+            }
+
+            this.solver = shifted.withSolver(shifted instanceof SparseMatrix
+                    ? LinearAlgebra.SPARSE_LU_SOLVER : LinearAlgebra.GAUSSIAN);
+        }
+
+        @Override
+        public void apply(double[] x, double[] y) {
+            Vector result = solver.solve(DenseVector.fromArray(x));
+            for (int i = 0; i < y.length; i++) {
+                y[i] = result.get(i);
+            }
+        }
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.decomposition;
+
+import java.util.Arrays;
+
+/**
+ * An approximate minimum degree ordering of a symmetric sparsity pattern. The
+ * elimination is simulated on a quotient graph: each eliminated variable
+ * becomes an element that stands for the clique of its neighbours, so the
+ * graph never grows beyond the original pattern. The degree of a variable is
+ * bounded from above by the number of its variable neighbours plus the sizes
+ * of its adjacent elements.
+ */
+final class MinimumDegreeOrdering {
+
+    private MinimumDegreeOrdering() {}
+
+    /**
+     * Orders the pattern of {@code A + A^T}, where A is given by the compressed
+     * columns {@code indices[pointers[j]] ... indices[pointers[j + 1] - 1]}.
+     *
+     * @return the permutation: the k-th eliminated node is {@code result[k]}
+     */
+    static int[] orderSymmetrized(int n, int[] pointers, int[] indices) {
+        int[] degree = new int[n + 1];
+
+        for (int j = 0; j < n; j++) {
+            for (int p = pointers[j]; p < pointers[j + 1]; p++) {
+                int i = indices[p];
+                if (i != j) {
+                    degree[i + 1]++;
+                    degree[j + 1]++;
+                }
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            degree[i + 1] += degree[i];
+        }
+
+        int[] adjacency = new int[degree[n]];
+        int[] next = Arrays.copyOf(degree, n);
+
+        for (int j = 0; j < n; j++) {
+            for (int p = pointers[j]; p < pointers[j + 1]; p++) {
+                int i = indices[p];
+                if (i != j) {
+                    adjacency[next[i]++] = j;
+                    adjacency[next[j]++] = i;
+                }
+            }
+        }
+
+        // both a_ij and a_ji give the same edge, which is kept once
+        int[] marks = new int[n];
+        Arrays.fill(marks, -1);
+        int[] graph = new int[n + 1];
+        int count = 0;
+
+        for (int i = 0; i < n; i++) {
+            int start = count;
+            for (int p = degree[i]; p < degree[i + 1]; p++) {
+                int j = adjacency[p];
+                if (marks[j] != i) {
+                    marks[j] = i;
+                    adjacency[count++] = j;
+                }
+            }
+            graph[i] = start;
+        }
+        graph[n] = count;
+
+        return order(n, graph, adjacency);
+    }
+
+    /**
+     * Orders the graph given by the symmetric adjacency lists
+     * {@code indices[pointers[i]] ... indices[pointers[i + 1] - 1]}, which must
+     * not contain self loops.
+     *
+     * @return the permutation: the k-th eliminated node is {@code result[k]}
+     */
+    static int[] order(int n, int[] pointers, int[] indices) {
+        int[][] variables = new int[n][];
+        int[] variableCount = new int[n];
+        int[][] elements = new int[n][];
+        int[] elementCount = new int[n];
+        // the variables of the element e and how many of them are not eliminated
+        int[][] members = new int[n][];
+        int[] size = new int[n];
+
+        boolean[] eliminated = new boolean[n];
+        boolean[] absorbed = new boolean[n];
+
+        int[] degree = new int[n];
+        int[] head = new int[n + 1];
+        int[] next = new int[n];
+        int[] previous = new int[n];
+        Arrays.fill(head, -1);
+
+        for (int i = 0; i < n; i++) {
+            variableCount[i] = pointers[i + 1] - pointers[i];
+            variables[i] = Arrays.copyOfRange(indices, pointers[i], pointers[i + 1]);
+            elements[i] = new int[2];
+            degree[i] = variableCount[i];
+            link(i, degree[i], head, next, previous);
+        }
+
+        int[] marks = new int[n];
+        int stamp = 0;
+        int[] external = new int[n];
+        int[] wmarks = new int[n];
+        int wstamp = 0;
+        int minimum = 0;
+        int[] result = new int[n];
+        int[] clique = new int[n];
+
+        for (int k = 0; k < n; k++) {
+            while (head[minimum] < 0) {
+                minimum++;
+            }
+
+            int v = head[minimum];
+            unlink(v, degree[v], head, next, previous);
+            eliminated[v] = true;
+            result[k] = v;
+            stamp++;
+
+            // the new element v is the union of the variable neighbours of v
+            // and the variables of the elements adjacent to v, which it absorbs
+            int count = 0;
+            marks[v] = stamp;
+
+            for (int p = 0; p < variableCount[v]; p++) {
+                int w = variables[v][p];
+                if (!eliminated[w] && marks[w] != stamp) {
+                    marks[w] = stamp;
+                    clique[count++] = w;
+                }
+            }
+
+            for (int p = 0; p < elementCount[v]; p++) {
+                int e = elements[v][p];
+                if (absorbed[e]) {
+                    continue;
+                }
+
+                for (int w: members[e]) {
+                    if (!eliminated[w] && marks[w] != stamp) {
+                        marks[w] = stamp;
+                        clique[count++] = w;
+                    }
+                }
+
+                absorbed[e] = true;
+                members[e] = null;
+            }
+
+            members[v] = Arrays.copyOf(clique, count);
+            size[v] = count;
+            variables[v] = null;
+            elements[v] = null;
+
+            int remaining = n - k - 1;
+
+            // the external sizes |L_e \ L_v| of the elements adjacent to the clique
+            wstamp++;
+            for (int p = 0; p < count; p++) {
+                int u = clique[p];
+                for (int r = 0; r < elementCount[u]; r++) {
+                    int e = elements[u][r];
+                    if (absorbed[e]) {
+                        continue;
+                    }
+                    if (wmarks[e] != wstamp) {
+                        wmarks[e] = wstamp;
+                        external[e] = size[e];
+                    }
+                    external[e]--;
+                }
+            }
+
+            for (int p = 0; p < count; p++) {
+                int u = clique[p];
+                unlink(u, degree[u], head, next, previous);
+
+                // the variables covered by the element v are no longer listed
+                // explicitly
+                int q = 0;
+                for (int r = 0; r < variableCount[u]; r++) {
+                    int w = variables[u][r];
+                    if (!eliminated[w] && marks[w] != stamp) {
+                        variables[u][q++] = w;
+                    }
+                }
+                variableCount[u] = q;
+
+                int d = q + count - 1;
+                q = 0;
+                for (int r = 0; r < elementCount[u]; r++) {
+                    int e = elements[u][r];
+                    if (absorbed[e]) {
+                        continue;
+                    }
+
+                    if (external[e] == 0) {
+                        // the element is a subset of the element v
+                        absorbed[e] = true;
+                        members[e] = null;
+                        continue;
+                    }
+
+                    elements[u][q++] = e;
+                    d += external[e];
+                }
+
+                if (q == elements[u].length) {
+                    elements[u] = Arrays.copyOf(elements[u], q * 2);
+                }
+                elements[u][q++] = v;
+                elementCount[u] = q;
+
+                degree[u] = Math.min(Math.min(d, degree[u] + count), remaining);
+                link(u, degree[u], head, next, previous);
+                minimum = Math.min(minimum, degree[u]);
+            }
+        }
+
+        return result;
+    }
+
+    private static void link(int i, int d, int[] head, int[] next, int[] previous) {
+        next[i] = head[d];
+        previous[i] = -1;
+        if (head[d] >= 0) {
+            previous[head[d]] = i;
+        }
+        head[d] = i;
+    }
+
+    private static void unlink(int i, int d, int[] head, int[] next, int[] previous) {
+        if (previous[i] >= 0) {
+            next[previous[i]] = next[i];
+        } else {
+            head[d] = next[i];
+        }
+        if (next[i] >= 0) {
+            previous[next[i]] = previous[i];
+        }
+    }
+}
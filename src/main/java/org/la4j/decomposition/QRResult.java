@@ -0,0 +1,324 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.decomposition;
+
+import org.la4j.Matrix;
+import org.la4j.Vector;
+
+/**
+ * The result of the Householder QR decomposition: {@code A = Q * R}. The
+ * Householder vectors are kept packed below the diagonal of R, and each block
+ * of them comes with the triangular factor T of its compact WY form
+ * {@code I - V * T * V^T}, so that Q (or Q^T) is applied by matrix-matrix
+ * products without being formed.
+ */
+public final class QRResult {
+
+    private final Matrix matrix;
+    private final double[][] qr;
+    private final double[] diagonal;
+    private final double[][][] blocks;
+    private final int blockSize;
+    private final int threads;
+
+    QRResult(Matrix matrix, double[][] qr, double[] diagonal, double[][][] blocks, int blockSize, int threads) {
+        this.matrix = matrix;
+        this.qr = qr;
+        this.diagonal = diagonal;
+        this.blocks = blocks;
+        this.blockSize = blockSize;
+        this.threads = threads;
+    }
+
+    /**
+     * Whether the R factor has no zeros on its diagonal.
+     *
+     * @return {@code true} if the decomposed matrix has the full column rank
+     */
+    public boolean isFullRank() {
+        for (double value: diagonal) {
+            if (value == 0.0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Computes {@code Q^T * b} without forming Q.
+     *
+     * @param b the vector of length {@code rows}
+     *
+     * @return the vector {@code Q^T * b}
+     */
+    public Vector applyQTranspose(Vector b) {
+        ensureLength(b.length());
+
+        double[] x = new double[b.length()];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = b.get(i);
+        }
+
+        for (int k = 0; k < blocks.length; k++) {
+            int from = k * blockSize;
+            DenseKernels.applyReflectors(qr, from, until(from), blocks[k], x, true);
+        }
+
+        Vector result = b.blankOfLength(x.length);
+        for (int i = 0; i < x.length; i++) {
+            result.set(i, x[i]);
+        }
+
+        return result;
+    }
+
+    /**
+     * Computes {@code Q^T * b} without forming Q.
+     *
+     * @param b the matrix with {@code rows} rows
+     *
+     * @return the matrix {@code Q^T * b}
+     */
+    public Matrix applyQTranspose(Matrix b) {
+        ensureLength(b.rows());
+
+        double[][] x = b.toDenseMatrix().toArray();
+
+        for (int k = 0; k < blocks.length; k++) {
+            int from = k * blockSize;
+            DenseKernels.applyReflectors(qr, from, until(from), blocks[k], x, 0, b.columns(), true, threads);
+        }
+
+        return fill(b.blankOfShape(b.rows(), b.columns()), x, b.rows(), b.columns());
+    }
+
+    /**
+     * Solves the least squares problem {@code min ||A * x - b||} by the back
+     * substitution with {@code R} over {@code Q^T * b}.
+     *
+     * @param b the vector of length {@code rows}
+     *
+     * @return the solution x
+     */
+    public Vector solve(Vector b) {
+        ensureLength(b.length());
+        ensureFullRank();
+
+        double[] x = new double[b.length()];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = b.get(i);
+        }
+
+        for (int k = 0; k < blocks.length; k++) {
+            int from = k * blockSize;
+            DenseKernels.applyReflectors(qr, from, until(from), blocks[k], x, true);
+        }
+
+        int n = diagonal.length;
+        for (int j = n - 1; j >= 0; j--) {
+            x[j] /= diagonal[j];
+
+            for (int i = 0; i < j; i++) {
+                x[i] -= x[j] * qr[i][j];
+            }
+        }
+
+        Vector result = b.blankOfLength(n);
+        for (int i = 0; i < n; i++) {
+            if (x[i] != 0.0) {
+                result.set(i, x[i]);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Solves the least squares problems {@code min ||A * X - B||} for all the
+     * columns of B at once.
+     *
+     * @param b the matrix with {@code rows} rows
+     *
+     * @return the solution X
+     */
+    public Matrix solve(Matrix b) {
+        ensureLength(b.rows());
+        ensureFullRank();
+
+        double[][] x = b.toDenseMatrix().toArray();
+
+        for (int k = 0; k < blocks.length; k++) {
+            int from = k * blockSize;
+            DenseKernels.applyReflectors(qr, from, until(from), blocks[k], x, 0, b.columns(), true, threads);
+        }
+
+        int n = diagonal.length;
+        for (int j = n - 1; j >= 0; j--) {
+            double[] xj = x[j];
+            double inverse = 1.0 / diagonal[j];
+            for (int p = 0; p < xj.length; p++) {
+                xj[p] *= inverse;
+            }
+
+            for (int i = 0; i < j; i++) {
+                double factor = qr[i][j];
+                if (factor == 0.0) {
+                    continue;
+                }
+
+                double[] xi = x[i];
+                for (int p = 0; p < xi.length; p++) {
+                    xi[p] -= factor * xj[p];
+                }
+            }
+        }
+
+        return fill(b.blankOfShape(n, b.columns()), x, n, b.columns());
+    }
+
+    /**
+     * Returns the determinant of the decomposed square matrix: the product of
+     * the diagonal of R, negated for each Householder reflection.
+     *
+     * @return the determinant
+     */
+    public double determinant() {
+        if (qr.length != diagonal.length) {
+            throw new IllegalArgumentException("Can not compute determinant of non-square matrix.");
+        }
+
+        double result = 1.0;
+        for (int k = 0; k < diagonal.length; k++) {
+            double[][] t = blocks[k / blockSize];
+            int j = k % blockSize;
+
+            result *= t[j][j] != 0.0 ? -diagonal[k] : diagonal[k];
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the orthogonal factor Q with as many columns as the decomposed
+     * matrix has.
+     *
+     * @return the Q factor
+     */
+    public Matrix q() {
+        return fill(matrix.blankOfShape(qr.length, diagonal.length), qRows(), qr.length, diagonal.length);
+    }
+
+    /**
+     * Returns the upper triangular factor R.
+     *
+     * @return the R factor
+     */
+    public Matrix r() {
+        int n = diagonal.length;
+        Matrix result = matrix.blankOfShape(n, n);
+
+        for (int i = 0; i < n; i++) {
+            result.set(i, i, diagonal[i]);
+            for (int j = i + 1; j < n; j++) {
+                if (qr[i][j] != 0.0) {
+                    result.set(i, j, qr[i][j]);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the rows of the thin Q factor.
+     */
+    double[][] qRows() {
+        int m = qr.length;
+        int n = diagonal.length;
+        double[][] x = new double[m][n];
+
+        for (int i = 0; i < n; i++) {
+            x[i][i] = 1.0;
+        }
+
+        for (int k = blocks.length - 1; k >= 0; k--) {
+            int from = k * blockSize;
+            DenseKernels.applyReflectors(qr, from, until(from), blocks[k], x, 0, n, false, threads);
+        }
+
+        return x;
+    }
+
+    /**
+     * Returns the rows of the R factor.
+     */
+    double[][] rRows() {
+        int n = diagonal.length;
+        double[][] x = new double[n][n];
+
+        for (int i = 0; i < n; i++) {
+            x[i][i] = diagonal[i];
+            for (int j = i + 1; j < n; j++) {
+                x[i][j] = qr[i][j];
+            }
+        }
+
+        return x;
+    }
+
+    double[][] packed() {
+        return qr;
+    }
+
+    double[] diagonal() {
+        return diagonal;
+    }
+
+    private int until(int from) {
+        return Math.min(from + blockSize, diagonal.length);
+    }
+
+    private void ensureFullRank() {
+        if (!isFullRank()) {
+            throw new IllegalArgumentException("This system can not be solved: coefficient matrix is rank deficient.");
+        }
+    }
+
+    private void ensureLength(int length) {
+        if (length != qr.length) {
+            throw new IllegalArgumentException("Wrong number of rows: " + length + ".");
+        }
+    }
+
+    private static Matrix fill(Matrix result, double[][] x, int rows, int columns) {
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                if (x[i][j] != 0.0) {
+                    result.set(i, j, x[i][j]);
+                }
+            }
+        }
+
+        return result;
+    }
+}
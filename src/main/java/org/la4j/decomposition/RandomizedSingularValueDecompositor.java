@@ -0,0 +1,249 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.decomposition;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.la4j.Matrix;
+import org.la4j.Parallel;
+import org.la4j.matrix.DenseMatrix;
+import org.la4j.matrix.SparseMatrix;
+import org.la4j.matrix.dense.Basic2DMatrix;
+
+/**
+ * This class represents the randomized truncated singular value decomposition
+ * (Halko, Martinsson and Tropp), that finds the {@code k} largest singular
+ * triplets of a large (sparse) matrix.
+ * <p>
+ * The range of the matrix is sampled by its product with a Gaussian block of
+ * {@code k + oversampling} columns, sharpened by the power iterations
+ * {@code (A * A^T)^q} (orthonormalized after each product) and then the
+ * matrix is projected onto the sampled range, whose SVD is computed densely.
+ * The matrix is touched only by the products over its compressed rows and
+ * columns, that are split between the threads.
+ * </p>
+ */
+public class RandomizedSingularValueDecompositor extends AbstractDecompositor implements MatrixDecompositor {
+
+    public static final int DEFAULT_OVERSAMPLING = 10;
+
+    public static final int DEFAULT_POWER_ITERATIONS = 2;
+
+    // the number of multiply-adds, that is worth a thread
+    private static final long GRAIN = 1L << 16;
+
+    private final int count;
+    private final int oversampling;
+    private final int iterations;
+    private final int threads;
+
+    /**
+     * Creates a randomized SVD for the {@code count} largest singular triplets.
+     *
+     * @param matrix the matrix
+     * @param count the number of singular triplets
+     */
+    public RandomizedSingularValueDecompositor(Matrix matrix, int count) {
+        this(matrix, count, DEFAULT_OVERSAMPLING, DEFAULT_POWER_ITERATIONS, Parallel.THREADS);
+    }
+
+    /**
+     * Creates a randomized SVD for the {@code count} largest singular triplets.
+     *
+     * @param matrix the matrix
+     * @param count the number of singular triplets
+     * @param oversampling the number of extra samples of the range
+     * @param iterations the number of power iterations
+     * @param threads the number of threads
+     */
+    public RandomizedSingularValueDecompositor(Matrix matrix, int count, int oversampling,
+                                               int iterations, int threads) {
+        super(matrix);
+
+        if (count < 1 || count > Math.min(matrix.rows(), matrix.columns())) {
+            fail("Wrong number of singular values: " + count + ".");
+        }
+
+        if (oversampling < 0 || iterations < 0) {
+            fail("Wrong parameters: oversampling = " + oversampling + ", iterations = " + iterations + ".");
+        }
+
+        this.count = count;
+        this.oversampling = oversampling;
+        this.iterations = iterations;
+        this.threads = threads;
+    }
+
+    /**
+     * Returns the {@code k} largest singular triplets: the left singular
+     * vectors as the columns of U, the singular values (descending) on the
+     * diagonal of D and the right singular vectors as the columns of V.
+     *
+     * @return { U, D, V }
+     */
+    @Override
+    public Matrix[] decompose() {
+        int m = matrix.rows();
+        int n = matrix.columns();
+        int l = Math.min(count + oversampling, Math.min(m, n));
+
+        // A is kept by the compressed columns (the rows of A^T) and rows
+        int capacity = matrix instanceof SparseMatrix ? ((SparseMatrix) matrix).cardinality() : m * n;
+        int[] columnPointers = new int[n + 1];
+        int[] rowIndices = new int[capacity];
+        double[] columnValues = new double[capacity];
+        int cardinality = SparseLUDecompositor.compress(matrix, columnPointers, rowIndices, columnValues);
+
+        int[] rowPointers = new int[m + 1];
+        int[] columnIndices = new int[cardinality];
+        double[] rowValues = new double[cardinality];
+        transpose(columnPointers, rowIndices, columnValues, rowPointers, columnIndices, rowValues);
+
+        Random random = new Random(m * 31L + n);
+        double[][] omega = new double[n][l];
+        for (double[] row: omega) {
+            for (int j = 0; j < l; j++) {
+                row[j] = random.nextGaussian();
+            }
+        }
+
+        double[][] q = orthonormalize(multiply(rowPointers, columnIndices, rowValues, omega, l), l);
+
+        for (int it = 0; it < iterations; it++) {
+            double[][] z = orthonormalize(multiply(columnPointers, rowIndices, columnValues, q, l), l);
+            q = orthonormalize(multiply(rowPointers, columnIndices, rowValues, z, l), l);
+        }
+
+        // B^T = A^T * Q = Q' * R, so that A ~ Q * B = (Q * V_R) * S * (Q' * U_R)^T
+        double[][] bt = multiply(columnPointers, rowIndices, columnValues, q, l);
+        QRResult qr = RawQRDecompositor.factorize(matrix, bt, l, threads);
+
+        SingularValueDecompositor svd = new SingularValueDecompositor(new Basic2DMatrix(qr.rRows()));
+        Matrix[] usv = svd.decompose();
+
+        Matrix u = multiply(q, usv[2], count);
+        Matrix v = multiply(qr.qRows(), usv[0], count);
+        Matrix s = DenseMatrix.zero(count, count);
+
+        for (int i = 0; i < count; i++) {
+            s.set(i, i, usv[1].get(i, i));
+        }
+
+        return new Matrix[] { u, s, v };
+    }
+
+    @Override
+    public boolean applicableTo(Matrix matrix) {
+        return true;
+    }
+
+    /**
+     * Returns the thin Q factor of the rows {@code x}.
+     */
+    private double[][] orthonormalize(double[][] x, int columns) {
+        return RawQRDecompositor.factorize(matrix, x, columns, threads).qRows();
+    }
+
+    /**
+     * Returns {@code Y = A * X} for the compressed rows of A, a block of rows
+     * of Y per thread.
+     */
+    private double[][] multiply(final int[] pointers, final int[] indices, final double[] values,
+                                final double[][] x, final int columns) {
+
+        final double[][] y = new double[pointers.length - 1][columns];
+
+        Parallel.RangeProcedure procedure = new Parallel.RangeProcedure() {
+            @Override
+            public void apply(int from, int until) {
+                for (int i = from; i < until; i++) {
+                    double[] yi = y[i];
+                    for (int p = pointers[i]; p < pointers[i + 1]; p++) {
+                        double value = values[p];
+                        double[] xj = x[indices[p]];
+                        for (int j = 0; j < columns; j++) {
+                            yi[j] += value * xj[j];
+                        }
+                    }
+                }
+            }
+        };
+
+        long work = (long) pointers[pointers.length - 1] * columns;
+        int chunks = (int) Math.max(1, Math.min(threads, work / GRAIN));
+        Parallel.forRange(0, y.length, chunks, procedure);
+
+        return y;
+    }
+
+    /**
+     * Returns the first {@code columns} columns of {@code X * B}.
+     */
+    private static Matrix multiply(double[][] x, Matrix b, int columns) {
+        double[][] result = new double[x.length][columns];
+
+        for (int i = 0; i < x.length; i++) {
+            double[] xi = x[i];
+            double[] ri = result[i];
+            for (int p = 0; p < xi.length; p++) {
+                double factor = xi[p];
+                if (factor == 0.0) {
+                    continue;
+                }
+                for (int j = 0; j < columns; j++) {
+                    ri[j] += factor * b.get(p, j);
+                }
+            }
+        }
+
+        return DenseMatrix.from2DArray(result);
+    }
+
+    /**
+     * Converts the compressed columns into the compressed rows by a counting sort.
+     */
+    private static void transpose(int[] pointers, int[] indices, double[] values,
+                                  int[] resultPointers, int[] resultIndices, double[] resultValues) {
+
+        int columns = pointers.length - 1;
+        int rows = resultPointers.length - 1;
+        int cardinality = pointers[columns];
+
+        for (int k = 0; k < cardinality; k++) {
+            resultPointers[indices[k] + 1]++;
+        }
+
+        for (int i = 0; i < rows; i++) {
+            resultPointers[i + 1] += resultPointers[i];
+        }
+
+        int[] next = Arrays.copyOf(resultPointers, rows);
+        for (int j = 0; j < columns; j++) {
+            for (int k = pointers[j]; k < pointers[j + 1]; k++) {
+                int p = next[indices[k]]++;
+                resultIndices[p] = j;
+                resultValues[p] = values[k];
+            }
+        }
+    }
+}
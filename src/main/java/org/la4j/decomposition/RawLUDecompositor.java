@@ -21,56 +21,111 @@
 
 package org.la4j.decomposition;
 
-import org.la4j.Matrices;
 import org.la4j.Matrix;
-import org.la4j.matrix.SparseMatrix;
-
+import org.la4j.Parallel;
+
+/**
+ * This class represents the blocked right-looking LU decomposition with
+ * partial pivoting. A panel of {@code BLOCK_SIZE} columns is factorized with
+ * row swaps, the block row of U is solved against its unit lower triangle
+ * and the trailing matrix is updated with a single matrix product, which
+ * runs in parallel on large matrices.
+ */
 public class RawLUDecompositor extends AbstractDecompositor implements MatrixDecompositor {
 
+    private static final int BLOCK_SIZE = 64;
+
+    private final int threads;
+
     public RawLUDecompositor(Matrix matrix) {
+        this(matrix, Parallel.THREADS);
+    }
+
+    public RawLUDecompositor(Matrix matrix, int threads) {
         super(matrix);
+        this.threads = threads;
     }
 
+    /**
+     * Returns the result of LU decomposition of given matrix: the packed LU
+     * factors and the permutation matrix.
+     *
+     * @return { LU, P }
+     */
     @Override
     public Matrix[] decompose() {
+        LUResult result = factorize();
+        return new Matrix[] { result.lu(), result.p() };
+    }
 
-        Matrix lu = matrix.copy();
-        Matrix p = SparseMatrix.identity(lu.rows());
+    /**
+     * Factorizes the matrix into the compact {@link LUResult}.
+     *
+     * @return the LU factors and the row permutation
+     */
+    public LUResult factorize() {
+        int n = matrix.rows();
+        double[][] lu = matrix.toDenseMatrix().toArray();
+        int[] pivots = new int[n];
+        int sign = 1;
+
+        for (int i = 0; i < n; i++) {
+            pivots[i] = i;
+        }
 
-        for (int j = 0; j < lu.columns(); j++) {
-            for (int i = 0; i < lu.rows(); i++) {
+        for (int k0 = 0; k0 < n; k0 += BLOCK_SIZE) {
+            int k1 = Math.min(k0 + BLOCK_SIZE, n);
 
-                int kmax = Math.min(i, j);
+            // the panel: columns [k0, k1) of the rows [k0, n)
+            for (int j = k0; j < k1; j++) {
+                int pivot = j;
+                for (int i = j + 1; i < n; i++) {
+                    if (Math.abs(lu[i][j]) > Math.abs(lu[pivot][j])) {
+                        pivot = i;
+                    }
+                }
+
+                if (pivot != j) {
+                    double[] row = lu[pivot];
+                    lu[pivot] = lu[j];
+                    lu[j] = row;
 
-                double s = 0.0;
-                for (int k = 0; k < kmax; k++) {
-                    s += lu.get(i, k) * lu.get(k, j);
+                    int index = pivots[pivot];
+                    pivots[pivot] = pivots[j];
+                    pivots[j] = index;
+
+                    sign = -sign;
                 }
 
-                lu.updateAt(i, j, Matrices.asMinusFunction(s));
-            }
+                double[] top = lu[j];
+                if (top[j] == 0.0) {
+                    // the column is zero already
+                    continue;
+                }
 
-            int pivot = j;
+                for (int i = j + 1; i < n; i++) {
+                    double[] row = lu[i];
+                    double l = row[j] / top[j];
+                    row[j] = l;
 
-            for (int i = j + 1; i < lu.rows(); i++) {
-                if (Math.abs(lu.get(i, j)) > Math.abs(lu.get(pivot, j))) {
-                    pivot = i;
+                    if (l != 0.0) {
+                        for (int c = j + 1; c < k1; c++) {
+                            row[c] -= l * top[c];
+                        }
+                    }
                 }
             }
 
-            if (pivot != j) {
-                lu.swapRows(pivot, j);
-                p.swapRows(pivot, j);
+            // U12 = L11^-1 * A12
+            for (int i = k0 + 1; i < k1; i++) {
+                DenseKernels.gemm(lu, lu, lu, i, i + 1, k1, n, k0, i, 1);
             }
 
-            if (j < lu.rows() && Math.abs(lu.get(j, j)) > Matrices.EPS) {
-                for (int i = j + 1; i < lu.rows(); i++) {
-                    lu.updateAt(i, j, Matrices.asDivFunction(lu.get(j, j)));
-                }
-            }
+            // A22 -= L21 * U12
+            DenseKernels.gemm(lu, lu, lu, k1, n, k1, n, k0, k1, threads);
         }
 
-        return new Matrix[] { lu, p };
+        return new LUResult(matrix, lu, pivots, sign);
     }
 
     @Override
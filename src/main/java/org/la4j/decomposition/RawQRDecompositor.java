@@ -23,59 +23,212 @@ package org.la4j.decomposition;
 
 import org.la4j.Matrices;
 import org.la4j.Matrix;
+import org.la4j.Parallel;
 
+/**
+ * This class represents the blocked Householder QR decomposition. The
+ * reflectors of a panel of {@code BLOCK_SIZE} columns are accumulated into the
+ * compact WY form {@code I - V * T * V^T}, which updates the trailing columns
+ * with two passes over the rows instead of a pass per reflector.
+ */
 public class RawQRDecompositor extends AbstractDecompositor implements MatrixDecompositor {
 
+    private static final int BLOCK_SIZE = 32;
+
+    private final int threads;
+
     public RawQRDecompositor(Matrix matrix) {
+        this(matrix, Parallel.THREADS);
+    }
+
+    public RawQRDecompositor(Matrix matrix, int threads) {
         super(matrix);
+        this.threads = threads;
     }
 
+    /**
+     * Returns the result of QR decomposition of given matrix: the Householder
+     * vectors packed with the upper part of R and the diagonal of R.
+     *
+     * @return { QR, diag(R) }
+     */
     @Override
     public Matrix[] decompose() {
+        QRResult result = factorize();
+        double[][] qr = result.packed();
+        double[] diagonal = result.diagonal();
+
+        Matrix packed = matrix.blankOfShape(matrix.rows(), matrix.columns());
+        for (int i = 0; i < qr.length; i++) {
+            for (int j = 0; j < diagonal.length; j++) {
+                if (qr[i][j] != 0.0) {
+                    packed.set(i, j, qr[i][j]);
+                }
+            }
+        }
 
-        Matrix qr = matrix.copy();
-        Matrix r = matrix.blankOfShape(qr.columns(), qr.columns());
+        Matrix r = matrix.blankOfShape(diagonal.length, diagonal.length);
+        for (int k = 0; k < diagonal.length; k++) {
+            r.set(k, k, diagonal[k]);
+        }
 
-        for (int k = 0; k < qr.columns(); k++) {
+        return new Matrix[] { packed, r };
+    }
 
-            double norm = 0.0;
+    /**
+     * Factorizes the matrix into the compact {@link QRResult}.
+     *
+     * @return the Householder vectors, their WY factors and R
+     */
+    public QRResult factorize() {
+        return factorize(matrix, matrix.toDenseMatrix().toArray(), matrix.columns(), threads);
+    }
 
-            for (int i = k; i < qr.rows(); i++) {
-                norm = Math.hypot(norm, qr.get(i, k));
-            }
+    /**
+     * Factorizes the first {@code n} columns of the rows {@code qr} in place.
+     * The {@code matrix} is the template of the factors built by the result.
+     */
+    static QRResult factorize(Matrix matrix, double[][] qr, int n, int threads) {
+        int m = qr.length;
 
-            if (Math.abs(norm) > Matrices.EPS) {
+        double[] diagonal = new double[n];
+        double[][][] blocks = new double[(n + BLOCK_SIZE - 1) / BLOCK_SIZE][][];
 
-                if (qr.get(k, k) < 0.0) {
-                    norm = -norm;
-                }
+        for (int k0 = 0; k0 < n; k0 += BLOCK_SIZE) {
+            int k1 = Math.min(k0 + BLOCK_SIZE, n);
+            double[] taus = new double[k1 - k0];
 
-                for (int i = k; i < qr.rows(); i++) {
-                    qr.updateAt(i, k, Matrices.asDivFunction(norm));
+            for (int k = k0; k < k1; k++) {
+                double norm = norm(qr, k);
+
+                if (Math.abs(norm) > Matrices.EPS) {
+
+                    if (qr[k][k] < 0.0) {
+                        norm = -norm;
+                    }
+
+                    for (int i = k; i < m; i++) {
+                        qr[i][k] /= norm;
+                    }
+
+                    qr[k][k] += 1.0;
+                    taus[k - k0] = 1.0 / qr[k][k];
+
+                    reflect(qr, k, k + 1, k1);
                 }
 
-                qr.updateAt(k, k, Matrices.INC_FUNCTION);
+                diagonal[k] = -norm;
+            }
+
+            double[][] t = triangular(qr, k0, k1, taus);
+            blocks[k0 / BLOCK_SIZE] = t;
 
-                for (int j = k + 1; j < qr.columns(); j++) {
+            if (k1 < n) {
+                DenseKernels.applyReflectors(qr, k0, k1, t, qr, k1, n, true, threads);
+            }
+        }
 
-                    double acc = 0.0;
+        return new QRResult(matrix, qr, diagonal, blocks, BLOCK_SIZE, threads);
+    }
 
-                    for (int i = k; i < qr.rows(); i++) {
-                        acc += qr.get(i, k) * qr.get(i, j);
-                    }
+    /**
+     * Returns the norm of the column {@code k} below the diagonal, scaled to
+     * avoid overflows.
+     */
+    private static double norm(double[][] qr, int k) {
+        double scale = 0.0;
+        for (int i = k; i < qr.length; i++) {
+            scale = Math.max(scale, Math.abs(qr[i][k]));
+        }
 
-                    acc = -acc / qr.get(k, k);
+        if (scale == 0.0) {
+            return 0.0;
+        }
 
-                    for (int i = k; i < qr.rows(); i++) {
-                        qr.updateAt(i, j, Matrices.asPlusFunction(acc * qr.get(i, k)));
-                    }
+        double acc = 0.0;
+        for (int i = k; i < qr.length; i++) {
+            double value = qr[i][k] / scale;
+            acc += value * value;
+        }
+
+        return scale * Math.sqrt(acc);
+    }
+
+    /**
+     * Applies the reflector {@code k} to the panel columns {@code [from, until)}:
+     * both the dot products and the updates are done in a single pass over
+     * the rows.
+     */
+    private static void reflect(double[][] qr, int k, int from, int until) {
+        if (from == until) {
+            return;
+        }
+
+        double[] acc = new double[until - from];
+
+        for (int i = k; i < qr.length; i++) {
+            double[] row = qr[i];
+            double v = row[k];
+            for (int j = from; j < until; j++) {
+                acc[j - from] += v * row[j];
+            }
+        }
+
+        for (int j = from; j < until; j++) {
+            acc[j - from] = -acc[j - from] / qr[k][k];
+        }
+
+        for (int i = k; i < qr.length; i++) {
+            double[] row = qr[i];
+            double v = row[k];
+            for (int j = from; j < until; j++) {
+                row[j] += acc[j - from] * v;
+            }
+        }
+    }
+
+    /**
+     * Builds the upper triangular T, so that the product of the reflectors
+     * {@code [from, until)} is {@code I - V * T * V^T}: {@code T_jj = tau_j}
+     * and {@code T[0:j, j] = -tau_j * T[0:j, 0:j] * V[:, 0:j]^T * v_j}.
+     */
+    private static double[][] triangular(double[][] qr, int from, int until, double[] taus) {
+        int width = until - from;
+        double[][] gram = new double[width][width];
+
+        for (int i = from; i < qr.length; i++) {
+            double[] row = qr[i];
+            int jUntil = Math.min(i + 1, until);
+
+            for (int p = from; p < jUntil; p++) {
+                double v = row[p];
+                if (v == 0.0) {
+                    continue;
+                }
+                for (int q = p + 1; q < jUntil; q++) {
+                    gram[p - from][q - from] += v * row[q];
                 }
             }
+        }
+
+        double[][] t = new double[width][width];
+
+        for (int j = 0; j < width; j++) {
+            t[j][j] = taus[j];
+            if (taus[j] == 0.0) {
+                continue;
+            }
 
-            r.set(k, k, -norm);
+            for (int p = 0; p < j; p++) {
+                double acc = 0.0;
+                for (int r = p; r < j; r++) {
+                    acc += t[p][r] * gram[r][j];
+                }
+                t[p][j] = -taus[j] * acc;
+            }
         }
 
-        return new Matrix[] { qr, r };
+        return t;
     }
 
     @Override
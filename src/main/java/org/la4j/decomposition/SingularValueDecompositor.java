@@ -34,8 +34,23 @@ import org.la4j.vector.DenseVector;
  */
 public class SingularValueDecompositor extends AbstractDecompositor implements MatrixDecompositor {
 
+    private final boolean vectors;
+
     public SingularValueDecompositor(Matrix matrix) {
+        this(matrix, true);
+    }
+
+    /**
+     * Creates a singular value decompositor, that computes the singular
+     * vectors only if {@code vectors} is set. Skipping the vectors makes the
+     * decomposition several times faster.
+     *
+     * @param matrix the matrix
+     * @param vectors whether to compute U and V
+     */
+    public SingularValueDecompositor(Matrix matrix, boolean vectors) {
         super(matrix);
+        this.vectors = vectors;
     }
 
     /**
@@ -47,10 +62,31 @@ public class SingularValueDecompositor extends AbstractDecompositor implements M
      * details.
      * </p>
      *
-     * @return { U, D, V }
+     * @return { U, D, V } (U and V are {@code null} if the vectors are skipped)
      */
     @Override
     public Matrix[] decompose() {
+        return decompose(vectors);
+    }
+
+    /**
+     * Returns the singular values of given matrix in the descending order,
+     * without computing the singular vectors.
+     *
+     * @return the singular values
+     */
+    public Vector singularValues() {
+        Matrix s = decompose(false)[1];
+        Vector result = DenseVector.zero(s.rows());
+
+        for (int i = 0; i < s.rows(); i++) {
+            result.set(i, s.get(i, i));
+        }
+
+        return result;
+    }
+
+    private Matrix[] decompose(boolean vectors) {
 
         // AHTIUNG: this code derived from Jama
 
@@ -58,9 +94,9 @@ public class SingularValueDecompositor extends AbstractDecompositor implements M
 
         int n = Math.min(a.rows(), a.columns());
 
-        Matrix u = matrix.blankOfShape(a.rows(), n);
+        Matrix u = vectors ? matrix.blankOfShape(a.rows(), n) : null;
         Matrix s = matrix.blankOfShape(a.columns(), a.columns());
-        Matrix v = matrix.blankOfShape(a.columns(), a.columns());
+        Matrix v = vectors ? matrix.blankOfShape(a.columns(), a.columns()) : null;
 
         Vector e = DenseVector.zero(a.columns());
         Vector work = DenseVector.zero(a.rows());
@@ -115,7 +151,7 @@ public class SingularValueDecompositor extends AbstractDecompositor implements M
                 e.set(j, a.get(k, j));
             }
 
-            if (k < nct) {
+            if (vectors && k < nct) {
 
                 for (int i = k; i < a.rows(); i++) {
                     u.set(i, k, a.get(i, k));
@@ -172,8 +208,10 @@ public class SingularValueDecompositor extends AbstractDecompositor implements M
                     }
                 }
 
-                for (int i = k + 1; i < a.columns(); i++) {
-                    v.set(i, k, e.get(i));
+                if (vectors) {
+                    for (int i = k + 1; i < a.columns(); i++) {
+                        v.set(i, k, e.get(i));
+                    }
                 }
             }
         }
@@ -194,78 +232,81 @@ public class SingularValueDecompositor extends AbstractDecompositor implements M
 
         e.set(p - 1, 0.0);
 
-        for (int j = nct; j < n; j++) {
+        if (vectors) {
+
+            for (int j = nct; j < n; j++) {
+
+                for (int i = 0; i < a.rows(); i++) {
+                    u.set(i, j, 0.0);
+                }
 
-            for (int i = 0; i < a.rows(); i++) {
-                u.set(i, j, 0.0);
+                u.set(j, j, 1.0);
             }
 
-            u.set(j, j, 1.0);
-        }
+            for (int k = nct - 1; k >= 0; k--) {
 
-        for (int k = nct - 1; k >= 0; k--) {
+                if (Math.abs(s.get(k, k)) > Matrices.EPS) {
 
-            if (Math.abs(s.get(k, k)) > Matrices.EPS) {
+                    for (int j = k + 1; j < n; j++) {
 
-                for (int j = k + 1; j < n; j++) {
+                        double t = 0;
+                        for (int i = k; i < a.rows(); i++) {
+                            t += u.get(i, k) * u.get(i, j);
+                        }
 
-                    double t = 0;
-                    for (int i = k; i < a.rows(); i++) {
-                        t += u.get(i, k) * u.get(i, j);
-                    }
+                        t = -t / u.get(k, k);
 
-                    t = -t / u.get(k, k);
+                        for (int i = k; i < a.rows(); i++) {
+                            u.updateAt(i, j, Matrices.asPlusFunction(t * u.get(i, k)));
+                        }
+                    }
 
                     for (int i = k; i < a.rows(); i++) {
-                        u.updateAt(i, j, Matrices.asPlusFunction(t * u.get(i, k)));
+                        u.updateAt(i, k, Matrices.INV_FUNCTION);
                     }
-                }
 
-                for (int i = k; i < a.rows(); i++) {
-                    u.updateAt(i, k, Matrices.INV_FUNCTION);
-                }
+                    u.updateAt(k, k, Matrices.INC_FUNCTION);
 
-                u.updateAt(k, k, Matrices.INC_FUNCTION);
+                    for (int i = 0; i < k - 1; i++) {
+                        u.set(i, k, 0.0);
+                    }
 
-                for (int i = 0; i < k - 1; i++) {
-                    u.set(i, k, 0.0);
-                }
+                } else {
 
-            } else {
+                    for (int i = 0; i < a.rows(); i++) {
+                        u.set(i, k, 0.0);
+                    }
 
-                for (int i = 0; i < a.rows(); i++) {
-                    u.set(i, k, 0.0);
+                    u.set(k, k, 1.0);
                 }
-
-                u.set(k, k, 1.0);
             }
-        }
 
-        for (int k = n - 1; k >= 0; k--) {
+            for (int k = n - 1; k >= 0; k--) {
 
-            if ((k < nrt) & (Math.abs(e.get(k)) > Matrices.EPS)) {
+                if ((k < nrt) & (Math.abs(e.get(k)) > Matrices.EPS)) {
 
-                for (int j = k + 1; j < n; j++) {
+                    for (int j = k + 1; j < n; j++) {
 
-                    double t = 0;
+                        double t = 0;
 
-                    for (int i = k + 1; i < a.columns(); i++) {
-                        t += v.get(i, k) * v.get(i, j);
-                    }
+                        for (int i = k + 1; i < a.columns(); i++) {
+                            t += v.get(i, k) * v.get(i, j);
+                        }
 
-                    t = -t / v.get(k + 1, k);
+                        t = -t / v.get(k + 1, k);
 
-                    for (int i = k + 1; i < a.columns(); i++) {
-                        v.updateAt(i, j, Matrices.asPlusFunction(t * v.get(i, k)));
+                        for (int i = k + 1; i < a.columns(); i++) {
+                            v.updateAt(i, j, Matrices.asPlusFunction(t * v.get(i, k)));
+                        }
                     }
                 }
-            }
 
-            for (int i = 0; i < a.columns(); i++) {
-                v.set(i, k, 0.0);
-            }
+                for (int i = 0; i < a.columns(); i++) {
+                    v.set(i, k, 0.0);
+                }
 
-            v.set(k, k, 1.0);
+                v.set(k, k, 1.0);
+            }
         }
 
         int pp = p - 1;
@@ -344,13 +385,15 @@ public class SingularValueDecompositor extends AbstractDecompositor implements M
                         e.set(j - 1, cs * e.get(j - 1));
                     }
 
-                    for (int i = 0; i < a.columns(); i++) {
-                        t = cs * v.get(i, j) + sn 
-                        		* v.get(i, p - 1);
-                        v.set(i, p - 1,
-                                -sn * v.get(i, j) 
-                                + cs * v.get(i, p - 1));
-                        v.set(i, j, t);
+                    if (vectors) {
+                        for (int i = 0; i < a.columns(); i++) {
+                            t = cs * v.get(i, j) + sn 
+                            		* v.get(i, p - 1);
+                            v.set(i, p - 1,
+                                    -sn * v.get(i, j) 
+                                    + cs * v.get(i, p - 1));
+                            v.set(i, j, t);
+                        }
                     }
                 }
             }
@@ -370,13 +413,15 @@ public class SingularValueDecompositor extends AbstractDecompositor implements M
                     f = -sn * e.get(j);
                     e.set(j, cs * e.get(j));
 
-                    for (int i = 0; i < a.rows(); i++) {
-                        t = cs * u.get(i, j) 
-                        		+ sn * u.get(i, k - 1);
-                        u.set(i, k - 1,
-                                -sn * u.get(i, j) 
-                                + cs * u.get(i, k - 1));
-                        u.set(i, j, t);
+                    if (vectors) {
+                        for (int i = 0; i < a.rows(); i++) {
+                            t = cs * u.get(i, j) 
+                            		+ sn * u.get(i, k - 1);
+                            u.set(i, k - 1,
+                                    -sn * u.get(i, j) 
+                                    + cs * u.get(i, k - 1));
+                            u.set(i, j, t);
+                        }
                     }
                 }
             }
@@ -428,13 +473,15 @@ public class SingularValueDecompositor extends AbstractDecompositor implements M
                     s.set(j + 1, j + 1, 
                     		cs * s.get(j + 1, j + 1));
 
-                    for (int i = 0; i < a.columns(); i++) {
-                        t = cs * v.get(i, j) 
-                        		+ sn * v.get(i, j + 1);
-                        v.set(i, j + 1,
-                                -sn * v.get(i, j) 
-                                + cs * v.get(i, j + 1));
-                        v.set(i, j, t);
+                    if (vectors) {
+                        for (int i = 0; i < a.columns(); i++) {
+                            t = cs * v.get(i, j) 
+                            		+ sn * v.get(i, j + 1);
+                            v.set(i, j + 1,
+                                    -sn * v.get(i, j) 
+                                    + cs * v.get(i, j + 1));
+                            v.set(i, j, t);
+                        }
                     }
 
                     t = hypot(f, g);
@@ -448,7 +495,7 @@ public class SingularValueDecompositor extends AbstractDecompositor implements M
                     g = sn * e.get(j + 1);
                     e.updateAt(j + 1, Vectors.asMulFunction(cs));
 
-                    if (j < a.rows() - 1) {
+                    if (vectors && j < a.rows() - 1) {
                         for (int i = 0; i < a.rows(); i++) {
                             t = cs * u.get(i, j) 
                                     + sn * u.get(i, j + 1);
@@ -469,7 +516,7 @@ public class SingularValueDecompositor extends AbstractDecompositor implements M
 
                 if (s.get(k, k) <= 0.0) {
                     s.set(k, k, s.get(k, k) < 0.0 ? -s.get(k, k) : 0.0);
-                    for (int i = 0; i <= pp; i++) {
+                    for (int i = 0; vectors && i <= pp; i++) {
                         v.updateAt(i, k, Matrices.INV_FUNCTION);
                     }
                 }
@@ -484,7 +531,7 @@ public class SingularValueDecompositor extends AbstractDecompositor implements M
                     s.set(k, k, s.get(k + 1, k + 1));
                     s.set(k + 1, k + 1, t);
 
-                    if (k < a.columns() - 1) {
+                    if (vectors && k < a.columns() - 1) {
                         for (int i = 0; i < a.columns(); i++) {
                             t = v.get(i, k + 1);
                             v.set(i, k + 1, v.get(i, k));
@@ -492,7 +539,7 @@ public class SingularValueDecompositor extends AbstractDecompositor implements M
                         }
                     }
 
-                    if (k < a.rows() - 1) {
+                    if (vectors && k < a.rows() - 1) {
                         for (int i = 0; i < a.rows(); i++) {
                             t = u.get(i, k + 1);
                             u.set(i, k + 1, u.get(i, k));
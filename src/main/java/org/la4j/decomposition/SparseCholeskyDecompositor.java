@@ -0,0 +1,687 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.decomposition;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.la4j.Matrices;
+import org.la4j.Matrix;
+import org.la4j.matrix.SparseMatrix;
+import org.la4j.matrix.sparse.CCSMatrix;
+
+/**
+ * This class represents a supernodal sparse Cholesky decomposition of
+ * symmetric positive definite matrices. The rows and columns are permuted with
+ * an approximate minimum degree ordering and the elimination tree is postordered,
+ * so that the columns of L with the same sparsity pattern form contiguous
+ * supernodes. The supernodes are stored as dense blocks and updated with dense
+ * kernels.
+ * <p>
+ * The symbolic analysis computes the ordering and the whole sparsity pattern of
+ * L. It only depends on the sparsity pattern of the matrix and can be reused for
+ * other matrices with the same pattern via {@link #symbolic()}, so that a
+ * refactorization only takes the numeric phase.
+ * </p>
+ */
+public class SparseCholeskyDecompositor extends AbstractDecompositor implements MatrixDecompositor {
+
+    private static final long serialVersionUID = 4071505L;
+
+    private final Symbolic symbolic;
+
+    private final int[] pointers;
+    private final int[] indices;
+    private final double[] values;
+
+    public SparseCholeskyDecompositor(Matrix matrix) {
+        this(matrix, null, true);
+    }
+
+    /**
+     * Creates a sparse Cholesky decompositor of the given {@code matrix}.
+     *
+     * @param matrix the symmetric positive definite matrix
+     * @param symbolic the symbolic analysis of a matrix with the same sparsity
+     *                 pattern or {@code null} to analyze the given one
+     */
+    public SparseCholeskyDecompositor(Matrix matrix, Symbolic symbolic) {
+        this(matrix, symbolic, true);
+    }
+
+    SparseCholeskyDecompositor(Matrix matrix, Symbolic symbolic, boolean reorder) {
+        super(matrix);
+
+        int n = matrix.columns();
+        int cardinality = matrix instanceof SparseMatrix ? ((SparseMatrix) matrix).cardinality() : n * n;
+
+        this.pointers = new int[n + 1];
+        int[] rows = new int[cardinality];
+        double[] entries = new double[cardinality];
+        int count = SparseLUDecompositor.compress(matrix, pointers, rows, entries);
+
+        this.indices = Arrays.copyOf(rows, count);
+        this.values = Arrays.copyOf(entries, count);
+
+        if (!isSymmetric(n, pointers, indices, values)) {
+            fail("This matrix is not symmetric.");
+        }
+
+        if (symbolic == null) {
+            this.symbolic = analyze(n, pointers, indices, reorder);
+        } else if (symbolic.matches(n, pointers, indices)) {
+            this.symbolic = symbolic;
+        } else {
+            throw new IllegalArgumentException("The sparsity pattern differs from the analyzed one.");
+        }
+    }
+
+    /**
+     * Returns the symbolic analysis of the wrapped matrix.
+     *
+     * @return the symbolic analysis
+     */
+    public Symbolic symbolic() {
+        return symbolic;
+    }
+
+    /**
+     * Returns the result of sparse Cholesky decomposition of given matrix.
+     *
+     * @return { L, P }, such that P * A * P^T = L * L^T
+     */
+    @Override
+    public Matrix[] decompose() {
+        Symbolic s = symbolic;
+        int n = s.order.length;
+        int supernodes = s.first.length - 1;
+
+        double[] lx = new double[s.size];
+        for (int p = 0; p < values.length; p++) {
+            if (s.targets[p] >= 0) {
+                lx[s.targets[p]] = values[p];
+            }
+        }
+
+        // the supernodes waiting to update the supernode j are linked from
+        // head[j] and the next row to update of a supernode k is rows[position[k]]
+        int[] head = new int[supernodes];
+        int[] next = new int[supernodes];
+        int[] position = new int[supernodes];
+        Arrays.fill(head, -1);
+
+        int[] map = new int[n];
+        double[] work = new double[s.workspace];
+
+        for (int j = 0; j < supernodes; j++) {
+            int first = s.first[j];
+            int width = s.first[j + 1] - first;
+            int start = s.rowPointers[j];
+            int ld = s.rowPointers[j + 1] - start;
+            int offset = s.offsets[j];
+
+            for (int x = 0; x < ld; x++) {
+                map[s.rows[start + x]] = x;
+            }
+
+            int k = head[j];
+            head[j] = -1;
+
+            while (k >= 0) {
+                int following = next[k];
+                update(lx, work, map, k, first + width, first, offset, ld, position);
+                link(k, head, next, position);
+                k = following;
+            }
+
+            factorize(lx, offset, ld, width);
+
+            if (width < ld) {
+                position[j] = s.rowPointers[j] + width;
+                link(j, head, next, position);
+            }
+        }
+
+        return new Matrix[] { lower(lx), permutation() };
+    }
+
+    /**
+     * Subtracts {@code L(rows, K) * L(columns, K)^T} from the supernode J, where
+     * K is the supernode {@code k}, the columns of J are {@code [first, until)}
+     * and the rows are the rows of K starting from the column {@code first}.
+     */
+    private void update(double[] lx, double[] work, int[] map, int k, int until, int first,
+                        int offset, int ld, int[] position) {
+
+        Symbolic s = symbolic;
+        int kstart = s.rowPointers[k];
+        int kld = s.rowPointers[k + 1] - kstart;
+        int kwidth = s.first[k + 1] - s.first[k];
+        int koffset = s.offsets[k];
+
+        int p1 = position[k] - kstart;
+        int p2 = p1;
+        while (p2 < kld && s.rows[kstart + p2] < until) {
+            p2++;
+        }
+
+        int m = kld - p1;
+        int columns = p2 - p1;
+        Arrays.fill(work, 0, m * columns, 0.0);
+
+        // W = L(p1:, K) * L(p1:p2, K)^T, only the lower part
+        for (int c = 0; c < kwidth; c++) {
+            int base = koffset + c * kld + p1;
+            for (int t = 0; t < columns; t++) {
+                double lt = lx[base + t];
+                if (lt != 0.0) {
+                    int w = t * m;
+                    for (int r = t; r < m; r++) {
+                        work[w + r] += lx[base + r] * lt;
+                    }
+                }
+            }
+        }
+
+        for (int t = 0; t < columns; t++) {
+            int base = offset + (s.rows[kstart + p1 + t] - first) * ld;
+            int w = t * m;
+            for (int r = t; r < m; r++) {
+                lx[base + map[s.rows[kstart + p1 + r]]] -= work[w + r];
+            }
+        }
+
+        position[k] = kstart + p2;
+    }
+
+    /**
+     * Puts the supernode {@code k} into the list of the supernode, that holds
+     * its next row to update, if any.
+     */
+    private void link(int k, int[] head, int[] next, int[] position) {
+        Symbolic s = symbolic;
+        if (position[k] < s.rowPointers[k + 1]) {
+            int j = s.supernodes[s.rows[position[k]]];
+            next[k] = head[j];
+            head[j] = k;
+        }
+    }
+
+    /**
+     * Factorizes the dense {@code ld} x {@code width} panel of a supernode in place.
+     */
+    private void factorize(double[] lx, int offset, int ld, int width) {
+        for (int c = 0; c < width; c++) {
+            int base = offset + c * ld;
+            double diagonal = lx[base + c];
+
+            if (!(diagonal > 0.0)) {
+                fail("This matrix is not positive definite.");
+            }
+
+            double d = Math.sqrt(diagonal);
+            lx[base + c] = d;
+
+            for (int r = c + 1; r < ld; r++) {
+                lx[base + r] /= d;
+            }
+
+            for (int c2 = c + 1; c2 < width; c2++) {
+                double l = lx[base + c2];
+                if (l != 0.0) {
+                    int base2 = offset + c2 * ld;
+                    for (int r = c2; r < ld; r++) {
+                        lx[base2 + r] -= lx[base + r] * l;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies the supernodes into a {@link CCSMatrix}.
+     */
+    private Matrix lower(double[] lx) {
+        Symbolic s = symbolic;
+        int n = s.order.length;
+        int supernodes = s.first.length - 1;
+
+        int cardinality = 0;
+        for (double value: lx) {
+            if (value != 0.0) {
+                cardinality++;
+            }
+        }
+
+        int[] columnPointers = new int[n + 1];
+        int[] rowIndices = new int[cardinality];
+        double[] entries = new double[cardinality];
+        int k = 0;
+
+        for (int j = 0; j < supernodes; j++) {
+            int start = s.rowPointers[j];
+            int ld = s.rowPointers[j + 1] - start;
+
+            for (int c = 0; c < s.first[j + 1] - s.first[j]; c++) {
+                int base = s.offsets[j] + c * ld;
+                for (int r = c; r < ld; r++) {
+                    if (lx[base + r] != 0.0) {
+                        rowIndices[k] = s.rows[start + r];
+                        entries[k++] = lx[base + r];
+                    }
+                }
+                columnPointers[s.first[j] + c + 1] = k;
+            }
+        }
+
+        return new CCSMatrix(n, n, cardinality, entries, rowIndices, columnPointers);
+    }
+
+    private Matrix permutation() {
+        int n = symbolic.order.length;
+        double[] ones = new double[n];
+        int[] columnPointers = new int[n + 1];
+        Arrays.fill(ones, 1.0);
+
+        for (int i = 0; i <= n; i++) {
+            columnPointers[i] = i;
+        }
+
+        return new CCSMatrix(n, n, n, ones, symbolic.pinv.clone(), columnPointers);
+    }
+
+    private static boolean isSymmetric(int n, int[] pointers, int[] indices, double[] values) {
+        int[] next = Arrays.copyOf(pointers, n);
+
+        // the transpose of a symmetric matrix has the same sorted columns, so
+        // each element (i, j) is matched with the next unmatched element of
+        // the column i
+        for (int j = 0; j < n; j++) {
+            for (int p = pointers[j]; p < pointers[j + 1]; p++) {
+                int i = indices[p];
+                int q = next[i]++;
+                if (q >= pointers[i + 1] || indices[q] != j) {
+                    return false;
+                }
+
+                double a = values[p];
+                double b = values[q];
+                if (Math.abs(a - b) > Matrices.EPS * Math.max(Math.abs(a), Math.abs(b))) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Computes the ordering, the sparsity pattern of L and its supernodes.
+     */
+    private static Symbolic analyze(int n, int[] pointers, int[] indices, boolean reorder) {
+        int[] order = new int[n];
+
+        if (reorder) {
+            order = MinimumDegreeOrdering.orderSymmetrized(n, pointers, indices);
+        } else {
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+        }
+
+        // postorder the elimination tree, so that the supernodes are contiguous
+        int[] pinv = inverse(order);
+        int[] parent = tree(n, upper(n, pointers, indices, pinv));
+        int[] post = postorder(parent);
+
+        int[] permutation = new int[n];
+        for (int k = 0; k < n; k++) {
+            permutation[k] = order[post[k]];
+        }
+
+        pinv = inverse(permutation);
+        int[][] c = upper(n, pointers, indices, pinv);
+        parent = tree(n, c);
+
+        // the row k of L is the union of the paths from the elements of the row
+        // k of the upper part up to k in the elimination tree
+        int[] counts = new int[n];
+        int[] stack = new int[n];
+        int[] marks = new int[n];
+        Arrays.fill(marks, -1);
+
+        for (int k = 0; k < n; k++) {
+            counts[k]++;
+            int top = reach(k, c, parent, stack, marks);
+            for (int p = top; p < n; p++) {
+                counts[stack[p]]++;
+            }
+        }
+
+        int[] lp = new int[n + 1];
+        for (int j = 0; j < n; j++) {
+            lp[j + 1] = lp[j] + counts[j];
+        }
+
+        int[] li = new int[lp[n]];
+        int[] fill = Arrays.copyOf(lp, n);
+        Arrays.fill(marks, -1);
+
+        for (int k = 0; k < n; k++) {
+            li[fill[k]++] = k;
+            int top = reach(k, c, parent, stack, marks);
+            for (int p = top; p < n; p++) {
+                li[fill[stack[p]]++] = k;
+            }
+        }
+
+        // a column joins the supernode of its child, when their patterns are
+        // the same apart from the child itself
+        int[] supernodes = new int[n];
+        int[] first = new int[n + 1];
+        int count = 0;
+
+        for (int j = 0; j < n; j++) {
+            if (j == 0 || parent[j - 1] != j || counts[j - 1] != counts[j] + 1) {
+                first[count++] = j;
+            }
+            supernodes[j] = count - 1;
+        }
+        first[count] = n;
+        first = Arrays.copyOf(first, count + 1);
+
+        int[] rowPointers = new int[count + 1];
+        int[] offsets = new int[count + 1];
+        int workspace = 0;
+
+        for (int s = 0; s < count; s++) {
+            int ld = counts[first[s]];
+            rowPointers[s + 1] = rowPointers[s] + ld;
+            offsets[s + 1] = offsets[s] + ld * (first[s + 1] - first[s]);
+            workspace = Math.max(workspace, ld * ld);
+        }
+
+        int[] rows = new int[rowPointers[count]];
+        for (int s = 0; s < count; s++) {
+            System.arraycopy(li, lp[first[s]], rows, rowPointers[s], counts[first[s]]);
+        }
+
+        // the positions of the lower elements of P * A * P^T in the supernodes
+        int[] targets = new int[pointers[n]];
+        for (int j = 0; j < n; j++) {
+            for (int p = pointers[j]; p < pointers[j + 1]; p++) {
+                int row = pinv[indices[p]];
+                int column = pinv[j];
+
+                if (row < column) {
+                    targets[p] = -1;
+                    continue;
+                }
+
+                int s = supernodes[column];
+                int start = rowPointers[s];
+                int ld = rowPointers[s + 1] - start;
+                int r = Arrays.binarySearch(rows, start, rowPointers[s + 1], row) - start;
+
+                targets[p] = offsets[s] + (column - first[s]) * ld + r;
+            }
+        }
+
+        return new Symbolic(pointers, indices, permutation, pinv, first, supernodes,
+                            rowPointers, rows, offsets, targets, workspace);
+    }
+
+    private static int[] inverse(int[] permutation) {
+        int[] result = new int[permutation.length];
+        for (int k = 0; k < permutation.length; k++) {
+            result[permutation[k]] = k;
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the upper part of {@code P * A * P^T} by columns, where the
+     * diagonal is left out.
+     */
+    private static int[][] upper(int n, int[] pointers, int[] indices, int[] pinv) {
+        int[] counts = new int[n];
+
+        for (int j = 0; j < n; j++) {
+            for (int p = pointers[j]; p < pointers[j + 1]; p++) {
+                if (pinv[indices[p]] < pinv[j]) {
+                    counts[pinv[j]]++;
+                }
+            }
+        }
+
+        int[][] result = new int[n][];
+        for (int j = 0; j < n; j++) {
+            result[j] = new int[counts[j]];
+            counts[j] = 0;
+        }
+
+        for (int j = 0; j < n; j++) {
+            int column = pinv[j];
+            for (int p = pointers[j]; p < pointers[j + 1]; p++) {
+                int row = pinv[indices[p]];
+                if (row < column) {
+                    result[column][counts[column]++] = row;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Computes the elimination tree with path compression.
+     */
+    private static int[] tree(int n, int[][] upper) {
+        int[] parent = new int[n];
+        int[] ancestor = new int[n];
+
+        for (int k = 0; k < n; k++) {
+            parent[k] = -1;
+            ancestor[k] = -1;
+
+            for (int i: upper[k]) {
+                while (i != -1 && i < k) {
+                    int following = ancestor[i];
+                    ancestor[i] = k;
+                    if (following == -1) {
+                        parent[i] = k;
+                    }
+                    i = following;
+                }
+            }
+        }
+
+        return parent;
+    }
+
+    /**
+     * Returns a postordering of the forest given by {@code parent}: the k-th
+     * node of the postorder is {@code result[k]}.
+     */
+    private static int[] postorder(int[] parent) {
+        int n = parent.length;
+        int[] head = new int[n];
+        int[] next = new int[n];
+        int[] stack = new int[n];
+        int[] result = new int[n];
+        Arrays.fill(head, -1);
+
+        // the children are linked in the reverse order, so that they are
+        // visited in the natural order
+        for (int j = n - 1; j >= 0; j--) {
+            if (parent[j] != -1) {
+                next[j] = head[parent[j]];
+                head[parent[j]] = j;
+            }
+        }
+
+        int k = 0;
+        for (int j = 0; j < n; j++) {
+            if (parent[j] != -1) {
+                continue;
+            }
+
+            int top = 0;
+            stack[0] = j;
+
+            while (top >= 0) {
+                int p = stack[top];
+                int child = head[p];
+
+                if (child == -1) {
+                    top--;
+                    result[k++] = p;
+                } else {
+                    head[p] = next[child];
+                    stack[++top] = child;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Finds the pattern of the row {@code k} of L, apart from the diagonal, and
+     * puts it into {@code stack[top] ... stack[n - 1]}.
+     */
+    private static int reach(int k, int[][] upper, int[] parent, int[] stack, int[] marks) {
+        int n = parent.length;
+        int top = n;
+        marks[k] = k;
+
+        for (int i: upper[k]) {
+            int length = 0;
+
+            for (; marks[i] != k; i = parent[i]) {
+                stack[length++] = i;
+                marks[i] = k;
+            }
+
+            while (length > 0) {
+                stack[--top] = stack[--length];
+            }
+        }
+
+        return top;
+    }
+
+    @Override
+    public boolean applicableTo(Matrix matrix) {
+        return matrix.rows() == matrix.columns();
+    }
+
+    /**
+     * The symbolic analysis of a sparse Cholesky decomposition: the
+     * fill-reducing ordering, the sparsity pattern of L split into supernodes
+     * and the sparsity pattern of the matrix it was computed for.
+     */
+    public static final class Symbolic implements Serializable {
+
+        private static final long serialVersionUID = 4071505L;
+
+        private final int[] pointers;
+        private final int[] indices;
+
+        private final int[] order;
+        private final int[] pinv;
+
+        // the columns of the supernode s are [first[s], first[s + 1]) and
+        // its rows are rows[rowPointers[s]] ... rows[rowPointers[s + 1] - 1]
+        private final int[] first;
+        private final int[] supernodes;
+        private final int[] rowPointers;
+        private final int[] rows;
+
+        // the supernode s is a dense column-major block at offsets[s]
+        private final int[] offsets;
+        private final int[] targets;
+        private final int size;
+        private final int workspace;
+
+        private Symbolic(int[] pointers, int[] indices, int[] order, int[] pinv, int[] first,
+                         int[] supernodes, int[] rowPointers, int[] rows, int[] offsets,
+                         int[] targets, int workspace) {
+
+            this.pointers = pointers;
+            this.indices = indices;
+            this.order = order;
+            this.pinv = pinv;
+            this.first = first;
+            this.supernodes = supernodes;
+            this.rowPointers = rowPointers;
+            this.rows = rows;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.size = offsets[offsets.length - 1];
+            this.workspace = workspace;
+        }
+
+        /**
+         * Returns the ordering: the k-th row and column of {@code P * A * P^T}
+         * are the row and column {@code order()[k]} of A.
+         *
+         * @return the ordering
+         */
+        public int[] order() {
+            return order.clone();
+        }
+
+        /**
+         * Returns the number of supernodes.
+         *
+         * @return the number of supernodes
+         */
+        public int supernodes() {
+            return first.length - 1;
+        }
+
+        /**
+         * Returns the number of non-zero elements in L, if there is no numerical
+         * cancellation.
+         *
+         * @return the number of non-zero elements in L
+         */
+        public int cardinality() {
+            int result = 0;
+            for (int s = 0; s + 1 < first.length; s++) {
+                int ld = rowPointers[s + 1] - rowPointers[s];
+                int width = first[s + 1] - first[s];
+                result += width * ld - width * (width - 1) / 2;
+            }
+
+            return result;
+        }
+
+        private boolean matches(int n, int[] pointers, int[] indices) {
+            return this.pointers.length == n + 1
+                    && Arrays.equals(this.pointers, pointers)
+                    && Arrays.equals(this.indices, indices);
+        }
+    }
+}
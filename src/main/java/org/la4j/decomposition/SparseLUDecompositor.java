@@ -0,0 +1,458 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.decomposition;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.la4j.Matrix;
+import org.la4j.iterator.MatrixIterator;
+import org.la4j.matrix.ColumnMajorSparseMatrix;
+import org.la4j.matrix.RowMajorSparseMatrix;
+import org.la4j.matrix.SparseMatrix;
+import org.la4j.matrix.sparse.CCSMatrix;
+
+/**
+ * This class represents a sparse LU decomposition of square matrices: a left
+ * looking (Gilbert-Peierls) elimination with threshold partial pivoting, that
+ * visits only the non-zero elements. The columns are permuted with an
+ * approximate minimum degree ordering of {@code A + A^T} to reduce the fill-in.
+ * <p>
+ * The ordering is computed by the symbolic analysis, which only depends on the
+ * sparsity pattern of the matrix. It can be reused for other matrices with the
+ * same pattern via {@link #symbolic()}.
+ * </p>
+ */
+public class SparseLUDecompositor extends AbstractDecompositor implements MatrixDecompositor {
+
+    private static final long serialVersionUID = 4071505L;
+
+    /**
+     * The default pivoting threshold: the diagonal element is preferred as long
+     * as it's not smaller than this fraction of the largest candidate.
+     */
+    public static final double DEFAULT_THRESHOLD = 0.1;
+
+    private final Symbolic symbolic;
+    private final double threshold;
+
+    private final int[] pointers;
+    private final int[] indices;
+    private final double[] values;
+
+    public SparseLUDecompositor(Matrix matrix) {
+        this(matrix, null, DEFAULT_THRESHOLD);
+    }
+
+    public SparseLUDecompositor(Matrix matrix, Symbolic symbolic) {
+        this(matrix, symbolic, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Creates a sparse LU decompositor of the given {@code matrix}.
+     *
+     * @param matrix the square matrix
+     * @param symbolic the symbolic analysis of a matrix with the same sparsity
+     *                 pattern or {@code null} to analyze the given one
+     * @param threshold the pivoting threshold in (0, 1]: 1.0 means partial pivoting
+     */
+    public SparseLUDecompositor(Matrix matrix, Symbolic symbolic, double threshold) {
+        super(matrix);
+
+        if (!(threshold > 0.0 && threshold <= 1.0)) {
+            fail("Pivoting threshold should be in (0, 1]: " + threshold + ".");
+        }
+
+        int n = matrix.columns();
+        int cardinality = matrix instanceof SparseMatrix ? ((SparseMatrix) matrix).cardinality() : n * n;
+
+        this.pointers = new int[n + 1];
+        int[] rows = new int[cardinality];
+        double[] entries = new double[cardinality];
+        int count = compress(matrix, pointers, rows, entries);
+
+        this.indices = Arrays.copyOf(rows, count);
+        this.values = Arrays.copyOf(entries, count);
+        this.threshold = threshold;
+
+        if (symbolic == null) {
+            this.symbolic = analyze(n, pointers, indices);
+        } else if (symbolic.matches(n, pointers, indices)) {
+            this.symbolic = symbolic;
+        } else {
+            throw new IllegalArgumentException("The sparsity pattern differs from the analyzed one.");
+        }
+    }
+
+    /**
+     * Returns the symbolic analysis of the wrapped matrix.
+     *
+     * @return the symbolic analysis
+     */
+    public Symbolic symbolic() {
+        return symbolic;
+    }
+
+    /**
+     * Returns the result of sparse LU decomposition of given matrix.
+     *
+     * @return { L, U, P, Q }, such that P * A * Q = L * U
+     */
+    @Override
+    public Matrix[] decompose() {
+        int n = matrix.columns();
+        int[] q = symbolic.order;
+
+        int lcap = symbolic.lowerEstimate;
+        int ucap = symbolic.upperEstimate;
+        int[] lp = new int[n + 1];
+        int[] li = new int[lcap];
+        double[] lx = new double[lcap];
+        int[] up = new int[n + 1];
+        int[] ui = new int[ucap];
+        double[] ux = new double[ucap];
+        int lnz = 0;
+        int unz = 0;
+
+        double[] x = new double[n];
+        int[] xi = new int[2 * n];
+        int[] marks = new int[n];
+        int[] pinv = new int[n];
+        Arrays.fill(pinv, -1);
+
+        for (int k = 0; k < n; k++) {
+            lp[k] = lnz;
+            up[k] = unz;
+
+            if (lnz + n > li.length) {
+                lcap = 2 * li.length + n;
+                li = Arrays.copyOf(li, lcap);
+                lx = Arrays.copyOf(lx, lcap);
+            }
+
+            if (unz + n > ui.length) {
+                ucap = 2 * ui.length + n;
+                ui = Arrays.copyOf(ui, ucap);
+                ux = Arrays.copyOf(ux, ucap);
+            }
+
+            int column = q[k];
+            int top = solve(lp, li, lx, column, xi, x, pinv, marks, k + 1);
+
+            // the rows with a pivot go to U, the largest of the rest is the pivot
+            int pivotRow = -1;
+            double largest = -1.0;
+
+            for (int p = top; p < n; p++) {
+                int i = xi[p];
+                if (pinv[i] < 0) {
+                    double t = Math.abs(x[i]);
+                    if (t > largest) {
+                        largest = t;
+                        pivotRow = i;
+                    }
+                } else if (x[i] != 0.0) {
+                    ui[unz] = pinv[i];
+                    ux[unz++] = x[i];
+                }
+            }
+
+            if (pivotRow < 0 || largest <= 0.0) {
+                fail("This matrix is singular.");
+            }
+
+            // keep the diagonal, when possible, since the ordering is computed for it
+            if (pinv[column] < 0 && Math.abs(x[column]) >= largest * threshold) {
+                pivotRow = column;
+            }
+
+            double pivot = x[pivotRow];
+            ui[unz] = k;
+            ux[unz++] = pivot;
+            pinv[pivotRow] = k;
+            li[lnz] = pivotRow;
+            lx[lnz++] = 1.0;
+
+            for (int p = top; p < n; p++) {
+                int i = xi[p];
+                if (pinv[i] < 0 && x[i] != 0.0) {
+                    li[lnz] = i;
+                    lx[lnz++] = x[i] / pivot;
+                }
+                x[i] = 0.0;
+            }
+        }
+
+        lp[n] = lnz;
+        up[n] = unz;
+
+        for (int p = 0; p < lnz; p++) {
+            li[p] = pinv[li[p]];
+        }
+
+        Matrix l = sorted(n, lp, li, lx);
+        Matrix u = sorted(n, up, ui, ux);
+
+        double[] ones = new double[n];
+        Arrays.fill(ones, 1.0);
+        int[] identity = new int[n + 1];
+        for (int i = 0; i <= n; i++) {
+            identity[i] = i;
+        }
+
+        Matrix pp = new CCSMatrix(n, n, n, ones, pinv, identity);
+        Matrix qq = new CCSMatrix(n, n, n, ones.clone(), q.clone(), identity.clone());
+
+        return new Matrix[] { l, u, pp, qq };
+    }
+
+    /**
+     * Solves {@code L * x = A(:, column)} for the columns of L computed so far and
+     * returns the start of the non-zero pattern of x in {@code xi}.
+     */
+    private int solve(int[] lp, int[] li, double[] lx, int column,
+                      int[] xi, double[] x, int[] pinv, int[] marks, int stamp) {
+
+        int n = matrix.columns();
+        int top = n;
+
+        for (int p = pointers[column]; p < pointers[column + 1]; p++) {
+            if (marks[indices[p]] != stamp) {
+                top = reach(indices[p], lp, li, top, xi, pinv, marks, stamp);
+            }
+        }
+
+        for (int p = pointers[column]; p < pointers[column + 1]; p++) {
+            x[indices[p]] = values[p];
+        }
+
+        for (int px = top; px < n; px++) {
+            int j = xi[px];
+            int jj = pinv[j];
+            if (jj < 0) {
+                continue;
+            }
+
+            // the first element of a column of L is its unit diagonal
+            double xj = x[j];
+            for (int p = lp[jj] + 1; p < lp[jj + 1]; p++) {
+                x[li[p]] -= lx[p] * xj;
+            }
+        }
+
+        return top;
+    }
+
+    /**
+     * A non-recursive depth-first search from the row {@code j} in the graph of
+     * L, that puts the visited rows into {@code xi[top - 1], xi[top - 2], ...}
+     * in topological order.
+     */
+    private int reach(int j, int[] lp, int[] li, int top, int[] xi, int[] pinv, int[] marks, int stamp) {
+        int n = matrix.columns();
+        int head = 0;
+        xi[0] = j;
+
+        while (head >= 0) {
+            j = xi[head];
+            int jj = pinv[j];
+
+            if (marks[j] != stamp) {
+                marks[j] = stamp;
+                xi[n + head] = jj < 0 ? 0 : lp[jj];
+            }
+
+            boolean done = true;
+            int end = jj < 0 ? 0 : lp[jj + 1];
+
+            for (int p = xi[n + head]; p < end; p++) {
+                int i = li[p];
+                if (marks[i] != stamp) {
+                    xi[n + head] = p;
+                    xi[++head] = i;
+                    done = false;
+                    break;
+                }
+            }
+
+            if (done) {
+                head--;
+                xi[--top] = j;
+            }
+        }
+
+        return top;
+    }
+
+    /**
+     * Orders the columns with an approximate minimum degree ordering of the
+     * pattern of {@code A + A^T}.
+     */
+    private static Symbolic analyze(int n, int[] pointers, int[] indices) {
+        int[] order = MinimumDegreeOrdering.orderSymmetrized(n, pointers, indices);
+        int estimate = 4 * pointers[n] + n;
+
+        return new Symbolic(pointers, indices, order, estimate, estimate);
+    }
+
+    /**
+     * Builds a {@link CCSMatrix} with the row indices sorted within the columns
+     * by transposing the given columns twice.
+     */
+    private static CCSMatrix sorted(int n, int[] pointers, int[] indices, double[] values) {
+        int cardinality = pointers[n];
+        int[] tp = new int[n + 1];
+        int[] ti = new int[cardinality];
+        double[] tx = new double[cardinality];
+        transpose(n, pointers, indices, values, tp, ti, tx);
+
+        int[] rp = new int[n + 1];
+        int[] ri = new int[cardinality];
+        double[] rx = new double[cardinality];
+        transpose(n, tp, ti, tx, rp, ri, rx);
+
+        return new CCSMatrix(n, n, cardinality, rx, ri, rp);
+    }
+
+    private static void transpose(int n, int[] pointers, int[] indices, double[] values,
+                                  int[] resultPointers, int[] resultIndices, double[] resultValues) {
+
+        for (int p = 0; p < pointers[n]; p++) {
+            resultPointers[indices[p] + 1]++;
+        }
+
+        for (int i = 0; i < n; i++) {
+            resultPointers[i + 1] += resultPointers[i];
+        }
+
+        int[] next = Arrays.copyOf(resultPointers, n);
+        for (int j = 0; j < n; j++) {
+            for (int p = pointers[j]; p < pointers[j + 1]; p++) {
+                int k = next[indices[p]]++;
+                resultIndices[k] = j;
+                resultValues[k] = values[p];
+            }
+        }
+    }
+
+    /**
+     * Copies the non-zero elements of the given matrix {@code a} into the
+     * compressed columns and returns their number.
+     */
+    static int compress(Matrix a, int[] pointers, int[] indices, double[] values) {
+        int n = a.columns();
+        int count = 0;
+
+        if (a instanceof ColumnMajorSparseMatrix) {
+            MatrixIterator it = ((SparseMatrix) a).nonZeroColumnMajorIterator();
+            while (it.hasNext()) {
+                double value = it.next();
+                if (value != 0.0) {
+                    pointers[it.columnIndex() + 1]++;
+                    indices[count] = it.rowIndex();
+                    values[count++] = value;
+                }
+            }
+
+            for (int j = 0; j < n; j++) {
+                pointers[j + 1] += pointers[j];
+            }
+
+            return count;
+        }
+
+        MatrixIterator it = a instanceof RowMajorSparseMatrix
+                ? ((SparseMatrix) a).nonZeroRowMajorIterator() : a.rowMajorIterator();
+
+        int[] rows = new int[indices.length];
+        int[] columns = new int[indices.length];
+        double[] entries = new double[indices.length];
+
+        while (it.hasNext()) {
+            double value = it.next();
+            if (value != 0.0) {
+                pointers[it.columnIndex() + 1]++;
+                rows[count] = it.rowIndex();
+                columns[count] = it.columnIndex();
+                entries[count++] = value;
+            }
+        }
+
+        for (int j = 0; j < n; j++) {
+            pointers[j + 1] += pointers[j];
+        }
+
+        // a stable counting sort of the row-major elements by columns
+        int[] next = Arrays.copyOf(pointers, n);
+        for (int k = 0; k < count; k++) {
+            int p = next[columns[k]]++;
+            indices[p] = rows[k];
+            values[p] = entries[k];
+        }
+
+        return count;
+    }
+
+    @Override
+    public boolean applicableTo(Matrix matrix) {
+        return matrix.rows() == matrix.columns();
+    }
+
+    /**
+     * The symbolic analysis of a sparse LU decomposition: the fill-reducing
+     * column ordering and the sparsity pattern it was computed for.
+     */
+    public static final class Symbolic implements Serializable {
+
+        private static final long serialVersionUID = 4071505L;
+
+        private final int[] pointers;
+        private final int[] indices;
+        private final int[] order;
+        private final int lowerEstimate;
+        private final int upperEstimate;
+
+        private Symbolic(int[] pointers, int[] indices, int[] order, int lowerEstimate, int upperEstimate) {
+            this.pointers = pointers;
+            this.indices = indices;
+            this.order = order;
+            this.lowerEstimate = lowerEstimate;
+            this.upperEstimate = upperEstimate;
+        }
+
+        /**
+         * Returns the column ordering: the k-th column of {@code A * Q} is the
+         * column {@code columnOrder()[k]} of A.
+         *
+         * @return the column ordering
+         */
+        public int[] columnOrder() {
+            return order.clone();
+        }
+
+        private boolean matches(int n, int[] pointers, int[] indices) {
+            return this.pointers.length == n + 1
+                    && Arrays.equals(this.pointers, pointers)
+                    && Arrays.equals(this.indices, indices);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.inversion;
+
+import org.la4j.Matrices;
+import org.la4j.Matrix;
+
+/**
+ * Inverts a symmetric positive definite matrix by its Cholesky factor:
+ * {@code A^-1 = L^-T * L^-1}. This takes about a half of the Gauss-Jordan's
+ * work and needs no pivoting.
+ */
+public class CholeskyInverter implements MatrixInverter {
+
+    private final Matrix matrix;
+
+    public CholeskyInverter(Matrix matrix) {
+        this.matrix = matrix;
+    }
+
+    @Override
+    public Matrix inverse() {
+        if (matrix.rows() != matrix.columns()) {
+            throw new IllegalArgumentException("Wrong matrix size: "
+                    + "rows != columns");
+        }
+
+        if (!matrix.is(Matrices.SYMMETRIC_MATRIX)) {
+            throw new IllegalArgumentException("This matrix is not symmetric.");
+        }
+
+        int n = matrix.rows();
+        double[][] a = matrix.toDenseMatrix().toArray();
+
+        // L, row by row
+        double[][] l = new double[n][];
+        for (int j = 0; j < n; j++) {
+            double[] row = new double[j + 1];
+
+            for (int k = 0; k < j; k++) {
+                row[k] = (a[j][k] - dot(row, l[k], k)) / l[k][k];
+            }
+
+            double d = a[j][j] - dot(row, row, j);
+            if (!(d > 0.0)) {
+                throw new IllegalArgumentException("This matrix is not positive definite.");
+            }
+
+            row[j] = Math.sqrt(d);
+            l[j] = row;
+        }
+
+        // X = L^-1: the row i is (e_i - sum_k<i l_ik * x_k) / l_ii
+        double[][] x = new double[n][];
+        for (int i = 0; i < n; i++) {
+            double[] row = new double[i + 1];
+            double[] li = l[i];
+            row[i] = 1.0;
+
+            for (int k = 0; k < i; k++) {
+                double factor = li[k];
+                double[] xk = x[k];
+                for (int j = 0; j <= k; j++) {
+                    row[j] -= factor * xk[j];
+                }
+            }
+
+            double inverted = 1.0 / li[i];
+            for (int j = 0; j <= i; j++) {
+                row[j] *= inverted;
+            }
+
+            x[i] = row;
+        }
+
+        // A^-1 = X^T * X is accumulated by the rows of X into its lower triangle
+        double[][] c = new double[n][n];
+        for (int k = 0; k < n; k++) {
+            double[] xk = x[k];
+            for (int i = 0; i <= k; i++) {
+                double factor = xk[i];
+                if (factor == 0.0) {
+                    continue;
+                }
+
+                double[] ci = c[i];
+                for (int j = 0; j <= i; j++) {
+                    ci[j] += factor * xk[j];
+                }
+            }
+        }
+
+        Matrix result = matrix.blankOfShape(n, n);
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                if (c[i][j] != 0.0) {
+                    result.set(i, j, c[i][j]);
+                    if (i != j) {
+                        result.set(j, i, c[i][j]);
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static double dot(double[] x, double[] y, int length) {
+        double acc = 0.0;
+        for (int i = 0; i < length; i++) {
+            acc += x[i] * y[i];
+        }
+
+        return acc;
+    }
+
+    @Override
+    public Matrix self() {
+        return matrix;
+    }
+}
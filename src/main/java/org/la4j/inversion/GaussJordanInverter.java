@@ -21,18 +21,30 @@
 
 package org.la4j.inversion;
 
-import org.la4j.LinearAlgebra;
-import org.la4j.linear.LinearSystemSolver;
+import org.la4j.Matrices;
 import org.la4j.Matrix;
-import org.la4j.Vector;
-import org.la4j.vector.DenseVector;
+import org.la4j.Parallel;
 
+/**
+ * Inverts a matrix in place by the Gauss-Jordan elimination with partial
+ * pivoting: O(n^3) time and a single copy of the matrix. Each pivot step
+ * updates the rows independently, so large matrices are updated in parallel.
+ */
 public class GaussJordanInverter implements MatrixInverter {
 
+    // the number of elements in the rows of a parallel chunk
+    private static final int GRAIN = 1 << 14;
+
     private final Matrix matrix;
+    private final int threads;
 
     public GaussJordanInverter(Matrix matrix) {
+        this(matrix, Parallel.THREADS);
+    }
+
+    public GaussJordanInverter(Matrix matrix, int threads) {
         this.matrix = matrix;
+        this.threads = threads;
     }
 
     @Override
@@ -43,20 +55,91 @@ public class GaussJordanInverter implements MatrixInverter {
                     + "rows != columns");
         }
 
-        Matrix result = matrix.blankOfShape(matrix.rows(), matrix.columns());
+        final int n = matrix.rows();
+        final double[][] a = matrix.toDenseMatrix().toArray();
+        int[] swaps = new int[n];
+        double scale = 0.0;
 
-        for (int i = 0; i < matrix.rows(); i++) {
+        for (double[] row: a) {
+            for (double value: row) {
+                scale = Math.max(scale, Math.abs(value));
+            }
+        }
 
-            Vector b = DenseVector.zero(matrix.rows());
-            b.set(i, 1.0);
+        for (int k = 0; k < n; k++) {
+            int pivot = k;
+            for (int i = k + 1; i < n; i++) {
+                if (Math.abs(a[i][k]) > Math.abs(a[pivot][k])) {
+                    pivot = i;
+                }
+            }
 
-            try {
-                LinearSystemSolver solver = matrix.withSolver(LinearAlgebra.GAUSSIAN);
-                Vector x = solver.solve(b);
-                result.setColumn(i, x);
-            } catch (IllegalArgumentException ex) {
+            if (Math.abs(a[pivot][k]) <= scale * Matrices.EPS) {
                 throw new IllegalArgumentException("This matrix is not invertible.");
             }
+
+            swaps[k] = pivot;
+            if (pivot != k) {
+                double[] row = a[pivot];
+                a[pivot] = a[k];
+                a[k] = row;
+            }
+
+            final double[] top = a[k];
+            double inverted = 1.0 / top[k];
+            top[k] = 1.0;
+            for (int j = 0; j < n; j++) {
+                top[j] *= inverted;
+            }
+
+            final int current = k;
+            Parallel.RangeProcedure eliminate = new Parallel.RangeProcedure() {
+                @Override
+                public void apply(int from, int until) {
+                    for (int i = from; i < until; i++) {
+                        double[] row = a[i];
+                        double factor = row[current];
+
+                        if (i == current || factor == 0.0) {
+                            continue;
+                        }
+
+                        row[current] = 0.0;
+                        for (int j = 0; j < n; j++) {
+                            row[j] -= factor * top[j];
+                        }
+                    }
+                }
+            };
+
+            int chunks = Math.min(threads, (int) ((long) n * n / GRAIN));
+            if (chunks > 1) {
+                Parallel.forRange(0, n, chunks, eliminate);
+            } else {
+                eliminate.apply(0, n);
+            }
+        }
+
+        // (P * A)^-1 = A^-1 * P^T, so the row swaps turn into the column
+        // swaps in the reverse order
+        for (int k = n - 1; k >= 0; k--) {
+            if (swaps[k] != k) {
+                for (double[] row: a) {
+                    double value = row[k];
+                    row[k] = row[swaps[k]];
+                    row[swaps[k]] = value;
+                }
+            }
+        }
+
+        Matrix result = matrix.blankOfShape(n, n);
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (a[i][j] != 0.0) {
+                    result.set(i, j, a[i][j]);
+                }
+            }
         }
 
         return result;
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.io;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of fixed-size direct byte buffers shared by channel readers and writers.
+ */
+final class BufferPool {
+
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private static final int MAXIMUM_POOLED = 32;
+
+    private static final Queue<ByteBuffer> BUFFERS = new ConcurrentLinkedQueue<ByteBuffer>();
+    private static final AtomicInteger POOLED = new AtomicInteger();
+
+    private BufferPool() {}
+
+    static ByteBuffer acquire() {
+        ByteBuffer buffer = BUFFERS.poll();
+
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+
+        POOLED.decrementAndGet();
+        buffer.clear();
+
+        return buffer;
+    }
+
+    static void release(ByteBuffer buffer) {
+        // the pool is bounded, extra buffers are left to the GC
+        if (POOLED.incrementAndGet() <= MAXIMUM_POOLED) {
+            BUFFERS.offer(buffer);
+        } else {
+            POOLED.decrementAndGet();
+        }
+    }
+}
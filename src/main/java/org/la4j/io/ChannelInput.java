@@ -0,0 +1,141 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Reads primitives and arrays of primitives from a {@link ReadableByteChannel}
+ * through pooled direct buffers, chunk by chunk.
+ *
+ * The input never reads ahead: it consumes exactly as many bytes as requested,
+ * so several objects may be read one after another from the same channel.
+ */
+public final class ChannelInput {
+
+    private final ReadableByteChannel channel;
+
+    public ChannelInput(ReadableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    public byte readByte() throws IOException {
+        ByteBuffer buffer = fill(BufferPool.acquire(), 1);
+        byte result = buffer.get();
+        BufferPool.release(buffer);
+
+        return result;
+    }
+
+    public int readInt() throws IOException {
+        ByteBuffer buffer = fill(BufferPool.acquire(), 4);
+        int result = buffer.getInt();
+        BufferPool.release(buffer);
+
+        return result;
+    }
+
+    public double readDouble() throws IOException {
+        ByteBuffer buffer = fill(BufferPool.acquire(), 8);
+        double result = buffer.getDouble();
+        BufferPool.release(buffer);
+
+        return result;
+    }
+
+    /**
+     * Reads {@code length} elements into the given {@code array} starting from
+     * {@code offset}.
+     */
+    public void readInts(int[] array, int offset, int length) throws IOException {
+        ByteBuffer buffer = BufferPool.acquire();
+
+        while (length > 0) {
+            int count = Math.min(length, buffer.capacity() / 4);
+            fill(buffer, count * 4).asIntBuffer().get(array, offset, count);
+
+            offset += count;
+            length -= count;
+        }
+
+        BufferPool.release(buffer);
+    }
+
+    /**
+     * Reads {@code length} elements into the given {@code array} starting from
+     * {@code offset}.
+     */
+    public void readDoubles(double[] array, int offset, int length) throws IOException {
+        ByteBuffer buffer = BufferPool.acquire();
+
+        while (length > 0) {
+            int count = Math.min(length, buffer.capacity() / 8);
+            fill(buffer, count * 8).asDoubleBuffer().get(array, offset, count);
+
+            offset += count;
+            length -= count;
+        }
+
+        BufferPool.release(buffer);
+    }
+
+    /**
+     * Reads {@code length} (index, value) pairs into the given arrays starting
+     * from {@code offset}: the layout used by sparse vectors and matrices.
+     */
+    public void readEntries(int[] indices, double[] values, int offset, int length) throws IOException {
+        ByteBuffer buffer = BufferPool.acquire();
+
+        while (length > 0) {
+            int count = Math.min(length, buffer.capacity() / 12);
+            fill(buffer, count * 12);
+
+            for (int k = offset; k < offset + count; k++) {
+                indices[k] = buffer.getInt();
+                values[k] = buffer.getDouble();
+            }
+
+            offset += count;
+            length -= count;
+        }
+
+        BufferPool.release(buffer);
+    }
+
+    private ByteBuffer fill(ByteBuffer buffer, int bytes) throws IOException {
+        buffer.clear();
+        buffer.limit(bytes);
+
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                BufferPool.release(buffer);
+                throw new EOFException("Unexpected end of the channel.");
+            }
+        }
+
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.io;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes primitives and arrays of primitives into a {@link WritableByteChannel}
+ * through a pooled direct buffer, chunk by chunk. The buffer is taken from the
+ * pool on the first write and returned back on {@link #flush()}.
+ */
+public final class ChannelOutput implements Flushable {
+
+    private final WritableByteChannel channel;
+    private ByteBuffer buffer;
+
+    public ChannelOutput(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    public void writeByte(byte value) throws IOException {
+        ensureSpace(1).put(value);
+    }
+
+    public void writeInt(int value) throws IOException {
+        ensureSpace(4).putInt(value);
+    }
+
+    public void writeDouble(double value) throws IOException {
+        ensureSpace(8).putDouble(value);
+    }
+
+    /**
+     * Writes {@code length} elements of the given {@code array} starting from
+     * {@code offset}.
+     */
+    public void writeInts(int[] array, int offset, int length) throws IOException {
+        while (length > 0) {
+            ByteBuffer target = ensureSpace(4);
+            int count = Math.min(length, target.remaining() / 4);
+
+            target.asIntBuffer().put(array, offset, count);
+            target.position(target.position() + count * 4);
+
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Writes {@code length} elements of the given {@code array} starting from
+     * {@code offset}.
+     */
+    public void writeDoubles(double[] array, int offset, int length) throws IOException {
+        while (length > 0) {
+            ByteBuffer target = ensureSpace(8);
+            int count = Math.min(length, target.remaining() / 8);
+
+            target.asDoubleBuffer().put(array, offset, count);
+            target.position(target.position() + count * 8);
+
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Writes {@code length} (index, value) pairs starting from {@code offset}:
+     * the layout used by sparse vectors and matrices.
+     */
+    public void writeEntries(int[] indices, double[] values, int offset, int length) throws IOException {
+        while (length > 0) {
+            ByteBuffer target = ensureSpace(12);
+            int count = Math.min(length, target.remaining() / 12);
+
+            for (int k = offset; k < offset + count; k++) {
+                target.putInt(indices[k]);
+                target.putDouble(values[k]);
+            }
+
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Writes all the buffered bytes into the channel and returns the buffer
+     * back to the pool.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (buffer == null) {
+            return;
+        }
+
+        drain();
+        BufferPool.release(buffer);
+        buffer = null;
+    }
+
+    private ByteBuffer ensureSpace(int bytes) throws IOException {
+        if (buffer == null) {
+            buffer = BufferPool.acquire();
+        } else if (buffer.remaining() < bytes) {
+            drain();
+        }
+
+        return buffer;
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
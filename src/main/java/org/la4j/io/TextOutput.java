@@ -0,0 +1,210 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.io;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Formats numbers into a {@link Writer} through a char buffer that is flushed
+ * in bulk. Unlike {@link java.text.NumberFormat}, doubles are formatted without
+ * any per-call allocations in the common case.
+ */
+public final class TextOutput implements Flushable {
+
+    private static final int BUFFER_SIZE = 1 << 14;
+
+    // doubles with up to 15 significant digits are exact in the fast paths
+    private static final double MAXIMUM_EXACT = 1e15;
+    private static final int MAXIMUM_PRECISION = 17;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final Writer writer;
+    private final char[] buffer;
+    private final char[] digits;
+    private int size;
+
+    public TextOutput(Writer writer) {
+        this.writer = writer;
+        this.buffer = new char[BUFFER_SIZE];
+        this.digits = new char[32];
+    }
+
+    public TextOutput append(char value) throws IOException {
+        if (size == buffer.length) {
+            drain();
+        }
+
+        buffer[size++] = value;
+        return this;
+    }
+
+    public TextOutput append(String value) throws IOException {
+        int length = value.length();
+
+        if (length > buffer.length - size) {
+            drain();
+        }
+
+        if (length > buffer.length) {
+            writer.write(value);
+        } else {
+            value.getChars(0, length, buffer, size);
+            size += length;
+        }
+
+        return this;
+    }
+
+    public TextOutput append(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            return append(Long.toString(value));
+        }
+
+        if (value < 0) {
+            append('-');
+            value = -value;
+        }
+
+        int position = digits.length;
+        do {
+            digits[--position] = (char) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+
+        return appendDigits(position);
+    }
+
+    /**
+     * Appends the shortest decimal representation of the given {@code value}
+     * that parses back into exactly the same double.
+     */
+    public TextOutput append(double value) throws IOException {
+        double magnitude = Math.abs(value);
+
+        if (magnitude < MAXIMUM_EXACT && (magnitude >= 1e-5 || value == 0.0)) {
+            for (int scale = 0; scale < POWERS_OF_TEN.length; scale++) {
+                double mantissa = Math.rint(magnitude * POWERS_OF_TEN[scale]);
+
+                if (mantissa >= MAXIMUM_EXACT) {
+                    break;
+                }
+
+                // both the division and the parsing are correctly rounded,
+                // so the printed decimal reads back into the same double
+                if (mantissa / POWERS_OF_TEN[scale] == magnitude) {
+                    if (value < 0.0 || (value == 0.0 && 1.0 / value < 0.0)) {
+                        append('-');
+                    }
+
+                    // integers keep a single fractional zero: 5.0 is "5.0"
+                    return scale == 0 ? appendScaled((long) mantissa * 10, 1)
+                                      : appendScaled((long) mantissa, scale);
+                }
+            }
+        }
+
+        return append(Double.toString(value));
+    }
+
+    /**
+     * Appends the given {@code value} rounded (half up) to the given number of
+     * fractional digits.
+     */
+    public TextOutput append(double value, int precision) throws IOException {
+        if (precision < 0) {
+            throw new IllegalArgumentException("Precision should be non-negative: " + precision + ".");
+        }
+
+        double magnitude = Math.abs(value);
+
+        if (precision < POWERS_OF_TEN.length && magnitude * POWERS_OF_TEN[precision] < MAXIMUM_EXACT) {
+            long mantissa = (long) Math.floor(magnitude * POWERS_OF_TEN[precision] + 0.5);
+
+            if (value < 0.0 && mantissa != 0) {
+                append('-');
+            }
+
+            return appendScaled(mantissa, precision);
+        }
+
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return append(Double.toString(value));
+        }
+
+        return append(new BigDecimal(value).setScale(precision, RoundingMode.HALF_UP).toPlainString());
+    }
+
+    /**
+     * Writes all the buffered chars into the underlying writer and flushes it.
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        writer.flush();
+    }
+
+    private TextOutput appendScaled(long mantissa, int scale) throws IOException {
+        int position = digits.length;
+
+        for (int k = 0; k < scale; k++) {
+            digits[--position] = (char) ('0' + (mantissa % 10));
+            mantissa /= 10;
+        }
+
+        if (scale > 0) {
+            digits[--position] = '.';
+        }
+
+        do {
+            digits[--position] = (char) ('0' + (mantissa % 10));
+            mantissa /= 10;
+        } while (mantissa != 0);
+
+        return appendDigits(position);
+    }
+
+    private TextOutput appendDigits(int position) throws IOException {
+        int length = digits.length - position;
+
+        if (length > buffer.length - size) {
+            drain();
+        }
+
+        System.arraycopy(digits, position, buffer, size, length);
+        size += length;
+
+        return this;
+    }
+
+    private void drain() throws IOException {
+        writer.write(buffer, 0, size);
+        size = 0;
+    }
+}
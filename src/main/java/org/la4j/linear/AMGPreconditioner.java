@@ -0,0 +1,384 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.la4j.Matrix;
+
+/**
+ * A smoothed aggregation algebraic multigrid preconditioner: one V-cycle per
+ * application. Each level groups the strongly connected unknowns into
+ * aggregates, smooths the piecewise constant prolongator with a damped Jacobi
+ * step and takes the Galerkin product {@code R * A * P} as the next operator,
+ * where {@code R = P^T}. The coarsest level is solved directly.
+ * <p>
+ * With the (default) Gauss-Seidel smoother, the forward sweeps are used before
+ * and the backward sweeps after the coarse grid correction, so the V-cycle is
+ * symmetric and can precondition the {@link ConjugateGradientSolver}.
+ * </p>
+ */
+public class AMGPreconditioner implements Preconditioner {
+
+    private static final long serialVersionUID = 4071505L;
+
+    /**
+     * The smoothers applied on each level.
+     */
+    public static enum Smoother {
+        JACOBI,
+        GAUSS_SEIDEL
+    }
+
+    /**
+     * The default strength of connection threshold: the unknowns {@code i} and
+     * {@code j} are strongly connected if
+     * {@code |a_ij| >= threshold * sqrt(|a_ii * a_jj|)}.
+     */
+    public static final double DEFAULT_STRENGTH = 0.08;
+
+    /**
+     * The levels of this size or smaller are solved directly.
+     */
+    private static final int COARSEST_SIZE = 300;
+
+    private static final int MAX_LEVELS = 25;
+
+    private final Level[] levels;
+    private final DenseLU coarsest;
+    private final Smoother smoother;
+
+    public AMGPreconditioner(Matrix a) {
+        this(a, Smoother.GAUSS_SEIDEL, DEFAULT_STRENGTH);
+    }
+
+    public AMGPreconditioner(Matrix a, Smoother smoother, double strength) {
+        this(CompressedRows.of(a), smoother, strength);
+    }
+
+    AMGPreconditioner(CompressedRows a, Smoother smoother, double strength) {
+        if (a.rows != a.columns) {
+            throw new IllegalArgumentException("AMG preconditioner can not be used with a non-square matrix.");
+        }
+
+        if (!(strength >= 0.0 && strength < 1.0)) {
+            throw new IllegalArgumentException("Strength threshold should be in [0, 1): " + strength + ".");
+        }
+
+        List<Level> result = new ArrayList<Level>();
+        CompressedRows current = a;
+
+        while (true) {
+            Level level = new Level(current);
+            result.add(level);
+
+            if (current.rows <= COARSEST_SIZE || result.size() == MAX_LEVELS) {
+                break;
+            }
+
+            int[] aggregates = aggregate(current, strength);
+            int count = 0;
+            for (int aggregate: aggregates) {
+                count = Math.max(count, aggregate + 1);
+            }
+
+            if (count == current.rows) {
+                // nothing to coarsen anymore
+                break;
+            }
+
+            CompressedRows t = tentative(aggregates, count);
+            level.p = level.smoothing().multiply(t);
+            level.r = level.p.transpose();
+
+            current = level.r.multiply(current.multiply(level.p));
+        }
+
+        this.levels = result.toArray(new Level[result.size()]);
+        this.smoother = smoother;
+
+        CompressedRows last = levels[levels.length - 1].a;
+        double[][] dense = new double[last.rows][last.columns];
+
+        for (int i = 0; i < last.rows; i++) {
+            for (int k = last.pointers[i]; k < last.pointers[i + 1]; k++) {
+                dense[i][last.indices[k]] = last.values[k];
+            }
+        }
+
+        this.coarsest = DenseLU.factorize(dense);
+
+        if (coarsest == null || coarsest.isSingular()) {
+            throw new IllegalArgumentException("AMG preconditioner can not be used: the coarsest level is singular.");
+        }
+    }
+
+    /**
+     * Returns the number of levels in the hierarchy.
+     *
+     * @return the number of levels
+     */
+    public int levels() {
+        return levels.length;
+    }
+
+    /**
+     * Returns the number of unknowns on the given {@code level}, where the level
+     * 0 is the original system.
+     *
+     * @param level the level
+     *
+     * @return the number of unknowns
+     */
+    public int unknowns(int level) {
+        return levels[level].a.rows;
+    }
+
+    @Override
+    public void apply(double[] r, double[] z) {
+        Arrays.fill(z, 0.0);
+        cycle(0, r, z);
+    }
+
+    private void cycle(int index, double[] b, double[] x) {
+        if (index == levels.length - 1) {
+            System.arraycopy(coarsest.solve(b), 0, x, 0, x.length);
+            return;
+        }
+
+        Level level = levels[index];
+        Level next = levels[index + 1];
+
+        smooth(level, b, x, true);
+
+        double[] t = level.t;
+        level.a.multiply(x, t);
+        for (int i = 0; i < t.length; i++) {
+            t[i] = b[i] - t[i];
+        }
+
+        level.r.multiply(t, next.b);
+        Arrays.fill(next.x, 0.0);
+        cycle(index + 1, next.b, next.x);
+
+        level.p.multiply(next.x, t);
+        for (int i = 0; i < t.length; i++) {
+            x[i] += t[i];
+        }
+
+        smooth(level, b, x, false);
+    }
+
+    private void smooth(Level level, double[] b, double[] x, boolean forward) {
+        CompressedRows a = level.a;
+        int n = a.rows;
+
+        if (smoother == Smoother.JACOBI) {
+            double[] t = level.t;
+            a.multiply(x, t);
+            for (int i = 0; i < n; i++) {
+                x[i] += level.omega * (b[i] - t[i]) * level.inverted[i];
+            }
+            return;
+        }
+
+        for (int s = 0; s < n; s++) {
+            int i = forward ? s : n - 1 - s;
+            double acc = b[i];
+
+            for (int k = a.pointers[i]; k < a.pointers[i + 1]; k++) {
+                int j = a.indices[k];
+                if (j != i) {
+                    acc -= a.values[k] * x[j];
+                }
+            }
+
+            x[i] = acc * level.inverted[i];
+        }
+    }
+
+    /**
+     * Groups the unknowns into aggregates: first the unknowns with all their
+     * strong neighbours free become roots of new aggregates with those
+     * neighbours, then the left ones join an aggregate of a strong neighbour
+     * and finally the rest form new aggregates with their free strong neighbours.
+     *
+     * @return the aggregate of each unknown
+     */
+    private static int[] aggregate(CompressedRows a, double strength) {
+        int n = a.rows;
+        double[] diagonal = a.diagonal();
+        int[] result = new int[n];
+        boolean[] joined = new boolean[n];
+        Arrays.fill(result, -1);
+        int count = 0;
+
+        for (int i = 0; i < n; i++) {
+            boolean free = true;
+            for (int k = a.pointers[i]; k < a.pointers[i + 1] && free; k++) {
+                int j = a.indices[k];
+                if (isStrong(a, diagonal, strength, i, k) && result[j] >= 0) {
+                    free = false;
+                }
+            }
+
+            if (free && result[i] < 0) {
+                result[i] = count;
+                for (int k = a.pointers[i]; k < a.pointers[i + 1]; k++) {
+                    if (isStrong(a, diagonal, strength, i, k)) {
+                        result[a.indices[k]] = count;
+                    }
+                }
+                count++;
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (result[i] >= 0) {
+                continue;
+            }
+
+            for (int k = a.pointers[i]; k < a.pointers[i + 1]; k++) {
+                int j = a.indices[k];
+                if (isStrong(a, diagonal, strength, i, k) && result[j] >= 0 && !joined[j]) {
+                    result[i] = result[j];
+                    joined[i] = true;
+                    break;
+                }
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (result[i] >= 0) {
+                continue;
+            }
+
+            result[i] = count;
+            for (int k = a.pointers[i]; k < a.pointers[i + 1]; k++) {
+                int j = a.indices[k];
+                if (isStrong(a, diagonal, strength, i, k) && result[j] < 0) {
+                    result[j] = count;
+                }
+            }
+            count++;
+        }
+
+        return result;
+    }
+
+    private static boolean isStrong(CompressedRows a, double[] diagonal, double strength, int i, int k) {
+        int j = a.indices[k];
+        return j != i && Math.abs(a.values[k]) >= strength * Math.sqrt(Math.abs(diagonal[i] * diagonal[j]));
+    }
+
+    /**
+     * Builds the piecewise constant prolongator with the columns scaled to
+     * the unit norm.
+     */
+    private static CompressedRows tentative(int[] aggregates, int count) {
+        int n = aggregates.length;
+        int[] sizes = new int[count];
+        for (int aggregate: aggregates) {
+            sizes[aggregate]++;
+        }
+
+        int[] pointers = new int[n + 1];
+        int[] indices = new int[n];
+        double[] values = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            pointers[i + 1] = i + 1;
+            indices[i] = aggregates[i];
+            values[i] = 1.0 / Math.sqrt(sizes[aggregates[i]]);
+        }
+
+        return new CompressedRows(n, count, pointers, indices, values);
+    }
+
+    /**
+     * A level of the hierarchy with its work arrays.
+     */
+    private static final class Level implements Serializable {
+
+        private static final long serialVersionUID = 4071505L;
+
+        private final CompressedRows a;
+        private final double[] inverted;
+        // the damping of the Jacobi steps: 4/3 over a bound of the spectral
+        // radius of D^-1 * A
+        private final double omega;
+
+        private CompressedRows p;
+        private CompressedRows r;
+
+        private final double[] x;
+        private final double[] b;
+        private final double[] t;
+
+        private Level(CompressedRows a) {
+            this.a = a;
+            this.inverted = a.diagonal();
+
+            double radius = 0.0;
+
+            for (int i = 0; i < a.rows; i++) {
+                if (inverted[i] == 0.0) {
+                    throw new IllegalArgumentException("AMG preconditioner can not be used with a zero on the diagonal.");
+                }
+
+                double acc = 0.0;
+                for (int k = a.pointers[i]; k < a.pointers[i + 1]; k++) {
+                    acc += Math.abs(a.values[k]);
+                }
+
+                radius = Math.max(radius, acc / Math.abs(inverted[i]));
+                inverted[i] = 1.0 / inverted[i];
+            }
+
+            this.omega = 4.0 / (3.0 * radius);
+            this.x = new double[a.rows];
+            this.b = new double[a.rows];
+            this.t = new double[a.rows];
+        }
+
+        /**
+         * Returns {@code I - omega * D^-1 * A}.
+         */
+        private CompressedRows smoothing() {
+            double[] values = new double[a.values.length];
+
+            for (int i = 0; i < a.rows; i++) {
+                for (int k = a.pointers[i]; k < a.pointers[i + 1]; k++) {
+                    values[k] = -omega * a.values[k] * inverted[i];
+                    if (a.indices[k] == i) {
+                        values[k] += 1.0;
+                    }
+                }
+            }
+
+            return new CompressedRows(a.rows, a.columns, a.pointers, a.indices, values);
+        }
+    }
+}
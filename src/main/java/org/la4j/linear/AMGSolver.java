@@ -0,0 +1,82 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import org.la4j.Matrix;
+
+/**
+ * This class represents an algebraic multigrid solver: a stationary iteration,
+ * that applies the V-cycles of an {@link AMGPreconditioner} to the residual
+ * until it's small enough. On Poisson-like systems the number of iterations
+ * doesn't grow with the size of the system.
+ */
+public class AMGSolver extends AbstractIterativeSolver implements LinearSystemSolver {
+
+    private static final long serialVersionUID = 4071505L;
+
+    private final AMGPreconditioner hierarchy;
+
+    public AMGSolver(Matrix a) {
+        this(a, DEFAULT_TOLERANCE, defaultMaxIterations(a));
+    }
+
+    public AMGSolver(Matrix a, double tolerance, int maxIterations) {
+        this(a, AMGPreconditioner.Smoother.GAUSS_SEIDEL, AMGPreconditioner.DEFAULT_STRENGTH,
+             tolerance, maxIterations);
+    }
+
+    public AMGSolver(Matrix a, AMGPreconditioner.Smoother smoother, double strength,
+                     double tolerance, int maxIterations) {
+        super(a, tolerance, maxIterations);
+        this.hierarchy = new AMGPreconditioner(matrix, smoother, strength);
+    }
+
+    @Override
+    protected double iterate(double[] rhs, double norm, double[] x, History history) {
+        int n = unknowns;
+        double[] r = rhs.clone();
+        double[] e = new double[n];
+        double residual = 1.0;
+
+        while (history.size() < maxIterations) {
+            hierarchy.apply(r, e);
+            for (int i = 0; i < n; i++) {
+                x[i] += e[i];
+            }
+
+            residual(rhs, x, r);
+            residual = norm(r) / norm;
+            history.add(residual);
+
+            if (residual <= tolerance) {
+                break;
+            }
+        }
+
+        return residual;
+    }
+
+    @Override
+    public boolean applicableTo(Matrix matrix) {
+        return matrix.rows() == matrix.columns();
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import java.util.Arrays;
+
+import org.la4j.Matrix;
+import org.la4j.Vector;
+
+/**
+ * A base class for iterative solvers: they work on a compressed row snapshot of
+ * the coefficient matrix and stop once the relative residual norm drops below
+ * the tolerance or the iteration cap is reached.
+ */
+public abstract class AbstractIterativeSolver extends AbstractSolver {
+
+    /**
+     * The default relative residual tolerance.
+     */
+    public static final double DEFAULT_TOLERANCE = 1e-12;
+
+    protected final CompressedRows matrix;
+    protected final double tolerance;
+    protected final int maxIterations;
+
+    protected AbstractIterativeSolver(Matrix a, double tolerance, int maxIterations) {
+        super(a, false);
+
+        if (!(tolerance > 0.0)) {
+            fail("Tolerance should be positive: " + tolerance + ".");
+        }
+
+        if (maxIterations <= 0) {
+            fail("Max iterations should be positive: " + maxIterations + ".");
+        }
+
+        this.matrix = CompressedRows.of(a);
+        this.tolerance = tolerance;
+        this.maxIterations = maxIterations;
+
+        ensureApplicable(applicableTo(a, matrix));
+    }
+
+    /**
+     * Whether this solver can be used with the matrix {@code a}, which is
+     * already compressed into the {@code rows}.
+     */
+    protected boolean applicableTo(Matrix a, CompressedRows rows) {
+        return applicableTo(a);
+    }
+
+    /**
+     * Returns the default iteration cap for the given matrix {@code a}.
+     */
+    protected static int defaultMaxIterations(Matrix a) {
+        return Math.max(1000, 10 * a.rows());
+    }
+
+    @Override
+    public Vector solve(Vector b) {
+        IterativeSolution solution = solveIteratively(b);
+
+        if (!solution.converged()) {
+            fail("This system can not be solved: the residual " + solution.residual()
+                 + " is above the tolerance after " + solution.iterations() + " iterations.");
+        }
+
+        return solution.solution();
+    }
+
+    /**
+     * Solves the system A*x = b and reports the number of iterations and the
+     * residual reached instead of failing on non-convergence.
+     *
+     * @param b the right hand side vector
+     *
+     * @return the iterative solution
+     */
+    public IterativeSolution solveIteratively(Vector b) {
+        ensureRHSIsCorrect(b);
+
+        double[] rhs = new double[equations];
+        for (int i = 0; i < equations; i++) {
+            rhs[i] = b.get(i);
+        }
+
+        double[] x = new double[unknowns];
+        double norm = norm(rhs);
+
+        History history = new History();
+
+        if (norm == 0.0) {
+            return solution(b, x, 0.0, history);
+        }
+
+        double residual = iterate(rhs, norm, x, history);
+
+        return solution(b, x, residual, history);
+    }
+
+    /**
+     * Runs the iterations on the given right hand side {@code rhs}, which norm
+     * is {@code norm}, starting from the zero guess {@code x}. The relative
+     * residual of each iteration is added to the {@code history}.
+     *
+     * @return the final relative residual norm
+     */
+    protected abstract double iterate(double[] rhs, double norm, double[] x, History history);
+
+    /**
+     * Wraps the array {@code x} into a solution of the same type as {@code b}.
+     */
+    private IterativeSolution solution(Vector b, double[] x, double residual, History history) {
+        Vector result = b.blankOfLength(unknowns);
+
+        for (int i = 0; i < unknowns; i++) {
+            if (x[i] != 0.0) {
+                result.set(i, x[i]);
+            }
+        }
+
+        return new IterativeSolution(result, history.size, residual, residual <= tolerance, history.toArray());
+    }
+
+    protected static double norm(double[] x) {
+        double acc = 0.0;
+        for (double value: x) {
+            acc += value * value;
+        }
+
+        return Math.sqrt(acc);
+    }
+
+    protected static double dot(double[] x, double[] y) {
+        double acc = 0.0;
+        for (int i = 0; i < x.length; i++) {
+            acc += x[i] * y[i];
+        }
+
+        return acc;
+    }
+
+    /**
+     * Computes {@code r = b - A*x}.
+     */
+    protected void residual(double[] b, double[] x, double[] r) {
+        matrix.multiply(x, r);
+        for (int i = 0; i < r.length; i++) {
+            r[i] = b[i] - r[i];
+        }
+    }
+
+    /**
+     * Returns the relative residual norm {@code ||b - A*x|| / norm}.
+     */
+    protected double relativeResidual(double[] b, double norm, double[] x) {
+        double[] r = new double[equations];
+        residual(b, x, r);
+
+        return norm(r) / norm;
+    }
+
+    /**
+     * A growable list of relative residual norms, one per iteration.
+     */
+    protected static final class History {
+
+        private double[] values = new double[16];
+        private int size;
+
+        public void add(double residual) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = residual;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        private double[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
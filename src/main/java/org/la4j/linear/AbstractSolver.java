@@ -32,8 +32,17 @@ public abstract class AbstractSolver implements LinearSystemSolver {
     protected int equations;
 
     protected AbstractSolver(Matrix a) {
-        if (!applicableTo(a)) {
-            fail("Given coefficient matrix can not be used with this solver.");
+        this(a, true);
+    }
+
+    /**
+     * Creates a solver, that checks whether it's applicable to {@code a} only if
+     * asked to: subclasses, that first build their own representation of the
+     * matrix, do the check on it instead.
+     */
+    protected AbstractSolver(Matrix a, boolean check) {
+        if (check) {
+            ensureApplicable(applicableTo(a));
         }
 
         this.a = a;
@@ -41,6 +50,28 @@ public abstract class AbstractSolver implements LinearSystemSolver {
         this.equations = a.rows();
     }
 
+    /**
+     * Solves the system for each column of {@code b} separately. Direct solvers
+     * override this to reuse their factorization across the columns.
+     */
+    @Override
+    public Matrix solve(Matrix b) {
+        ensureRHSIsCorrect(b);
+
+        Matrix result = b.blankOfShape(unknowns, b.columns());
+        for (int j = 0; j < b.columns(); j++) {
+            result.setColumn(j, solve(b.getColumn(j)));
+        }
+
+        return result;
+    }
+
+    protected void ensureApplicable(boolean applicable) {
+        if (!applicable) {
+            fail("Given coefficient matrix can not be used with this solver.");
+        }
+    }
+
     @Override
     public Matrix self() {
         return a;
@@ -62,6 +93,64 @@ public abstract class AbstractSolver implements LinearSystemSolver {
         }
     }
 
+    protected void ensureRHSIsCorrect(Matrix matrix) {
+        if (matrix.rows() != equations) {
+            fail("Wrong number of rows in RHS matrix: " + matrix.rows() + ".");
+        }
+    }
+
+    /**
+     * Copies the given vector {@code b} into an array.
+     */
+    protected static double[] toArray(Vector b) {
+        double[] result = new double[b.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = b.get(i);
+        }
+
+        return result;
+    }
+
+    /**
+     * Wraps the array {@code x} into a vector of the same type as {@code b}.
+     */
+    protected static Vector fromArray(Vector b, double[] x) {
+        Vector result = b.blankOfLength(x.length);
+        for (int i = 0; i < x.length; i++) {
+            if (x[i] != 0.0) {
+                result.set(i, x[i]);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Copies the given matrix {@code b} into a row-major array.
+     */
+    protected static double[][] toRows(Matrix b) {
+        return b.toDenseMatrix().toArray();
+    }
+
+    /**
+     * Wraps the first {@code rows} rows of the array {@code x} into a matrix of
+     * the same type as {@code b}.
+     */
+    protected static Matrix fromRows(Matrix b, double[][] x, int rows) {
+        int columns = b.columns();
+        Matrix result = b.blankOfShape(rows, columns);
+
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                if (x[i][j] != 0.0) {
+                    result.set(i, j, x[i][j]);
+                }
+            }
+        }
+
+        return result;
+    }
+
     protected void fail(String message) {
         throw new IllegalArgumentException(message);
     }
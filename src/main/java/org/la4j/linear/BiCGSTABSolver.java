@@ -0,0 +1,141 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import org.la4j.Matrix;
+
+/**
+ * The stabilized bi-conjugate gradient method (BiCGSTAB) for general
+ * (non-symmetric) systems. Each iteration costs two sparse matrix-vector
+ * products and two (right) preconditioner applications.
+ */
+public class BiCGSTABSolver extends AbstractIterativeSolver {
+
+    private static final long serialVersionUID = 4071505L;
+
+    private final Preconditioner preconditioner;
+
+    public BiCGSTABSolver(Matrix a) {
+        super(a, DEFAULT_TOLERANCE, defaultMaxIterations(a));
+        this.preconditioner = null;
+    }
+
+    public BiCGSTABSolver(Matrix a, Preconditioner preconditioner) {
+        this(a, preconditioner, DEFAULT_TOLERANCE, defaultMaxIterations(a));
+    }
+
+    public BiCGSTABSolver(Matrix a, Preconditioner preconditioner, double tolerance, int maxIterations) {
+        super(a, tolerance, maxIterations);
+        this.preconditioner = preconditioner;
+    }
+
+    @Override
+    protected double iterate(double[] rhs, double norm, double[] x, History history) {
+        int n = unknowns;
+
+        double[] r = rhs.clone();
+        double[] shadow = rhs.clone();
+        double[] p = new double[n];
+        double[] v = new double[n];
+        double[] s = new double[n];
+        double[] t = new double[n];
+        double[] pHat = new double[n];
+        double[] sHat = new double[n];
+
+        double rho = 1.0;
+        double alpha = 1.0;
+        double omega = 1.0;
+        double residual = 1.0;
+
+        while (history.size() < maxIterations) {
+            double rhoNext = dot(shadow, r);
+            if (rhoNext == 0.0) {
+                // breakdown: the shadow residual is orthogonal to the residual
+                break;
+            }
+
+            double beta = (rhoNext / rho) * (alpha / omega);
+            for (int i = 0; i < n; i++) {
+                p[i] = r[i] + beta * (p[i] - omega * v[i]);
+            }
+
+            precondition(p, pHat);
+            matrix.multiply(pHat, v);
+
+            double shadowV = dot(shadow, v);
+            if (shadowV == 0.0) {
+                break;
+            }
+
+            alpha = rhoNext / shadowV;
+            for (int i = 0; i < n; i++) {
+                s[i] = r[i] - alpha * v[i];
+            }
+
+            double sNorm = norm(s) / norm;
+            if (sNorm <= tolerance) {
+                for (int i = 0; i < n; i++) {
+                    x[i] += alpha * pHat[i];
+                }
+
+                residual = sNorm;
+                history.add(residual);
+                break;
+            }
+
+            precondition(s, sHat);
+            matrix.multiply(sHat, t);
+
+            double tt = dot(t, t);
+            omega = tt == 0.0 ? 0.0 : dot(t, s) / tt;
+
+            for (int i = 0; i < n; i++) {
+                x[i] += alpha * pHat[i] + omega * sHat[i];
+                r[i] = s[i] - omega * t[i];
+            }
+
+            residual = norm(r) / norm;
+            history.add(residual);
+
+            if (residual <= tolerance || omega == 0.0) {
+                break;
+            }
+
+            rho = rhoNext;
+        }
+
+        return residual;
+    }
+
+    @Override
+    public boolean applicableTo(Matrix matrix) {
+        return matrix.rows() == matrix.columns();
+    }
+
+    private void precondition(double[] r, double[] z) {
+        if (preconditioner == null) {
+            System.arraycopy(r, 0, z, 0, r.length);
+        } else {
+            preconditioner.apply(r, z);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import org.la4j.Matrices;
+import org.la4j.Matrix;
+import org.la4j.Vector;
+import org.la4j.decomposition.CholeskyDecompositor;
+import org.la4j.decomposition.CholeskyResult;
+
+/**
+ * This class represents a direct solver for dense symmetric positive definite
+ * systems, that is based on the {@link CholeskyDecompositor}. The factor is
+ * computed by the constructor, which fails if the matrix is not positive
+ * definite.
+ */
+public class CholeskySolver extends AbstractSolver implements LinearSystemSolver {
+
+    private static final long serialVersionUID = 4071505L;
+
+    private final CholeskyResult cholesky;
+
+    public CholeskySolver(Matrix a) {
+        super(a);
+
+        this.cholesky = new CholeskyDecompositor(a).factorize();
+    }
+
+    @Override
+    public Vector solve(Vector b) {
+        ensureRHSIsCorrect(b);
+
+        return cholesky.solve(b);
+    }
+
+    @Override
+    public Matrix solve(Matrix b) {
+        ensureRHSIsCorrect(b);
+
+        return cholesky.solve(b);
+    }
+
+    @Override
+    public boolean applicableTo(Matrix matrix) {
+        return matrix.rows() == matrix.columns() && matrix.is(Matrices.SYMMETRIC_MATRIX);
+    }
+}
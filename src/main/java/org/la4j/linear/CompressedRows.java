@@ -0,0 +1,306 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.la4j.Matrix;
+import org.la4j.iterator.MatrixIterator;
+import org.la4j.matrix.ColumnMajorSparseMatrix;
+import org.la4j.matrix.RowMajorSparseMatrix;
+import org.la4j.matrix.SparseMatrix;
+
+/**
+ * A read-only snapshot of a matrix in compressed row storage, which iterative
+ * solvers and preconditioners work on. Unlike {@link Matrix#get(int, int)}, the
+ * raw arrays give O(nnz) sweeps over the non-zero elements of any matrix.
+ */
+final class CompressedRows implements Serializable {
+
+    private static final long serialVersionUID = 4071505L;
+
+    final int rows;
+    final int columns;
+    final int[] pointers;
+    final int[] indices;
+    final double[] values;
+
+    CompressedRows(int rows, int columns, int[] pointers, int[] indices, double[] values) {
+        this.rows = rows;
+        this.columns = columns;
+        this.pointers = pointers;
+        this.indices = indices;
+        this.values = values;
+    }
+
+    /**
+     * Takes a snapshot of the given matrix {@code a}.
+     */
+    static CompressedRows of(Matrix a) {
+        if (a instanceof RowMajorSparseMatrix) {
+            return fromIterator(a.rows(), a.columns(), ((SparseMatrix) a).cardinality(),
+                                ((SparseMatrix) a).nonZeroRowMajorIterator(), true);
+        }
+
+        if (a instanceof ColumnMajorSparseMatrix) {
+            // read the columns as rows of the transpose and turn them back
+            return fromIterator(a.columns(), a.rows(), ((SparseMatrix) a).cardinality(),
+                                ((SparseMatrix) a).nonZeroColumnMajorIterator(), false).transpose();
+        }
+
+        int rows = a.rows();
+        int columns = a.columns();
+        int[] pointers = new int[rows + 1];
+
+        for (int i = 0; i < rows; i++) {
+            int count = 0;
+            for (int j = 0; j < columns; j++) {
+                if (a.get(i, j) != 0.0) {
+                    count++;
+                }
+            }
+            pointers[i + 1] = pointers[i] + count;
+        }
+
+        int[] indices = new int[pointers[rows]];
+        double[] values = new double[pointers[rows]];
+
+        for (int i = 0, k = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                double value = a.get(i, j);
+                if (value != 0.0) {
+                    indices[k] = j;
+                    values[k++] = value;
+                }
+            }
+        }
+
+        return new CompressedRows(rows, columns, pointers, indices, values);
+    }
+
+    private static CompressedRows fromIterator(int rows, int columns, int cardinality,
+                                               MatrixIterator it, boolean rowMajor) {
+
+        int[] pointers = new int[rows + 1];
+        int[] indices = new int[cardinality];
+        double[] values = new double[cardinality];
+        int k = 0;
+
+        while (it.hasNext()) {
+            double value = it.next();
+            if (value != 0.0) {
+                int i = rowMajor ? it.rowIndex() : it.columnIndex();
+                indices[k] = rowMajor ? it.columnIndex() : it.rowIndex();
+                values[k++] = value;
+                pointers[i + 1]++;
+            }
+        }
+
+        for (int i = 0; i < rows; i++) {
+            pointers[i + 1] += pointers[i];
+        }
+
+        return new CompressedRows(rows, columns, pointers, indices, values);
+    }
+
+    /**
+     * Computes {@code y = A * x}.
+     */
+    void multiply(double[] x, double[] y) {
+        for (int i = 0; i < rows; i++) {
+            double acc = 0.0;
+            for (int k = pointers[i]; k < pointers[i + 1]; k++) {
+                acc += values[k] * x[indices[k]];
+            }
+            y[i] = acc;
+        }
+    }
+
+    /**
+     * Returns the positions of the diagonal elements in {@link #values} or -1 for
+     * the missing ones.
+     */
+    int[] diagonalPositions() {
+        int[] result = new int[Math.min(rows, columns)];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = find(i, i);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the diagonal of this matrix.
+     */
+    double[] diagonal() {
+        double[] result = new double[Math.min(rows, columns)];
+
+        for (int i = 0; i < result.length; i++) {
+            int k = find(i, i);
+            result[i] = k < 0 ? 0.0 : values[k];
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the position of the element {@code (i, j)} in {@link #values} or -1
+     * if it's zero.
+     */
+    int find(int i, int j) {
+        int left = pointers[i];
+        int right = pointers[i + 1] - 1;
+
+        while (left <= right) {
+            int middle = (left + right) >>> 1;
+            if (indices[middle] == j) {
+                return middle;
+            } else if (indices[middle] < j) {
+                left = middle + 1;
+            } else {
+                right = middle - 1;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Transposes this matrix with a counting sort.
+     */
+    CompressedRows transpose() {
+        int[] resultPointers = new int[columns + 1];
+        int[] resultIndices = new int[indices.length];
+        double[] resultValues = new double[values.length];
+
+        for (int k = 0; k < pointers[rows]; k++) {
+            resultPointers[indices[k] + 1]++;
+        }
+
+        for (int j = 0; j < columns; j++) {
+            resultPointers[j + 1] += resultPointers[j];
+        }
+
+        int[] next = new int[columns];
+        System.arraycopy(resultPointers, 0, next, 0, columns);
+
+        for (int i = 0; i < rows; i++) {
+            for (int k = pointers[i]; k < pointers[i + 1]; k++) {
+                int position = next[indices[k]]++;
+                resultIndices[position] = i;
+                resultValues[position] = values[k];
+            }
+        }
+
+        return new CompressedRows(columns, rows, resultPointers, resultIndices, resultValues);
+    }
+
+    /**
+     * Computes {@code this * that} with a row-by-row (Gustavson) product: the
+     * rows of {@code that} are accumulated in a dense row and the touched
+     * columns are sorted afterwards.
+     */
+    CompressedRows multiply(CompressedRows that) {
+        int[] resultPointers = new int[rows + 1];
+        int capacity = Math.max(indices.length, that.indices.length) + rows;
+        int[] resultIndices = new int[capacity];
+        double[] resultValues = new double[capacity];
+
+        double[] accumulator = new double[that.columns];
+        int[] marks = new int[that.columns];
+        int[] touched = new int[that.columns];
+        Arrays.fill(marks, -1);
+        int size = 0;
+
+        for (int i = 0; i < rows; i++) {
+            int count = 0;
+
+            for (int k = pointers[i]; k < pointers[i + 1]; k++) {
+                int j = indices[k];
+                double value = values[k];
+
+                for (int l = that.pointers[j]; l < that.pointers[j + 1]; l++) {
+                    int column = that.indices[l];
+                    if (marks[column] != i) {
+                        marks[column] = i;
+                        touched[count++] = column;
+                        accumulator[column] = 0.0;
+                    }
+                    accumulator[column] += value * that.values[l];
+                }
+            }
+
+            if (size + count > resultIndices.length) {
+                capacity = Math.max(2 * resultIndices.length, size + count);
+                resultIndices = Arrays.copyOf(resultIndices, capacity);
+                resultValues = Arrays.copyOf(resultValues, capacity);
+            }
+
+            Arrays.sort(touched, 0, count);
+
+            for (int k = 0; k < count; k++) {
+                int column = touched[k];
+                if (accumulator[column] != 0.0) {
+                    resultIndices[size] = column;
+                    resultValues[size++] = accumulator[column];
+                }
+            }
+
+            resultPointers[i + 1] = size;
+        }
+
+        return new CompressedRows(rows, that.columns, resultPointers,
+                                  Arrays.copyOf(resultIndices, size), Arrays.copyOf(resultValues, size));
+    }
+
+    /**
+     * Checks whether this matrix is symmetric up to the given relative
+     * {@code tolerance}.
+     */
+    boolean isSymmetric(double tolerance) {
+        if (rows != columns) {
+            return false;
+        }
+
+        CompressedRows transposed = transpose();
+
+        for (int i = 0; i < rows; i++) {
+            if (pointers[i + 1] != transposed.pointers[i + 1]) {
+                return false;
+            }
+
+            for (int k = pointers[i]; k < pointers[i + 1]; k++) {
+                double a = values[k];
+                double b = transposed.values[k];
+
+                if (indices[k] != transposed.indices[k]
+                        || Math.abs(a - b) > tolerance * Math.max(Math.abs(a), Math.abs(b))) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+}
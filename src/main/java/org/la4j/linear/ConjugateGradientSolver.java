@@ -0,0 +1,112 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import org.la4j.Matrix;
+
+/**
+ * The preconditioned conjugate gradient method for symmetric positive-definite
+ * systems. Each iteration costs one sparse matrix-vector product, one
+ * preconditioner application and a few in-place vector updates.
+ */
+public class ConjugateGradientSolver extends AbstractIterativeSolver {
+
+    private static final long serialVersionUID = 4071505L;
+
+    // the relative tolerance of the symmetry check
+    private static final double SYMMETRY_TOLERANCE = 1e-10;
+
+    private final Preconditioner preconditioner;
+
+    public ConjugateGradientSolver(Matrix a) {
+        super(a, DEFAULT_TOLERANCE, defaultMaxIterations(a));
+        this.preconditioner = new JacobiPreconditioner(matrix);
+    }
+
+    public ConjugateGradientSolver(Matrix a, Preconditioner preconditioner) {
+        this(a, preconditioner, DEFAULT_TOLERANCE, defaultMaxIterations(a));
+    }
+
+    public ConjugateGradientSolver(Matrix a, Preconditioner preconditioner, double tolerance, int maxIterations) {
+        super(a, tolerance, maxIterations);
+        this.preconditioner = preconditioner;
+    }
+
+    @Override
+    protected double iterate(double[] rhs, double norm, double[] x, History history) {
+        int n = unknowns;
+
+        double[] r = rhs.clone();
+        double[] z = new double[n];
+        double[] p = new double[n];
+        double[] q = new double[n];
+
+        preconditioner.apply(r, z);
+        System.arraycopy(z, 0, p, 0, n);
+
+        double rz = dot(r, z);
+        double residual = 1.0;
+
+        while (history.size() < maxIterations) {
+            matrix.multiply(p, q);
+            double pq = dot(p, q);
+
+            if (!(pq > 0.0)) {
+                fail("This system can not be solved: coefficient matrix is not positive definite.");
+            }
+
+            double alpha = rz / pq;
+            for (int i = 0; i < n; i++) {
+                x[i] += alpha * p[i];
+                r[i] -= alpha * q[i];
+            }
+
+            residual = norm(r) / norm;
+            history.add(residual);
+
+            if (residual <= tolerance) {
+                break;
+            }
+
+            preconditioner.apply(r, z);
+            double rzNext = dot(r, z);
+            double beta = rzNext / rz;
+            rz = rzNext;
+
+            for (int i = 0; i < n; i++) {
+                p[i] = z[i] + beta * p[i];
+            }
+        }
+
+        return residual;
+    }
+
+    @Override
+    public boolean applicableTo(Matrix matrix) {
+        return applicableTo(matrix, CompressedRows.of(matrix));
+    }
+
+    @Override
+    protected boolean applicableTo(Matrix matrix, CompressedRows rows) {
+        return rows.isSymmetric(SYMMETRY_TOLERANCE);
+    }
+}
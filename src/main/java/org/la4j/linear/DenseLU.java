@@ -0,0 +1,197 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import java.io.Serializable;
+
+/**
+ * Packed LU factors of a square matrix with row pivoting: the strictly lower
+ * part holds the unit lower triangular factor L, the upper part holds U and
+ * {@code P*A = L*U}, where the i-th row of {@code P*A} is the row
+ * {@code pivots[i]} of A. The factors are kept in row-major arrays, so that
+ * solving a system only takes the forward and the back substitution.
+ */
+final class DenseLU implements Serializable {
+
+    private static final long serialVersionUID = 4071505L;
+
+    private final double[][] lu;
+    private final int[] pivots;
+
+    DenseLU(double[][] lu, int[] pivots) {
+        this.lu = lu;
+        this.pivots = pivots;
+    }
+
+    /**
+     * Factorizes the given square {@code matrix} in place with partial pivoting.
+     *
+     * @return the factors or {@code null} if there is no non-zero pivot for
+     *         some column
+     */
+    static DenseLU factorize(double[][] matrix) {
+        int n = matrix.length;
+        int[] permutation = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            permutation[i] = i;
+        }
+
+        for (int i = 0; i + 1 < n; i++) {
+
+            int maxIndex = i;
+            double maxItem = Math.abs(matrix[i][i]);
+
+            for (int k = i + 1; k < n; k++) {
+                double value = Math.abs(matrix[k][i]);
+                if (value > maxItem) {
+                    maxItem = value;
+                    maxIndex = k;
+                }
+            }
+
+            if (maxItem == 0.0) {
+                return null;
+            }
+
+            if (maxIndex > i) {
+                double[] row = matrix[maxIndex];
+                matrix[maxIndex] = matrix[i];
+                matrix[i] = row;
+
+                int index = permutation[maxIndex];
+                permutation[maxIndex] = permutation[i];
+                permutation[i] = index;
+            }
+
+            for (int j = i + 1; j < n; j++) {
+                double c = matrix[j][i] / matrix[i][i];
+                matrix[j][i] = c;
+
+                for (int k = i + 1; k < n; k++) {
+                    matrix[j][k] -= matrix[i][k] * c;
+                }
+            }
+        }
+
+        return new DenseLU(matrix, permutation);
+    }
+
+    /**
+     * Checks whether U has a zero on its diagonal.
+     */
+    boolean isSingular() {
+        for (int i = 0; i < lu.length; i++) {
+            if (lu[i][i] == 0.0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the product of the diagonal elements of U.
+     */
+    double diagonalProduct() {
+        double result = 1.0;
+        for (int i = 0; i < lu.length; i++) {
+            result *= lu[i][i];
+        }
+
+        return result;
+    }
+
+    /**
+     * Solves {@code A*x = b}.
+     */
+    double[] solve(double[] b) {
+        int n = lu.length;
+        double[] x = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            x[i] = b[pivots[i]];
+        }
+
+        for (int i = 0; i < n; i++) {
+            double acc = x[i];
+            for (int j = 0; j < i; j++) {
+                acc -= lu[i][j] * x[j];
+            }
+            x[i] = acc;
+        }
+
+        for (int i = n - 1; i >= 0; i--) {
+            double acc = x[i];
+            for (int j = i + 1; j < n; j++) {
+                acc -= lu[i][j] * x[j];
+            }
+            x[i] = acc / lu[i][i];
+        }
+
+        return x;
+    }
+
+    /**
+     * Solves {@code A*X = B}, where both {@code X} and {@code B} are given by
+     * rows. The rows of {@code b} are reused for {@code X}.
+     */
+    double[][] solve(double[][] b) {
+        int n = lu.length;
+        double[][] x = new double[n][];
+
+        for (int i = 0; i < n; i++) {
+            x[i] = b[pivots[i]];
+        }
+
+        // the substitutions combine whole rows of X, so that the inner loops
+        // run over contiguous memory for all the right hand sides at once
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < i; j++) {
+                axpy(-lu[i][j], x[j], x[i]);
+            }
+        }
+
+        for (int i = n - 1; i >= 0; i--) {
+            for (int j = i + 1; j < n; j++) {
+                axpy(-lu[i][j], x[j], x[i]);
+            }
+            scale(1.0 / lu[i][i], x[i]);
+        }
+
+        return x;
+    }
+
+    static void axpy(double alpha, double[] x, double[] y) {
+        if (alpha != 0.0) {
+            for (int k = 0; k < y.length; k++) {
+                y[k] += alpha * x[k];
+            }
+        }
+    }
+
+    static void scale(double alpha, double[] x) {
+        for (int k = 0; k < x.length; k++) {
+            x[k] *= alpha;
+        }
+    }
+}
@@ -21,71 +21,44 @@
 
 package org.la4j.linear;
 
-import org.la4j.LinearAlgebra;
-import org.la4j.decomposition.MatrixDecompositor;
+import org.la4j.decomposition.LUResult;
+import org.la4j.decomposition.RawLUDecompositor;
 import org.la4j.Matrix;
 import org.la4j.Vector;
-import org.la4j.Vectors;
 
 public class ForwardBackSubstitutionSolver extends AbstractSolver implements LinearSystemSolver {
 
     private static final long serialVersionUID = 4071505L;
 
-    // Matrices from RAW_LU decomposition
-    private final Matrix lu;
-    private final Matrix p;
+    // the packed factors from RAW_LU decomposition
+    private final LUResult lu;
 
     public ForwardBackSubstitutionSolver(Matrix a) {
         super(a);
 
-        // we use Raw LU for this
-        MatrixDecompositor decompositor = a.withDecompositor(LinearAlgebra.RAW_LU);
-        Matrix[] lup = decompositor.decompose();
-
-        // TODO: it doesn't look safe.
-        this.lu = lup[0];
-        this.p = lup[1];
+        this.lu = new RawLUDecompositor(a).factorize();
     }
 
     @Override
     public Vector solve(Vector b) {
         ensureRHSIsCorrect(b);
+        ensureNonSingular();
 
-        int n = unknowns();
-
-        // checks whether the lu matrix is singular or not
-        for (int i = 0; i < n; i++) {
-            if (lu.get(i, i) == 0.0) {
-                fail("This system can not be solved: coefficient matrix is singular.");
-            }
-        }
-
-        Vector x = b.blankOfLength(n);
-
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                if (p.get(i, j) != 0.0) {
-                    x.set(i, b.get(j));
-                    break;
-                }
-            }
-        }
+        return lu.solve(b);
+    }
 
-        for (int j = 0; j < n; j++) {
-            for (int i = j + 1; i < n; i++) {
-                x.updateAt(i, Vectors.asMinusFunction(x.get(j) * lu.get(i, j)));
-            }
-        }
+    @Override
+    public Matrix solve(Matrix b) {
+        ensureRHSIsCorrect(b);
+        ensureNonSingular();
 
-        for (int j = n - 1; j >= 0; j--) {
-            x.updateAt(j, Vectors.asDivFunction(lu.get(j, j)));
+        return lu.solve(b);
+    }
 
-            for (int i = 0; i < j; i++) {
-                x.updateAt(i, Vectors.asMinusFunction(x.get(j) * lu.get(i, j)));
-            }
+    private void ensureNonSingular() {
+        if (lu.isSingular()) {
+            fail("This system can not be solved: coefficient matrix is singular.");
         }
-
-        return x;
     }
 
     @Override
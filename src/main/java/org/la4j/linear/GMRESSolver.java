@@ -0,0 +1,190 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import java.util.Arrays;
+
+import org.la4j.Matrix;
+
+/**
+ * The restarted generalized minimal residual method GMRES(m) for general
+ * (non-symmetric) systems. The Krylov basis is built with the modified
+ * Gram-Schmidt process and the least squares problem is solved with Givens
+ * rotations. The preconditioner is applied from the right, so the residual
+ * being minimized is the residual of the original system.
+ */
+public class GMRESSolver extends AbstractIterativeSolver {
+
+    private static final long serialVersionUID = 4071505L;
+
+    /**
+     * The default number of iterations between restarts.
+     */
+    public static final int DEFAULT_RESTART = 30;
+
+    private final Preconditioner preconditioner;
+    private final int restart;
+
+    public GMRESSolver(Matrix a) {
+        super(a, DEFAULT_TOLERANCE, defaultMaxIterations(a));
+        this.preconditioner = null;
+        this.restart = Math.max(1, Math.min(DEFAULT_RESTART, a.rows()));
+    }
+
+    public GMRESSolver(Matrix a, Preconditioner preconditioner) {
+        this(a, preconditioner, DEFAULT_RESTART, DEFAULT_TOLERANCE, defaultMaxIterations(a));
+    }
+
+    public GMRESSolver(Matrix a, Preconditioner preconditioner, int restart, double tolerance, int maxIterations) {
+        super(a, tolerance, maxIterations);
+
+        if (restart <= 0) {
+            fail("Restart should be positive: " + restart + ".");
+        }
+
+        this.preconditioner = preconditioner;
+        this.restart = Math.max(1, Math.min(restart, a.rows()));
+    }
+
+    @Override
+    protected double iterate(double[] rhs, double norm, double[] x, History history) {
+        int n = unknowns;
+        int m = restart;
+
+        double[][] v = new double[m + 1][n];
+        double[][] h = new double[m + 1][m];
+        double[] cs = new double[m];
+        double[] sn = new double[m];
+        double[] g = new double[m + 1];
+        double[] y = new double[m];
+        double[] w = new double[n];
+        double[] z = new double[n];
+        double[] r = new double[n];
+
+        System.arraycopy(rhs, 0, r, 0, n);
+        double beta = norm;
+        double residual = 1.0;
+
+        while (history.size() < maxIterations) {
+            for (int i = 0; i < n; i++) {
+                v[0][i] = r[i] / beta;
+            }
+
+            Arrays.fill(g, 0.0);
+            g[0] = beta;
+
+            int k = 0;
+            while (k < m && history.size() < maxIterations) {
+                // w = A * M^-1 * v_k
+                precondition(v[k], z);
+                matrix.multiply(z, w);
+
+                for (int i = 0; i <= k; i++) {
+                    double hik = dot(w, v[i]);
+                    h[i][k] = hik;
+                    for (int l = 0; l < n; l++) {
+                        w[l] -= hik * v[i][l];
+                    }
+                }
+
+                double hNext = norm(w);
+                h[k + 1][k] = hNext;
+
+                if (hNext != 0.0) {
+                    for (int l = 0; l < n; l++) {
+                        v[k + 1][l] = w[l] / hNext;
+                    }
+                }
+
+                // apply the previous rotations to the new column
+                for (int i = 0; i < k; i++) {
+                    double temp = cs[i] * h[i][k] + sn[i] * h[i + 1][k];
+                    h[i + 1][k] = -sn[i] * h[i][k] + cs[i] * h[i + 1][k];
+                    h[i][k] = temp;
+                }
+
+                double hypot = Math.hypot(h[k][k], h[k + 1][k]);
+                cs[k] = h[k][k] / hypot;
+                sn[k] = h[k + 1][k] / hypot;
+                h[k][k] = hypot;
+                h[k + 1][k] = 0.0;
+
+                g[k + 1] = -sn[k] * g[k];
+                g[k] = cs[k] * g[k];
+
+                k++;
+                residual = Math.abs(g[k]) / norm;
+                history.add(residual);
+
+                if (residual <= tolerance || hNext == 0.0) {
+                    break;
+                }
+            }
+
+            // solve the upper triangular system H * y = g
+            for (int i = k - 1; i >= 0; i--) {
+                double acc = g[i];
+                for (int j = i + 1; j < k; j++) {
+                    acc -= h[i][j] * y[j];
+                }
+                y[i] = acc / h[i][i];
+            }
+
+            // x = x + M^-1 * V * y
+            Arrays.fill(w, 0.0);
+            for (int i = 0; i < k; i++) {
+                for (int l = 0; l < n; l++) {
+                    w[l] += y[i] * v[i][l];
+                }
+            }
+
+            precondition(w, z);
+            for (int l = 0; l < n; l++) {
+                x[l] += z[l];
+            }
+
+            // the estimate may drift away, so restarts use the true residual
+            residual(rhs, x, r);
+            beta = norm(r);
+            residual = beta / norm;
+
+            if (residual <= tolerance || beta == 0.0) {
+                break;
+            }
+        }
+
+        return residual;
+    }
+
+    @Override
+    public boolean applicableTo(Matrix matrix) {
+        return matrix.rows() == matrix.columns();
+    }
+
+    private void precondition(double[] r, double[] z) {
+        if (preconditioner == null) {
+            System.arraycopy(r, 0, z, 0, r.length);
+        } else {
+            preconditioner.apply(r, z);
+        }
+    }
+}
@@ -35,83 +35,45 @@ public class GaussianSolver extends AbstractSolver implements LinearSystemSolver
 
     private static final long serialVersionUID = 4071505L;
 
-    // augmented matrix
-    private final Matrix aa;
+    // the LU factors with partial pivoting, computed by the first solve
+    private DenseLU lu;
 
     public GaussianSolver(Matrix a) {
         super(a);
-
-        this.aa = a.copyOfColumns(unknowns() + 1);
     }
 
     @Override
     public Vector solve(Vector b) {
         ensureRHSIsCorrect(b);
+        factorize();
 
-        // extend augmented matrix
-        aa.setColumn(unknowns(), b);
-
-        // the 1st phase
-        triangularizeWithPivoting(aa);
-
-        if (Math.abs(aa.diagonalProduct()) < Matrices.EPS) {
-            fail("This system is singular.");
-        }
-
-        // the 2nd phase
-        Vector x = b.blankOfLength(aa.columns() - 1);
-        backSubstitution(aa, x);
-
-        return x;
+        return fromArray(b, lu.solve(toArray(b)));
     }
 
-    private void triangularizeWithPivoting(Matrix matrix) {
-
-        for (int i = 0; i + 1 < matrix.rows(); i++) {
-
-            int maxIndex = i;
-            double maxItem = Math.abs(matrix.get(i, i));
-
-            for (int k = i + 1; k < matrix.rows(); k++) {
-                double value = Math.abs(matrix.get(k, i));
-                if (value > maxItem) {
-                    maxItem = value;
-                    maxIndex = k;
-                }
-            }
-
-            if (maxItem == 0.0) {
-                throw new IllegalArgumentException("This system can't be solved.");
-            }
-
-            if (maxIndex > i) {
-                matrix.swapRows(maxIndex, i);
-            }
-
-            for (int j = i + 1; j < matrix.rows(); j++) {
-
-                double c = matrix.get(j, i) / matrix.get(i, i);
-                matrix.set(j, i, 0.0);
+    @Override
+    public Matrix solve(Matrix b) {
+        ensureRHSIsCorrect(b);
+        factorize();
 
-                for (int k = i + 1; k < matrix.columns(); k++) {
-                    matrix.updateAt(j, k, Matrices.asMinusFunction(matrix.get(i, k) * c));
-                }
-            }
-        }
+        return fromRows(b, lu.solve(toRows(b)), unknowns());
     }
 
-    private void backSubstitution(Matrix matrix, Vector result) {
+    private void factorize() {
+        if (lu != null) {
+            return;
+        }
 
-        for (int i = matrix.rows() - 1; i >= 0; i--) {
+        DenseLU result = DenseLU.factorize(toRows(a));
 
-            double acc = 0.0;
-            for (int j = i + 1; j < matrix.columns() - 1; j++) {
-                acc += result.get(j) * matrix.get(i, j);
-            }
+        if (result == null) {
+            throw new IllegalArgumentException("This system can't be solved.");
+        }
 
-            result.set(i, (matrix.get(i, matrix.columns() - 1) - acc)
-                       / matrix.get(i, i));
+        if (Math.abs(result.diagonalProduct()) < Matrices.EPS) {
+            fail("This system is singular.");
         }
+
+        this.lu = result;
     }
 
     @Override
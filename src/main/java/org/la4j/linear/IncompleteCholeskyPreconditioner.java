@@ -0,0 +1,152 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import org.la4j.Matrix;
+
+/**
+ * The zero fill-in incomplete Cholesky preconditioner IC(0): {@code M = L * L^T},
+ * where {@code L} has the sparsity pattern of the lower triangle of {@code A}.
+ *
+ * When the factorization breaks down (which may happen for SPD matrices that
+ * are not M-matrices), the diagonal is shifted by a growing factor and the
+ * factorization is restarted.
+ */
+public class IncompleteCholeskyPreconditioner implements Preconditioner {
+
+    private static final long serialVersionUID = 4071505L;
+
+    private static final int MAXIMUM_SHIFTS = 20;
+
+    private final int size;
+    private final int[] pointers;
+    private final int[] indices;
+    private final double[] values;
+
+    public IncompleteCholeskyPreconditioner(Matrix a) {
+        this(CompressedRows.of(a));
+    }
+
+    IncompleteCholeskyPreconditioner(CompressedRows a) {
+        if (a.rows != a.columns) {
+            throw new IllegalArgumentException("Incomplete Cholesky preconditioner requires a square matrix.");
+        }
+
+        this.size = a.rows;
+        this.pointers = new int[size + 1];
+
+        // the lower triangle, each row ends with its diagonal element
+        for (int i = 0; i < size; i++) {
+            int count = 1;
+            for (int k = a.pointers[i]; k < a.pointers[i + 1] && a.indices[k] < i; k++) {
+                count++;
+            }
+            pointers[i + 1] = pointers[i] + count;
+        }
+
+        this.indices = new int[pointers[size]];
+        double[] lower = new double[pointers[size]];
+
+        for (int i = 0; i < size; i++) {
+            int position = pointers[i];
+            for (int k = a.pointers[i]; k < a.pointers[i + 1] && a.indices[k] < i; k++) {
+                indices[position] = a.indices[k];
+                lower[position++] = a.values[k];
+            }
+
+            int diagonal = a.find(i, i);
+            indices[position] = i;
+            lower[position] = diagonal < 0 ? 0.0 : a.values[diagonal];
+        }
+
+        this.values = new double[lower.length];
+
+        double shift = 0.0;
+        for (int attempt = 0; !factorize(lower, shift); attempt++) {
+            if (attempt == MAXIMUM_SHIFTS) {
+                throw new IllegalArgumentException("Incomplete Cholesky factorization breaks down: "
+                        + "the matrix is not positive definite.");
+            }
+            shift = shift == 0.0 ? 1e-3 : shift * 2.0;
+        }
+    }
+
+    private boolean factorize(double[] lower, double shift) {
+        for (int i = 0; i < size; i++) {
+            int diagonal = pointers[i + 1] - 1;
+            double sum = 0.0;
+
+            for (int p = pointers[i]; p < diagonal; p++) {
+                int k = indices[p];
+                int kDiagonal = pointers[k + 1] - 1;
+
+                // the sparse dot product of rows i and k to the left of column k
+                double acc = lower[p];
+                int q = pointers[i];
+                int r = pointers[k];
+                while (q < p && r < kDiagonal) {
+                    if (indices[q] == indices[r]) {
+                        acc -= values[q++] * values[r++];
+                    } else if (indices[q] < indices[r]) {
+                        q++;
+                    } else {
+                        r++;
+                    }
+                }
+
+                values[p] = acc / values[kDiagonal];
+                sum += values[p] * values[p];
+            }
+
+            double d = lower[diagonal] * (1.0 + shift) - sum;
+            if (!(d > 0.0)) {
+                return false;
+            }
+
+            values[diagonal] = Math.sqrt(d);
+        }
+
+        return true;
+    }
+
+    @Override
+    public void apply(double[] r, double[] z) {
+        // forward substitution: L * y = r
+        for (int i = 0; i < size; i++) {
+            int diagonal = pointers[i + 1] - 1;
+            double acc = r[i];
+            for (int p = pointers[i]; p < diagonal; p++) {
+                acc -= values[p] * z[indices[p]];
+            }
+            z[i] = acc / values[diagonal];
+        }
+
+        // back substitution: L^T * z = y
+        for (int i = size - 1; i >= 0; i--) {
+            int diagonal = pointers[i + 1] - 1;
+            z[i] /= values[diagonal];
+            for (int p = pointers[i]; p < diagonal; p++) {
+                z[indices[p]] -= values[p] * z[i];
+            }
+        }
+    }
+}
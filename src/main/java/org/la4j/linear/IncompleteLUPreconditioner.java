@@ -0,0 +1,120 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import java.util.Arrays;
+
+import org.la4j.Matrix;
+
+/**
+ * The zero fill-in incomplete LU preconditioner ILU(0): {@code M = L * U}, where
+ * the unit lower triangular {@code L} and the upper triangular {@code U} have
+ * the sparsity pattern of {@code A}.
+ */
+public class IncompleteLUPreconditioner implements Preconditioner {
+
+    private static final long serialVersionUID = 4071505L;
+
+    private final CompressedRows lu;
+    private final int[] diagonal;
+
+    public IncompleteLUPreconditioner(Matrix a) {
+        this(CompressedRows.of(a));
+    }
+
+    IncompleteLUPreconditioner(CompressedRows a) {
+        if (a.rows != a.columns) {
+            throw new IllegalArgumentException("Incomplete LU preconditioner requires a square matrix.");
+        }
+
+        // the factors are stored in a copy of A: L below the diagonal and U on and above it
+        this.lu = new CompressedRows(a.rows, a.columns, a.pointers, a.indices, a.values.clone());
+        this.diagonal = lu.diagonalPositions();
+
+        int n = lu.rows;
+        int[] positions = new int[n];
+        Arrays.fill(positions, -1);
+
+        for (int i = 0; i < n; i++) {
+            if (diagonal[i] < 0) {
+                throw new IllegalArgumentException("Incomplete LU preconditioner can not be used with a zero on the diagonal.");
+            }
+
+            for (int p = lu.pointers[i]; p < lu.pointers[i + 1]; p++) {
+                positions[lu.indices[p]] = p;
+            }
+
+            for (int p = lu.pointers[i]; p < diagonal[i]; p++) {
+                int k = lu.indices[p];
+                double pivot = lu.values[diagonal[k]];
+
+                if (pivot == 0.0) {
+                    throw new IllegalArgumentException("Incomplete LU factorization breaks down: zero pivot in row " + k + ".");
+                }
+
+                double factor = lu.values[p] / pivot;
+                lu.values[p] = factor;
+
+                // the fill-in outside of the pattern of row i is dropped
+                for (int q = diagonal[k] + 1; q < lu.pointers[k + 1]; q++) {
+                    int position = positions[lu.indices[q]];
+                    if (position >= 0) {
+                        lu.values[position] -= factor * lu.values[q];
+                    }
+                }
+            }
+
+            for (int p = lu.pointers[i]; p < lu.pointers[i + 1]; p++) {
+                positions[lu.indices[p]] = -1;
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (lu.values[diagonal[i]] == 0.0) {
+                throw new IllegalArgumentException("Incomplete LU factorization breaks down: zero pivot in row " + i + ".");
+            }
+        }
+    }
+
+    @Override
+    public void apply(double[] r, double[] z) {
+        int n = lu.rows;
+
+        // forward substitution: L * y = r
+        for (int i = 0; i < n; i++) {
+            double acc = r[i];
+            for (int p = lu.pointers[i]; p < diagonal[i]; p++) {
+                acc -= lu.values[p] * z[lu.indices[p]];
+            }
+            z[i] = acc;
+        }
+
+        // back substitution: U * z = y
+        for (int i = n - 1; i >= 0; i--) {
+            double acc = z[i];
+            for (int p = diagonal[i] + 1; p < lu.pointers[i + 1]; p++) {
+                acc -= lu.values[p] * z[lu.indices[p]];
+            }
+            z[i] = acc / lu.values[diagonal[i]];
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import org.la4j.Vector;
+
+/**
+ * The outcome of an iterative solver: the approximate solution along with the
+ * number of iterations made, the relative residual norm reached and the
+ * convergence history.
+ */
+public final class IterativeSolution {
+
+    private final Vector solution;
+    private final int iterations;
+    private final double residual;
+    private final boolean converged;
+    private final double[] history;
+
+    public IterativeSolution(Vector solution, int iterations, double residual, boolean converged,
+                             double[] history) {
+        this.solution = solution;
+        this.iterations = iterations;
+        this.residual = residual;
+        this.converged = converged;
+        this.history = history;
+    }
+
+    /**
+     * Returns the approximate solution.
+     */
+    public Vector solution() {
+        return solution;
+    }
+
+    /**
+     * Returns the number of iterations made.
+     */
+    public int iterations() {
+        return iterations;
+    }
+
+    /**
+     * Returns the relative residual norm {@code ||b - A*x|| / ||b||}.
+     */
+    public double residual() {
+        return residual;
+    }
+
+    /**
+     * Whether the requested tolerance has been reached.
+     */
+    public boolean converged() {
+        return converged;
+    }
+
+    /**
+     * Returns the relative residual norms after each iteration. Solvers that
+     * only estimate the residual between restarts (like GMRES) or by the
+     * update deltas (like the Jacobi and Seidel methods) report the estimates.
+     */
+    public double[] history() {
+        return history.clone();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import org.la4j.Matrix;
+
+/**
+ * The Jacobi (diagonal) preconditioner: {@code M = diag(A)}.
+ */
+public class JacobiPreconditioner implements Preconditioner {
+
+    private static final long serialVersionUID = 4071505L;
+
+    private final double[] inverted;
+
+    public JacobiPreconditioner(Matrix a) {
+        this(CompressedRows.of(a));
+    }
+
+    JacobiPreconditioner(CompressedRows a) {
+        this.inverted = a.diagonal();
+
+        for (int i = 0; i < inverted.length; i++) {
+            if (inverted[i] == 0.0) {
+                throw new IllegalArgumentException("Jacobi preconditioner can not be used with a zero on the diagonal.");
+            }
+            inverted[i] = 1.0 / inverted[i];
+        }
+    }
+
+    @Override
+    public void apply(double[] r, double[] z) {
+        for (int i = 0; i < inverted.length; i++) {
+            z[i] = r[i] * inverted[i];
+        }
+    }
+}
@@ -23,8 +23,6 @@ package org.la4j.linear;
 
 import org.la4j.Matrices;
 import org.la4j.Matrix;
-import org.la4j.matrix.functor.MatrixFunction;
-import org.la4j.Vector;
 
 /**
  * This class represents Jacobi method for solving linear systems. More details
@@ -32,55 +30,65 @@ import org.la4j.Vector;
  * <a href="http://mathworld.wolfram.com/JacobiMethod.html"> here.</a>
  * </p>
  */
-public class JacobiSolver extends AbstractSolver implements LinearSystemSolver {
+public class JacobiSolver extends AbstractIterativeSolver implements LinearSystemSolver {
 
     private static final long serialVersionUID = 4071505L;
 
-    private final Matrix aa;
+    private final double[] diagonal;
 
     public JacobiSolver(Matrix a) {
-        super(a);
-
-        // We need a copy here, since we don't want to change source matrix
-        this.aa = a.copy();
+        this(a, DEFAULT_TOLERANCE, defaultMaxIterations(a));
+    }
 
-        for (int i = 0; i < aa.rows(); i++) {
-            MatrixFunction divider = Matrices.asDivFunction(aa.get(i, i));
-            for (int j = 0; j < aa.columns(); j++) {
-                if (i != j) {
-                    aa.updateAt(i, j, divider);
-                }
-            }
-        }
+    public JacobiSolver(Matrix a, double tolerance, int maxIterations) {
+        super(a, tolerance, maxIterations);
+        this.diagonal = matrix.diagonal();
     }
 
     @Override
-    public Vector solve(Vector b) {
-        ensureRHSIsCorrect(b);
-
-        Vector current =b.blankOfLength(unknowns());
-
-        // while it is not a solution
-        while (!a.multiply(current).equals(b)) {
-
-            Vector next = current.blank();
-
-            for (int i = 0; i < aa.rows(); i++) {
-
-                double acc = b.get(i) / aa.get(i, i);
-                for (int j = 0; j < aa.columns(); j++) {
-                    if (i != j) {
-                        acc -= aa.get(i, j) * current.get(j);
+    protected double iterate(double[] rhs, double norm, double[] x, History history) {
+        int n = unknowns;
+        double[] current = x;
+        double[] next = new double[n];
+        boolean converged = false;
+
+        while (!converged && history.size() < maxIterations) {
+            double acc = 0.0;
+
+            for (int i = 0; i < n; i++) {
+                double sum = rhs[i];
+                for (int k = matrix.pointers[i]; k < matrix.pointers[i + 1]; k++) {
+                    int j = matrix.indices[k];
+                    if (j != i) {
+                        sum -= matrix.values[k] * current[j];
                     }
                 }
 
-                next.set(i, acc);
+                next[i] = sum / diagonal[i];
+
+                // a_ii * (x'_i - x_i) is the i-th component of b - A*x of the
+                // previous iterate, which is used as a cheap residual estimate
+                double r = diagonal[i] * (next[i] - current[i]);
+                acc += r * r;
             }
 
+            double[] temp = current;
             current = next;
+            next = temp;
+
+            double estimate = Math.sqrt(acc) / norm;
+            history.add(estimate);
+
+            // the estimate lags an iteration behind, so the stop is confirmed
+            // by the residual of the iterate itself
+            converged = estimate <= tolerance && relativeResidual(rhs, norm, current) <= tolerance;
+        }
+
+        if (current != x) {
+            System.arraycopy(current, 0, x, 0, n);
         }
 
-        return current;
+        return relativeResidual(rhs, norm, x);
     }
 
     @Override
@@ -36,6 +36,9 @@ import org.la4j.Vector;
 
 public class LeastNormSolver extends AbstractSolver implements LinearSystemSolver {
 
+    // computed by the first solve
+    private Matrix pseudoInverse;
+
     protected LeastNormSolver(Matrix a) {
         super(a);
     }
@@ -44,10 +47,23 @@ public class LeastNormSolver extends AbstractSolver implements LinearSystemSolve
     public Vector solve(Vector b) {
         ensureRHSIsCorrect(b);
 
-        Matrix temp = self().multiply(self().rotate());
-        Matrix pseudoInverse = self().rotate().multiply(temp.withInverter(LinearAlgebra.InverterFactory.GAUSS_JORDAN).inverse());
+        return pseudoInverse().multiply(b);
+    }
+
+    @Override
+    public Matrix solve(Matrix b) {
+        ensureRHSIsCorrect(b);
+
+        return pseudoInverse().multiply(b);
+    }
+
+    private Matrix pseudoInverse() {
+        if (pseudoInverse == null) {
+            Matrix temp = self().multiply(self().rotate());
+            pseudoInverse = self().rotate().multiply(temp.withInverter(LinearAlgebra.InverterFactory.GAUSS_JORDAN).inverse());
+        }
 
-        return pseudoInverse.multiply(b);
+        return pseudoInverse;
     }
 
     @Override
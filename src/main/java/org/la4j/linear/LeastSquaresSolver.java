@@ -21,71 +21,44 @@
 
 package org.la4j.linear;
 
-import org.la4j.LinearAlgebra;
-import org.la4j.decomposition.MatrixDecompositor;
+import org.la4j.decomposition.QRResult;
+import org.la4j.decomposition.RawQRDecompositor;
 import org.la4j.Matrix;
 import org.la4j.Vector;
-import org.la4j.Vectors;
 
 public class LeastSquaresSolver extends AbstractSolver implements LinearSystemSolver {
 
     private static final long serialVersionUID = 4071505L;
 
-    // Matrices from RAW_QR decomposition
-    private final Matrix qr;
-    private final Matrix r;
+    // the blocked Householder QR: Q^T is applied without forming Q
+    private final QRResult qr;
 
     public LeastSquaresSolver(Matrix a) {
         super(a);
 
-        // we use QR for this
-        MatrixDecompositor decompositor = a.withDecompositor(LinearAlgebra.RAW_QR);
-        Matrix[] qrr = decompositor.decompose();
-
-        // TODO: Do something with it.
-        this.qr = qrr[0];
-        this.r = qrr[1];
+        this.qr = new RawQRDecompositor(a).factorize();
     }
 
     @Override
     public Vector solve(Vector b) {
         ensureRHSIsCorrect(b);
+        ensureFullRank();
 
-        int n = unknowns();
-        int m = equations();
-
-        // check whether the matrix is full-rank or not
-        for (int i = 0; i < r.rows(); i++) {
-            if (r.get(i, i) == 0.0) {
-                fail("This system can not be solved: coefficient matrix is rank deficient.");
-            }
-        }
-
-        Vector x = b.copy();
-
-        for (int j = 0; j < n; j++) {
-
-            double acc = 0.0;
-
-            for (int i = j; i < m; i++) {
-                acc += qr.get(i, j) * x.get(i);
-            }
+        return qr.solve(b);
+    }
 
-            acc = -acc / qr.get(j, j);
-            for (int i = j; i < m; i++) {
-                x.updateAt(i, Vectors.asPlusFunction(acc * qr.get(i, j)));
-            }
-        }
+    @Override
+    public Matrix solve(Matrix b) {
+        ensureRHSIsCorrect(b);
+        ensureFullRank();
 
-        for (int j = n - 1; j >= 0; j--) {
-            x.updateAt(j, Vectors.asDivFunction(r.get(j, j)));
+        return qr.solve(b);
+    }
 
-            for (int i = 0; i < j; i++) {
-                x.updateAt(i, Vectors.asMinusFunction(x.get(j) * qr.get(i, j)));
-            }
+    private void ensureFullRank() {
+        if (!qr.isFullRank()) {
+            fail("This system can not be solved: coefficient matrix is rank deficient.");
         }
-
-        return x.slice(0, n);
     }
 
     @Override
@@ -40,6 +40,14 @@ public interface LinearSystemSolver extends Serializable {
      */
     Vector solve(Vector b);
 
+    /**
+     * Solves the system A*X = B for all the columns of {@code b} at once.
+     *
+     * @param b
+     * @return
+     */
+    Matrix solve(Matrix b);
+
     /**
      * Returns the self matrix of the solver.
      *
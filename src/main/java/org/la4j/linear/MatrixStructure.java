@@ -0,0 +1,222 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import java.io.Serializable;
+
+import org.la4j.LinearAlgebra;
+import org.la4j.Matrix;
+
+/**
+ * The structural properties of a matrix, measured in a single pass over its
+ * non-zero elements: the bandwidths, the symmetry, the density and the
+ * diagonal dominance. The {@link LinearAlgebra.SolverFactory#SMART} factory
+ * picks a solver by them, instead of running the full-scan predicates of
+ * every solver.
+ */
+public final class MatrixStructure implements Serializable {
+
+    private static final long serialVersionUID = 4071505L;
+
+    private final int rows;
+    private final int columns;
+    private final int cardinality;
+    private final int lowerBandwidth;
+    private final int upperBandwidth;
+    private final boolean symmetric;
+    private final boolean positiveDiagonal;
+    private final double dominance;
+
+    private MatrixStructure(int rows, int columns, int cardinality, int lowerBandwidth, int upperBandwidth,
+                            boolean symmetric, boolean positiveDiagonal, double dominance) {
+        this.rows = rows;
+        this.columns = columns;
+        this.cardinality = cardinality;
+        this.lowerBandwidth = lowerBandwidth;
+        this.upperBandwidth = upperBandwidth;
+        this.symmetric = symmetric;
+        this.positiveDiagonal = positiveDiagonal;
+        this.dominance = dominance;
+    }
+
+    /**
+     * Measures the structure of the given {@code matrix} in O(nnz) time for
+     * sparse matrices and O(n^2) time for dense ones.
+     *
+     * @param matrix the matrix
+     *
+     * @return the structure of the matrix
+     */
+    public static MatrixStructure of(Matrix matrix) {
+        return of(CompressedRows.of(matrix));
+    }
+
+    static MatrixStructure of(CompressedRows a) {
+        int lower = 0;
+        int upper = 0;
+        boolean positive = a.rows == a.columns;
+        double dominance = a.rows == a.columns ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < a.rows; i++) {
+            double diagonal = 0.0;
+            double rest = 0.0;
+
+            for (int k = a.pointers[i]; k < a.pointers[i + 1]; k++) {
+                int j = a.indices[k];
+                lower = Math.max(lower, i - j);
+                upper = Math.max(upper, j - i);
+
+                if (j == i) {
+                    diagonal = a.values[k];
+                } else {
+                    rest += Math.abs(a.values[k]);
+                }
+            }
+
+            positive = positive && diagonal > 0.0;
+
+            if (a.rows == a.columns) {
+                dominance = Math.min(dominance, diagonal == 0.0 ? Double.NEGATIVE_INFINITY
+                                                                : 1.0 - rest / Math.abs(diagonal));
+            }
+        }
+
+        boolean symmetric = a.rows == a.columns && lower == upper && isSymmetric(a, a.transpose());
+
+        return new MatrixStructure(a.rows, a.columns, a.pointers[a.rows], lower, upper,
+                                   symmetric, positive, a.rows == 0 ? 0.0 : dominance);
+    }
+
+    /**
+     * Merges the sorted rows of {@code a} and its transpose {@code t}, treating
+     * the missing elements as zeros.
+     */
+    private static boolean isSymmetric(CompressedRows a, CompressedRows t) {
+        for (int i = 0; i < a.rows; i++) {
+            int k = a.pointers[i];
+            int l = t.pointers[i];
+
+            while (k < a.pointers[i + 1] || l < t.pointers[i + 1]) {
+                int ja = k < a.pointers[i + 1] ? a.indices[k] : Integer.MAX_VALUE;
+                int jt = l < t.pointers[i + 1] ? t.indices[l] : Integer.MAX_VALUE;
+                double x = ja <= jt ? a.values[k++] : 0.0;
+                double y = jt <= ja ? t.values[l++] : 0.0;
+                double diff = Math.abs(x - y);
+
+                if (diff / Math.max(Math.abs(x), Math.abs(y)) > LinearAlgebra.EPS) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    /**
+     * Returns the number of non-zero elements.
+     *
+     * @return the number of non-zero elements
+     */
+    public int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Returns the ratio of the non-zero elements to all the elements.
+     *
+     * @return the density of the matrix
+     */
+    public double density() {
+        return rows == 0 || columns == 0 ? 0.0 : cardinality / ((double) rows * columns);
+    }
+
+    /**
+     * Returns the largest {@code i - j} over the non-zero elements {@code a_ij}.
+     *
+     * @return the lower bandwidth
+     */
+    public int lowerBandwidth() {
+        return lowerBandwidth;
+    }
+
+    /**
+     * Returns the largest {@code j - i} over the non-zero elements {@code a_ij}.
+     *
+     * @return the upper bandwidth
+     */
+    public int upperBandwidth() {
+        return upperBandwidth;
+    }
+
+    public boolean isSquare() {
+        return rows == columns;
+    }
+
+    public boolean isSymmetric() {
+        return symmetric;
+    }
+
+    public boolean isLowerTriangular() {
+        return isSquare() && upperBandwidth == 0;
+    }
+
+    public boolean isUpperTriangular() {
+        return isSquare() && lowerBandwidth == 0;
+    }
+
+    public boolean isTridiagonal() {
+        return isSquare() && lowerBandwidth <= 1 && upperBandwidth <= 1;
+    }
+
+    /**
+     * Whether all the diagonal elements of a square matrix are positive.
+     *
+     * @return {@code true} if the diagonal is positive
+     */
+    public boolean hasPositiveDiagonal() {
+        return positiveDiagonal;
+    }
+
+    /**
+     * Returns the smallest {@code 1 - sum_j!=i |a_ij| / |a_ii|} over the rows:
+     * a positive value means that the matrix is strictly diagonally dominant by
+     * rows, and the closer it is to 1 the faster the Jacobi and Seidel methods
+     * converge.
+     *
+     * @return the diagonal dominance margin
+     */
+    public double dominance() {
+        return dominance;
+    }
+
+    public boolean isDiagonallyDominant() {
+        return dominance > 0.0;
+    }
+}
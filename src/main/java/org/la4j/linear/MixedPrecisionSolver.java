@@ -0,0 +1,319 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import org.la4j.Matrix;
+import org.la4j.Parallel;
+import org.la4j.Vector;
+
+/**
+ * This class represents a mixed precision solver for dense linear systems: it
+ * factorizes the matrix with a blocked LU in single precision, which halves
+ * the memory traffic of the factorization, and recovers the double precision
+ * accuracy by iterative refinement with the residuals computed in double
+ * precision. If the refinement stalls (on ill-conditioned systems), the
+ * solver falls back to a double precision LU and keeps using it.
+ */
+public class MixedPrecisionSolver extends AbstractSolver implements LinearSystemSolver {
+
+    private static final long serialVersionUID = 4071505L;
+
+    private static final int BLOCK_SIZE = 64;
+
+    private static final int MAX_REFINEMENTS = 30;
+
+    // the rows of the trailing update, that are worth a thread
+    private static final int GRAIN = 64;
+
+    private static final double EPS = Math.ulp(1.0) / 2;
+
+    private double[][] rows;
+    private double threshold;
+
+    // the LU factors in single precision and the original indices of their rows
+    private float[][] lu;
+    private int[] permutation;
+
+    // the double precision factors, once the refinement has stalled
+    private DenseLU fallback;
+
+    public MixedPrecisionSolver(Matrix a) {
+        super(a);
+    }
+
+    @Override
+    public Vector solve(Vector b) {
+        ensureRHSIsCorrect(b);
+        factorize();
+
+        double[] rhs = toArray(b);
+
+        if (fallback == null) {
+            double[] x = refine(rhs);
+            if (x != null) {
+                return fromArray(b, x);
+            }
+
+            factorizeInDoublePrecision();
+        }
+
+        return fromArray(b, fallback.solve(rhs));
+    }
+
+    /**
+     * Whether this solver has fallen back to the double precision factorization.
+     *
+     * @return {@code true} if the double precision factors are used
+     */
+    public boolean usesFullPrecision() {
+        factorize();
+        return fallback != null;
+    }
+
+    /**
+     * Runs the iterative refinement, stopping once the residual is on the level
+     * of the double precision rounding errors.
+     *
+     * @return the solution or {@code null} if the refinement stalled
+     */
+    private double[] refine(double[] b) {
+        int n = rows.length;
+        double[] x = new double[n];
+        double[] r = b.clone();
+        double previous = Double.POSITIVE_INFINITY;
+
+        for (int iteration = 0; iteration <= MAX_REFINEMENTS; iteration++) {
+            double[] d = substitute(r);
+            double xnorm = 0.0;
+
+            for (int i = 0; i < n; i++) {
+                x[i] += d[i];
+                xnorm = Math.max(xnorm, Math.abs(x[i]));
+            }
+
+            double rnorm = 0.0;
+            for (int i = 0; i < n; i++) {
+                double acc = b[i];
+                double[] row = rows[i];
+                for (int j = 0; j < n; j++) {
+                    acc -= row[j] * x[j];
+                }
+                r[i] = acc;
+                rnorm = Math.max(rnorm, Math.abs(acc));
+            }
+
+            if (rnorm <= xnorm * threshold) {
+                return x;
+            }
+
+            // each step should gain at least a bit of accuracy
+            if (Double.isNaN(rnorm) || rnorm > previous / 2) {
+                return null;
+            }
+
+            previous = rnorm;
+        }
+
+        return null;
+    }
+
+    /**
+     * Solves {@code L * U * d = P * r} with the single precision factors.
+     */
+    private double[] substitute(double[] r) {
+        int n = lu.length;
+        double[] d = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            float[] row = lu[i];
+            double acc = r[permutation[i]];
+            for (int j = 0; j < i; j++) {
+                acc -= row[j] * d[j];
+            }
+            d[i] = acc;
+        }
+
+        for (int i = n - 1; i >= 0; i--) {
+            float[] row = lu[i];
+            double acc = d[i];
+            for (int j = i + 1; j < n; j++) {
+                acc -= row[j] * d[j];
+            }
+            d[i] = acc / row[i];
+        }
+
+        return d;
+    }
+
+    private void factorize() {
+        if (rows != null) {
+            return;
+        }
+
+        int n = unknowns();
+        double[][] source = toRows(a);
+        double norm = 0.0;
+
+        float[][] factors = new float[n][n];
+        for (int i = 0; i < n; i++) {
+            double sum = 0.0;
+            for (int j = 0; j < n; j++) {
+                factors[i][j] = (float) source[i][j];
+                sum += Math.abs(source[i][j]);
+            }
+            norm = Math.max(norm, sum);
+        }
+
+        this.rows = source;
+        // the LAPACK's dsgesv criterion: ||r|| <= ||x|| * ||A|| * eps * sqrt(n)
+        this.threshold = norm * EPS * Math.sqrt(n);
+
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) {
+            indices[i] = i;
+        }
+
+        if (norm < Float.MAX_VALUE && decompose(factors, indices)) {
+            this.lu = factors;
+            this.permutation = indices;
+        } else {
+            // doesn't fit the single precision
+            factorizeInDoublePrecision();
+        }
+    }
+
+    private void factorizeInDoublePrecision() {
+        DenseLU result = DenseLU.factorize(copy(rows));
+
+        if (result == null || result.isSingular()) {
+            fail("This system can't be solved.");
+        }
+
+        this.fallback = result;
+        this.lu = null;
+        this.permutation = null;
+    }
+
+    /**
+     * Factorizes the {@code lu} in place with the right-looking blocked LU:
+     * a narrow panel is factorized with partial pivoting and the trailing matrix
+     * is updated with a rank-{@code BLOCK_SIZE} product, which keeps the
+     * updated rows in the cache.
+     *
+     * @return {@code false} if a zero pivot was met
+     */
+    private static boolean decompose(final float[][] lu, int[] indices) {
+        final int n = lu.length;
+
+        for (int from = 0; from < n; from += BLOCK_SIZE) {
+            final int k0 = from;
+            final int k1 = Math.min(from + BLOCK_SIZE, n);
+
+            for (int j = k0; j < k1; j++) {
+                int pivot = j;
+                for (int i = j + 1; i < n; i++) {
+                    if (Math.abs(lu[i][j]) > Math.abs(lu[pivot][j])) {
+                        pivot = i;
+                    }
+                }
+
+                if (lu[pivot][j] == 0.0f) {
+                    return false;
+                }
+
+                if (pivot != j) {
+                    float[] row = lu[pivot];
+                    lu[pivot] = lu[j];
+                    lu[j] = row;
+
+                    int index = indices[pivot];
+                    indices[pivot] = indices[j];
+                    indices[j] = index;
+                }
+
+                float[] top = lu[j];
+                for (int i = j + 1; i < n; i++) {
+                    float[] row = lu[i];
+                    float l = row[j] / top[j];
+                    row[j] = l;
+                    for (int c = j + 1; c < k1; c++) {
+                        row[c] -= l * top[c];
+                    }
+                }
+            }
+
+            // U12 = L11^-1 * A12
+            for (int j = k0; j < k1; j++) {
+                float[] top = lu[j];
+                for (int i = j + 1; i < k1; i++) {
+                    float[] row = lu[i];
+                    float l = row[j];
+                    for (int c = k1; c < n; c++) {
+                        row[c] -= l * top[c];
+                    }
+                }
+            }
+
+            // A22 -= L21 * U12
+            Parallel.RangeProcedure update = new Parallel.RangeProcedure() {
+                @Override
+                public void apply(int first, int until) {
+                    for (int i = first; i < until; i++) {
+                        float[] row = lu[i];
+                        for (int p = k0; p < k1; p++) {
+                            float l = row[p];
+                            if (l != 0.0f) {
+                                float[] top = lu[p];
+                                for (int c = k1; c < n; c++) {
+                                    row[c] -= l * top[c];
+                                }
+                            }
+                        }
+                    }
+                }
+            };
+
+            int trailing = n - k1;
+            if (trailing >= 2 * GRAIN) {
+                Parallel.forRange(k1, n, Math.min(Parallel.THREADS, trailing / GRAIN), update);
+            } else {
+                update.apply(k1, n);
+            }
+        }
+
+        return true;
+    }
+
+    private static double[][] copy(double[][] matrix) {
+        double[][] result = new double[matrix.length][];
+        for (int i = 0; i < matrix.length; i++) {
+            result[i] = matrix[i].clone();
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean applicableTo(Matrix matrix) {
+        return matrix.rows() == matrix.columns();
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import java.util.Arrays;
+
+import org.la4j.Matrices;
+import org.la4j.Matrix;
+import org.la4j.Parallel;
+
+/**
+ * This class represents a multicolor variant of the
+ * <a href="http://mathworld.wolfram.com/Gauss-SeidelMethod.html"> Seidel method
+ * </a> for solving linear systems. The unknowns are split into colors, so that
+ * the unknowns of the same color don't depend on each other and can be updated
+ * concurrently. The colors are swept one after another.
+ */
+public class MulticolorSeidelSolver extends AbstractIterativeSolver implements LinearSystemSolver {
+
+    private static final long serialVersionUID = 4071505L;
+
+    /**
+     * Colors smaller than this are swept by the calling thread.
+     */
+    private static final int GRAIN = 4096;
+
+    private final double[] diagonal;
+    private final int threads;
+
+    // the unknowns grouped by color: order[colors[c]] ... order[colors[c + 1] - 1]
+    private final int[] order;
+    private final int[] colors;
+
+    public MulticolorSeidelSolver(Matrix a) {
+        this(a, DEFAULT_TOLERANCE, defaultMaxIterations(a));
+    }
+
+    public MulticolorSeidelSolver(Matrix a, double tolerance, int maxIterations) {
+        this(a, tolerance, maxIterations, Parallel.THREADS);
+    }
+
+    public MulticolorSeidelSolver(Matrix a, double tolerance, int maxIterations, int threads) {
+        super(a, tolerance, maxIterations);
+
+        if (threads <= 0) {
+            fail("The number of threads should be positive: " + threads + ".");
+        }
+
+        this.diagonal = matrix.diagonal();
+        this.threads = threads;
+
+        int[] color = color(matrix);
+        int count = 0;
+        for (int c: color) {
+            count = Math.max(count, c + 1);
+        }
+
+        this.colors = new int[count + 1];
+        for (int c: color) {
+            colors[c + 1]++;
+        }
+
+        for (int c = 0; c < count; c++) {
+            colors[c + 1] += colors[c];
+        }
+
+        this.order = new int[color.length];
+        int[] next = new int[count];
+        for (int i = 0; i < color.length; i++) {
+            order[colors[color[i]] + next[color[i]]++] = i;
+        }
+    }
+
+    /**
+     * Returns the number of colors the unknowns are split into.
+     *
+     * @return the number of colors
+     */
+    public int colors() {
+        return colors.length - 1;
+    }
+
+    /**
+     * Greedily colors the adjacency graph of the given matrix {@code a}: the
+     * unknowns {@code i} and {@code j} are adjacent if either {@code a_ij} or
+     * {@code a_ji} is non-zero.
+     */
+    private static int[] color(CompressedRows a) {
+        CompressedRows t = a.transpose();
+
+        int n = Math.min(a.rows, a.columns);
+        int[] result = new int[n];
+        // forbidden[c] == i means the color c is taken by a neighbour of i
+        int[] forbidden = new int[n + 1];
+        Arrays.fill(forbidden, -1);
+
+        for (int i = 0; i < n; i++) {
+            forbid(a, i, result, forbidden);
+            forbid(t, i, result, forbidden);
+
+            int c = 0;
+            while (forbidden[c] == i) {
+                c++;
+            }
+
+            result[i] = c;
+        }
+
+        return result;
+    }
+
+    private static void forbid(CompressedRows a, int i, int[] color, int[] forbidden) {
+        for (int k = a.pointers[i]; k < a.pointers[i + 1]; k++) {
+            int j = a.indices[k];
+            if (j < i) {
+                forbidden[color[j]] = i;
+            }
+        }
+    }
+
+    @Override
+    protected double iterate(final double[] rhs, double norm, final double[] x, History history) {
+        final double[] deltas = new double[unknowns];
+        boolean converged = false;
+
+        Parallel.RangeProcedure sweep = new Parallel.RangeProcedure() {
+            @Override
+            public void apply(int from, int until) {
+                sweep(from, until, rhs, x, deltas);
+            }
+        };
+
+        while (!converged && history.size() < maxIterations) {
+            for (int c = 0; c < colors.length - 1; c++) {
+                int from = colors[c];
+                int until = colors[c + 1];
+
+                if (threads == 1 || until - from < GRAIN) {
+                    sweep(from, until, rhs, x, deltas);
+                } else {
+                    Parallel.forRange(from, until, threads, sweep);
+                }
+            }
+
+            double acc = 0.0;
+            for (double delta: deltas) {
+                acc += delta;
+            }
+
+            // the residual components at the time of the updates only
+            // estimate the residual, so the stop is confirmed by the iterate
+            double estimate = Math.sqrt(acc) / norm;
+            history.add(estimate);
+
+            converged = estimate <= tolerance && relativeResidual(rhs, norm, x) <= tolerance;
+        }
+
+        return relativeResidual(rhs, norm, x);
+    }
+
+    /**
+     * Updates the unknowns {@code order[from] ... order[until - 1]}, which are of
+     * the same color, and stores their squared residual components in {@code deltas}.
+     */
+    private void sweep(int from, int until, double[] rhs, double[] x, double[] deltas) {
+        for (int p = from; p < until; p++) {
+            int i = order[p];
+            double sum = rhs[i];
+
+            for (int k = matrix.pointers[i]; k < matrix.pointers[i + 1]; k++) {
+                int j = matrix.indices[k];
+                if (j != i) {
+                    sum -= matrix.values[k] * x[j];
+                }
+            }
+
+            double next = sum / diagonal[i];
+            double r = diagonal[i] * (next - x[i]);
+
+            deltas[i] = r * r;
+            x[i] = next;
+        }
+    }
+
+    @Override
+    public boolean applicableTo(Matrix matrix) {
+        return matrix.is(Matrices.DIAGONALLY_DOMINANT_MATRIX);
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import java.io.Serializable;
+
+/**
+ * A preconditioner {@code M} of an iterative solver: an easy to invert
+ * approximation of the coefficient matrix.
+ */
+public interface Preconditioner extends Serializable {
+
+    /**
+     * Solves the system {@code M * z = r}.
+     *
+     * @param r the right hand side
+     * @param z the array to write the solution into
+     */
+    void apply(double[] r, double[] z);
+}
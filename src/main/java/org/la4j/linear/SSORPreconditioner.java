@@ -0,0 +1,90 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import org.la4j.Matrix;
+
+/**
+ * The symmetric successive over-relaxation (SSOR) preconditioner:
+ * {@code M = w/(2 - w) * (D/w + L) * (D/w)^-1 * (D/w + U)}.
+ */
+public class SSORPreconditioner implements Preconditioner {
+
+    private static final long serialVersionUID = 4071505L;
+
+    private final CompressedRows a;
+    private final int[] diagonal;
+    private final double omega;
+
+    public SSORPreconditioner(Matrix a) {
+        this(a, 1.0);
+    }
+
+    public SSORPreconditioner(Matrix a, double omega) {
+        this(CompressedRows.of(a), omega);
+    }
+
+    SSORPreconditioner(CompressedRows a, double omega) {
+        if (omega <= 0.0 || omega >= 2.0) {
+            throw new IllegalArgumentException("Relaxation factor should be in (0, 2): " + omega + ".");
+        }
+
+        this.a = a;
+        this.diagonal = a.diagonalPositions();
+        this.omega = omega;
+
+        for (int position: diagonal) {
+            if (position < 0 || a.values[position] == 0.0) {
+                throw new IllegalArgumentException("SSOR preconditioner can not be used with a zero on the diagonal.");
+            }
+        }
+    }
+
+    @Override
+    public void apply(double[] r, double[] z) {
+        int n = diagonal.length;
+        double scale = (2.0 - omega) / omega;
+
+        // forward sweep: (D/w + L) * y = r
+        for (int i = 0; i < n; i++) {
+            double acc = r[i];
+            for (int k = a.pointers[i]; k < diagonal[i]; k++) {
+                acc -= a.values[k] * z[a.indices[k]];
+            }
+            z[i] = acc * omega / a.values[diagonal[i]];
+        }
+
+        // scaling: y := (2 - w)/w * (D/w) * y
+        for (int i = 0; i < n; i++) {
+            z[i] *= scale * a.values[diagonal[i]] / omega;
+        }
+
+        // backward sweep: (D/w + U) * z = y
+        for (int i = n - 1; i >= 0; i--) {
+            double acc = z[i];
+            for (int k = diagonal[i] + 1; k < a.pointers[i + 1]; k++) {
+                acc -= a.values[k] * z[a.indices[k]];
+            }
+            z[i] = acc * omega / a.values[diagonal[i]];
+        }
+    }
+}
@@ -23,58 +23,62 @@ package org.la4j.linear;
 
 import org.la4j.Matrices;
 import org.la4j.Matrix;
-import org.la4j.matrix.functor.MatrixFunction;
-import org.la4j.Vector;
 
 /**  
  * This class represents
  * <a href="http://mathworld.wolfram.com/Gauss-SeidelMethod.html"> Seidel method
  * </a> for solving linear systems.
  */
-public class SeidelSolver extends AbstractSolver implements LinearSystemSolver {
+public class SeidelSolver extends AbstractIterativeSolver implements LinearSystemSolver {
 
     private static final long serialVersionUID = 4071505L;
 
-    private final Matrix aa;
+    private final double[] diagonal;
 
     public SeidelSolver(Matrix a) {
-        super(a);
-
-        // We need a copy here, since we don't want to change source matrix
-        this.aa = a.copy();
+        this(a, DEFAULT_TOLERANCE, defaultMaxIterations(a));
+    }
 
-        for (int i = 0; i < aa.rows(); i++) {
-            MatrixFunction divider = Matrices.asDivFunction(aa.get(i, i));
-            for (int j = 0; j < aa.columns(); j++) {
-                if (i != j) {
-                    aa.updateAt(i, j, divider);
-                }
-            }
-        }
+    public SeidelSolver(Matrix a, double tolerance, int maxIterations) {
+        super(a, tolerance, maxIterations);
+        this.diagonal = matrix.diagonal();
     }
 
     @Override
-    public Vector solve(Vector b) {
-        ensureRHSIsCorrect(b);
+    protected double iterate(double[] rhs, double norm, double[] x, History history) {
+        int n = unknowns;
+        boolean converged = false;
+
+        while (!converged && history.size() < maxIterations) {
+            double acc = 0.0;
+
+            for (int i = 0; i < n; i++) {
+                double sum = rhs[i];
+                for (int k = matrix.pointers[i]; k < matrix.pointers[i + 1]; k++) {
+                    int j = matrix.indices[k];
+                    if (j != i) {
+                        sum -= matrix.values[k] * x[j];
+                    }
+                }
 
-        Vector current = b.blankOfLength(unknowns());
+                double next = sum / diagonal[i];
 
-        while (!a.multiply(current).equals(b)) {
+                // a_ii * (x'_i - x_i) is the i-th residual component at the time
+                // of the update, which is used as a cheap residual estimate
+                double r = diagonal[i] * (next - x[i]);
+                acc += r * r;
 
-            for (int i = 0; i < aa.rows(); i++) {
+                x[i] = next;
+            }
 
-                double acc = b.get(i) / aa.get(i, i);
-                for (int j = 0; j < aa.columns(); j++) {
-                    if (i != j) {
-                        acc -= aa.get(i, j) * current.get(j);
-                    }
-                }
+            double estimate = Math.sqrt(acc) / norm;
+            history.add(estimate);
 
-                current.set(i, acc);
-            }
+            // the stop is confirmed by the residual of the iterate itself
+            converged = estimate <= tolerance && relativeResidual(rhs, norm, x) <= tolerance;
         }
 
-        return current;
+        return relativeResidual(rhs, norm, x);
     }
 
     @Override
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import org.la4j.Matrix;
+import org.la4j.Vector;
+import org.la4j.decomposition.SparseCholeskyDecompositor;
+import org.la4j.iterator.MatrixIterator;
+import org.la4j.matrix.SparseMatrix;
+
+/**
+ * This class represents a direct solver for sparse symmetric positive definite
+ * systems, that is based on the {@link SparseCholeskyDecompositor}. The factor
+ * is computed once and every solve takes only the sparse forward and back
+ * substitution.
+ */
+public class SparseCholeskySolver extends AbstractSolver implements LinearSystemSolver {
+
+    private static final long serialVersionUID = 4071505L;
+
+    private final SparseCholeskyDecompositor.Symbolic symbolic;
+
+    // the factor of P * A * P^T = L * L^T by columns with the diagonal first
+    private final int[] pointers;
+    private final int[] indices;
+    private final double[] values;
+
+    // b[i] goes to the row pinv[i]
+    private final int[] pinv;
+
+    public SparseCholeskySolver(Matrix a) {
+        this(a, null);
+    }
+
+    /**
+     * Creates a sparse Cholesky solver that reuses the given symbolic analysis of
+     * a matrix with the same sparsity pattern.
+     *
+     * @param a the coefficient matrix
+     * @param symbolic the symbolic analysis or {@code null} to analyze {@code a}
+     */
+    public SparseCholeskySolver(Matrix a, SparseCholeskyDecompositor.Symbolic symbolic) {
+        super(a);
+
+        SparseCholeskyDecompositor decompositor = new SparseCholeskyDecompositor(a, symbolic);
+        Matrix[] lp = decompositor.decompose();
+
+        int n = unknowns();
+        SparseMatrix l = (SparseMatrix) lp[0];
+
+        this.symbolic = decompositor.symbolic();
+        this.pointers = new int[n + 1];
+        this.indices = new int[l.cardinality()];
+        this.values = new double[l.cardinality()];
+        this.pinv = new int[n];
+
+        MatrixIterator it = l.nonZeroColumnMajorIterator();
+        int k = 0;
+
+        while (it.hasNext()) {
+            values[k] = it.next();
+            indices[k++] = it.rowIndex();
+            pointers[it.columnIndex() + 1]++;
+        }
+
+        for (int j = 0; j < n; j++) {
+            pointers[j + 1] += pointers[j];
+        }
+
+        it = ((SparseMatrix) lp[1]).nonZeroColumnMajorIterator();
+        while (it.hasNext()) {
+            it.next();
+            pinv[it.columnIndex()] = it.rowIndex();
+        }
+    }
+
+    /**
+     * Returns the symbolic analysis of the coefficient matrix, which can be
+     * reused for other matrices with the same sparsity pattern.
+     *
+     * @return the symbolic analysis
+     */
+    public SparseCholeskyDecompositor.Symbolic symbolic() {
+        return symbolic;
+    }
+
+    @Override
+    public Vector solve(Vector b) {
+        ensureRHSIsCorrect(b);
+
+        int n = unknowns();
+        double[] y = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            y[pinv[i]] = b.get(i);
+        }
+
+        for (int j = 0; j < n; j++) {
+            double yj = y[j] / values[pointers[j]];
+            y[j] = yj;
+
+            if (yj != 0.0) {
+                for (int p = pointers[j] + 1; p < pointers[j + 1]; p++) {
+                    y[indices[p]] -= values[p] * yj;
+                }
+            }
+        }
+
+        for (int j = n - 1; j >= 0; j--) {
+            double acc = y[j];
+            for (int p = pointers[j] + 1; p < pointers[j + 1]; p++) {
+                acc -= values[p] * y[indices[p]];
+            }
+            y[j] = acc / values[pointers[j]];
+        }
+
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = y[pinv[i]];
+        }
+
+        return fromArray(b, x);
+    }
+
+    @Override
+    public Matrix solve(Matrix b) {
+        ensureRHSIsCorrect(b);
+
+        int n = unknowns();
+        double[][] bb = toRows(b);
+        double[][] y = new double[n][];
+
+        for (int i = 0; i < n; i++) {
+            y[pinv[i]] = bb[i];
+        }
+
+        for (int j = 0; j < n; j++) {
+            DenseLU.scale(1.0 / values[pointers[j]], y[j]);
+
+            for (int p = pointers[j] + 1; p < pointers[j + 1]; p++) {
+                DenseLU.axpy(-values[p], y[j], y[indices[p]]);
+            }
+        }
+
+        for (int j = n - 1; j >= 0; j--) {
+            for (int p = pointers[j] + 1; p < pointers[j + 1]; p++) {
+                DenseLU.axpy(-values[p], y[indices[p]], y[j]);
+            }
+            DenseLU.scale(1.0 / values[pointers[j]], y[j]);
+        }
+
+        double[][] x = new double[n][];
+        for (int i = 0; i < n; i++) {
+            x[i] = y[pinv[i]];
+        }
+
+        return fromRows(b, x, n);
+    }
+
+    @Override
+    public boolean applicableTo(Matrix matrix) {
+        return matrix.rows() == matrix.columns();
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import org.la4j.Matrix;
+import org.la4j.Vector;
+import org.la4j.decomposition.SparseLUDecompositor;
+import org.la4j.iterator.MatrixIterator;
+import org.la4j.matrix.SparseMatrix;
+
+/**
+ * This class represents a direct solver for sparse square systems, that is
+ * based on the {@link SparseLUDecompositor}. The factors are computed once and
+ * every solve takes only the sparse forward and back substitution.
+ */
+public class SparseLUSolver extends AbstractSolver implements LinearSystemSolver {
+
+    private static final long serialVersionUID = 4071505L;
+
+    private final SparseLUDecompositor.Symbolic symbolic;
+
+    // the factors of P * A * Q = L * U by columns: L has the unit diagonal
+    // first and U has the diagonal last in each column
+    private final int[] lowerPointers;
+    private final int[] lowerIndices;
+    private final double[] lowerValues;
+    private final int[] upperPointers;
+    private final int[] upperIndices;
+    private final double[] upperValues;
+
+    // b[i] goes to the row pinv[i] and the row k of the solution is x[q[k]]
+    private final int[] pinv;
+    private final int[] q;
+
+    public SparseLUSolver(Matrix a) {
+        this(a, null);
+    }
+
+    /**
+     * Creates a sparse LU solver that reuses the given symbolic analysis of a
+     * matrix with the same sparsity pattern.
+     *
+     * @param a the coefficient matrix
+     * @param symbolic the symbolic analysis or {@code null} to analyze {@code a}
+     */
+    public SparseLUSolver(Matrix a, SparseLUDecompositor.Symbolic symbolic) {
+        super(a);
+
+        SparseLUDecompositor decompositor = new SparseLUDecompositor(a, symbolic,
+                SparseLUDecompositor.DEFAULT_THRESHOLD);
+        Matrix[] lupq = decompositor.decompose();
+
+        int n = unknowns();
+        SparseMatrix l = (SparseMatrix) lupq[0];
+        SparseMatrix u = (SparseMatrix) lupq[1];
+
+        this.symbolic = decompositor.symbolic();
+        this.lowerPointers = new int[n + 1];
+        this.lowerIndices = new int[l.cardinality()];
+        this.lowerValues = new double[l.cardinality()];
+        this.upperPointers = new int[n + 1];
+        this.upperIndices = new int[u.cardinality()];
+        this.upperValues = new double[u.cardinality()];
+
+        compress(l, lowerPointers, lowerIndices, lowerValues);
+        compress(u, upperPointers, upperIndices, upperValues);
+
+        this.pinv = new int[n];
+        this.q = new int[n];
+
+        MatrixIterator it = ((SparseMatrix) lupq[2]).nonZeroColumnMajorIterator();
+        while (it.hasNext()) {
+            it.next();
+            pinv[it.columnIndex()] = it.rowIndex();
+        }
+
+        it = ((SparseMatrix) lupq[3]).nonZeroColumnMajorIterator();
+        while (it.hasNext()) {
+            it.next();
+            q[it.columnIndex()] = it.rowIndex();
+        }
+    }
+
+    /**
+     * Returns the symbolic analysis of the coefficient matrix, which can be
+     * reused for other matrices with the same sparsity pattern.
+     *
+     * @return the symbolic analysis
+     */
+    public SparseLUDecompositor.Symbolic symbolic() {
+        return symbolic;
+    }
+
+    private static void compress(SparseMatrix a, int[] pointers, int[] indices, double[] values) {
+        MatrixIterator it = a.nonZeroColumnMajorIterator();
+        int k = 0;
+
+        while (it.hasNext()) {
+            values[k] = it.next();
+            indices[k++] = it.rowIndex();
+            pointers[it.columnIndex() + 1]++;
+        }
+
+        for (int j = 0; j + 1 < pointers.length; j++) {
+            pointers[j + 1] += pointers[j];
+        }
+    }
+
+    @Override
+    public Vector solve(Vector b) {
+        ensureRHSIsCorrect(b);
+
+        int n = unknowns();
+        double[] y = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            y[pinv[i]] = b.get(i);
+        }
+
+        for (int j = 0; j < n; j++) {
+            double yj = y[j];
+            if (yj != 0.0) {
+                for (int p = lowerPointers[j]; p < lowerPointers[j + 1]; p++) {
+                    if (lowerIndices[p] > j) {
+                        y[lowerIndices[p]] -= lowerValues[p] * yj;
+                    }
+                }
+            }
+        }
+
+        for (int j = n - 1; j >= 0; j--) {
+            int diagonal = upperPointers[j + 1] - 1;
+            double yj = y[j] / upperValues[diagonal];
+            y[j] = yj;
+
+            if (yj != 0.0) {
+                for (int p = upperPointers[j]; p < diagonal; p++) {
+                    y[upperIndices[p]] -= upperValues[p] * yj;
+                }
+            }
+        }
+
+        double[] x = new double[n];
+        for (int k = 0; k < n; k++) {
+            x[q[k]] = y[k];
+        }
+
+        return fromArray(b, x);
+    }
+
+    @Override
+    public Matrix solve(Matrix b) {
+        ensureRHSIsCorrect(b);
+
+        int n = unknowns();
+        double[][] bb = toRows(b);
+        double[][] y = new double[n][];
+
+        for (int i = 0; i < n; i++) {
+            y[pinv[i]] = bb[i];
+        }
+
+        for (int j = 0; j < n; j++) {
+            for (int p = lowerPointers[j]; p < lowerPointers[j + 1]; p++) {
+                if (lowerIndices[p] > j) {
+                    DenseLU.axpy(-lowerValues[p], y[j], y[lowerIndices[p]]);
+                }
+            }
+        }
+
+        for (int j = n - 1; j >= 0; j--) {
+            int diagonal = upperPointers[j + 1] - 1;
+            DenseLU.scale(1.0 / upperValues[diagonal], y[j]);
+
+            for (int p = upperPointers[j]; p < diagonal; p++) {
+                DenseLU.axpy(-upperValues[p], y[j], y[upperIndices[p]]);
+            }
+        }
+
+        double[][] x = new double[n][];
+        for (int k = 0; k < n; k++) {
+            x[q[k]] = y[k];
+        }
+
+        return fromRows(b, x, n);
+    }
+
+    @Override
+    public boolean applicableTo(Matrix matrix) {
+        return matrix.rows() == matrix.columns();
+    }
+}
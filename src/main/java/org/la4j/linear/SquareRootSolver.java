@@ -34,6 +34,11 @@ public class SquareRootSolver extends AbstractSolver implements LinearSystemSolv
 
     private static final long serialVersionUID = 4071505L;
 
+    // the factors A = S^T * D * S, computed by the first solve: S is upper
+    // triangular and D is a diagonal of signs
+    private double[][] s;
+    private double[] d;
+
     public SquareRootSolver(Matrix a) {
         super(a);
     }
@@ -41,62 +46,106 @@ public class SquareRootSolver extends AbstractSolver implements LinearSystemSolv
     @Override
     public Vector solve(Vector b) {
         ensureRHSIsCorrect(b);
+        factorize();
 
-        Matrix s = a.blank();
-        Matrix d = a.blank();
-
-        Vector x = b.blankOfLength(unknowns());
-        Vector y = b.blankOfLength(unknowns());
-        Vector z = b.blankOfLength(unknowns());
-
-        for (int i = 0; i < a.rows(); i++) {
+        int n = unknowns();
+        double[] x = toArray(b);
 
-            double dd = 0.0;
+        for (int i = 0; i < n; i++) {
+            double acc = x[i];
             for (int l = 0; l < i; l++) {
-                double sli = s.get(l, i);
-                dd += sli * sli * d.get(l, l);
+                acc -= x[l] * s[l][i];
             }
 
-            d.set(i, i, Math.signum(a.get(i, i) - dd));
-            s.set(i, i, Math.sqrt(Math.abs(a.get(i, i) - dd)));
+            x[i] = acc / s[i][i];
+        }
 
-            if (s.get(i, i) == 0.0) {
-                // TODO: we can try to rearrange the diagonal elements
-                fail("This matrix is singular. We can't solve it.");
+        for (int i = 0; i < n; i++) {
+            x[i] /= d[i];
+        }
+
+        for (int i = n - 1; i >= 0; i--) {
+            double acc = x[i];
+            for (int l = i + 1; l < n; l++) {
+                acc -= x[l] * s[i][l];
             }
 
-            for (int j = i + 1; j < a.columns(); j++) {
+            x[i] = acc / s[i][i];
+        }
 
-                double acc = 0;
-                for (int l = 0; l < i; l++) {
-                    double sli = s.get(l, i);
-                    double slj = s.get(l, j);
-                    acc += sli * slj * d.get(l, l);
-                }
+        return fromArray(b, x);
+    }
 
-                s.set(i, j, (a.get(i, j) - acc) / (s.get(i, i) * d.get(i, i)));
-            }
+    @Override
+    public Matrix solve(Matrix b) {
+        ensureRHSIsCorrect(b);
+        factorize();
 
-            double zz = 0.0;
+        int n = unknowns();
+        double[][] x = toRows(b);
+
+        for (int i = 0; i < n; i++) {
             for (int l = 0; l < i; l++) {
-                zz += z.get(l) * s.get(l, i);
+                DenseLU.axpy(-s[l][i], x[l], x[i]);
+            }
+
+            DenseLU.scale(1.0 / s[i][i], x[i]);
+        }
+
+        for (int i = 0; i < n; i++) {
+            DenseLU.scale(1.0 / d[i], x[i]);
+        }
+
+        for (int i = n - 1; i >= 0; i--) {
+            for (int l = i + 1; l < n; l++) {
+                DenseLU.axpy(-s[i][l], x[l], x[i]);
             }
 
-            z.set(i, (b.get(i) - zz) / s.get(i, i));
-            y.set(i, z.get(i) / d.get(i, i));
+            DenseLU.scale(1.0 / s[i][i], x[i]);
+        }
+
+        return fromRows(b, x, n);
+    }
+
+    private void factorize() {
+        if (s != null) {
+            return;
         }
 
-        for (int i = a.rows() - 1; i >= 0; i--) {
+        int n = unknowns();
+        double[][] aa = toRows(a);
+        double[][] ss = new double[n][n];
+        double[] dd = new double[n];
+
+        for (int i = 0; i < n; i++) {
 
             double acc = 0.0;
-            for (int l = i + 1; l < a.columns(); l++) {
-                acc += x.get(l) * s.get(i, l);
+            for (int l = 0; l < i; l++) {
+                double sli = ss[l][i];
+                acc += sli * sli * dd[l];
             }
 
-            x.set(i, (y.get(i) - acc) / s.get(i, i));
+            dd[i] = Math.signum(aa[i][i] - acc);
+            ss[i][i] = Math.sqrt(Math.abs(aa[i][i] - acc));
+
+            if (ss[i][i] == 0.0) {
+                // TODO: we can try to rearrange the diagonal elements
+                fail("This matrix is singular. We can't solve it.");
+            }
+
+            for (int j = i + 1; j < n; j++) {
+
+                double sum = 0;
+                for (int l = 0; l < i; l++) {
+                    sum += ss[l][i] * ss[l][j] * dd[l];
+                }
+
+                ss[i][j] = (aa[i][j] - sum) / (ss[i][i] * dd[i]);
+            }
         }
 
-        return x;
+        this.d = dd;
+        this.s = ss;
     }
 
     @Override
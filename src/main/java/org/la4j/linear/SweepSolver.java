@@ -24,12 +24,12 @@ package org.la4j.linear;
 import org.la4j.Matrices;
 import org.la4j.Matrix;
 import org.la4j.Vector;
-import org.la4j.Vectors;
 
 /**
  * This class represents <a
  * href="http://en.wikipedia.org/wiki/Tridiagonal_matrix_algorithm"> Sweep (or
- * Tridiagonal matrix, or Thomas) method </a> for solving linear systems.
+ * Tridiagonal matrix, or Thomas) method </a> for solving linear systems. It
+ * takes O(n) time and uses partial pivoting within the band.
  */
 public class SweepSolver extends AbstractSolver implements LinearSystemSolver {
 
@@ -43,53 +43,72 @@ public class SweepSolver extends AbstractSolver implements LinearSystemSolver {
     public Vector solve(Vector b) {
         ensureRHSIsCorrect(b);
 
-        // We need a copy, since the algorithm changes data
-        Matrix aa = a.copy();
-        Vector bb = b.copy();
+        int n = unknowns();
 
-        Vector x = b.blankOfLength(aa.columns());
+        // the three diagonals and the second super-diagonal, that row swaps fill in
+        double[] lower = new double[n];
+        double[] diagonal = new double[n];
+        double[] upper = new double[n];
+        double[] fill = new double[n];
+        double[] x = toArray(b);
 
-        for (int i = 0; i < aa.rows() - 1; i++) {
-
-            double maxItem = Math.abs(aa.get(i, i));
-            int maxIndex = i;
-
-            for (int j = i + 1; j < aa.columns(); j++) {
-                double value = Math.abs(aa.get(j, i));
-                if (value > maxItem) {
-                    maxItem = value;
-                    maxIndex = j;
-                }
+        for (int i = 0; i < n; i++) {
+            diagonal[i] = a.get(i, i);
+            if (i > 0) {
+                lower[i] = a.get(i, i - 1);
             }
-
-            if (maxIndex != i) {
-                aa.swapRows(maxIndex, i);
-                bb.swapElements(i, maxIndex);
+            if (i < n - 1) {
+                upper[i] = a.get(i, i + 1);
             }
+        }
+
+        for (int i = 0; i < n - 1; i++) {
 
-            for (int j = i + 1; j < aa.columns(); j++) {
+            // only the rows i and i + 1 have non-zero elements in the column i
+            if (Math.abs(lower[i + 1]) > Math.abs(diagonal[i])) {
+                double d = diagonal[i];
+                double u = upper[i];
+                double bi = x[i];
 
-                double c = aa.get(j, i) / aa.get(i, i);
-                for (int k = i; k < aa.columns(); k++) {
-                    aa.updateAt(j, k, Matrices.asMinusFunction(aa.get(i, k) * c));
-                }
+                diagonal[i] = lower[i + 1];
+                upper[i] = diagonal[i + 1];
+                fill[i] = upper[i + 1];
+                x[i] = x[i + 1];
 
-                bb.updateAt(j, Vectors.asMinusFunction(bb.get(i) * c));
+                lower[i + 1] = d;
+                diagonal[i + 1] = u;
+                upper[i + 1] = 0.0;
+                x[i + 1] = bi;
             }
+
+            if (diagonal[i] == 0.0) {
+                fail("This system can not be solved: the matrix is singular.");
+            }
+
+            double c = lower[i + 1] / diagonal[i];
+            diagonal[i + 1] -= c * upper[i];
+            upper[i + 1] -= c * fill[i];
+            x[i + 1] -= c * x[i];
         }
 
-        for (int i = aa.rows() - 1; i >= 0; i--) {
+        for (int i = n - 1; i >= 0; i--) {
 
-            double acc = 0.0;
+            if (diagonal[i] == 0.0) {
+                fail("This system can not be solved: the matrix is singular.");
+            }
 
-            for (int j = i + 1; j < aa.columns(); j++) {
-                acc += aa.get(i, j) * x.get(j);
+            double acc = x[i];
+            if (i < n - 1) {
+                acc -= upper[i] * x[i + 1];
+            }
+            if (i < n - 2) {
+                acc -= fill[i] * x[i + 2];
             }
 
-            x.set(i, (bb.get(i) - acc) / aa.get(i, i));
+            x[i] = acc / diagonal[i];
         }
 
-        return x;
+        return fromArray(b, x);
     }
 
     @Override
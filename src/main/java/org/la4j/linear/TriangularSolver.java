@@ -0,0 +1,81 @@
+/*
+ * Copyright 2011-2016, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import org.la4j.Matrix;
+import org.la4j.Vector;
+
+/**
+ * This class represents the forward (or back) substitution for solving
+ * linear systems with a lower (or upper) triangular matrix in O(nnz) time.
+ */
+public class TriangularSolver extends AbstractSolver implements LinearSystemSolver {
+
+    private static final long serialVersionUID = 4071505L;
+
+    private final CompressedRows rows;
+    private final boolean lower;
+
+    public TriangularSolver(Matrix a) {
+        super(a);
+
+        this.rows = CompressedRows.of(a);
+        this.lower = MatrixStructure.of(rows).isLowerTriangular();
+    }
+
+    @Override
+    public Vector solve(Vector b) {
+        ensureRHSIsCorrect(b);
+
+        int n = unknowns();
+        double[] x = toArray(b);
+
+        for (int s = 0; s < n; s++) {
+            int i = lower ? s : n - 1 - s;
+            double acc = x[i];
+            double diagonal = 0.0;
+
+            for (int k = rows.pointers[i]; k < rows.pointers[i + 1]; k++) {
+                int j = rows.indices[k];
+                if (j == i) {
+                    diagonal = rows.values[k];
+                } else {
+                    acc -= rows.values[k] * x[j];
+                }
+            }
+
+            if (diagonal == 0.0) {
+                fail("This system can not be solved: the matrix is singular.");
+            }
+
+            x[i] = acc / diagonal;
+        }
+
+        return fromArray(b, x);
+    }
+
+    @Override
+    public boolean applicableTo(Matrix matrix) {
+        MatrixStructure structure = MatrixStructure.of(matrix);
+        return structure.isLowerTriangular() || structure.isUpperTriangular();
+    }
+}
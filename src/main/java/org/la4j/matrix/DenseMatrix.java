@@ -22,6 +22,7 @@
 package org.la4j.matrix;
 
 import org.la4j.Matrices;
+import org.la4j.io.TextOutput;
 import org.la4j.Matrix;
 import org.la4j.matrix.dense.Basic1DMatrix;
 import org.la4j.matrix.dense.Basic2DMatrix;
@@ -33,6 +34,7 @@ import org.la4j.vector.DenseVector;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Writer;
 import java.text.NumberFormat;
 import java.util.Random;
 
@@ -201,4 +203,38 @@ public abstract class DenseMatrix extends Matrix {
 
         return out.toString();
     }
+
+    @Override
+    public void toMatrixMarket(Writer writer) throws IOException {
+        writeMatrixMarket(writer, -1);
+    }
+
+    @Override
+    public void toMatrixMarket(Writer writer, int precision) throws IOException {
+        if (precision < 0) {
+            throw new IllegalArgumentException("Precision should be non-negative: " + precision + ".");
+        }
+
+        writeMatrixMarket(writer, precision);
+    }
+
+    private void writeMatrixMarket(Writer writer, int precision) throws IOException {
+        TextOutput out = new TextOutput(writer);
+
+        out.append("%%MatrixMarket matrix array real general\n");
+        out.append(rows).append(' ').append(columns).append('\n');
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                double x = get(i, j);
+                if (precision < 0) {
+                    out.append(x);
+                } else {
+                    out.append(x, precision);
+                }
+                out.append('\n');
+            }
+        }
+
+        out.flush();
+    }
 }
@@ -26,6 +26,7 @@ import org.la4j.iterator.MatrixIterator;
 import org.la4j.iterator.RowMajorMatrixIterator;
 import org.la4j.iterator.VectorIterator;
 import org.la4j.Matrices;
+import org.la4j.io.TextOutput;
 import org.la4j.Matrix;
 import org.la4j.matrix.functor.MatrixAccumulator;
 import org.la4j.matrix.functor.MatrixProcedure;
@@ -39,6 +40,7 @@ import org.la4j.vector.SparseVector;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Writer;
 import java.text.NumberFormat;
 import java.util.NoSuchElementException;
 import java.util.Random;
@@ -630,6 +632,45 @@ public abstract class SparseMatrix extends Matrix {
         return out.toString();
     }
 
+    @Override
+    public void toMatrixMarket(Writer writer) throws IOException {
+        writeMatrixMarket(writer, -1);
+    }
+
+    @Override
+    public void toMatrixMarket(Writer writer, int precision) throws IOException {
+        if (precision < 0) {
+            throw new IllegalArgumentException("Precision should be non-negative: " + precision + ".");
+        }
+
+        writeMatrixMarket(writer, precision);
+    }
+
+    private void writeMatrixMarket(Writer writer, int precision) throws IOException {
+        String majority = isRowMajor() ? "row-major" : "column-major";
+        TextOutput out = new TextOutput(writer);
+        MatrixIterator it = nonZeroIterator();
+
+        out.append("%%MatrixMarket matrix coordinate real general ")
+           .append(majority).append('\n');
+        out.append(rows).append(' ').append(columns).append(' ')
+           .append(cardinality).append('\n');
+        while (it.hasNext()) {
+            double x = it.next();
+            int i = it.rowIndex();
+            int j = it.columnIndex();
+            out.append(i + 1).append(' ').append(j + 1).append(' ');
+            if (precision < 0) {
+                out.append(x);
+            } else {
+                out.append(x, precision);
+            }
+            out.append('\n');
+        }
+
+        out.flush();
+    }
+
     protected void ensureCardinalityIsCorrect(long rows, long columns, long cardinality) {
         if (cardinality < 0) {
             fail("Cardinality should be positive: " + cardinality + ".");
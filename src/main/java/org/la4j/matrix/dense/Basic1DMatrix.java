@@ -21,12 +21,17 @@
 
 package org.la4j.matrix.dense;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Arrays;
 import java.util.Random;
 
+import org.la4j.io.ChannelInput;
+import org.la4j.io.ChannelOutput;
 import org.la4j.Matrices;
 import org.la4j.Matrix;
 import org.la4j.matrix.DenseMatrix;
@@ -217,6 +222,31 @@ public class Basic1DMatrix extends DenseMatrix {
         return new Basic1DMatrix(rows, columns, values);
     }
 
+    /**
+     * Reads {@link Basic1DMatrix} from the given {@code channel}. The matrix is
+     * expected in the same format as {@link #fromBinary(byte[])} accepts.
+     * No bytes beyond the encoded matrix are consumed from the channel.
+     *
+     * @param channel the channel to read from
+     *
+     * @return a decoded matrix
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public static Basic1DMatrix readFrom(ReadableByteChannel channel) throws IOException {
+        ChannelInput input = new ChannelInput(channel);
+
+        if (input.readByte() != MATRIX_TAG) {
+            throw new IllegalArgumentException("Can not decode Basic1DMatrix from the given channel.");
+        }
+
+        int rows = input.readInt();
+        int columns = input.readInt();
+        double[] values = new double[rows * columns];
+        input.readDoubles(values, 0, values.length);
+
+        return new Basic1DMatrix(rows, columns, values);
+    }
+
     /**
      * Parses {@link Basic1DMatrix} from the given CSV string.
      *
@@ -240,6 +270,30 @@ public class Basic1DMatrix extends DenseMatrix {
         return Matrix.fromMatrixMarket(is).to(Matrices.BASIC_1D);
     }
 
+    /**
+     * Reads {@link Basic1DMatrix} from the given NumPy {@code .npy} stream.
+     *
+     * @param is the input stream in NumPy format
+     *
+     * @return a decoded matrix
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public static Basic1DMatrix fromNpy(InputStream is) throws IOException {
+        return Matrix.fromNpy(is).to(Matrices.BASIC_1D);
+    }
+
+    /**
+     * Reads {@link Basic1DMatrix} from the given memory-mapped NumPy {@code .npy} file.
+     *
+     * @param file the file in NumPy format
+     *
+     * @return a decoded matrix
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public static Basic1DMatrix fromNpy(File file) throws IOException {
+        return Matrix.fromNpy(file).to(Matrices.BASIC_1D);
+    }
+
     @Override
     public double get(int i, int j) {
         ensureIndexesAreInBounds(i, j);
@@ -357,4 +411,16 @@ public class Basic1DMatrix extends DenseMatrix {
 
         return buffer.array();
     }
+
+    @Override
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        ChannelOutput output = new ChannelOutput(channel);
+
+        output.writeByte(MATRIX_TAG);
+        output.writeInt(rows);
+        output.writeInt(columns);
+        output.writeDoubles(self, 0, rows * columns);
+
+        output.flush();
+    }
 }
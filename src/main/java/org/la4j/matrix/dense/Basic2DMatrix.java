@@ -24,9 +24,13 @@ package org.la4j.matrix.dense;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Arrays;
 import java.util.Random;
 
+import org.la4j.io.ChannelInput;
+import org.la4j.io.ChannelOutput;
 import org.la4j.Matrices;
 import org.la4j.Matrix;
 import org.la4j.matrix.DenseMatrix;
@@ -219,6 +223,34 @@ public class Basic2DMatrix extends DenseMatrix {
         return new Basic2DMatrix(values);
     }
 
+    /**
+     * Reads {@link Basic2DMatrix} from the given {@code channel}. The matrix is
+     * expected in the same format as {@link #fromBinary(byte[])} accepts.
+     * No bytes beyond the encoded matrix are consumed from the channel.
+     *
+     * @param channel the channel to read from
+     *
+     * @return a decoded matrix
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public static Basic2DMatrix readFrom(ReadableByteChannel channel) throws IOException {
+        ChannelInput input = new ChannelInput(channel);
+
+        if (input.readByte() != MATRIX_TAG) {
+            throw new IllegalArgumentException("Can not decode Basic2DMatrix from the given channel.");
+        }
+
+        int rows = input.readInt();
+        int columns = input.readInt();
+        double[][] values = new double[rows][columns];
+
+        for (int i = 0; i < rows; i++) {
+            input.readDoubles(values[i], 0, columns);
+        }
+
+        return new Basic2DMatrix(values);
+    }
+
     /**
      * Parses {@link Basic2DMatrix} from the given CSV string.
      *
@@ -344,4 +376,19 @@ public class Basic2DMatrix extends DenseMatrix {
 
         return buffer.array();
     }
+
+    @Override
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        ChannelOutput output = new ChannelOutput(channel);
+
+        output.writeByte(MATRIX_TAG);
+        output.writeInt(rows);
+        output.writeInt(columns);
+
+        for (int i = 0; i < rows; i++) {
+            output.writeDoubles(self[i], 0, columns);
+        }
+
+        output.flush();
+    }
 }
@@ -25,11 +25,16 @@
 
 package org.la4j.matrix.sparse;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.*;
 
+import org.la4j.io.ChannelInput;
+import org.la4j.io.ChannelOutput;
 import org.la4j.iterator.ColumnMajorMatrixIterator;
 import org.la4j.iterator.VectorIterator;
 import org.la4j.Matrices;
@@ -322,6 +327,37 @@ public class CCSMatrix extends ColumnMajorSparseMatrix {
         return new CCSMatrix(rows, columns, cardinality, values, rowIndices, columnsPointers);
     }
 
+    /**
+     * Reads {@link CCSMatrix} from the given {@code channel}. The matrix is
+     * expected in the same format as {@link #fromBinary(byte[])} accepts.
+     * No bytes beyond the encoded matrix are consumed from the channel.
+     *
+     * @param channel the channel to read from
+     *
+     * @return a decoded matrix
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public static CCSMatrix readFrom(ReadableByteChannel channel) throws IOException {
+        ChannelInput input = new ChannelInput(channel);
+
+        if (input.readByte() != MATRIX_TAG) {
+            throw new IllegalArgumentException("Can not decode CCSMatrix from the given channel.");
+        }
+
+        int rows = input.readInt();
+        int columns = input.readInt();
+        int cardinality = input.readInt();
+
+        int[] rowIndices = new int[cardinality];
+        double[] values = new double[cardinality];
+        int[] columnPointers = new int[columns + 1];
+
+        input.readEntries(rowIndices, values, 0, cardinality);
+        input.readInts(columnPointers, 0, columns + 1);
+
+        return new CCSMatrix(rows, columns, cardinality, values, rowIndices, columnPointers);
+    }
+
     /**
      * Parses {@link CCSMatrix} from the given CSV string.
      *
@@ -345,6 +381,43 @@ public class CCSMatrix extends ColumnMajorSparseMatrix {
         return Matrix.fromMatrixMarket(is).to(Matrices.CCS);
     }
 
+    /**
+     * Parses {@link CCSMatrix} from the given Matrix Market file using all
+     * available cores.
+     *
+     * @param file the file in Matrix Market format
+     *
+     * @return a parsed matrix
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public static CCSMatrix fromMatrixMarket(File file) throws IOException {
+        return Matrix.fromMatrixMarket(file).to(Matrices.CCS);
+    }
+
+    /**
+     * Reads {@link CCSMatrix} from the given SciPy {@code .npz} stream.
+     *
+     * @param is the input stream in NPZ format
+     *
+     * @return a decoded matrix
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public static CCSMatrix fromNpz(InputStream is) throws IOException {
+        return Matrix.fromNpz(is).to(Matrices.CCS);
+    }
+
+    /**
+     * Reads {@link CCSMatrix} from the given SciPy {@code .npz} file.
+     *
+     * @param file the file in NPZ format
+     *
+     * @return a decoded matrix
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public static CCSMatrix fromNpz(File file) throws IOException {
+        return Matrix.fromNpz(file).to(Matrices.CCS);
+    }
+
     @Override
     public double getOrElse(int i, int j, double defaultValue) {
         ensureIndexesAreInBounds(i, j);
@@ -1041,4 +1114,18 @@ public class CCSMatrix extends ColumnMajorSparseMatrix {
 
         return buffer.array();
     }
+
+    @Override
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        ChannelOutput output = new ChannelOutput(channel);
+
+        output.writeByte(MATRIX_TAG);
+        output.writeInt(rows);
+        output.writeInt(columns);
+        output.writeInt(cardinality);
+        output.writeEntries(rowIndices, values, 0, cardinality);
+        output.writeInts(columnPointers, 0, columns + 1);
+
+        output.flush();
+    }
 }
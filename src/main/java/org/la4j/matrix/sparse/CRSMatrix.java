@@ -25,11 +25,16 @@
 
 package org.la4j.matrix.sparse;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.*;
 
+import org.la4j.io.ChannelInput;
+import org.la4j.io.ChannelOutput;
 import org.la4j.iterator.RowMajorMatrixIterator;
 import org.la4j.iterator.VectorIterator;
 import org.la4j.Matrices;
@@ -203,18 +208,13 @@ public class CRSMatrix extends RowMajorSparseMatrix {
      * compressing (copying) the underlying array.
      */
     public static CRSMatrix from1DArray(int rows, int columns, double[] array) {
-        CRSMatrix result = CRSMatrix.zero(rows, columns);
+        Builder builder = new Builder(columns, rows, 0);
 
         for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < columns; j++) {
-                int k = i * columns + j;
-                if (array[k] != 0.0) {
-                    result.set(i, j, array[k]);
-                }
-            }
+            builder.appendDenseRow(array, i * columns);
         }
 
-        return result;
+        return builder.build();
     }
 
     /**
@@ -224,17 +224,30 @@ public class CRSMatrix extends RowMajorSparseMatrix {
     public static CRSMatrix from2DArray(double[][] array) {
         int rows = array.length;
         int columns = array[0].length;
-        CRSMatrix result = CRSMatrix.zero(rows, columns);
+        Builder builder = new Builder(columns, rows, 0);
 
         for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < columns; j++) {
-                if (array[i][j] != 0.0) {
-                    result.set(i, j, array[i][j]);
-                }
-            }
+            builder.appendRow(array[i]);
         }
 
-        return result;
+        return builder.build();
+    }
+
+    /**
+     * Creates a new {@link Builder} that assembles a {@link CRSMatrix} with the
+     * given number of {@code columns} row by row.
+     */
+    public static Builder builder(int columns) {
+        return new Builder(columns, 0, 0);
+    }
+
+    /**
+     * Creates a new {@link Builder} that assembles a {@link CRSMatrix} with the
+     * given number of {@code columns} row by row. The builder is pre-sized to
+     * hold {@code rows} rows and {@code capacity} non-zero elements.
+     */
+    public static Builder builder(int columns, int rows, int capacity) {
+        return new Builder(columns, rows, capacity);
     }
 
     /**
@@ -322,6 +335,37 @@ public class CRSMatrix extends RowMajorSparseMatrix {
         return new CRSMatrix(rows, columns, cardinality, values, columnIndices, rowPointers);
     }
 
+    /**
+     * Reads {@link CRSMatrix} from the given {@code channel}. The matrix is
+     * expected in the same format as {@link #fromBinary(byte[])} accepts.
+     * No bytes beyond the encoded matrix are consumed from the channel.
+     *
+     * @param channel the channel to read from
+     *
+     * @return a decoded matrix
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public static CRSMatrix readFrom(ReadableByteChannel channel) throws IOException {
+        ChannelInput input = new ChannelInput(channel);
+
+        if (input.readByte() != MATRIX_TAG) {
+            throw new IllegalArgumentException("Can not decode CRSMatrix from the given channel.");
+        }
+
+        int rows = input.readInt();
+        int columns = input.readInt();
+        int cardinality = input.readInt();
+
+        int[] columnIndices = new int[cardinality];
+        double[] values = new double[cardinality];
+        int[] rowPointers = new int[rows + 1];
+
+        input.readEntries(columnIndices, values, 0, cardinality);
+        input.readInts(rowPointers, 0, rows + 1);
+
+        return new CRSMatrix(rows, columns, cardinality, values, columnIndices, rowPointers);
+    }
+
     /**
      * Parses {@link CRSMatrix} from the given CSV string.
      *
@@ -345,6 +389,43 @@ public class CRSMatrix extends RowMajorSparseMatrix {
         return Matrix.fromMatrixMarket(is).to(Matrices.CRS);
     }
 
+    /**
+     * Parses {@link CRSMatrix} from the given Matrix Market file using all
+     * available cores.
+     *
+     * @param file the file in Matrix Market format
+     *
+     * @return a parsed matrix
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public static CRSMatrix fromMatrixMarket(File file) throws IOException {
+        return Matrix.fromMatrixMarket(file).to(Matrices.CRS);
+    }
+
+    /**
+     * Reads {@link CRSMatrix} from the given SciPy {@code .npz} stream.
+     *
+     * @param is the input stream in NPZ format
+     *
+     * @return a decoded matrix
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public static CRSMatrix fromNpz(InputStream is) throws IOException {
+        return Matrix.fromNpz(is).to(Matrices.CRS);
+    }
+
+    /**
+     * Reads {@link CRSMatrix} from the given SciPy {@code .npz} file.
+     *
+     * @param file the file in NPZ format
+     *
+     * @return a decoded matrix
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public static CRSMatrix fromNpz(File file) throws IOException {
+        return Matrix.fromNpz(file).to(Matrices.CRS);
+    }
+
     @Override
     public double getOrElse(int i, int j, double defaultValue) {
         ensureIndexesAreInBounds(i, j);
@@ -1039,4 +1120,199 @@ public class CRSMatrix extends RowMajorSparseMatrix {
 
         return buffer.array();
     }
+
+    @Override
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        ChannelOutput output = new ChannelOutput(channel);
+
+        output.writeByte(MATRIX_TAG);
+        output.writeInt(rows);
+        output.writeInt(columns);
+        output.writeInt(cardinality);
+        output.writeEntries(columnIndices, values, 0, cardinality);
+        output.writeInts(rowPointers, 0, rows + 1);
+
+        output.flush();
+    }
+
+    /**
+     * An append-only builder of {@link CRSMatrix}. Rows are appended in order and
+     * written straight into the compressed arrays, which grow geometrically, so
+     * building a matrix takes O(nnz) time with no per-element searching.
+     */
+    public static final class Builder {
+
+        private final int columns;
+
+        private int rows;
+        private int cardinality;
+
+        private double[] values;
+        private int[] columnIndices;
+        private int[] rowPointers;
+
+        private Builder(int columns, int rows, int capacity) {
+            if (columns < 0 || columns == Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Wrong number of columns: " + columns + ".");
+            }
+
+            if (rows < 0 || capacity < 0) {
+                throw new IllegalArgumentException("Wrong builder capacity: " + rows + " rows, "
+                        + capacity + " elements.");
+            }
+
+            this.columns = columns;
+            this.values = new double[Math.max(capacity, MINIMUM_SIZE)];
+            this.columnIndices = new int[values.length];
+            this.rowPointers = new int[rows + 1];
+        }
+
+        /**
+         * Appends a row given by its non-zero elements: the {@code columnIndices}
+         * in strictly increasing order and the corresponding {@code values}.
+         * Zero values are skipped.
+         *
+         * @return this builder
+         */
+        public Builder appendRow(int[] columnIndices, double[] values) {
+            if (columnIndices.length != values.length) {
+                throw new IllegalArgumentException("Wrong row: " + columnIndices.length + " indices, but "
+                        + values.length + " values.");
+            }
+
+            return appendRow(columnIndices, values, values.length);
+        }
+
+        /**
+         * Appends a row given by the first {@code length} elements of
+         * {@code columnIndices} (in strictly increasing order) and {@code values}.
+         * Zero values are skipped.
+         *
+         * @return this builder
+         */
+        public Builder appendRow(int[] columnIndices, double[] values, int length) {
+            ensureCapacity(length);
+
+            int previous = -1;
+            for (int k = 0; k < length; k++) {
+                int j = columnIndices[k];
+
+                if (j <= previous || j >= columns) {
+                    // roll the row back, so the builder is still usable
+                    cardinality = rowPointers[rows];
+                    if (j < 0 || j >= columns) {
+                        throw new IndexOutOfBoundsException("Column '" + j + "' is invalid.");
+                    }
+                    throw new IllegalArgumentException("Column indices should be strictly increasing: "
+                            + previous + " followed by " + j + ".");
+                }
+
+                if (values[k] != 0.0) {
+                    this.values[cardinality] = values[k];
+                    this.columnIndices[cardinality] = j;
+                    cardinality++;
+                }
+
+                previous = j;
+            }
+
+            return finishRow();
+        }
+
+        /**
+         * Appends a dense {@code row}, which length should be equal to the
+         * number of columns. Zero values are skipped.
+         *
+         * @return this builder
+         */
+        public Builder appendRow(double[] row) {
+            if (row.length != columns) {
+                throw new IllegalArgumentException("Wrong row length: " + row.length + ", expected "
+                        + columns + ".");
+            }
+
+            return appendDenseRow(row, 0);
+        }
+
+        /**
+         * Appends the given number of empty rows.
+         *
+         * @return this builder
+         */
+        public Builder appendEmptyRows(int count) {
+            for (int k = 0; k < count; k++) {
+                finishRow();
+            }
+
+            return this;
+        }
+
+        /**
+         * Returns the number of rows appended so far.
+         */
+        public int rows() {
+            return rows;
+        }
+
+        /**
+         * Returns the number of non-zero elements appended so far.
+         */
+        public int cardinality() {
+            return cardinality;
+        }
+
+        /**
+         * Builds a {@link CRSMatrix} of the rows appended so far. The underlying
+         * arrays are trimmed to the actual cardinality. The builder may be used
+         * afterwards, the built matrix is not affected.
+         *
+         * @return a new CRS matrix
+         */
+        public CRSMatrix build() {
+            return new CRSMatrix(rows, columns, cardinality,
+                                 Arrays.copyOf(values, cardinality),
+                                 Arrays.copyOf(columnIndices, cardinality),
+                                 Arrays.copyOf(rowPointers, rows + 1));
+        }
+
+        private Builder appendDenseRow(double[] array, int offset) {
+            ensureCapacity(columns);
+
+            for (int j = 0; j < columns; j++) {
+                double value = array[offset + j];
+                if (value != 0.0) {
+                    values[cardinality] = value;
+                    columnIndices[cardinality] = j;
+                    cardinality++;
+                }
+            }
+
+            return finishRow();
+        }
+
+        private Builder finishRow() {
+            if (rows + 2 > rowPointers.length) {
+                int length = (int) Math.min(Integer.MAX_VALUE, Math.max(rowPointers.length * 3L / 2, rows + 2));
+                rowPointers = Arrays.copyOf(rowPointers, length);
+            }
+
+            rowPointers[++rows] = cardinality;
+
+            return this;
+        }
+
+        private void ensureCapacity(int length) {
+            long required = (long) cardinality + length;
+
+            if (required > values.length) {
+                if (required > Integer.MAX_VALUE) {
+                    throw new IllegalStateException("This matrix can't grow up.");
+                }
+
+                int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(values.length * 3L / 2, required));
+                values = Arrays.copyOf(values, capacity);
+                columnIndices = Arrays.copyOf(columnIndices, capacity);
+            }
+        }
+    }
 }
@@ -24,6 +24,8 @@ package org.la4j.vector.dense;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -32,6 +34,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 
+import org.la4j.io.ChannelInput;
+import org.la4j.io.ChannelOutput;
 import org.la4j.Vector;
 import org.la4j.Vectors;
 import org.la4j.vector.DenseVector;
@@ -136,6 +140,29 @@ public class BasicVector extends DenseVector {
         return new BasicVector(values);
     }
 
+    /**
+     * Reads {@link BasicVector} from the given {@code channel}. The vector is
+     * expected in the same format as {@link #fromBinary(byte[])} accepts.
+     * No bytes beyond the encoded vector are consumed from the channel.
+     *
+     * @param channel the channel to read from
+     *
+     * @return a decoded vector
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public static BasicVector readFrom(ReadableByteChannel channel) throws IOException {
+        ChannelInput input = new ChannelInput(channel);
+
+        if (input.readByte() != VECTOR_TAG) {
+            throw new IllegalArgumentException("Can not decode BasicVector from the given channel.");
+        }
+
+        double[] values = new double[input.readInt()];
+        input.readDoubles(values, 0, values.length);
+
+        return new BasicVector(values);
+    }
+
     /**
      * Parses {@link BasicVector} from the given CSV string.
      *
@@ -256,4 +283,15 @@ public class BasicVector extends DenseVector {
 
         return buffer.array();
     }
+
+    @Override
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        ChannelOutput output = new ChannelOutput(channel);
+
+        output.writeByte(VECTOR_TAG);
+        output.writeInt(length);
+        output.writeDoubles(self, 0, length);
+
+        output.flush();
+    }
 }
@@ -26,8 +26,12 @@ package org.la4j.vector.sparse;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.*;
 
+import org.la4j.io.ChannelInput;
+import org.la4j.io.ChannelOutput;
 import org.la4j.Vectors;
 import org.la4j.iterator.VectorIterator;
 import org.la4j.Vector;
@@ -165,6 +169,33 @@ public class CompressedVector extends SparseVector {
         return new CompressedVector(length, cardinality, values, indices);
     }
 
+    /**
+     * Reads {@link CompressedVector} from the given {@code channel}. The vector is
+     * expected in the same format as {@link #fromBinary(byte[])} accepts.
+     * No bytes beyond the encoded vector are consumed from the channel.
+     *
+     * @param channel the channel to read from
+     *
+     * @return a decoded vector
+     * @exception  IOException  if an I/O error occurs.
+     */
+    public static CompressedVector readFrom(ReadableByteChannel channel) throws IOException {
+        ChannelInput input = new ChannelInput(channel);
+
+        if (input.readByte() != VECTOR_TAG) {
+            throw new IllegalArgumentException("Can not decode CompressedVector from the given channel.");
+        }
+
+        int length = input.readInt();
+        int cardinality = input.readInt();
+        double[] values = new double[cardinality];
+        int[] indices = new int[cardinality];
+
+        input.readEntries(indices, values, 0, cardinality);
+
+        return new CompressedVector(length, cardinality, values, indices);
+    }
+
     /**
      * Parses {@link CompressedVector} from the given CSV string.
      *
@@ -432,6 +463,18 @@ public class CompressedVector extends SparseVector {
         return buffer.array();
     }
 
+    @Override
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        ChannelOutput output = new ChannelOutput(channel);
+
+        output.writeByte(VECTOR_TAG);
+        output.writeInt(length);
+        output.writeInt(cardinality);
+        output.writeEntries(indices, values, 0, cardinality);
+
+        output.flush();
+    }
+
     /**
      * Does the binary searching to find the position in the value array given
      * it's index.
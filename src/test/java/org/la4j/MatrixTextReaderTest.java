@@ -0,0 +1,118 @@
+/*
+ * Copyright 2011-2013, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.la4j.matrix.DenseMatrix;
+
+/**
+ * The parser doesn't depend on the matrix type, so unlike the format tests of
+ * {@code MatrixTest} these run once.
+ */
+public class MatrixTextReaderTest {
+
+    @Test
+    public void testFromMatrixMarketFileInParallel() throws Exception {
+        int rows = 1000;
+        int columns = 700;
+        int cardinality = 90000;
+
+        Random random = new Random(42);
+        Matrix expected = Matrix.zero(rows, columns);
+
+        File file = File.createTempFile("la4j", ".mtx");
+        file.deleteOnExit();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+        writer.write("%%MatrixMarket matrix coordinate real general\n");
+        writer.write(rows + " " + columns + " " + cardinality + "\n");
+
+        for (int k = 0; k < cardinality; k++) {
+            int i = random.nextInt(rows);
+            int j = random.nextInt(columns);
+            double x = random.nextGaussian() * 1e3;
+            expected.set(i, j, x);
+            writer.write((i + 1) + " " + (j + 1) + " " + x + "  % padding to make the file larger\n");
+        }
+        writer.close();
+
+        Assert.assertTrue(file.length() > 4 * 1024 * 1024);
+
+        Matrix a = Matrix.fromMatrixMarket(file, 4);
+        Matrix b = Matrix.fromMatrixMarket(file, 1);
+
+        Assert.assertTrue(expected.equals(a, 0.0));
+        Assert.assertTrue(expected.equals(b, 0.0));
+    }
+
+    @Test
+    public void testFromCSVInParallel() {
+        int rows = 5000;
+        int columns = 50;
+
+        Random random = new Random(7);
+        Matrix expected = DenseMatrix.zero(rows, columns);
+        StringBuilder csv = new StringBuilder();
+
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                double x = random.nextDouble() - 0.5;
+                expected.set(i, j, x);
+                csv.append(x).append(j < columns - 1 ? ", " : "\n");
+            }
+        }
+
+        Assert.assertTrue(csv.length() > 2 * 1024 * 1024);
+        Assert.assertTrue(expected.equals(Matrix.fromCSV(csv.toString()), 0.0));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testFromMatrixMarketIndexOverflow() throws Exception {
+        String mm = "%%MatrixMarket matrix coordinate real general\n"
+                  + "2 2 1\n"
+                  + "4294967297 1 1.0\n";
+
+        Matrix.fromMatrixMarket(new ByteArrayInputStream(mm.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testFromMatrixMarketFileIndexOverflow() throws Exception {
+        File file = File.createTempFile("la4j", ".mtx");
+        file.deleteOnExit();
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8);
+        writer.write("%%MatrixMarket matrix coordinate real general\n");
+        writer.write("2 2 1\n");
+        writer.write("1 2147483648 1.0\n");
+        writer.close();
+
+        Matrix.fromMatrixMarket(file, 1);
+    }
+}
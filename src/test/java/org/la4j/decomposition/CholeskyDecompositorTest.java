@@ -21,8 +21,18 @@
 
 package org.la4j.decomposition;
 
+import java.util.Random;
+
+import org.junit.Assert;
 import org.junit.Test;
 import org.la4j.LinearAlgebra;
+import org.la4j.Matrix;
+import org.la4j.Vector;
+import org.la4j.matrix.dense.Basic2DMatrix;
+import org.la4j.matrix.sparse.CRSMatrix;
+import org.la4j.vector.DenseVector;
+
+import static org.la4j.M.*;
 
 public class CholeskyDecompositorTest extends AbstractDecompositorTest {
 
@@ -115,4 +125,113 @@ public class CholeskyDecompositorTest extends AbstractDecompositorTest {
         };
         performTest(input, output);
     }
+
+    @Test
+    public void testDecompose_Blocked() {
+        int n = 300;
+        Random random = new Random(17);
+        Matrix b = Basic2DMatrix.zero(n, n);
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                b.set(i, j, random.nextDouble() - 0.5);
+            }
+        }
+
+        Matrix a = b.multiply(b.transpose()).add(Matrix.identity(n));
+
+        Matrix sequential = new CholeskyDecompositor(a, 1).decompose()[0];
+        Matrix parallel = new CholeskyDecompositor(a, 4).decompose()[0];
+
+        Assert.assertEquals(sequential, parallel);
+        Assert.assertTrue(a.equals(parallel.multiply(parallel.transpose()), 1e-9));
+
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                Assert.assertEquals(0.0, parallel.get(i, j), 0.0);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecompose_Indefinite() {
+        new CholeskyDecompositor(m(a(1.0, 2.0), a(2.0, 1.0))).decompose();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecompose_NonSymmetric() {
+        new CholeskyDecompositor(m(a(4.0, 1.0), a(2.0, 4.0)));
+    }
+
+    @Test
+    public void testFactorize_UpdateDowndate() {
+        int n = 120;
+        Random random = new Random(23);
+        Matrix b = Basic2DMatrix.random(n, n, random);
+        Matrix a = b.multiply(b.transpose()).add(Matrix.identity(n));
+
+        CholeskyResult result = new CholeskyDecompositor(a).factorize();
+
+        for (int step = 0; step < 5; step++) {
+            Vector x = DenseVector.random(n, random);
+            Matrix xx = x.outerProduct(x);
+
+            result.update(x);
+            Matrix l = result.l();
+            Assert.assertTrue(a.add(xx).equals(l.multiply(l.transpose()), 1e-8));
+
+            result.downdate(x);
+            l = result.l();
+            Assert.assertTrue(a.equals(l.multiply(l.transpose()), 1e-8));
+        }
+
+        Vector rhs = DenseVector.random(n, random);
+        Assert.assertTrue(rhs.equals(a.multiply(result.solve(rhs)), 1e-8));
+
+        Matrix rhss = Basic2DMatrix.random(n, 3, random);
+        Assert.assertTrue(rhss.equals(a.multiply(result.solve(rhss)), 1e-8));
+    }
+
+    @Test
+    public void testFactorize_Sparse() {
+        Matrix a = CRSMatrix.from2DArray(new double[][] {
+                { 4.0, 1.0, 0.0 },
+                { 1.0, 3.0, 0.0 },
+                { 0.0, 0.0, 2.0 }
+        });
+
+        CholeskyResult result = new CholeskyDecompositor(a).factorize();
+        Assert.assertEquals(22.0, result.determinant(), 1e-12);
+
+        result.update(DenseVector.fromArray(new double[] { 0.0, 0.0, 1.0 }));
+        Assert.assertEquals(33.0, result.determinant(), 1e-12);
+    }
+
+    @Test
+    public void testFactorize_DowndateIndefinite() {
+        Matrix a = m(a(4.0, 1.0),
+                     a(1.0, 3.0));
+
+        CholeskyResult result = new CholeskyDecompositor(a).factorize();
+        Matrix l = result.l();
+
+        try {
+            result.downdate(DenseVector.fromArray(new double[] { 2.0, 0.0 }));
+            Assert.fail();
+        } catch (IllegalArgumentException ignored) {
+            // the factor stays intact
+        }
+
+        Assert.assertEquals(l, result.l());
+
+        try {
+            // the first pivot stays positive, the second one does not
+            result.downdate(DenseVector.fromArray(new double[] { 1.0, 2.0 }));
+            Assert.fail();
+        } catch (IllegalArgumentException ignored) {
+            // the factor stays intact
+        }
+
+        Assert.assertEquals(l, result.l());
+    }
 }
@@ -21,8 +21,12 @@
 
 package org.la4j.decomposition;
 
+import org.junit.Assert;
 import org.junit.Test;
 import org.la4j.LinearAlgebra;
+import org.la4j.Matrix;
+
+import static org.la4j.M.*;
 
 public class EigenDecompositorTest extends AbstractDecompositorTest {
 
@@ -364,4 +368,56 @@ public class EigenDecompositorTest extends AbstractDecompositorTest {
         };
         performTest(input, output);
     }
+
+    @Test
+    public void testDecompose_withoutVectors() {
+        double[][] input = new double[][]{
+                {26.0, -1.0, 2.0, 15.0, -3.0},
+                {-19.0, -11.0, 21.0, -4.0, 0.0},
+                {88.0, -22.0, -3.0, -5.0, -17.0},
+                {15.0, 45.0, 22.0, 42.0, 54.0},
+                {-17.0, 55.0, -9.0, 6.0, 2.0}
+        };
+
+        for (Matrix a: ms(input)) {
+            Matrix[] full = new EigenDecompositor(a).decompose();
+            Matrix[] values = new EigenDecompositor(a, false).decompose();
+
+            Assert.assertNull(values[0]);
+            Assert.assertTrue(full[1].equals(values[1], 1e-12));
+        }
+    }
+
+    @Test
+    public void testFactorize_nonSymmetric() {
+        // the rotation by 90 degrees scaled by 2, and 3
+        Matrix a = m(a(0.0, -2.0, 0.0),
+                     a(2.0, 0.0, 0.0),
+                     a(0.0, 0.0, 3.0));
+
+        EigenResult result = new EigenDecompositor(a).factorize();
+        Matrix[] full = new EigenDecompositor(a).decompose();
+
+        Assert.assertFalse(result.isReal());
+        Assert.assertEquals(12.0, result.determinant(), 1e-12);
+        Assert.assertTrue(full[1].equals(result.d(), 1e-12));
+        Assert.assertTrue(a.multiply(result.v()).equals(result.v().multiply(result.d()), 1e-12));
+    }
+
+    @Test
+    public void testFactorize_symmetric() {
+        Matrix a = m(a(2.0, 1.0),
+                     a(1.0, 2.0));
+
+        EigenResult result = new EigenDecompositor(a, false).factorize();
+
+        Assert.assertTrue(result.isReal());
+        Assert.assertEquals(3.0, result.determinant(), 1e-12);
+        Assert.assertEquals(4.0, result.realEigenvalues().sum(), 1e-12);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFactorize_withoutVectors() {
+        new EigenDecompositor(m(a(2.0, 1.0), a(1.0, 2.0)), false).factorize().v();
+    }
 }
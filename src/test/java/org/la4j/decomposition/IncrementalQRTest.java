@@ -0,0 +1,131 @@
+/*
+ * Copyright 2011-2013, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.decomposition;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.la4j.LinearAlgebra;
+import org.la4j.Matrix;
+import org.la4j.Vector;
+import org.la4j.matrix.DenseMatrix;
+import org.la4j.vector.DenseVector;
+
+public class IncrementalQRTest {
+
+    private static void assertSolves(IncrementalQR qr, Matrix a, Vector b) {
+        Vector expected = a.withSolver(LinearAlgebra.LEAST_SQUARES).solve(b);
+        Vector x = qr.solve();
+
+        Assert.assertEquals(a.rows(), qr.rows());
+        Assert.assertEquals(a.columns(), qr.columns());
+        Assert.assertTrue(expected.equals(x, 1e-8));
+        Assert.assertEquals(a.multiply(x).subtract(b).norm(), qr.residualNorm(), 1e-8);
+
+        Matrix r = qr.r();
+        Assert.assertTrue(a.transpose().multiply(a).equals(r.transpose().multiply(r), 1e-8));
+    }
+
+    @Test
+    public void testOf_40x5() {
+        Random random = new Random(1);
+        Matrix a = DenseMatrix.random(40, 5, random);
+        Vector b = DenseVector.random(40, random);
+
+        assertSolves(IncrementalQR.of(a, b), a, b);
+    }
+
+    @Test
+    public void testSlidingWindow_200x4() {
+        Random random = new Random(2);
+        Matrix a = DenseMatrix.random(200, 4, random);
+        Vector b = DenseVector.random(200, random);
+        int window = 12;
+
+        IncrementalQR qr = new IncrementalQR(4);
+
+        for (int i = 0; i < a.rows(); i++) {
+            qr.addRow(a.getRow(i), b.get(i));
+
+            if (i >= window) {
+                qr.removeRow(0);
+            }
+
+            if (i >= window && i % 17 == 0) {
+                int from = i - window + 1;
+                assertSolves(qr, a.slice(from, 0, i + 1, 4), b.slice(from, i + 1));
+            }
+        }
+    }
+
+    @Test
+    public void testRemoveColumn_30x6() {
+        Random random = new Random(3);
+        Matrix a = DenseMatrix.random(30, 6, random);
+        Vector b = DenseVector.random(30, random);
+
+        IncrementalQR qr = IncrementalQR.of(a, b);
+        qr.removeColumn(2);
+        qr.removeColumn(0);
+
+        Matrix reduced = a.removeColumn(2).removeColumn(0);
+        assertSolves(qr, reduced, b);
+    }
+
+    @Test
+    public void testAddColumn_30x3() {
+        Random random = new Random(4);
+        Matrix a = DenseMatrix.random(30, 6, random);
+        Vector b = DenseVector.random(30, random);
+
+        IncrementalQR qr = IncrementalQR.of(a.copyOfShape(30, 3), b);
+        for (int j = 3; j < 6; j++) {
+            qr.addColumn(a.getColumn(j));
+        }
+
+        assertSolves(qr, a, b);
+
+        // the freed columns are reused
+        qr.removeColumn(1);
+        qr.addColumn(a.getColumn(1));
+        qr.addRow(DenseVector.random(6, random), 1.0);
+        qr.removeRow(30);
+
+        Matrix permuted = a.removeColumn(1).insertColumn(5, a.getColumn(1));
+        assertSolves(qr, permuted, b);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRemoveRow_rankDeficient() {
+        Random random = new Random(5);
+        Matrix a = DenseMatrix.random(3, 3, random);
+        Vector b = DenseVector.random(3, random);
+
+        IncrementalQR.of(a, b).removeRow(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddRow_wrongLength() {
+        new IncrementalQR(3).addRow(DenseVector.zero(2), 0.0);
+    }
+}
@@ -21,8 +21,17 @@
 
 package org.la4j.decomposition;
 
+import java.util.Random;
+
+import org.junit.Assert;
 import org.junit.Test;
 import org.la4j.LinearAlgebra;
+import org.la4j.Matrix;
+import org.la4j.Vector;
+import org.la4j.matrix.dense.Basic2DMatrix;
+import org.la4j.vector.dense.BasicVector;
+
+import static org.la4j.M.*;
 
 public class LUDecompositorTest extends AbstractDecompositorTest {
 
@@ -227,4 +236,78 @@ public class LUDecompositorTest extends AbstractDecompositorTest {
         };
         performTest(input, output);
     }
+
+    @Test
+    public void testFactorize_Pivots() {
+        for (Matrix a: ms(a(0.0, 2.0, 1.0),
+                          a(1.0, 1.0, 0.0),
+                          a(4.0, 0.0, 3.0))) {
+
+            LUResult result = new RawLUDecompositor(a).factorize();
+
+            Assert.assertArrayEquals(new int[] { 2, 0, 1 }, result.pivots());
+            Assert.assertEquals(1, result.sign());
+            Assert.assertEquals(a.determinant(), result.determinant(), 1e-12);
+            Assert.assertFalse(result.isSingular());
+            Assert.assertTrue(result.p().multiply(a).equals(result.l().multiply(result.u()), 1e-12));
+        }
+    }
+
+    @Test
+    public void testFactorize_Blocked() {
+        int n = 300;
+        Random random = new Random(11);
+        Matrix a = Basic2DMatrix.zero(n, n);
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                a.set(i, j, random.nextDouble() - 0.5);
+            }
+        }
+
+        LUResult sequential = new RawLUDecompositor(a, 1).factorize();
+        LUResult parallel = new RawLUDecompositor(a, 4).factorize();
+
+        Assert.assertArrayEquals(sequential.pivots(), parallel.pivots());
+        Assert.assertEquals(sequential.lu(), parallel.lu());
+
+        Matrix pa = a.copy();
+        int[] pivots = parallel.pivots();
+        for (int i = 0; i < n; i++) {
+            pa.setRow(i, a.getRow(pivots[i]));
+        }
+
+        Assert.assertTrue(pa.equals(parallel.l().multiply(parallel.u()), 1e-10));
+    }
+
+    @Test
+    public void testFactorize_Singular() {
+        LUResult result = new RawLUDecompositor(m(a(1.0, 2.0), a(2.0, 4.0))).factorize();
+
+        Assert.assertTrue(result.isSingular());
+        Assert.assertEquals(0.0, result.determinant(), 0.0);
+    }
+
+    @Test
+    public void testFactorize_SolveAndInverse() {
+        Matrix a = m(a(0.0, 2.0, 1.0),
+                     a(1.0, 1.0, 0.0),
+                     a(3.0, 0.0, 4.0));
+
+        LUResult result = new RawLUDecompositor(a).factorize();
+        Assert.assertEquals(-11.0, result.determinant(), 1e-12);
+
+        Vector b = BasicVector.fromArray(new double[] { 5.0, 3.0, 15.0 });
+        Assert.assertTrue(b.equals(a.multiply(result.solve(b)), 1e-12));
+
+        Matrix inverse = result.inverse();
+        Assert.assertTrue(Matrix.identity(3).equals(a.multiply(inverse), 1e-12));
+        Assert.assertTrue(inverse.equals(result.solve(Matrix.identity(3)), 1e-12));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFactorize_SolveSingular() {
+        LUResult result = new RawLUDecompositor(m(a(1.0, 2.0), a(2.0, 4.0))).factorize();
+        result.solve(BasicVector.fromArray(new double[] { 1.0, 2.0 }));
+    }
 }
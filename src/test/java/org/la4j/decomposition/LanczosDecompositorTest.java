@@ -0,0 +1,195 @@
+/*
+ * Copyright 2011-2013, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.decomposition;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.la4j.Matrix;
+import org.la4j.Vector;
+import org.la4j.matrix.dense.Basic2DMatrix;
+import org.la4j.matrix.sparse.CCSMatrix;
+import org.la4j.matrix.sparse.CRSMatrix;
+
+import static org.la4j.M.*;
+
+public class LanczosDecompositorTest {
+
+    private static Matrix laplacian(Matrix a) {
+        int n = a.rows();
+        for (int i = 0; i < n; i++) {
+            a.set(i, i, 2.0);
+            if (i > 0) {
+                a.set(i, i - 1, -1.0);
+                a.set(i - 1, i, -1.0);
+            }
+        }
+
+        return a;
+    }
+
+    private static double laplacianEigenvalue(int n, int k) {
+        return 2.0 - 2.0 * Math.cos(k * Math.PI / (n + 1));
+    }
+
+    private static void assertEigenpairs(Matrix a, Matrix[] vd, double[] expected) {
+        Matrix v = vd[0];
+        Matrix d = vd[1];
+
+        Assert.assertEquals(a.rows(), v.rows());
+        Assert.assertEquals(expected.length, v.columns());
+
+        // the residuals are relative to the eigenvalues, but not below the
+        // rounding errors of A * x
+        double floor = Math.sqrt(a.rows()) * Math.ulp(1.0) * a.infinityNorm();
+
+        for (int i = 0; i < expected.length; i++) {
+            double theta = d.get(i, i);
+            Assert.assertEquals(expected[i], theta, 1e-12 * Math.max(1.0, Math.abs(expected[i])));
+
+            Vector x = v.getColumn(i);
+            Assert.assertEquals(1.0, x.norm(), 1e-12);
+
+            double residual = a.multiply(x).subtract(x.multiply(theta)).norm();
+            Assert.assertTrue(residual <= Math.max(LanczosDecompositor.DEFAULT_TOLERANCE * Math.abs(theta), floor));
+
+            for (int j = 0; j < i; j++) {
+                Assert.assertEquals(0.0, x.innerProduct(v.getColumn(j)), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    public void testDecompose_diagonal_5x5() {
+        double[][] input = new double[][] {
+                { 1.0, 0.0, 0.0, 0.0, 0.0 },
+                { 0.0, 5.0, 0.0, 0.0, 0.0 },
+                { 0.0, 0.0, 3.0, 0.0, 0.0 },
+                { 0.0, 0.0, 0.0, 4.0, 0.0 },
+                { 0.0, 0.0, 0.0, 0.0, 2.0 }
+        };
+
+        for (Matrix b: ms(input)) {
+            LanczosDecompositor decompositor = new LanczosDecompositor(b, 2);
+            assertEigenpairs(b, decompositor.decompose(), new double[] { 5.0, 4.0 });
+        }
+    }
+
+    @Test
+    public void testDecompose_largest_1000x1000() {
+        int n = 1000;
+        Matrix a = laplacian(CRSMatrix.zero(n, n));
+
+        LanczosDecompositor decompositor = new LanczosDecompositor(a, 4);
+        double[] expected = new double[4];
+        for (int i = 0; i < 4; i++) {
+            expected[i] = laplacianEigenvalue(n, n - i);
+        }
+
+        assertEigenpairs(a, decompositor.decompose(), expected);
+    }
+
+    @Test
+    public void testDecompose_smallest_100x100() {
+        int n = 100;
+        Matrix a = laplacian(new Basic2DMatrix(n, n));
+
+        LanczosDecompositor decompositor = new LanczosDecompositor(a, 3,
+                LanczosDecompositor.Spectrum.SMALLEST, LanczosDecompositor.DEFAULT_TOLERANCE);
+        double[] expected = new double[3];
+        for (int i = 0; i < 3; i++) {
+            expected[i] = laplacianEigenvalue(n, i + 1);
+        }
+
+        assertEigenpairs(a, decompositor.decompose(), expected);
+    }
+
+    @Test
+    public void testDecompose_smallest_400x400() {
+        int n = 400;
+        Matrix a = laplacian(CRSMatrix.zero(n, n));
+
+        // the smallest eigenvalues are tiny, so the residuals are small only
+        // in an orthonormal basis
+        LanczosDecompositor decompositor = new LanczosDecompositor(a, 4,
+                LanczosDecompositor.Spectrum.SMALLEST, LanczosDecompositor.DEFAULT_TOLERANCE);
+        double[] expected = new double[4];
+        for (int i = 0; i < 4; i++) {
+            expected[i] = laplacianEigenvalue(n, i + 1);
+        }
+
+        assertEigenpairs(a, decompositor.decompose(), expected);
+    }
+
+    @Test
+    public void testDecompose_shiftInvert_2000x2000() {
+        int n = 2000;
+        Matrix a = laplacian(CCSMatrix.zero(n, n));
+
+        // the smallest eigenvalues are clustered, but well separated after the inversion
+        LanczosDecompositor decompositor = new LanczosDecompositor(a, 5, 0.0, 1e-12);
+        double[] expected = new double[5];
+        for (int i = 0; i < 5; i++) {
+            expected[i] = laplacianEigenvalue(n, i + 1);
+        }
+
+        Matrix[] vd = decompositor.decompose();
+        Matrix v = vd[0];
+        Matrix d = vd[1];
+
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(expected[i], d.get(i, i), 1e-10);
+
+            Vector x = v.getColumn(i);
+            Assert.assertTrue(a.multiply(x).equals(x.multiply(d.get(i, i)), 1e-8));
+        }
+    }
+
+    @Test
+    public void testDecompose_full_20x20() {
+        int n = 20;
+        Matrix a = laplacian(CRSMatrix.zero(n, n));
+
+        LanczosDecompositor decompositor = new LanczosDecompositor(a, n);
+        double[] expected = new double[n];
+        for (int i = 0; i < n; i++) {
+            expected[i] = laplacianEigenvalue(n, n - i);
+        }
+
+        assertEigenpairs(a, decompositor.decompose(), expected);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecompose_nonSymmetric() {
+        Matrix a = m(a(1.0, 2.0),
+                     a(0.0, 1.0));
+
+        new LanczosDecompositor(a, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecompose_tooManyEigenvalues() {
+        Matrix a = m(a(1.0, 0.0),
+                     a(0.0, 1.0));
+
+        new LanczosDecompositor(a, 3);
+    }
+}
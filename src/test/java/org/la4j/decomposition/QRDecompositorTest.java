@@ -21,8 +21,17 @@
 
 package org.la4j.decomposition;
 
+import java.util.Random;
+
+import org.junit.Assert;
 import org.junit.Test;
 import org.la4j.LinearAlgebra;
+import org.la4j.Matrix;
+import org.la4j.Vector;
+import org.la4j.matrix.dense.Basic2DMatrix;
+import org.la4j.vector.dense.BasicVector;
+
+import static org.la4j.M.*;
 
 public class QRDecompositorTest extends AbstractDecompositorTest {
 
@@ -204,4 +213,81 @@ public class QRDecompositorTest extends AbstractDecompositorTest {
         };
         performTest(input, output);
     }
+
+    @Test
+    public void testFactorize_Blocked() {
+        int m = 400;
+        int n = 75;
+        Random random = new Random(5);
+        Matrix a = Basic2DMatrix.zero(m, n);
+        Matrix b = Basic2DMatrix.zero(m, 3);
+
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                a.set(i, j, random.nextDouble() - 0.5);
+            }
+            for (int j = 0; j < 3; j++) {
+                b.set(i, j, random.nextDouble());
+            }
+        }
+
+        QRResult sequential = new RawQRDecompositor(a, 1).factorize();
+        QRResult parallel = new RawQRDecompositor(a, 4).factorize();
+
+        Matrix q = parallel.q();
+        Matrix r = parallel.r();
+
+        Assert.assertTrue(sequential.r().equals(r, 1e-12));
+        Assert.assertTrue(a.equals(q.multiply(r), 1e-10));
+        Assert.assertTrue(Matrix.identity(n).equals(q.transpose().multiply(q), 1e-10));
+
+        // the first n rows of Q^T * b match the thin Q
+        Matrix qtb = parallel.applyQTranspose(b);
+        Assert.assertTrue(q.transpose().multiply(b).equals(qtb.slice(0, 0, n, 3), 1e-10));
+        Assert.assertEquals(b.norm(), qtb.norm(), 1e-10);
+
+        Vector column = b.getColumn(1);
+        Vector qtc = sequential.applyQTranspose(column);
+        Assert.assertTrue(qtb.getColumn(1).equals(qtc, 1e-10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testApplyQTranspose_WrongLength() {
+        Matrix a = Basic2DMatrix.from2DArray(new double[][] { { 1.0, 2.0 }, { 3.0, 4.0 }, { 5.0, 6.0 } });
+        new RawQRDecompositor(a).factorize().applyQTranspose(BasicVector.zero(2));
+    }
+
+    @Test
+    public void testFactorize_SolveAndDeterminant() {
+        Matrix a = m(a(2.0, -1.0, 0.0),
+                     a(-1.0, 2.0, -1.0),
+                     a(0.0, -1.0, 2.0));
+
+        QRResult result = new RawQRDecompositor(a).factorize();
+        Assert.assertEquals(4.0, result.determinant(), 1e-12);
+
+        Vector b = BasicVector.fromArray(new double[] { 1.0, 0.0, 1.0 });
+        Assert.assertTrue(b.equals(a.multiply(result.solve(b)), 1e-12));
+
+        // the normal equations hold for the least squares solution
+        Matrix tall = m(a(1.0, 1.0),
+                        a(1.0, 2.0),
+                        a(1.0, 3.0),
+                        a(1.0, 4.0));
+        Matrix rhs = m(a(6.0, 1.0),
+                       a(5.0, 0.0),
+                       a(7.0, 2.0),
+                       a(10.0, 1.0));
+
+        Matrix x = new RawQRDecompositor(tall).factorize().solve(rhs);
+        Matrix residual = tall.transpose().multiply(tall.multiply(x).subtract(rhs));
+        Assert.assertTrue(Matrix.zero(2, 2).equals(residual, 1e-10));
+        Assert.assertEquals(3.5, x.get(0, 0), 1e-10);
+        Assert.assertEquals(1.4, x.get(1, 0), 1e-10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFactorize_DeterminantNonSquare() {
+        new RawQRDecompositor(m(a(1.0, 2.0), a(3.0, 4.0), a(5.0, 6.0))).factorize().determinant();
+    }
 }
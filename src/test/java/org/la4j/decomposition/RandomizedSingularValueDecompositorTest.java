@@ -0,0 +1,131 @@
+/*
+ * Copyright 2011-2013, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.decomposition;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.la4j.Matrix;
+import org.la4j.Vector;
+import org.la4j.matrix.DenseMatrix;
+import org.la4j.matrix.sparse.CCSMatrix;
+import org.la4j.matrix.sparse.CRSMatrix;
+
+public class RandomizedSingularValueDecompositorTest {
+
+    /**
+     * A matrix with the singular values {@code 100 / (i + 1)} spread over
+     * shuffled rows.
+     */
+    private static Matrix permutedDiagonal(Matrix a) {
+        int n = a.columns();
+        int[] permutation = new int[a.rows()];
+        for (int i = 0; i < permutation.length; i++) {
+            permutation[i] = i;
+        }
+
+        Random random = new Random(42);
+        for (int i = permutation.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = t;
+        }
+
+        for (int j = 0; j < n; j++) {
+            a.set(permutation[j], j, 100.0 / (j + 1));
+        }
+
+        return a;
+    }
+
+    private static void assertTriplets(Matrix a, Matrix[] usv, double[] expected, double tolerance) {
+        Matrix u = usv[0];
+        Matrix s = usv[1];
+        Matrix v = usv[2];
+
+        Assert.assertEquals(a.rows(), u.rows());
+        Assert.assertEquals(a.columns(), v.rows());
+        Assert.assertEquals(expected.length, s.rows());
+
+        for (int i = 0; i < expected.length; i++) {
+            double sigma = s.get(i, i);
+            Assert.assertEquals(expected[i], sigma, tolerance * expected[0]);
+
+            Vector ui = u.getColumn(i);
+            Vector vi = v.getColumn(i);
+            Assert.assertEquals(1.0, ui.norm(), 1e-8);
+            Assert.assertEquals(1.0, vi.norm(), 1e-8);
+            Assert.assertTrue(a.multiply(vi).equals(ui.multiply(sigma), tolerance * expected[0]));
+
+            for (int j = 0; j < i; j++) {
+                Assert.assertEquals(0.0, ui.innerProduct(u.getColumn(j)), 1e-8);
+                Assert.assertEquals(0.0, vi.innerProduct(v.getColumn(j)), 1e-8);
+            }
+        }
+    }
+
+    @Test
+    public void testDecompose_sparseRows_500x300() {
+        Matrix a = permutedDiagonal(CRSMatrix.zero(500, 300));
+
+        RandomizedSingularValueDecompositor decompositor =
+                new RandomizedSingularValueDecompositor(a, 5, 10, 8, 2);
+
+        assertTriplets(a, decompositor.decompose(), new double[] { 100.0, 50.0, 100.0 / 3, 25.0, 20.0 }, 1e-6);
+    }
+
+    @Test
+    public void testDecompose_sparseColumns_300x500() {
+        Matrix a = permutedDiagonal(CCSMatrix.zero(500, 300)).transpose();
+
+        RandomizedSingularValueDecompositor decompositor =
+                new RandomizedSingularValueDecompositor(a, 3, 10, 8, 1);
+
+        assertTriplets(a, decompositor.decompose(), new double[] { 100.0, 50.0, 100.0 / 3 }, 1e-6);
+    }
+
+    @Test
+    public void testDecompose_lowRank_120x80() {
+        Random random = new Random(7);
+        Matrix left = DenseMatrix.random(120, 6, random);
+        Matrix right = DenseMatrix.random(6, 80, random);
+        Matrix a = left.multiply(right);
+
+        // the rank is below the number of samples, so the range is found exactly
+        RandomizedSingularValueDecompositor decompositor = new RandomizedSingularValueDecompositor(a, 6);
+        Matrix[] expected = new SingularValueDecompositor(a).decompose();
+
+        double[] values = new double[6];
+        for (int i = 0; i < 6; i++) {
+            values[i] = expected[1].get(i, i);
+        }
+
+        assertTriplets(a, decompositor.decompose(), values, 1e-10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecompose_tooManySingularValues() {
+        new RandomizedSingularValueDecompositor(CRSMatrix.zero(10, 4), 5);
+    }
+}
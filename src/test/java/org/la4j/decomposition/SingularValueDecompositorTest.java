@@ -21,8 +21,12 @@
 
 package org.la4j.decomposition;
 
+import org.junit.Assert;
 import org.junit.Test;
 import org.la4j.LinearAlgebra;
+import org.la4j.Matrix;
+
+import static org.la4j.M.*;
 
 public class SingularValueDecompositorTest extends AbstractDecompositorTest {
 
@@ -188,4 +192,23 @@ public class SingularValueDecompositorTest extends AbstractDecompositorTest {
         };
         performTest(input, output);
     }
+
+    @Test
+    public void testDecompose_withoutVectors() {
+        double[][] input = new double[][]{
+                {26.0, -1.0, 2.0, 15.0},
+                {-19.0, -11.0, 21.0, -4.0},
+                {88.0, -22.0, -3.0, -5.0},
+                {15.0, 45.0, 22.0, 42.0},
+                {-17.0, 55.0, -9.0, 6.0}
+        };
+
+        for (Matrix a: ms(input)) {
+            Matrix[] full = new SingularValueDecompositor(a).decompose();
+            Matrix[] values = new SingularValueDecompositor(a, false).decompose();
+
+            Assert.assertNull(values[0]);
+            Assert.assertTrue(full[1].equals(values[1], 1e-12));
+        }
+    }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2011-2013, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.decomposition;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.la4j.LinearAlgebra;
+import org.la4j.Matrix;
+
+import static org.la4j.M.*;
+
+public class SparseCholeskyDecompositorTest extends AbstractDecompositorTest {
+
+    @Override
+    public LinearAlgebra.DecompositorFactory decompositorFactory() {
+        return LinearAlgebra.SPARSE_CHOLESKY;
+    }
+
+    @Test
+    public void testDecompose_1x1() {
+        performTest(new double[][] {
+                { 4.0 }
+        });
+    }
+
+    @Test
+    public void testDecompose_3x3() {
+        performTest(new double[][] {
+                { 1.0, -2.0, 0.0 },
+                { -2.0, 5.0, 2.0 },
+                { 0.0, 2.0, 5.0 }
+        });
+    }
+
+    @Test
+    public void testDecompose_5x5() {
+        performTest(new double[][] {
+                { 6.0, 1.0, 0.0, 0.0, 2.0 },
+                { 1.0, 7.0, 3.0, 0.0, 0.0 },
+                { 0.0, 3.0, 8.0, 1.0, 0.0 },
+                { 0.0, 0.0, 1.0, 5.0, 1.0 },
+                { 2.0, 0.0, 0.0, 1.0, 9.0 }
+        });
+    }
+
+    @Test
+    public void testDecompose_Arrow() {
+        // the dense row and column are eliminated last
+        performTest(new double[][] {
+                { 9.0, 1.0, 1.0, 1.0, 1.0, 1.0 },
+                { 1.0, 2.0, 0.0, 0.0, 0.0, 0.0 },
+                { 1.0, 0.0, 2.0, 0.0, 0.0, 0.0 },
+                { 1.0, 0.0, 0.0, 2.0, 0.0, 0.0 },
+                { 1.0, 0.0, 0.0, 0.0, 2.0, 0.0 },
+                { 1.0, 0.0, 0.0, 0.0, 0.0, 2.0 }
+        });
+    }
+
+    @Test
+    public void testDecompose_ReusedSymbolic() {
+        Matrix a = m(a(4.0, 1.0, 0.0, 1.0),
+                     a(1.0, 5.0, 2.0, 0.0),
+                     a(0.0, 2.0, 6.0, 1.0),
+                     a(1.0, 0.0, 1.0, 7.0));
+
+        Matrix b = a.multiply(2.0);
+
+        SparseCholeskyDecompositor first = new SparseCholeskyDecompositor(a);
+        SparseCholeskyDecompositor second = new SparseCholeskyDecompositor(b, first.symbolic());
+
+        Matrix[] lp = second.decompose();
+        Matrix l = lp[0];
+        Matrix p = lp[1];
+
+        Assert.assertTrue(p.multiply(b).multiply(p.transpose()).equals(l.multiply(l.transpose()), 1e-9));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecompose_DifferentPattern() {
+        Matrix a = m(a(4.0, 1.0, 0.0),
+                     a(1.0, 5.0, 0.0),
+                     a(0.0, 0.0, 6.0));
+
+        Matrix b = m(a(4.0, 1.0, 1.0),
+                     a(1.0, 5.0, 0.0),
+                     a(1.0, 0.0, 6.0));
+
+        new SparseCholeskyDecompositor(b, new SparseCholeskyDecompositor(a).symbolic());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecompose_NotPositiveDefinite() {
+        Matrix a = m(a(1.0, 2.0),
+                     a(2.0, 1.0));
+
+        new SparseCholeskyDecompositor(a).decompose();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecompose_NotSymmetric() {
+        Matrix a = m(a(4.0, 1.0),
+                     a(2.0, 4.0));
+
+        new SparseCholeskyDecompositor(a);
+    }
+
+    private void performTest(double[][] input) {
+        for (Matrix a: ms(input)) {
+            Matrix[] lp = a.withDecompositor(decompositorFactory()).decompose();
+
+            Matrix l = lp[0];
+            Matrix p = lp[1];
+
+            for (int i = 0; i < l.rows(); i++) {
+                Assert.assertTrue(l.get(i, i) > 0.0);
+
+                for (int j = i + 1; j < l.columns(); j++) {
+                    Assert.assertEquals(0.0, l.get(i, j), 0.0);
+                }
+            }
+
+            Assert.assertTrue(p.multiply(a).multiply(p.transpose()).equals(l.multiply(l.transpose()), 1e-9));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2011-2013, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.decomposition;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.la4j.LinearAlgebra;
+import org.la4j.Matrix;
+
+import static org.la4j.M.*;
+
+public class SparseLUDecompositorTest extends AbstractDecompositorTest {
+
+    @Override
+    public LinearAlgebra.DecompositorFactory decompositorFactory() {
+        return LinearAlgebra.SPARSE_LU;
+    }
+
+    @Test
+    public void testDecompose_1x1() {
+        performTest(new double[][] {
+                { 2.0 }
+        });
+    }
+
+    @Test
+    public void testDecompose_3x3() {
+        performTest(new double[][] {
+                { 4.0, 0.0, 1.0 },
+                { 2.0, 5.0, 0.0 },
+                { 0.0, 3.0, 6.0 }
+        });
+    }
+
+    @Test
+    public void testDecompose_4x4_ZeroDiagonal() {
+        performTest(new double[][] {
+                { 0.0, 2.0, 0.0, 1.0 },
+                { 1.0, 0.0, 0.0, 0.0 },
+                { 0.0, 0.0, 0.0, 3.0 },
+                { 0.0, 1.0, 4.0, 0.0 }
+        });
+    }
+
+    @Test
+    public void testDecompose_5x5() {
+        performTest(new double[][] {
+                { 1.0, 8.0, 0.0, 0.0, 2.0 },
+                { 0.0, 3.0, 7.0, 0.0, 0.0 },
+                { 5.0, 0.0, 1.0, 0.0, 0.0 },
+                { 0.0, 0.0, 0.0, 9.0, 4.0 },
+                { 0.0, 6.0, 0.0, 2.0, 1.0 }
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecompose_Singular() {
+        Matrix a = m(a(1.0, 2.0, 0.0),
+                     a(2.0, 4.0, 0.0),
+                     a(0.0, 0.0, 1.0));
+
+        a.withDecompositor(decompositorFactory()).decompose();
+    }
+
+    private void performTest(double[][] input) {
+        for (Matrix a: ms(input)) {
+            Matrix[] lupq = a.withDecompositor(decompositorFactory()).decompose();
+
+            Matrix l = lupq[0];
+            Matrix u = lupq[1];
+            Matrix p = lupq[2];
+            Matrix q = lupq[3];
+
+            for (int i = 0; i < l.rows(); i++) {
+                Assert.assertEquals(1.0, l.get(i, i), 1e-12);
+
+                for (int j = i + 1; j < l.columns(); j++) {
+                    Assert.assertEquals(0.0, l.get(i, j), 0.0);
+                    Assert.assertEquals(0.0, u.get(j, i), 0.0);
+                }
+            }
+
+            Assert.assertTrue(p.multiply(a).multiply(q).equals(l.multiply(u), 1e-9));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2011-2013, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.inversion;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.la4j.LinearAlgebra;
+import org.la4j.Matrix;
+
+import static org.la4j.M.*;
+
+public class CholeskyInverterTest {
+
+    @Test
+    public void testInverse_1x1() {
+        performTest(new double[][] {
+            { 4.0 }
+        });
+    }
+
+    @Test
+    public void testInverse_3x3() {
+        performTest(new double[][] {
+            { 4.0, 12.0, -16.0 },
+            { 12.0, 37.0, -43.0 },
+            { -16.0, -43.0, 98.0 }
+        });
+    }
+
+    @Test
+    public void testInverse_5x5() {
+        performTest(new double[][] {
+            { 6.0, 1.0, 0.0, 2.0, -1.0 },
+            { 1.0, 8.0, 3.0, 0.0, 0.0 },
+            { 0.0, 3.0, 7.0, 1.0, 2.0 },
+            { 2.0, 0.0, 1.0, 9.0, 4.0 },
+            { -1.0, 0.0, 2.0, 4.0, 10.0 }
+        });
+    }
+
+    @Test
+    public void testSmartInverter() {
+        // symmetric with a positive diagonal, but indefinite
+        performTest(new double[][] {
+            { 1.0, 2.0 },
+            { 2.0, 1.0 }
+        }, LinearAlgebra.INVERTER);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIndefiniteMatrix() {
+        new CholeskyInverter(m(a(1.0, 2.0), a(2.0, 1.0))).inverse();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonSymmetricMatrix() {
+        new CholeskyInverter(m(a(4.0, 1.0), a(2.0, 3.0))).inverse();
+    }
+
+    private void performTest(double[][] input) {
+        performTest(input, LinearAlgebra.CHOLESKY_INVERTER);
+        performTest(input, LinearAlgebra.INVERTER);
+    }
+
+    private void performTest(double[][] input, LinearAlgebra.InverterFactory factory) {
+        for (Matrix a: ms(input)) {
+            Matrix b = a.withInverter(factory).inverse();
+
+            Assert.assertTrue(Matrix.identity(a.rows()).equals(a.multiply(b), 1e-9));
+            Assert.assertEquals(b, b.transpose());
+        }
+    }
+}
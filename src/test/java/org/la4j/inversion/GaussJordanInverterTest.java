@@ -21,7 +21,15 @@
 
 package org.la4j.inversion;
 
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
 import org.la4j.LinearAlgebra;
+import org.la4j.Matrix;
+import org.la4j.matrix.dense.Basic2DMatrix;
+
+import static org.la4j.M.*;
 
 public class GaussJordanInverterTest extends AbstractInverterTest {
 
@@ -30,4 +38,29 @@ public class GaussJordanInverterTest extends AbstractInverterTest {
         return LinearAlgebra.GAUSS_JORDAN;
     }
 
+    @Test
+    public void testInverse_Parallel() {
+        int n = 300;
+        Random random = new Random(7);
+        Matrix a = Basic2DMatrix.zero(n, n);
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                a.set(i, j, random.nextDouble() - 0.5);
+            }
+        }
+
+        Matrix sequential = new GaussJordanInverter(a, 1).inverse();
+        Matrix parallel = new GaussJordanInverter(a, 4).inverse();
+
+        Assert.assertEquals(sequential, parallel);
+        Assert.assertTrue(Matrix.identity(n).equals(a.multiply(parallel), 1e-9));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInverse_Singular() {
+        new GaussJordanInverter(m(a(1.0, 2.0, 3.0),
+                                  a(4.0, 5.0, 6.0),
+                                  a(7.0, 8.0, 9.0))).inverse();
+    }
 }
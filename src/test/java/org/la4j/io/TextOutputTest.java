@@ -0,0 +1,72 @@
+/*
+ * Copyright 2011-2013, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.io;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TextOutputTest {
+
+    @Test
+    public void testAppendDouble() throws IOException {
+        double[] values = { 1.0, 5.0, 42.0, 100.0, -3.0, 0.0, -0.0, 0.1, -0.5, 1.0 / 3.0,
+                            123456789.125, 1e-300, 1e20, 999999999999999.0, Math.PI };
+
+        for (double value: values) {
+            String text = format(value);
+            Assert.assertEquals(text, Double.doubleToLongBits(value),
+                                Double.doubleToLongBits(Double.parseDouble(text)));
+        }
+
+        Assert.assertEquals("1.0", format(1.0));
+        Assert.assertEquals("5.0", format(5.0));
+        Assert.assertEquals("100.0", format(100.0));
+        Assert.assertEquals("-3.0", format(-3.0));
+        Assert.assertEquals("0.0", format(0.0));
+        Assert.assertEquals("-0.0", format(-0.0));
+        Assert.assertEquals("4.25", format(4.25));
+    }
+
+    @Test
+    public void testAppendDoubleWithPrecision() throws IOException {
+        StringWriter writer = new StringWriter();
+        TextOutput output = new TextOutput(writer);
+
+        output.append(5.0, 2).append(' ').append(-2.125, 2).append(' ').append(100.0, 0);
+        output.flush();
+
+        Assert.assertEquals("5.00 -2.13 100", writer.toString());
+    }
+
+    private static String format(double value) throws IOException {
+        StringWriter writer = new StringWriter();
+        TextOutput output = new TextOutput(writer);
+
+        output.append(value);
+        output.flush();
+
+        return writer.toString();
+    }
+}
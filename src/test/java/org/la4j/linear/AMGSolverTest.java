@@ -0,0 +1,170 @@
+/*
+ * Copyright 2011-2013, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.la4j.LinearAlgebra;
+import org.la4j.Matrix;
+import org.la4j.Vector;
+import org.la4j.matrix.sparse.CRSMatrix;
+import org.la4j.vector.DenseVector;
+
+public class AMGSolverTest extends AbstractSolverTest {
+
+    @Override
+    public LinearAlgebra.SolverFactory solverFactory() {
+        return LinearAlgebra.AMG;
+    }
+
+    @Test
+    public void testSolve_1x1() {
+
+        double a[][] = new double[][] {
+            { 144.0 }
+        };
+
+        double b[] = new double[] { 12.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_3x3() {
+
+        double a[][] = new double[][] {
+            { 2.0, -1.0, 0.0 },
+            { -1.0, 2.0, -1.0 },
+            { 0.0, -1.0, 2.0 }
+        };
+
+        double b[] = new double[] { 1.0, 0.0, 1.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_5x5() {
+
+        double a[][] = new double[][] {
+            { 10.0, 1.0, 0.0, -2.0, 3.0 },
+            { 1.0, 20.0, 0.0, 4.0, -3.0 },
+            { 0.0, 0.0, 30.0, 5.0, 0.0 },
+            { -2.0, 4.0, 5.0, 40.0, -6.0 },
+            { 3.0, -3.0, 0.0, -6.0, 50.0 }
+        };
+
+        double b[] = new double[] { 0.07, -13.29, -12.45, -41.8, -32.8 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_Grid() {
+        int small = iterations(40, AMGPreconditioner.Smoother.GAUSS_SEIDEL);
+        int large = iterations(160, AMGPreconditioner.Smoother.GAUSS_SEIDEL);
+
+        // the convergence rate doesn't depend on the size of the grid
+        Assert.assertTrue(large <= small + 10);
+        Assert.assertTrue(large < 40);
+
+        Assert.assertTrue(iterations(160, AMGPreconditioner.Smoother.JACOBI) < 80);
+    }
+
+    @Test
+    public void testConjugateGradient() {
+        Matrix a = laplacian(120);
+        Vector b = rhs(a.rows());
+
+        AMGPreconditioner preconditioner = new AMGPreconditioner(a);
+        Assert.assertTrue(preconditioner.levels() > 2);
+        Assert.assertTrue(preconditioner.unknowns(1) < a.rows() / 4);
+
+        ConjugateGradientSolver multigrid = new ConjugateGradientSolver(a, preconditioner);
+        ConjugateGradientSolver jacobi = new ConjugateGradientSolver(a, new JacobiPreconditioner(a));
+
+        IterativeSolution solution = multigrid.solveIteratively(b);
+
+        Assert.assertTrue(solution.converged());
+        Assert.assertTrue(b.equals(a.multiply(solution.solution()), 1e-8));
+        Assert.assertTrue(solution.iterations() * 5 < jacobi.solveIteratively(b).iterations());
+    }
+
+    private static int iterations(int side, AMGPreconditioner.Smoother smoother) {
+        Matrix a = laplacian(side);
+        Vector b = rhs(a.rows());
+
+        AMGSolver solver = new AMGSolver(a, smoother, AMGPreconditioner.DEFAULT_STRENGTH, 1e-12, 200);
+        IterativeSolution solution = solver.solveIteratively(b);
+
+        Assert.assertTrue(solution.converged());
+        Assert.assertTrue(b.equals(a.multiply(solution.solution()), 1e-8));
+
+        return solution.iterations();
+    }
+
+    private static Vector rhs(int n) {
+        double[] b = new double[n];
+        for (int i = 0; i < n; i++) {
+            b[i] = (i % 7) - 3.0;
+        }
+
+        return DenseVector.fromArray(b);
+    }
+
+    private static Matrix laplacian(int side) {
+        int n = side * side;
+        CRSMatrix.Builder builder = CRSMatrix.builder(n);
+
+        for (int i = 0; i < n; i++) {
+            int[] columns = new int[5];
+            double[] values = new double[5];
+            int length = 0;
+
+            int x = i % side;
+            int y = i / side;
+
+            if (y > 0) {
+                columns[length] = i - side;
+                values[length++] = -1.0;
+            }
+            if (x > 0) {
+                columns[length] = i - 1;
+                values[length++] = -1.0;
+            }
+            columns[length] = i;
+            values[length++] = 4.0;
+            if (x < side - 1) {
+                columns[length] = i + 1;
+                values[length++] = -1.0;
+            }
+            if (y < side - 1) {
+                columns[length] = i + side;
+                values[length++] = -1.0;
+            }
+
+            builder.appendRow(columns, values, length);
+        }
+
+        return builder.build();
+    }
+}
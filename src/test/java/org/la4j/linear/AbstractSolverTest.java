@@ -43,4 +43,22 @@ public abstract class AbstractSolverTest {
             }
         }
     }
+
+    public void performTest(double coefficientMatrix[][], double rightHandMatrix[][]) {
+        for (Matrix a: ms(coefficientMatrix)) {
+            for (Matrix b: ms(rightHandMatrix)) {
+                LinearSystemSolver solver = a.withSolver(solverFactory());
+                Matrix x = solver.solve(b);
+                Matrix ax = a.multiply(x);
+
+                Assert.assertEquals(a.columns(), x.rows());
+                Assert.assertTrue(b.equals(ax, 1e-9));
+
+                // the same solver is reused for a single column
+                for (int j = 0; j < b.columns(); j++) {
+                    Assert.assertTrue(x.getColumn(j).equals(solver.solve(b.getColumn(j)), 1e-9));
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2011-2013, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.la4j.LinearAlgebra;
+import org.la4j.Matrix;
+import org.la4j.Vector;
+import org.la4j.matrix.sparse.CRSMatrix;
+import org.la4j.vector.dense.BasicVector;
+
+public class BiCGSTABSolverTest extends AbstractSolverTest {
+
+    @Override
+    public LinearAlgebra.SolverFactory solverFactory() {
+        return LinearAlgebra.BICGSTAB;
+    }
+
+    @Test
+    public void testSolve_1x1() {
+
+        double a[][] = new double[][] {
+            { 144.0 }
+        };
+
+        double b[] = new double[] { 12.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_2x2() {
+
+        double a[][] = new double[][] {
+            { 66.0, 1.0 },
+            { 18.0, -20.0 }
+        };
+
+        double b[] = new double[] { 257.0, 212.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_3x3() {
+
+        double a[][] = new double[][] {
+            { 1.0, 2.0, 3.0 },
+            { 0.0, 1.0, 4.0 },
+            { 5.0, 6.0, 0.0 }
+        };
+
+        double b[] = new double[] { 14.0, 14.0, 17.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_5x5() {
+
+        double a[][] = new double[][] {
+            { 10.0, 1.0, 0.0, -2.0, -3.0 },
+            { -1.0, -20.0, 0.0, 4.0, -3.0 },
+            { 2.0, -3.0, 30.0, 5.0, 0.0 },
+            { 5.0, 4.0, -1.0, 40.0, -6.0 },
+            { -2.0, 1.0, 4.0, 10.0, -50.0 }
+        };
+
+        double b[] = new double[] { 0.07, -13.29, -12.45, -41.8, -32.8 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolveWithIncompleteLU() {
+        Matrix a = convectionDiffusion(15);
+        Vector b = BasicVector.constant(a.rows(), 1.0);
+
+        IterativeSolution plain = new BiCGSTABSolver(a).solveIteratively(b);
+        IterativeSolution preconditioned = new BiCGSTABSolver(a, new IncompleteLUPreconditioner(a)).solveIteratively(b);
+
+        Assert.assertTrue(plain.converged());
+        Assert.assertTrue(preconditioned.converged());
+        Assert.assertTrue(preconditioned.iterations() < plain.iterations());
+        Assert.assertTrue(b.equals(a.multiply(preconditioned.solution()), 1e-9));
+
+        double[] history = preconditioned.history();
+        Assert.assertEquals(preconditioned.iterations(), history.length);
+        Assert.assertTrue(history[history.length - 1] <= history[0]);
+    }
+
+    private static Matrix convectionDiffusion(int size) {
+        int n = size * size;
+        CRSMatrix result = CRSMatrix.zero(n, n);
+
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                int k = i * size + j;
+                result.set(k, k, 4.0);
+                if (i > 0) {
+                    result.set(k, k - size, -1.5);
+                }
+                if (j > 0) {
+                    result.set(k, k - 1, -1.5);
+                }
+                if (j < size - 1) {
+                    result.set(k, k + 1, -0.5);
+                }
+                if (i < size - 1) {
+                    result.set(k, k + size, -0.5);
+                }
+            }
+        }
+
+        return result;
+    }
+}
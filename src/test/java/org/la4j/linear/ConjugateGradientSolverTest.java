@@ -0,0 +1,192 @@
+/*
+ * Copyright 2011-2013, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.la4j.LinearAlgebra;
+import org.la4j.Matrix;
+import org.la4j.Vector;
+import org.la4j.matrix.sparse.CRSMatrix;
+import org.la4j.vector.dense.BasicVector;
+
+import static org.la4j.M.*;
+import static org.la4j.V.*;
+
+public class ConjugateGradientSolverTest extends AbstractSolverTest {
+
+    @Override
+    public LinearAlgebra.SolverFactory solverFactory() {
+        return LinearAlgebra.CONJUGATE_GRADIENT;
+    }
+
+    @Test
+    public void testSolve_1x1() {
+
+        double a[][] = new double[][] {
+            { 144.0 }
+        };
+
+        double b[] = new double[] { 12.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_2x2() {
+
+        double a[][] = new double[][] {
+            { 4.0, 1.0 },
+            { 1.0, 3.0 }
+        };
+
+        double b[] = new double[] { 1.0, 2.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_3x3() {
+
+        double a[][] = new double[][] {
+            { 2.0, -1.0, 0.0 },
+            { -1.0, 2.0, -1.0 },
+            { 0.0, -1.0, 2.0 }
+        };
+
+        double b[] = new double[] { 1.0, 0.0, 1.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_5x5() {
+
+        double a[][] = new double[][] {
+            { 10.0, 1.0, 0.0, -2.0, 3.0 },
+            { 1.0, 20.0, 0.0, 4.0, -3.0 },
+            { 0.0, 0.0, 30.0, 5.0, 0.0 },
+            { -2.0, 4.0, 5.0, 40.0, -6.0 },
+            { 3.0, -3.0, 0.0, -6.0, 50.0 }
+        };
+
+        double b[] = new double[] { 0.07, -13.29, -12.45, -41.8, -32.8 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolveWithPreconditioners() {
+        Matrix a = laplacian(12);
+        Vector b = BasicVector.constant(a.rows(), 1.0);
+
+        Preconditioner[] preconditioners = {
+            new JacobiPreconditioner(a),
+            new SSORPreconditioner(a, 1.5),
+            new IncompleteCholeskyPreconditioner(a)
+        };
+
+        int jacobiIterations = 0;
+
+        for (Preconditioner preconditioner: preconditioners) {
+            ConjugateGradientSolver solver = new ConjugateGradientSolver(a, preconditioner);
+            IterativeSolution solution = solver.solveIteratively(b);
+
+            Assert.assertTrue(solution.converged());
+            Assert.assertTrue(b.equals(a.multiply(solution.solution()), 1e-9));
+
+            if (preconditioner instanceof JacobiPreconditioner) {
+                jacobiIterations = solution.iterations();
+            } else {
+                Assert.assertTrue(solution.iterations() < jacobiIterations);
+            }
+        }
+    }
+
+    @Test
+    public void testIterationCap() {
+        Matrix a = laplacian(12);
+        Vector b = BasicVector.constant(a.rows(), 1.0);
+
+        ConjugateGradientSolver solver = new ConjugateGradientSolver(a, new JacobiPreconditioner(a), 1e-12, 3);
+        IterativeSolution solution = solver.solveIteratively(b);
+
+        Assert.assertFalse(solution.converged());
+        Assert.assertEquals(3, solution.iterations());
+        Assert.assertTrue(solution.residual() > 1e-12);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonSymmetricMatrix() {
+        new ConjugateGradientSolver(m(a(2.0, 1.0), a(0.0, 2.0)));
+    }
+
+    @Test
+    public void testApplicableTo() {
+        Matrix a = m(a(2.0, 1.0), a(1.0, 2.0));
+        ConjugateGradientSolver solver = new ConjugateGradientSolver(a);
+
+        Assert.assertTrue(solver.applicableTo(a));
+        Assert.assertTrue(solver.applicableTo(m(a(2.0, 1.0), a(1.0 + 1e-14, 2.0))));
+        Assert.assertFalse(solver.applicableTo(m(a(2.0, 1.0), a(0.0, 2.0))));
+        Assert.assertFalse(solver.applicableTo(m(a(2.0, 1.0), a(1.0, 2.0), a(0.0, 1.0))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIndefiniteMatrix() {
+        Matrix a = m(a(1.0, 2.0), a(2.0, 1.0));
+        new ConjugateGradientSolver(a, new IdentityPreconditioner()).solve(v(1.0, -1.0));
+    }
+
+    private static Matrix laplacian(int size) {
+        int n = size * size;
+        CRSMatrix result = CRSMatrix.zero(n, n);
+
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                int k = i * size + j;
+                result.set(k, k, 4.0);
+                if (i > 0) {
+                    result.set(k, k - size, -1.0);
+                }
+                if (j > 0) {
+                    result.set(k, k - 1, -1.0);
+                }
+                if (j < size - 1) {
+                    result.set(k, k + 1, -1.0);
+                }
+                if (i < size - 1) {
+                    result.set(k, k + size, -1.0);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static class IdentityPreconditioner implements Preconditioner {
+        @Override
+        public void apply(double[] r, double[] z) {
+            System.arraycopy(r, 0, z, 0, r.length);
+        }
+    }
+}
@@ -130,4 +130,23 @@ public class ForwardBackSubstitutionSolverTest extends AbstractSolverTest {
         performTest(a, b);
     }
 
+    @Test
+    public void testSolve_MultipleRHS() {
+
+        double a[][] = new double[][] {
+            { 9.0, 3.0, 0.0, 5.0 },
+            { 1.0, 0.0, 3.0, 6.0 },
+            { 7.0, 0.0, 2.0, 2.0 },
+            { 0.0, 3.0, 0.0, 0.0 }
+        };
+
+        double b[][] = new double[][] {
+            { 0.0, 1.0, 0.0 },
+            { 2.0, 0.0, 0.0 },
+            { 0.0, -4.0, 0.0 },
+            { 3.0, 7.0, 0.0 }
+        };
+
+        performTest(a, b);
+    }
 }
@@ -21,8 +21,15 @@
 
 package org.la4j.linear;
 
+import java.util.Random;
+
+import org.junit.Assert;
 import org.junit.Test;
 import org.la4j.LinearAlgebra;
+import org.la4j.Matrix;
+import org.la4j.Vector;
+import org.la4j.matrix.dense.Basic2DMatrix;
+import org.la4j.vector.dense.BasicVector;
 
 public class LeastSquaresSolverTest extends AbstractSolverTest {
     
@@ -186,4 +193,44 @@ public class LeastSquaresSolverTest extends AbstractSolverTest {
 
         performTest(a, b);
     }
+
+    @Test
+    public void testSolve_MultipleRHS() {
+
+        double a[][] = new double[][] {
+            { 10.0, 1.0 },
+            { 0.0, 2.0 },
+            { 4.0, -8.0 }
+        };
+
+        double b[][] = new double[][] {
+            { 12.0, -30.0, 0.0 },
+            { 4.0, 0.0, 0.0 },
+            { -12.0, -12.0, 0.0 }
+        };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_Tall() {
+        int m = 5000;
+        int n = 70;
+        Random random = new Random(3);
+        Matrix a = Basic2DMatrix.zero(m, n);
+        Vector b = BasicVector.zero(m);
+
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                a.set(i, j, random.nextGaussian());
+            }
+            b.set(i, random.nextGaussian());
+        }
+
+        Vector x = new LeastSquaresSolver(a).solve(b);
+
+        // the residual is orthogonal to the columns of A
+        Vector normal = a.transpose().multiply(b.subtract(a.multiply(x)));
+        Assert.assertEquals(0.0, normal.norm(), 1e-9);
+    }
 }
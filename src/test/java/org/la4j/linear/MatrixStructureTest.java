@@ -0,0 +1,137 @@
+/*
+ * Copyright 2011-2013, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.la4j.LinearAlgebra;
+import org.la4j.Matrix;
+import org.la4j.Vector;
+import org.la4j.matrix.sparse.CRSMatrix;
+
+import static org.la4j.M.*;
+import static org.la4j.V.*;
+
+public class MatrixStructureTest {
+
+    @Test
+    public void testStructure() {
+        for (Matrix a: ms(a(4.0, -1.0, 0.0, 0.0),
+                          a(-1.0, 4.0, -1.0, 0.0),
+                          a(0.0, -1.0, 4.0, 2.0),
+                          a(0.0, 0.0, 2.0, 4.0))) {
+
+            MatrixStructure structure = MatrixStructure.of(a);
+
+            Assert.assertEquals(10, structure.cardinality());
+            Assert.assertEquals(1, structure.lowerBandwidth());
+            Assert.assertEquals(1, structure.upperBandwidth());
+            Assert.assertTrue(structure.isTridiagonal());
+            Assert.assertTrue(structure.isSymmetric());
+            Assert.assertTrue(structure.hasPositiveDiagonal());
+            Assert.assertFalse(structure.isLowerTriangular());
+            Assert.assertEquals(0.25, structure.dominance(), 1e-15);
+        }
+
+        for (Matrix a: ms(a(1.0, 0.0, 0.0),
+                          a(2.0, -3.0, 0.0),
+                          a(0.0, 5.0, 1.0))) {
+
+            MatrixStructure structure = MatrixStructure.of(a);
+
+            Assert.assertTrue(structure.isLowerTriangular());
+            Assert.assertFalse(structure.isUpperTriangular());
+            Assert.assertFalse(structure.isSymmetric());
+            Assert.assertFalse(structure.hasPositiveDiagonal());
+            Assert.assertFalse(structure.isDiagonallyDominant());
+            Assert.assertEquals(5.0 / 9.0, structure.density(), 1e-15);
+        }
+    }
+
+    @Test
+    public void testSmartSolver() {
+        assertSolver(TriangularSolver.class, m(a(2.0, 0.0, 0.0), a(1.0, 3.0, 0.0), a(1.0, 1.0, 4.0)));
+        assertSolver(SweepSolver.class, m(a(2.0, 1.0, 0.0), a(1.0, 3.0, 5.0), a(0.0, 1.0, 4.0)));
+        assertSolver(CholeskySolver.class, m(a(4.0, 1.0, 2.0), a(1.0, 3.0, 1.0), a(2.0, 1.0, 5.0)));
+        assertSolver(ForwardBackSubstitutionSolver.class, m(a(4.0, 1.0, 2.0), a(0.0, 3.0, 1.0), a(2.0, 1.0, 5.0)));
+        assertSolver(LeastSquaresSolver.class, m(a(1.0, 2.0), a(3.0, 4.0), a(5.0, 7.0)));
+
+        assertSolver(SparseCholeskySolver.class, grid(30, 4.0, -1.0, -1.0));
+        assertSolver(MulticolorSeidelSolver.class, grid(30, 8.0, -1.0, -2.0));
+        assertSolver(SparseLUSolver.class, grid(30, 4.0, -1.0, -2.0));
+    }
+
+    @Test
+    public void testSmartSolver_SymmetricIndefinite() {
+        // symmetric with a positive diagonal, but not positive definite
+        for (Matrix a: ms(a(1.0, 1.0, 0.0, 1.0),
+                          a(1.0, 1.0, 1.0, 0.0),
+                          a(0.0, 1.0, 1.0, 0.0),
+                          a(1.0, 0.0, 0.0, 3.0))) {
+
+            LinearSystemSolver solver = LinearAlgebra.SOLVER.create(a);
+            Vector x = solver.solve(a.getColumn(0).add(a.getColumn(3)));
+
+            Assert.assertEquals(ForwardBackSubstitutionSolver.class, solver.getClass());
+            Assert.assertTrue(v(1.0, 0.0, 0.0, 1.0).equals(x, 1e-12));
+
+            // a nearly singular leading minor does not spoil the solution
+            a.set(1, 1, 1.0 + 1e-13);
+            Vector b = v(1.0, 2.0, 3.0, 4.0);
+            Vector residual = b.subtract(a.multiply(LinearAlgebra.SOLVER.create(a).solve(b)));
+            Assert.assertEquals(0.0, residual.norm(), 1e-12);
+        }
+    }
+
+    private static void assertSolver(Class<?> expected, Matrix a) {
+        LinearSystemSolver solver = LinearAlgebra.SOLVER.create(a);
+        Assert.assertEquals(expected, solver.getClass());
+    }
+
+    /**
+     * A 5-point stencil with the given coefficients of the west and east
+     * neighbours.
+     */
+    private static Matrix grid(int side, double diagonal, double west, double east) {
+        int n = side * side;
+        CRSMatrix result = CRSMatrix.zero(n, n);
+
+        for (int i = 0; i < n; i++) {
+            int x = i % side;
+            result.set(i, i, diagonal);
+            if (i >= side) {
+                result.set(i, i - side, -1.0);
+            }
+            if (x > 0) {
+                result.set(i, i - 1, west);
+            }
+            if (x < side - 1) {
+                result.set(i, i + 1, east);
+            }
+            if (i + side < n) {
+                result.set(i, i + side, -1.0);
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2011-2013, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.la4j.LinearAlgebra;
+import org.la4j.Matrix;
+import org.la4j.Vector;
+import org.la4j.matrix.dense.Basic2DMatrix;
+import org.la4j.vector.dense.BasicVector;
+
+import static org.la4j.M.*;
+
+public class MixedPrecisionSolverTest extends AbstractSolverTest {
+
+    @Override
+    public LinearAlgebra.SolverFactory solverFactory() {
+        return LinearAlgebra.MIXED_PRECISION;
+    }
+
+    @Test
+    public void testSolve_1x1() {
+
+        double a[][] = new double[][] {
+            { 0.125 }
+        };
+
+        double b[] = new double[] { 3.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_3x3() {
+
+        double a[][] = new double[][] {
+            { 0.0, 7.0, 0.1 },
+            { 3.3, -2.0, 1.0 },
+            { 1.0, 0.5, -12.0 }
+        };
+
+        double b[] = new double[] { 1.0, -0.7, 3.3 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_4x4() {
+
+        double a[][] = new double[][] {
+            { 1.0, 2.0, 0.0, 4.0 },
+            { 5.0, 6.0, 7.0, 8.0 },
+            { 9.0, -1.0, 11.0, 12.0 },
+            { 13.0, 14.0, 15.0, 1.0 }
+        };
+
+        double b[] = new double[] { 1.0, 2.0, 3.0, 4.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_MultipleRHS() {
+
+        double a[][] = new double[][] {
+            { 4.0, -2.0, 1.0 },
+            { 3.0, 6.0, -4.0 },
+            { 2.0, 1.0, 8.0 }
+        };
+
+        double b[][] = new double[][] {
+            { 12.0, 1.0 },
+            { -25.0, 0.0 },
+            { 32.0, -1.0 }
+        };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_Large() {
+        int n = 300;
+        Random random = new Random(42);
+        Matrix a = Basic2DMatrix.zero(n, n);
+        Vector b = BasicVector.zero(n);
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                a.set(i, j, random.nextDouble() - 0.5);
+            }
+            b.set(i, random.nextDouble());
+        }
+
+        MixedPrecisionSolver solver = new MixedPrecisionSolver(a);
+        Vector x = solver.solve(b);
+
+        Assert.assertFalse(solver.usesFullPrecision());
+        Assert.assertTrue(x.equals(new GaussianSolver(a).solve(b), 1e-10));
+        Assert.assertTrue(b.equals(a.multiply(x), 1e-12));
+    }
+
+    @Test
+    public void testSolve_IllConditioned() {
+        int n = 10;
+        double[][] hilbert = new double[n][n];
+        double[] b = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                hilbert[i][j] = 1.0 / (i + j + 1);
+                b[i] += hilbert[i][j];
+            }
+        }
+
+        Matrix a = m(hilbert);
+        Vector rhs = BasicVector.fromArray(b);
+        MixedPrecisionSolver solver = new MixedPrecisionSolver(a);
+        Vector x = solver.solve(rhs);
+
+        Assert.assertTrue(solver.usesFullPrecision());
+        Assert.assertTrue(rhs.equals(a.multiply(x), 1e-12));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSingularMatrix() {
+        new MixedPrecisionSolver(m(a(1.0, 2.0), a(2.0, 4.0))).solve(BasicVector.fromArray(a(1.0, 1.0)));
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2011-2013, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.la4j.LinearAlgebra;
+import org.la4j.Matrix;
+import org.la4j.Vector;
+import org.la4j.matrix.sparse.CRSMatrix;
+import org.la4j.vector.DenseVector;
+
+import static org.la4j.M.*;
+import static org.la4j.V.*;
+
+public class MulticolorSeidelSolverTest extends AbstractSolverTest {
+
+    @Override
+    public LinearAlgebra.SolverFactory solverFactory() {
+        return LinearAlgebra.MULTICOLOR_SEIDEL;
+    }
+    
+    @Test
+    public void testSolve_1x1() {
+
+        double a[][] = new double[][] { 
+            { -77.0 } 
+        };
+
+        double b[] = new double[] { 11.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_2x2() {
+
+        double a[][] = new double[][] { 
+            { 10.0, 1.0 },
+            { 5.0, -22.0 }
+        };
+
+        double b[] = new double[] { -20.0, -10.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_3x3() {
+
+        double a[][] = new double[][] { 
+            { 5.0, 0.0, 0.0 }, 
+            { 1.0, 7.0, 0.0 },
+            { 4.0, 0.0, 9.0 }
+        };
+
+        double b[] = new double[] { 0.0, 2.0, 0.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_3x3_2() {
+
+        double a[][] = new double[][] { 
+            { 10.0, 1.0, -2.0 },
+            { 3.0, -8.0, 1.0 },
+            { 11.0, -2.0, 15.0 }
+        };
+
+        double b[] = new double[] { 6.8, -10.1, -36.9 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_4x4() {
+
+        double a[][] = new double[][] { 
+            { 32.0, 4.0, 1.0, -3.0 },
+            { -2.0, -10.0, -6.0, 1.0 },
+            { 5.0, -2.0, -12.0, -1.0 },
+            { 0.0, -14.0, -6.0, 21.0 }
+        };
+
+        double b[] = new double[] { -3.9, -5.4, 2.1, 18.4 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_5x5() {
+
+        double a[][] = new double[][] { 
+            { 10.0, 1.0, 0.0, -2.0, -3.0 },
+            { -1.0, -20.0, 0.0, 4.0, -3.0 },
+            { 2.0, -3.0, 30.0, 5.0, 0.0 },
+            { 5.0, 4.0, -1.0, 40.0, -6.0 },
+            { -2.0, 1.0, 4.0, 10.0, -50.0 }
+        };
+
+        double b[] = new double[] { 0.07, -13.29, -12.45, -41.8, -32.8 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_Grid() {
+        int side = 80;
+        int n = side * side;
+        CRSMatrix.Builder builder = CRSMatrix.builder(n);
+        double[] b = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            int[] columns = new int[5];
+            double[] values = new double[5];
+            int length = 0;
+
+            int x = i % side;
+            int y = i / side;
+
+            if (y > 0) {
+                columns[length] = i - side;
+                values[length++] = -1.0;
+            }
+            if (x > 0) {
+                columns[length] = i - 1;
+                values[length++] = -1.0;
+            }
+            columns[length] = i;
+            values[length++] = 5.0;
+            if (x < side - 1) {
+                columns[length] = i + 1;
+                values[length++] = -1.0;
+            }
+            if (y < side - 1) {
+                columns[length] = i + side;
+                values[length++] = -1.0;
+            }
+
+            builder.appendRow(columns, values, length);
+            b[i] = (i % 7) - 3.0;
+        }
+
+        Matrix a = builder.build();
+        Vector rhs = DenseVector.fromArray(b);
+
+        for (int threads: new int[] { 1, 4 }) {
+            MulticolorSeidelSolver solver = new MulticolorSeidelSolver(a, 1e-12, 1000, threads);
+
+            // a five-point stencil is colored red-black
+            Assert.assertEquals(2, solver.colors());
+
+            IterativeSolution solution = solver.solveIteratively(rhs);
+
+            Assert.assertTrue(solution.converged());
+            Assert.assertTrue(rhs.equals(a.multiply(solution.solution()), 1e-9));
+
+            Vector r = rhs.subtract(a.multiply(solution.solution()));
+            Assert.assertEquals(r.norm() / rhs.norm(), solution.residual(), 1e-15);
+        }
+    }
+}
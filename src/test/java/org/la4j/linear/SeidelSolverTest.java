@@ -21,8 +21,14 @@
 
 package org.la4j.linear;
 
+import org.junit.Assert;
 import org.junit.Test;
 import org.la4j.LinearAlgebra;
+import org.la4j.Matrix;
+import org.la4j.Vector;
+
+import static org.la4j.M.*;
+import static org.la4j.V.*;
 
 public class SeidelSolverTest extends AbstractSolverTest {
 
@@ -114,4 +120,32 @@ public class SeidelSolverTest extends AbstractSolverTest {
 
         performTest(a, b);
     }
+
+    @Test
+    public void testConvergenceControl() {
+        Matrix a = m(a(10.0, 1.0, 0.0, -2.0, -3.0),
+                     a(-1.0, -20.0, 0.0, 4.0, -3.0),
+                     a(2.0, -3.0, 30.0, 5.0, 0.0),
+                     a(5.0, 4.0, -1.0, 40.0, -6.0),
+                     a(-2.0, 1.0, 4.0, 10.0, -50.0));
+        Vector b = v(0.07, -13.29, -12.45, -41.8, -32.8);
+
+        IterativeSolution capped = new SeidelSolver(a, 1e-12, 2).solveIteratively(b);
+
+        Assert.assertFalse(capped.converged());
+        Assert.assertEquals(2, capped.iterations());
+
+        // the residual is the one of the returned solution
+        Vector r = b.subtract(a.multiply(capped.solution()));
+        Assert.assertEquals(r.norm() / b.norm(), capped.residual(), 1e-12);
+
+        IterativeSolution loose = new SeidelSolver(a, 1e-3, 1000).solveIteratively(b);
+        IterativeSolution tight = new SeidelSolver(a, 1e-12, 1000).solveIteratively(b);
+
+        Assert.assertTrue(loose.converged());
+        Assert.assertTrue(tight.converged());
+        Assert.assertTrue(loose.iterations() < tight.iterations());
+        Assert.assertTrue(tight.residual() <= 1e-12);
+        Assert.assertEquals(tight.iterations(), tight.history().length);
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2011-2013, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.la4j.LinearAlgebra;
+import org.la4j.Matrix;
+import org.la4j.Vector;
+import org.la4j.matrix.sparse.CRSMatrix;
+import org.la4j.vector.DenseVector;
+
+public class SparseCholeskySolverTest extends AbstractSolverTest {
+
+    @Override
+    public LinearAlgebra.SolverFactory solverFactory() {
+        return LinearAlgebra.SPARSE_CHOLESKY_SOLVER;
+    }
+
+    @Test
+    public void testSolve_1x1() {
+
+        double a[][] = new double[][] {
+            { 3.0 }
+        };
+
+        double b[] = new double[] { 12.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_3x3() {
+
+        double a[][] = new double[][] {
+            { 4.0, 1.0, 2.0 },
+            { 1.0, 5.0, 3.0 },
+            { 2.0, 3.0, 9.0 }
+        };
+
+        double b[] = new double[] { 1.0, -2.0, 0.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_5x5() {
+
+        double a[][] = new double[][] {
+            { 6.0, 1.0, 0.0, 0.0, 2.0 },
+            { 1.0, 7.0, 3.0, 0.0, 0.0 },
+            { 0.0, 3.0, 8.0, 1.0, 0.0 },
+            { 0.0, 0.0, 1.0, 5.0, 1.0 },
+            { 2.0, 0.0, 0.0, 1.0, 9.0 }
+        };
+
+        double b[] = new double[] { 0.0, 1.0, 0.0, -3.0, 2.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_MultipleRHS() {
+
+        double a[][] = new double[][] {
+            { 4.0, 1.0, 2.0 },
+            { 1.0, 5.0, 3.0 },
+            { 2.0, 3.0, 9.0 }
+        };
+
+        double b[][] = new double[][] {
+            { 1.0, 0.0, 8.0 },
+            { 0.0, 0.0, -1.0 },
+            { 2.0, 0.0, 0.5 }
+        };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_Refactor() {
+        int side = 100;
+        Matrix a = grid(side, 4.5);
+        Vector b = DenseVector.constant(a.rows(), 1.0);
+
+        SparseCholeskySolver solver = new SparseCholeskySolver(a);
+        Assert.assertTrue(b.equals(a.multiply(solver.solve(b)), 1e-9));
+
+        // only the values change, like in a Newton iteration
+        for (double shift: new double[] { 4.1, 8.0 }) {
+            Matrix c = grid(side, shift);
+            SparseCholeskySolver next = new SparseCholeskySolver(c, solver.symbolic());
+
+            Assert.assertSame(solver.symbolic(), next.symbolic());
+            Assert.assertTrue(b.equals(c.multiply(next.solve(b)), 1e-9));
+        }
+    }
+
+    /**
+     * The five-point stencil on a square grid with the given diagonal.
+     */
+    private static Matrix grid(int side, double diagonal) {
+        int n = side * side;
+        CRSMatrix.Builder builder = CRSMatrix.builder(n);
+        int[] columns = new int[5];
+        double[] values = new double[5];
+
+        for (int i = 0; i < n; i++) {
+            int x = i % side;
+            int y = i / side;
+            int length = 0;
+
+            if (y > 0) {
+                columns[length] = i - side;
+                values[length++] = -1.0;
+            }
+            if (x > 0) {
+                columns[length] = i - 1;
+                values[length++] = -1.0;
+            }
+            columns[length] = i;
+            values[length++] = diagonal;
+            if (x < side - 1) {
+                columns[length] = i + 1;
+                values[length++] = -1.0;
+            }
+            if (y < side - 1) {
+                columns[length] = i + side;
+                values[length++] = -1.0;
+            }
+
+            builder.appendRow(columns, values, length);
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2011-2013, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.la4j.LinearAlgebra;
+import org.la4j.Matrix;
+import org.la4j.Vector;
+import org.la4j.decomposition.SparseLUDecompositor;
+import org.la4j.matrix.sparse.CRSMatrix;
+import org.la4j.vector.DenseVector;
+
+public class SparseLUSolverTest extends AbstractSolverTest {
+
+    @Override
+    public LinearAlgebra.SolverFactory solverFactory() {
+        return LinearAlgebra.SPARSE_LU_SOLVER;
+    }
+    
+    @Test
+    public void testSolve_1x1() {
+
+        double a[][] = new double[][] {
+            { 99.0 }
+        };
+
+        double b[] = new double[] { -33.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_2x2() {
+
+        double a[][] = new double[][] {
+            { 5.0, 10.0 },
+            { 15.0, -20.0 }
+        };
+
+        double b[] = new double[] { 21.0, -37.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_3x3() {
+
+        double a[][] = new double[][] {
+            { -8.0, 4.0, 2.0 },
+            { 10.0, 18.0, -70.0 },
+            { 3.0, -54.0, 19.0 }
+        };
+
+        double b[] = new double[] { 7.0, -85.5, 0.5 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_4x4() {
+
+        double a[][] = new double[][] {
+            { 9.0, 3.0, 0.0, 5.0 }, 
+            { 1.0, 0.0, 3.0, 6.0 },
+            { 7.0, 0.0, 2.0, 2.0 }, 
+            { 0.0, 3.0, 0.0, 0.0 } 
+        };
+
+        double b[] = new double[] { 0.0, 2.0, 0.0, 3.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_5x5() {
+
+        double a[][] = new double[][] {
+            { 19.0, -1.0, 6.0, 18.0, -22.0 },
+            { 77.0, 4.0, 100.0, 16.0, 54.0 },
+            { -0.1, 19.0, 24.0, 3.0, 1.0 },
+            { 11.0, 8.0, 33.0, -10.0, 0.0 },
+            { -99.0, 7.0, 42.0, 42.0, 25.0 }
+        };
+
+        double b[] = new double[] { 146.0, 486.0, 77.0, 282.0, -157.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_MultipleRHS() {
+
+        double a[][] = new double[][] {
+            { 9.0, 3.0, 0.0, 5.0 },
+            { 1.0, 0.0, 3.0, 6.0 },
+            { 7.0, 0.0, 2.0, 2.0 },
+            { 0.0, 3.0, 0.0, 0.0 }
+        };
+
+        double b[][] = new double[][] {
+            { 0.0, 1.0, 0.0 },
+            { 2.0, 0.0, 0.0 },
+            { 0.0, -4.0, 0.0 },
+            { 3.0, 7.0, 0.0 }
+        };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_ZeroDiagonal() {
+
+        double a[][] = new double[][] {
+            { 0.0, 2.0, 0.0, 1.0 },
+            { 1.0, 0.0, 0.0, 0.0 },
+            { 0.0, 0.0, 0.0, 3.0 },
+            { 0.0, 1.0, 4.0, 0.0 }
+        };
+
+        double b[] = new double[] { 1.0, -2.0, 0.0, 5.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_Large() {
+        Matrix a = grid(200, new Random(42));
+        Vector b = DenseVector.constant(a.rows(), 1.0);
+
+        Vector x = a.withSolver(solverFactory()).solve(b);
+
+        Assert.assertTrue(b.equals(a.multiply(x), 1e-9));
+    }
+
+    @Test
+    public void testSolve_ReusedSymbolic() {
+        Random random = new Random(7);
+        Matrix a = grid(25, random);
+        Matrix b = a.copy();
+
+        // the same pattern with different values
+        for (int i = 0; i < b.rows(); i++) {
+            b.set(i, i, b.get(i, i) * 2.0);
+        }
+
+        SparseLUSolver first = new SparseLUSolver(a);
+        SparseLUSolver second = new SparseLUSolver(b, first.symbolic());
+
+        Assert.assertSame(first.symbolic(), second.symbolic());
+
+        Vector rhs = DenseVector.constant(b.rows(), 1.0);
+        Assert.assertTrue(rhs.equals(b.multiply(second.solve(rhs)), 1e-9));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSolve_DifferentPattern() {
+        Matrix a = grid(10, new Random(1));
+        Matrix b = a.copy();
+        b.set(0, 99, b.get(0, 99) + 1.0);
+
+        SparseLUDecompositor.Symbolic symbolic = new SparseLUSolver(a).symbolic();
+        new SparseLUSolver(b, symbolic);
+    }
+
+    /**
+     * A random non-symmetric matrix with the pattern of a five-point stencil on
+     * a square grid, like a power grid netlist.
+     */
+    private static Matrix grid(int side, Random random) {
+        int n = side * side;
+        CRSMatrix.Builder builder = CRSMatrix.builder(n);
+        int[] columns = new int[5];
+        double[] values = new double[5];
+
+        for (int i = 0; i < n; i++) {
+            int x = i % side;
+            int y = i / side;
+            int length = 0;
+
+            if (y > 0) {
+                columns[length] = i - side;
+                values[length++] = -random.nextDouble();
+            }
+            if (x > 0) {
+                columns[length] = i - 1;
+                values[length++] = -random.nextDouble();
+            }
+            columns[length] = i;
+            values[length++] = 1.0 + 4.0 * random.nextDouble();
+            if (x < side - 1) {
+                columns[length] = i + 1;
+                values[length++] = -random.nextDouble();
+            }
+            if (y < side - 1) {
+                columns[length] = i + side;
+                values[length++] = -random.nextDouble();
+            }
+
+            builder.appendRow(columns, values, length);
+        }
+
+        return builder.build();
+    }
+}
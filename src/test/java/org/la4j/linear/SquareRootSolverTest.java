@@ -114,4 +114,22 @@ public class SquareRootSolverTest extends AbstractSolverTest {
 
         performTest(a, b);
     }
+
+    @Test
+    public void testSolve_MultipleRHS() {
+
+        double a[][] = new double[][] {
+            { 4.0, 1.0, 2.0 },
+            { 1.0, 5.0, 3.0 },
+            { 2.0, 3.0, 9.0 }
+        };
+
+        double b[][] = new double[][] {
+            { 1.0, 0.0, 8.0 },
+            { 0.0, 0.0, -1.0 },
+            { 2.0, 0.0, 0.5 }
+        };
+
+        performTest(a, b);
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2011-2013, by Vladimir Kostyukov and Contributors.
+ * 
+ * This file is part of la4j project (http://la4j.org)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Contributor(s): -
+ * 
+ */
+
+package org.la4j.linear;
+
+import org.junit.Test;
+import org.la4j.LinearAlgebra;
+
+import static org.la4j.M.*;
+import static org.la4j.V.*;
+
+public class TriangularSolverTest extends AbstractSolverTest {
+
+    @Override
+    public LinearAlgebra.SolverFactory solverFactory() {
+        return LinearAlgebra.TRIANGULAR;
+    }
+
+    @Test
+    public void testSolve_1x1() {
+
+        double a[][] = new double[][] {
+            { -4.0 }
+        };
+
+        double b[] = new double[] { 2.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_3x3_Lower() {
+
+        double a[][] = new double[][] {
+            { 2.0, 0.0, 0.0 },
+            { 1.0, 4.0, 0.0 },
+            { -3.0, 0.0, 5.0 }
+        };
+
+        double b[] = new double[] { 2.0, 9.0, 7.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_4x4_Upper() {
+
+        double a[][] = new double[][] {
+            { 1.0, 2.0, 0.0, -1.0 },
+            { 0.0, 3.0, 1.0, 0.0 },
+            { 0.0, 0.0, -2.0, 4.0 },
+            { 0.0, 0.0, 0.0, 8.0 }
+        };
+
+        double b[] = new double[] { 1.0, -2.0, 3.0, 16.0 };
+
+        performTest(a, b);
+    }
+
+    @Test
+    public void testSolve_MultipleRHS() {
+
+        double a[][] = new double[][] {
+            { 3.0, 0.0, 0.0 },
+            { 1.0, 2.0, 0.0 },
+            { 0.0, -1.0, 1.0 }
+        };
+
+        double b[][] = new double[][] {
+            { 3.0, 6.0 },
+            { 3.0, 0.0 },
+            { 0.0, 1.0 }
+        };
+
+        performTest(a, b);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonTriangularMatrix() {
+        new TriangularSolver(m(a(1.0, 2.0), a(3.0, 4.0)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSingularMatrix() {
+        new TriangularSolver(m(a(1.0, 0.0), a(3.0, 0.0))).solve(v(1.0, 1.0));
+    }
+}
@@ -27,12 +27,31 @@
 package org.la4j.matrix;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.junit.Assert;
 import org.junit.Test;
 import org.la4j.*;
+import org.la4j.matrix.sparse.CRSMatrix;
 import org.la4j.vector.DenseVector;
 
 import static org.la4j.M.*;
@@ -1083,6 +1102,63 @@ public abstract class MatrixTest<T extends Matrix> {
         Assert.assertEquals(1, a.rank());
     }
 
+    @Test
+    public void testSingularValues_3x2() {
+        Matrix a = m(a(3.0, 0.0),
+                     a(0.0, -4.0),
+                     a(0.0, 0.0));
+
+        Assert.assertEquals(DenseVector.fromArray(new double[] { 4.0, 3.0 }), a.singularValues());
+    }
+
+    @Test
+    public void testSingularValues_3x3() {
+        Matrix a = m(a(1.0, 2.0, 3.0),
+                     a(4.0, 5.0, 6.0),
+                     a(7.0, 8.0, 10.0));
+
+        Vector s = a.singularValues();
+        Matrix[] usv = a.withDecompositor(LinearAlgebra.SVD).decompose();
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(usv[1].get(i, i), s.get(i), 1e-12);
+        }
+    }
+
+    @Test
+    public void testEigenvalues_3x3_symmetric() {
+        Matrix a = m(a(2.0, -1.0, 0.0),
+                     a(-1.0, 2.0, -1.0),
+                     a(0.0, -1.0, 2.0));
+
+        Vector d = a.eigenvalues();
+
+        Assert.assertEquals(2.0 - Math.sqrt(2.0), d.get(0), 1e-12);
+        Assert.assertEquals(2.0, d.get(1), 1e-12);
+        Assert.assertEquals(2.0 + Math.sqrt(2.0), d.get(2), 1e-12);
+    }
+
+    @Test
+    public void testEigenvalues_3x3_nonSymmetric() {
+        Matrix a = m(a(2.0, 1.0, 5.0),
+                     a(0.0, -3.0, 4.0),
+                     a(0.0, 0.0, 1.0));
+
+        Vector d = a.eigenvalues();
+
+        Assert.assertEquals(-3.0, d.get(0), 1e-12);
+        Assert.assertEquals(1.0, d.get(1), 1e-12);
+        Assert.assertEquals(2.0, d.get(2), 1e-12);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEigenvalues_2x2_complex() {
+        Matrix a = m(a(0.0, -1.0),
+                     a(1.0, 0.0));
+
+        a.eigenvalues();
+    }
+
     @Test
     public void testRowAccess_2x1() {
         Matrix a = m(a(99.0),
@@ -2038,4 +2114,170 @@ public abstract class MatrixTest<T extends Matrix> {
         Assert.assertNotNull(bcs_mm_matrix);
         Assert.assertTrue(bcs_matrix.equals(bcs_mm_matrix));
     }
+
+    @Test
+    public void testFromMatrixMarketFile() throws Exception {
+        String mm = "%%MatrixMarket matrix coordinate real general\n" +
+                "% unordered entries\n" +
+                "3 4 6\n" +
+                "3 4 5.0\n" +
+                "1 2 -1.5e+00\n" +
+                "\n" +
+                "2 1 2.25\n" +
+                "1 1 1\n" +
+                "3 1 0.0\n" +
+                "2 3 1.0E-3\n";
+
+        File file = File.createTempFile("la4j", ".mtx");
+        file.deleteOnExit();
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8);
+        writer.write(mm);
+        writer.close();
+
+        Matrix a = m(a(1.0, -1.5, 0.0, 0.0),
+                     a(2.25, 0.0, 0.001, 0.0),
+                     a(0.0, 0.0, 0.0, 5.0));
+
+        Matrix b = Matrix.fromMatrixMarket(file).to(factory);
+        Matrix c = Matrix.fromMatrixMarket(new ByteArrayInputStream(mm.getBytes(StandardCharsets.UTF_8)));
+
+        Assert.assertEquals(a, b);
+        Assert.assertEquals(a, c);
+    }
+
+    @Test
+    public void testNpyRoundTrip() throws Exception {
+        Matrix a = mz(4, 3);
+        a.set(0, 0, 1.5);
+        a.set(1, 2, -2.0);
+        a.set(3, 1, 1e-300);
+        a.set(3, 2, 42.0);
+
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        a.toNpy(os);
+
+        File file = File.createTempFile("la4j", ".npy");
+        file.deleteOnExit();
+        FileOutputStream fos = new FileOutputStream(file);
+        a.toNpy(fos);
+        fos.close();
+
+        Matrix b = Matrix.fromNpy(new ByteArrayInputStream(os.toByteArray()));
+        Matrix c = Matrix.fromNpy(file);
+
+        Assert.assertEquals(a, b);
+        Assert.assertEquals(a, c);
+    }
+
+    @Test
+    public void testFromNpyFloatFortranOrder() throws Exception {
+        String header = "{'descr': '>f4', 'fortran_order': True, 'shape': (2, 3), }\n";
+        ByteBuffer buffer = ByteBuffer.allocate(10 + header.length() + 24);
+        buffer.put(new byte[] { (byte) 0x93, 'N', 'U', 'M', 'P', 'Y', 1, 0 });
+        buffer.order(ByteOrder.LITTLE_ENDIAN).putShort((short) header.length());
+        buffer.put(header.getBytes(StandardCharsets.US_ASCII));
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        for (float x: new float[] { 1.0f, 4.0f, 2.0f, 5.0f, 3.0f, 0.5f }) {
+            buffer.putFloat(x);
+        }
+
+        Matrix a = m(a(1.0, 2.0, 3.0),
+                     a(4.0, 5.0, 0.5));
+
+        Assert.assertEquals(a, Matrix.fromNpy(new ByteArrayInputStream(buffer.array())));
+    }
+
+    @Test
+    public void testNpzRoundTrip() throws Exception {
+        Matrix a = mz(5, 4);
+        a.set(0, 3, 1.0);
+        a.set(2, 0, -3.5);
+        a.set(2, 1, 7.0);
+        a.set(4, 3, 0.25);
+
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        a.toNpz(os);
+
+        Matrix b = Matrix.fromNpz(new ByteArrayInputStream(os.toByteArray()));
+
+        Assert.assertEquals(a, b);
+        Assert.assertTrue(b instanceof SparseMatrix);
+        Assert.assertEquals(a instanceof ColumnMajorSparseMatrix, b instanceof ColumnMajorSparseMatrix);
+    }
+
+    @Test
+    public void testNpzWithUnsortedAndDuplicateIndices() throws Exception {
+        // scipy's csr_matrix(([1, 2, 3, 4], [2, 0, 2, 1], [0, 3, 3, 4]), shape=(3, 3))
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        ZipOutputStream zip = new ZipOutputStream(os);
+
+        zip.putNextEntry(new ZipEntry("data.npy"));
+        writeNpy(zip, "<f8", "(4,)", ByteBuffer.allocate(32).order(ByteOrder.LITTLE_ENDIAN)
+                .putDouble(1.0).putDouble(2.0).putDouble(3.0).putDouble(4.0));
+        zip.putNextEntry(new ZipEntry("indices.npy"));
+        writeNpy(zip, "<i8", "(4,)", ByteBuffer.allocate(32).order(ByteOrder.LITTLE_ENDIAN)
+                .putLong(2).putLong(0).putLong(2).putLong(1));
+        zip.putNextEntry(new ZipEntry("indptr.npy"));
+        writeNpy(zip, "<i4", "(4,)", ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(0).putInt(3).putInt(3).putInt(4));
+        zip.putNextEntry(new ZipEntry("shape.npy"));
+        writeNpy(zip, "<i8", "(2,)", ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN)
+                .putLong(3).putLong(3));
+        zip.putNextEntry(new ZipEntry("format.npy"));
+        writeNpy(zip, "|S3", "()", ByteBuffer.wrap("csr".getBytes(StandardCharsets.US_ASCII)));
+        zip.finish();
+
+        Matrix a = m(a(2.0, 0.0, 4.0),
+                     a(0.0, 0.0, 0.0),
+                     a(0.0, 4.0, 0.0));
+
+        Matrix b = Matrix.fromNpz(new ByteArrayInputStream(os.toByteArray()));
+
+        Assert.assertEquals(a, b);
+        Assert.assertTrue(b instanceof CRSMatrix);
+    }
+
+    private static void writeNpy(OutputStream os, String descr, String shape, ByteBuffer data) throws IOException {
+        String header = "{'descr': '" + descr + "', 'fortran_order': False, 'shape': " + shape + ", }\n";
+        os.write(new byte[] { (byte) 0x93, 'N', 'U', 'M', 'P', 'Y', 1, 0 });
+        os.write(header.length() & 0xFF);
+        os.write(header.length() >>> 8);
+        os.write(header.getBytes(StandardCharsets.US_ASCII));
+        os.write(data.array());
+    }
+
+    @Test
+    public void testToMatrixMarketWriterRoundTrip() throws Exception {
+        Matrix a = m(a(0.1, 0.0, 1.0 / 3.0, 1.0),
+                     a(-1e-300, 1e20, 0.0, 5.0),
+                     a(Math.PI, -0.5, 123456789.125, 100.0),
+                     a(-3.0, 0.0, 42.0, 4.5));
+
+        StringWriter writer = new StringWriter();
+        a.toMatrixMarket(writer);
+
+        Matrix b = Matrix.fromMatrixMarket(new ByteArrayInputStream(writer.toString().getBytes(StandardCharsets.US_ASCII)));
+
+        Assert.assertTrue(a.equals(b, 0.0));
+        Assert.assertTrue(writer.toString().contains("0.1\n"));
+        Assert.assertTrue(writer.toString().contains("-0.5\n"));
+
+        // the integers keep their digits
+        List<String> tokens = Arrays.asList(writer.toString().split("\\s+"));
+        Assert.assertTrue(tokens.contains("5.0"));
+        Assert.assertTrue(tokens.contains("100.0"));
+        Assert.assertTrue(tokens.contains("-3.0"));
+    }
+
+    @Test
+    public void testToMatrixMarketWriterWithPrecision() throws Exception {
+        Matrix a = m(a(1.0, 0.0),
+                     a(-2.25, 0.0126));
+
+        StringWriter writer = new StringWriter();
+        a.toMatrixMarket(writer, 3);
+
+        NumberFormat formatter = new DecimalFormat("0.000", DecimalFormatSymbols.getInstance(Locale.US));
+        Assert.assertEquals(a.toMatrixMarket(formatter), writer.toString());
+    }
 }
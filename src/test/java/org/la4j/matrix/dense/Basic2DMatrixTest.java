@@ -21,11 +21,43 @@
 
 package org.la4j.matrix.dense;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
 import org.la4j.Matrices;
 
+import static org.la4j.M.*;
+
 public class Basic2DMatrixTest extends DenseMatrixTest<Basic2DMatrix> {
 
     public Basic2DMatrixTest() {
         super(Matrices.BASIC_2D);
     }
+
+    @Test
+    public void testWriteToReadFrom() throws Exception {
+        Basic2DMatrix a = m(a(1.0, 0.0, 3.0),
+                    a(0.0, 0.0, 0.0),
+                    a(0.0, -2.5, 8.0));
+        Basic2DMatrix b = mz(2, 0);
+
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        WritableByteChannel out = Channels.newChannel(os);
+        a.writeTo(out);
+        b.writeTo(out);
+
+        Assert.assertArrayEquals(a.toBinary(), Arrays.copyOf(os.toByteArray(), a.toBinary().length));
+
+        ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(os.toByteArray()));
+        Assert.assertEquals(a, Basic2DMatrix.readFrom(in));
+        Assert.assertEquals(b, Basic2DMatrix.readFrom(in));
+        Assert.assertEquals(-1, in.read(ByteBuffer.allocate(1)));
+    }
 }
@@ -21,11 +21,43 @@
 
 package org.la4j.matrix.sparse;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
 import org.la4j.Matrices;
 
+import static org.la4j.M.*;
+
 public class CCSMatrixTest extends SparseMatrixTest<CCSMatrix> {
 
     public CCSMatrixTest() {
         super(Matrices.CCS);
     }
+
+    @Test
+    public void testWriteToReadFrom() throws Exception {
+        CCSMatrix a = m(a(1.0, 0.0, 3.0),
+                    a(0.0, 0.0, 0.0),
+                    a(0.0, -2.5, 8.0));
+        CCSMatrix b = mz(2, 0);
+
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        WritableByteChannel out = Channels.newChannel(os);
+        a.writeTo(out);
+        b.writeTo(out);
+
+        Assert.assertArrayEquals(a.toBinary(), Arrays.copyOf(os.toByteArray(), a.toBinary().length));
+
+        ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(os.toByteArray()));
+        Assert.assertEquals(a, CCSMatrix.readFrom(in));
+        Assert.assertEquals(b, CCSMatrix.readFrom(in));
+        Assert.assertEquals(-1, in.read(ByteBuffer.allocate(1)));
+    }
 }
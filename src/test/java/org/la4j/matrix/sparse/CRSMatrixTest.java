@@ -20,11 +20,117 @@
  */
 
 package org.la4j.matrix.sparse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
 import org.la4j.Matrices;
+import org.la4j.Matrix;
+
+import static org.la4j.M.*;
 
 public class CRSMatrixTest extends SparseMatrixTest<CRSMatrix> {
 
     public CRSMatrixTest() {
         super(Matrices.CRS);
     }
+
+    @Test
+    public void testBuilder() {
+        CRSMatrix.Builder builder = CRSMatrix.builder(4);
+
+        builder.appendRow(new int[] { 0, 3 }, new double[] { 1.0, 2.0 });
+        builder.appendEmptyRows(1);
+        builder.appendRow(new double[] { 0.0, 3.0, 0.0, 4.0 });
+        builder.appendRow(new int[] { 1, 2, 3 }, new double[] { 5.0, 0.0, 6.0 }, 2);
+
+        Matrix a = m(a(1.0, 0.0, 0.0, 2.0),
+                     a(0.0, 0.0, 0.0, 0.0),
+                     a(0.0, 3.0, 0.0, 4.0),
+                     a(0.0, 5.0, 0.0, 0.0));
+
+        CRSMatrix b = builder.build();
+
+        Assert.assertEquals(4, builder.rows());
+        Assert.assertEquals(5, builder.cardinality());
+        Assert.assertEquals(a, b);
+        Assert.assertEquals(5, b.cardinality());
+    }
+
+    @Test
+    public void testBuilderGrowsUp() {
+        CRSMatrix.Builder builder = CRSMatrix.builder(100, 1, 1);
+        Matrix a = Matrices.CRS.apply(300, 100);
+
+        for (int i = 0; i < 300; i++) {
+            int[] columns = { i % 100, (i % 100) + (i % 100 < 99 ? 1 : 0) };
+            int length = columns[0] == columns[1] ? 1 : 2;
+            double[] values = { i + 1.0, -(i + 1.0) };
+
+            builder.appendRow(columns, values, length);
+            for (int k = 0; k < length; k++) {
+                a.set(i, columns[k], values[k]);
+            }
+        }
+
+        Assert.assertEquals(a, builder.build());
+    }
+
+    @Test
+    public void testBuilderRejectsUnorderedColumns() {
+        CRSMatrix.Builder builder = CRSMatrix.builder(4);
+        builder.appendRow(new int[] { 1 }, new double[] { 1.0 });
+
+        try {
+            builder.appendRow(new int[] { 2, 1 }, new double[] { 1.0, 2.0 });
+            Assert.fail();
+        } catch (IllegalArgumentException ignored) { }
+
+        try {
+            builder.appendRow(new int[] { 0, 4 }, new double[] { 1.0, 2.0 });
+            Assert.fail();
+        } catch (IndexOutOfBoundsException ignored) { }
+
+        // failed rows are rolled back
+        Assert.assertEquals(m(a(0.0, 1.0, 0.0, 0.0)), builder.build());
+    }
+
+    @Test
+    public void testWriteToReadFrom() throws Exception {
+        CRSMatrix a = m(a(1.0, 0.0, 3.0),
+                    a(0.0, 0.0, 0.0),
+                    a(0.0, -2.5, 8.0));
+        CRSMatrix b = mz(2, 0);
+
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        WritableByteChannel out = Channels.newChannel(os);
+        a.writeTo(out);
+        b.writeTo(out);
+
+        Assert.assertArrayEquals(a.toBinary(), Arrays.copyOf(os.toByteArray(), a.toBinary().length));
+
+        ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(os.toByteArray()));
+        Assert.assertEquals(a, CRSMatrix.readFrom(in));
+        Assert.assertEquals(b, CRSMatrix.readFrom(in));
+        Assert.assertEquals(-1, in.read(ByteBuffer.allocate(1)));
+    }
+
+    @Test
+    public void testWriteToReadFromInChunks() throws Exception {
+        CRSMatrix a = CRSMatrix.random(300, 300, 0.1, new Random(1));
+
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        a.writeTo(Channels.newChannel(os));
+
+        Assert.assertArrayEquals(a.toBinary(), os.toByteArray());
+        Assert.assertEquals(a, CRSMatrix.readFrom(Channels.newChannel(new ByteArrayInputStream(os.toByteArray()))));
+    }
 }
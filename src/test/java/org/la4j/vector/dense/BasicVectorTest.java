@@ -21,6 +21,15 @@
 
 package org.la4j.vector.dense;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import org.junit.Assert;
+import org.junit.Test;
 import org.la4j.Vectors;
 
 public class BasicVectorTest extends DenseVectorTest<BasicVector> {
@@ -28,4 +37,20 @@ public class BasicVectorTest extends DenseVectorTest<BasicVector> {
     public BasicVectorTest() {
         super(Vectors.BASIC);
     }
+
+    @Test
+    public void testWriteToReadFrom() throws Exception {
+        BasicVector a = v(0.0, 1.5, 0.0, -3.0, 0.0);
+        BasicVector b = vz(0);
+
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        WritableByteChannel out = Channels.newChannel(os);
+        a.writeTo(out);
+        b.writeTo(out);
+
+        ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(os.toByteArray()));
+        Assert.assertEquals(a, BasicVector.readFrom(in));
+        Assert.assertEquals(b, BasicVector.readFrom(in));
+        Assert.assertEquals(-1, in.read(ByteBuffer.allocate(1)));
+    }
 }
@@ -21,6 +21,15 @@
 
 package org.la4j.vector.sparse;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import org.junit.Assert;
+import org.junit.Test;
 import org.la4j.Vectors;
 
 public class CompressedVectorTest extends SparseVectorTest<CompressedVector> {
@@ -28,4 +37,20 @@ public class CompressedVectorTest extends SparseVectorTest<CompressedVector> {
     public CompressedVectorTest() {
         super(Vectors.COMPRESSED);
     }
+
+    @Test
+    public void testWriteToReadFrom() throws Exception {
+        CompressedVector a = v(0.0, 1.5, 0.0, -3.0, 0.0);
+        CompressedVector b = vz(0);
+
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        WritableByteChannel out = Channels.newChannel(os);
+        a.writeTo(out);
+        b.writeTo(out);
+
+        ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(os.toByteArray()));
+        Assert.assertEquals(a, CompressedVector.readFrom(in));
+        Assert.assertEquals(b, CompressedVector.readFrom(in));
+        Assert.assertEquals(-1, in.read(ByteBuffer.allocate(1)));
+    }
 }